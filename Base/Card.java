@@ -25,6 +25,13 @@ public abstract class Card {
      */
     public abstract int getValue();
     
+    /**
+     * Gets the fixed id of the card, used as its bit in card masks.
+     * 
+     * @return The card id (see {@link card.CardMask})
+     */
+    public abstract int getId();
+    
     /**
      * Returns a string representation of the card.
      * 
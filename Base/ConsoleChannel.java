@@ -0,0 +1,62 @@
+package base;
+
+/**
+ * Seat channel of the local console: writes to {@code System.out} and
+ * reads through the shared {@link InputHandler}.
+ * 
+ * <p>Only one console exists, so only one table per JVM can seat its
+ * human players here.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public final class ConsoleChannel implements SeatChannel {
+    /** The console channel */
+    public static final ConsoleChannel INSTANCE = new ConsoleChannel();
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ConsoleChannel() {
+    }
+
+    /**
+     * Writes text to the console.
+     * 
+     * @param text The text
+     */
+    @Override
+    public void print(String text) {
+        System.out.print(text);
+    }
+
+    /**
+     * Writes a line to the console.
+     * 
+     * @param text The line
+     */
+    @Override
+    public void println(String text) {
+        System.out.println(text);
+    }
+
+    /**
+     * Reads a line from the console.
+     * 
+     * @return The line entered
+     */
+    @Override
+    public String readLine() {
+        return InputHandler.getString().trim();
+    }
+
+    /**
+     * Reads an integer from the console.
+     * 
+     * @return The integer entered
+     */
+    @Override
+    public int readInt() {
+        return InputHandler.getInt();
+    }
+}
@@ -1,18 +1,21 @@
 package base;
 
-import card.SuitCard;
-import card.JokerCard;
-import properties.Suit;
-import properties.Numbers;
+import card.CardMask;
+import card.CardRegistry;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Represents the deck of cards used in the JEST game.
  * Base deck: 16 suit cards (4 suits x 4 values) plus 1 Joker = 17 cards total.
  * With expansion: 32 suit cards (4 suits x 8 values) plus 1 Joker = 33 cards total.
  * 
+ * <p>Large tables deal from several decks combined: every card then appears
+ * once per deck. The same shared card instances are used for every copy, and
+ * the deck's mask keeps a card's bit until its last copy is drawn.</p>
+ * 
  * @author Hazri and Sophea
  * @version 1.0
  */
@@ -22,6 +25,15 @@ public class Deck {
     
     /** Whether expansion cards are included */
     private boolean hasExpansion;
+    
+    /** Number of decks combined into this one */
+    private int decks;
+    
+    /** Bitboard of the cards still in the deck (see {@link CardMask}) */
+    private long mask;
+    
+    /** Copies left per card id, or null for a single deck */
+    private int[] copies;
 
     /**
      * Creates a new deck and initializes it with all cards.
@@ -29,11 +41,48 @@ public class Deck {
      * @param hasExpansion true to include expansion cards (6, 7, 8, 9)
      */
     public Deck(boolean hasExpansion) {
-        this.cards = new ArrayList<>();
+        this(hasExpansion, 1);
+    }
+    
+    /**
+     * Creates a deck combining several full decks.
+     * 
+     * @param hasExpansion true to include expansion cards (6, 7, 8, 9)
+     * @param decks Number of decks to combine (at least 1)
+     * @throws IllegalArgumentException if decks is below 1
+     */
+    public Deck(boolean hasExpansion, int decks) {
+        if (decks < 1) {
+            throw new IllegalArgumentException("A deck needs at least one set of cards, got " + decks);
+        }
         this.hasExpansion = hasExpansion;
+        this.decks = decks;
         initializeDeck();
     }
     
+    /**
+     * Creates a deck holding the given cards in order, the last card on top.
+     * Used to restore a saved game.
+     * 
+     * @param hasExpansion true if the game uses expansion cards
+     * @param decks Number of decks the game combined
+     * @param cards The cards left in the deck
+     */
+    Deck(boolean hasExpansion, int decks, List<Card> cards) {
+        this.cards = new ArrayList<>(cards);
+        this.hasExpansion = hasExpansion;
+        this.decks = decks;
+        if (decks > 1) {
+            copies = new int[CardMask.CARD_COUNT];
+        }
+        for (Card card : cards) {
+            mask |= CardMask.bit(card);
+            if (copies != null) {
+                copies[card.getId()]++;
+            }
+        }
+    }
+    
     /**
      * Creates a new deck without expansion cards (default behavior).
      */
@@ -42,22 +91,33 @@ public class Deck {
     }
 
     /**
-     * Initializes the deck with suit cards and Joker.
+     * Initializes the deck with the shared suit cards and Joker, in id order,
+     * one full set after the other when decks are combined.
      * Base: Ace, 2, 3, 4
      * Expansion: adds 6, 7, 8, 9
      */
     private void initializeDeck() {
-        for (Suit suit : Suit.values()) {
-            for (Numbers number : Numbers.values()) {
-                // Skip expansion cards if expansion is disabled
-                if (!hasExpansion && (number == Numbers.SIX || number == Numbers.SEVEN || 
-                    number == Numbers.EIGHT || number == Numbers.NINE)) {
-                    continue;
-                }
-                cards.add(new SuitCard(suit, number));
+        mask = CardMask.deckMask(hasExpansion);
+        cards = CardRegistry.cardsOf(mask);
+        if (decks > 1) {
+            List<Card> set = new ArrayList<>(cards);
+            copies = new int[CardMask.CARD_COUNT];
+            for (Card card : set) {
+                copies[card.getId()] = decks;
+            }
+            for (int i = 1; i < decks; i++) {
+                cards.addAll(set);
             }
         }
-        cards.add(new JokerCard());
+    }
+    
+    /**
+     * Gets the number of decks combined into this one.
+     * 
+     * @return Number of decks (1 for a normal game)
+     */
+    public int getDeckCount() {
+        return decks;
     }
     
     /**
@@ -73,7 +133,17 @@ public class Deck {
      * Shuffles the deck randomly.
      */
     public void shuffle() {
-        Collections.shuffle(cards);
+        shuffle(new GameRandom());
+    }
+
+    /**
+     * Shuffles the deck with the given random number generator.
+     * The same generator state always produces the same card order.
+     * 
+     * @param random The random number generator to use
+     */
+    public void shuffle(Random random) {
+        Collections.shuffle(cards, random);
     }
 
     /**
@@ -85,7 +155,11 @@ public class Deck {
         if (cards.isEmpty()) {
             return null;
         }
-        return cards.remove(cards.size() - 1);
+        Card card = cards.remove(cards.size() - 1);
+        if (copies == null || --copies[card.getId()] == 0) {
+            mask &= ~CardMask.bit(card);
+        }
+        return card;
     }
 
     /**
@@ -106,6 +180,26 @@ public class Deck {
         return cards.size();
     }
 
+    /**
+     * Gets the bitboard of the cards still in the deck.
+     * A card of a combined deck stays in the mask while any copy is left.
+     * 
+     * @return Card mask (see {@link CardMask})
+     */
+    public long getMask() {
+        return mask;
+    }
+
+    /**
+     * Checks whether a card is still in the deck.
+     * 
+     * @param card The card to look for
+     * @return true if the card has not been drawn
+     */
+    public boolean contains(Card card) {
+        return CardMask.contains(mask, card);
+    }
+
     /**
      * Gets the list of cards in the deck.
      * 
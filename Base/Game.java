@@ -1,6 +1,7 @@
 package base;
 
 import trophy.Trophy;
+import trophy.JestSummary;
 import visitor.ScoreVisitor;
 import visitor.FinalScoreVisitor;
 import visitor.NoMercyScoreVisitor;
@@ -9,14 +10,29 @@ import player.HumanPlayer;
 import player.VirtualPlayer;
 import card.SuitCard;
 import card.JokerCard;
+import card.CardMask;
 import properties.Suit;
 import properties.Numbers;
+import strategy.AIStrategy;
 import strategy.typestrategy.DefensiveStrategy;
 import strategy.typestrategy.OffensiveStrategy;
+import metrics.GameMetrics;
+import metrics.GameMetrics.Phase;
+import metrics.RoundEvent;
+import metrics.ScoringEvent;
+import metrics.TrophyEvent;
+import event.CompositeListener;
+import event.ConsoleListener;
+import event.GameEvent;
+import event.GameEventListener;
+import event.NoOpListener;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Main game controller for the JEST card game.
@@ -39,20 +55,26 @@ import java.util.List;
  * @author Hazri and Sophea
  * @version 1.0
  */
-public class Game {
+public class Game implements TableView {
+    /** Source of game identifiers */
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+    
+    /** Identifier of this game within the JVM, carried by its recorded events */
+    private final long id = NEXT_ID.incrementAndGet();
+    
     /** List of players in the game */
     private List<Player> players;
     
     /** The deck of cards */
     private Deck deck;
     
-    /** List of trophies for this game (1 for 4 players, 2 for 3 players) */
+    /** List of trophies for this game (per deck: 2 for 3 players, 1 for 4 or more) */
     private List<Trophy> trophies;
     
     /** Game configuration (expansion cards, variant, etc.) */
     private GameConfig gameConfig;
     
-    /** Total number of players (3 or 4) */
+    /** Total number of players (3 to {@link GameEngine#MAX_PLAYERS}) */
     private int numberOfPlayers;
     
     /** Number of human players */
@@ -66,6 +88,36 @@ public class Game {
     
     /** Cards remaining from previous round's offers */
     private List<Card> previousRoundLeftovers;
+    
+    /** Listeners added to this game */
+    private final CompositeListener listeners = new CompositeListener();
+    
+    /** Listener receiving the events: the only added listener, all of them, or the no-op listener */
+    private GameEventListener listener = NoOpListener.INSTANCE;
+    
+    /** Event object refilled for every event of this game */
+    private final GameEvent gameEvent = new GameEvent(this);
+    
+    /** Random source for shuffling the deck and round cards, and for seeding AI players */
+    private GameRandom random;
+    
+    /** Round being played, or null between rounds */
+    private Round currentRound;
+    
+    /** Final score of each player, in seat order (filled by computeFinalScores) */
+    private int[] finalScores;
+    
+    /** Score visitor reused for every Jest of this game, created on first use */
+    private ScoreVisitor scoreVisitor;
+    
+    /** Journal recording the events of this game, or null */
+    private GameJournal journal;
+    
+    /** Permits shared by hosted tables for AI decisions, or null */
+    private Semaphore compute;
+    
+    /** Runs extra search threads of AI decisions, or null */
+    private Executor searchExecutor;
 
     /**
      * Trophy types based on card conditions.
@@ -80,7 +132,7 @@ public class Game {
     /**
      * Creates a new game with the specified player configuration and game config.
      * 
-     * @param numberOfPlayers Total number of players (3 or 4)
+     * @param numberOfPlayers Total number of players (3 to {@link GameEngine#MAX_PLAYERS})
      * @param numberOfHumans Number of human players (1 to numberOfPlayers)
      * @param aiDifficulty AI difficulty (1=Defensive, 2=Offensive, 3=Mixed)
      * @param gameConfig Configuration for expansion and variant settings
@@ -94,12 +146,40 @@ public class Game {
         this.trophies = new ArrayList<>();
         this.roundNumber = 0;
         this.previousRoundLeftovers = new ArrayList<>();
+        this.random = new GameRandom();
+        addEventListener(new ConsoleListener());
+    }
+    
+    /**
+     * Creates a headless game for an already seated list of players.
+     * Nothing is printed and no console input is read; use {@link #play()} to run it.
+     * 
+     * @param players The seated players (3 to {@link GameEngine#MAX_PLAYERS})
+     * @param gameConfig Configuration for expansion and variant settings
+     * @param random Random number generator used for all shuffling (see {@link GameRandom})
+     */
+    public Game(List<Player> players, GameConfig gameConfig, GameRandom random) {
+        this.numberOfPlayers = players.size();
+        this.numberOfHumans = 0;
+        this.aiDifficulty = 0;
+        this.gameConfig = gameConfig;
+        this.players = new ArrayList<>(players);
+        this.trophies = new ArrayList<>();
+        this.roundNumber = 0;
+        this.previousRoundLeftovers = new ArrayList<>();
+        this.random = random;
+        
+        for (Player player : players) {
+            if (player instanceof HumanPlayer) {
+                numberOfHumans++;
+            }
+        }
     }
     
     /**
      * Creates a new game with default game config (no expansion, normal variant).
      * 
-     * @param numberOfPlayers Total number of players (3 or 4)
+     * @param numberOfPlayers Total number of players (3 to {@link GameEngine#MAX_PLAYERS})
      * @param numberOfHumans Number of human players (1 to numberOfPlayers)
      * @param aiDifficulty AI difficulty (1=Defensive, 2=Offensive, 3=Mixed)
      */
@@ -120,23 +200,7 @@ public class Game {
         System.out.println();
         
         initializePlayers();
-        initializeDeck();
-        
-        // Skip trophies in GO_ALL_OUT variant
-        if (gameConfig.getVariant() != GameVariant.GO_ALL_OUT) {
-            setupTrophies();
-        }
-        
-        System.out.println("\n========================================");
-        System.out.println("         TROPHIES FOR THIS GAME");
-        System.out.println("========================================");
-        for (Trophy trophy : trophies) {
-            Card card = trophy.getTrophyCard();
-            System.out.println("Trophy Card: " + card);
-            System.out.println("  Condition: " + trophy.getCondition());
-            System.out.println("  (This card will be added to the winner's Jest)");
-            System.out.println();
-        }
+        setUp();
         
         // Play rounds until deck is empty
         while (canPlayRound()) {
@@ -146,6 +210,80 @@ public class Game {
         endGame();
     }
 
+    /**
+     * Runs the complete game without console I/O.
+     * Deals, plays every round, awards trophies and scores each Jest.
+     * 
+     * @return The structured result of the game
+     */
+    public GameResult play() {
+        while (playNextRound()) {
+            // Rounds are played until the deck runs out
+        }
+        return finish();
+    }
+
+    /**
+     * Plays the next round of a game without console I/O, dealing the deck
+     * and trophies first if the game has not started.
+     * Between two calls the game can be saved with {@link GameSaveManager}.
+     * 
+     * @return true if another round can be played, false once {@link #finish()} is due
+     */
+    public boolean playNextRound() {
+        setUp();
+        if (canPlayRound()) {
+            playRound();
+        }
+        return canPlayRound();
+    }
+
+    /**
+     * Deals the deck and trophies of a game that has not started.
+     * Does nothing once the game has started.
+     */
+    void setUp() {
+        if (deck == null) {
+            attachStrategies();
+            initializeDeck();
+            
+            if (gameConfig.getVariant() != GameVariant.GO_ALL_OUT) {
+                setupTrophies();
+            }
+            if (observed()) {
+                listener.onEvent(gameEvent.of(GameEvent.Type.TROPHIES_DRAWN, roundNumber));
+            }
+        }
+    }
+
+    /**
+     * Ends a game played with {@link #playNextRound()}: awards trophies
+     * and scores each Jest.
+     * 
+     * @return The structured result of the game
+     */
+    public GameResult finish() {
+        if (observed()) {
+            listener.onEvent(gameEvent.of(GameEvent.Type.GAME_OVER, roundNumber));
+        }
+        if (gameConfig.getVariant() != GameVariant.GO_ALL_OUT) {
+            awardTrophies();
+        }
+        computeFinalScores();
+        if (journal != null) {
+            journal.end();
+        }
+        
+        int winnerSeat = findWinnerSeat();
+        if (observed()) {
+            listener.onEvent(gameEvent.of(GameEvent.Type.GAME_WON, roundNumber)
+                .withPlayer((winnerSeat >= 0) ? players.get(winnerSeat) : null, winnerSeat)
+                .withScore((winnerSeat >= 0) ? finalScores[winnerSeat] : 0));
+        }
+        listener.flush();
+        return new GameResult(players, finalScores, trophies, winnerSeat);
+    }
+
     /**
      * Checks if another round can be played.
      * 
@@ -176,20 +314,20 @@ public class Game {
             
             switch (aiDifficulty) {
                 case 1: // Defensive
-                    ai = new VirtualPlayer(aiName, new DefensiveStrategy());
+                    ai = new VirtualPlayer(aiName, new DefensiveStrategy(random.split()));
                     System.out.println("Created " + aiName + " (Defensive)");
                     break;
                 case 2: // Offensive
-                    ai = new VirtualPlayer(aiName, new OffensiveStrategy());
+                    ai = new VirtualPlayer(aiName, new OffensiveStrategy(random.split()));
                     System.out.println("Created " + aiName + " (Offensive)");
                     break;
                 case 3: // Mixed - alternate or random
                 default:
                     if (i % 2 == 0) {
-                        ai = new VirtualPlayer(aiName, new OffensiveStrategy());
+                        ai = new VirtualPlayer(aiName, new OffensiveStrategy(random.split()));
                         System.out.println("Created " + aiName + " (Offensive)");
                     } else {
-                        ai = new VirtualPlayer(aiName, new DefensiveStrategy());
+                        ai = new VirtualPlayer(aiName, new DefensiveStrategy(random.split()));
                         System.out.println("Created " + aiName + " (Defensive)");
                     }
                     break;
@@ -206,25 +344,55 @@ public class Game {
 
     /**
      * Initializes and shuffles the deck.
-     * Uses expansion cards if enabled in game config.
+     * Uses expansion cards if enabled in game config, and combines as many
+     * decks as the table needs (see {@link #deckCountFor(int)}).
      */
     private void initializeDeck() {
-        deck = new Deck(gameConfig.isExpansionEnabled());
-        deck.shuffle();
-        System.out.println("Deck shuffled. " + deck.size() + " cards ready.");
-        if (gameConfig.isExpansionEnabled()) {
-            System.out.println("  (Expansion cards enabled: 6, 7, 8, 9)");
+        deck = new Deck(gameConfig.isExpansionEnabled(), deckCountFor(numberOfPlayers));
+        deck.shuffle(random);
+        if (observed()) {
+            listener.onEvent(gameEvent.of(GameEvent.Type.DECK_READY, roundNumber));
+        }
+        listener.flush();
+    }
+
+    /**
+     * Gets the number of decks to combine for a table: the configured count,
+     * raised until the cards cover two full deals of every seat plus the trophies.
+     * One deck is enough for 3 or 4 players.
+     * 
+     * @param players Number of seats
+     * @return Number of decks
+     */
+    private int deckCountFor(int players) {
+        int deckSize = CardMask.count(CardMask.deckMask(gameConfig.isExpansionEnabled()));
+        int decks = gameConfig.getDeckCount();
+        while (decks * deckSize < players * 4 + trophyCount(players, decks)) {
+            decks++;
         }
+        return decks;
+    }
+
+    /**
+     * Gets the number of trophy cards for a table.
+     * Each deck gives 2 trophies to a 3-player table and 1 to larger tables.
+     * 
+     * @param players Number of seats
+     * @param decks Number of decks combined
+     * @return Number of trophy cards
+     */
+    private static int trophyCount(int players, int decks) {
+        return ((players == 3) ? 2 : 1) * decks;
     }
 
     /**
      * Sets up trophies by drawing trophy cards from deck.
-     * 3 players = 2 trophy cards, 4 players = 1 trophy card.
+     * 3 players = 2 trophy cards, 4 or more players = 1 trophy card, per deck.
      */
     private void setupTrophies() {
         trophies.clear();
         
-        int numTrophyCards = (numberOfPlayers == 3) ? 2 : 1;
+        int numTrophyCards = trophyCount(numberOfPlayers, deck.getDeckCount());
         
         for (int i = 0; i < numTrophyCards; i++) {
             Card trophyCard = deck.drawCard();
@@ -316,10 +484,16 @@ public class Game {
      * Plays a single round of the game.
      */
     private void playRound() {
+        RoundEvent event = null;
+        if (RoundEvent.enabled()) {
+            event = new RoundEvent();
+            event.begin();
+        }
+        long started = GameMetrics.start();
         roundNumber++;
-        System.out.println("\n========================================");
-        System.out.println("            ROUND " + roundNumber);
-        System.out.println("========================================");
+        if (observed()) {
+            listener.onEvent(gameEvent.of(GameEvent.Type.ROUND_STARTED, roundNumber));
+        }
         
         // Prepare cards for this round
         List<Card> roundCards = new ArrayList<>();
@@ -331,7 +505,7 @@ public class Game {
             roundCards.add(deck.drawCard());
         }
         
-        Collections.shuffle(roundCards);
+        Collections.shuffle(roundCards, random);
         
         for (Player player : players) {
             player.clearHand();
@@ -341,66 +515,255 @@ public class Game {
             }
         }
         
-        System.out.println("Cards dealt to all players.");
-        System.out.println("Remaining in deck: " + deck.size());
-        
-        Round round = new Round(deck, players);
-        round.makeOffers();
-        
-        System.out.println("\n--- Offers Made ---");
-        for (Offer offer : round.getOffers()) {
-            System.out.println("  " + offer.getOwner().getName() + ": Face-up = " + offer.getFaceUp());
+        if (observed()) {
+            listener.onEvent(gameEvent.of(GameEvent.Type.CARDS_DEALT, roundNumber));
+        }
+        if (journal != null) {
+            journal.deal(roundNumber, players);
         }
         
-        System.out.println("\n--- Taking Cards ---");
+        Round round = new Round(deck, players, false);
+        round.setEvents(listener, gameEvent);
+        round.setIdentity(id, roundNumber);
+        round.setJournal(journal);
+        round.setComputeGate(compute);
+        currentRound = round;
+        round.makeOffers();
         round.takeOffers();
         
-        System.out.println("\n--- Current Jests ---");
-        for (Player player : players) {
-            System.out.println("  " + player.getName() + " (" + player.getJest().size() + " cards): " + 
-                player.getJest().getCards());
+        if (journal != null) {
+            journal.leftovers(round.getOffers(), players, deck.isEmpty());
         }
-        
         previousRoundLeftovers = round.getLeftoverCards();
-        System.out.println("\nCards remaining on table: " + previousRoundLeftovers);
+        if (observed()) {
+            listener.onEvent(gameEvent.of(GameEvent.Type.LEFTOVERS, roundNumber)
+                .withCards(previousRoundLeftovers).withLast(deck.isEmpty()));
+        }
         
         if (deck.isEmpty()) {
-            System.out.println("\n=== DECK EMPTY - FINAL COLLECTION ===");
-            for (Offer offer : round.getOffers()) {
-                Card remaining = offer.getRemainingCard();
-                if (remaining != null && offer.getOwner() != null) {
-                    offer.getOwner().getJest().addCard(remaining);
-                    System.out.println(offer.getOwner().getName() + " added final card: " + remaining);
-                }
-            }
+            round.collectLeftoverCardsToJest();
             previousRoundLeftovers.clear();
         }
+        currentRound = null;
+        listener.flush();
+        GameMetrics.record(Phase.PLAY_ROUND, started);
+        if (event != null && event.shouldCommit()) {
+            event.set(id, roundNumber, deck.size());
+            event.commit();
+        }
+    }
+
+    /**
+     * Puts a game created with {@link #Game(List, GameConfig, GameRandom)}
+     * in the state of a saved game, between two rounds.
+     * The players' Jests must already be restored.
+     * 
+     * @param deck The cards left in the deck
+     * @param trophyCards The trophy cards, in drawing order
+     * @param leftovers The cards left on the table by the last round
+     * @param roundNumber Number of rounds played
+     */
+    void restore(Deck deck, List<Card> trophyCards, List<Card> leftovers, int roundNumber) {
+        this.deck = deck;
+        this.trophies.clear();
+        for (Card card : trophyCards) {
+            trophies.add(createTrophyFromCard(card));
+        }
+        this.previousRoundLeftovers = new ArrayList<>(leftovers);
+        this.roundNumber = roundNumber;
+        attachStrategies();
+    }
+
+    /**
+     * Checks whether the game is paused between two rounds: dealt,
+     * no round in progress and not finished. Only then can it be saved.
+     * 
+     * @return true if the game is between rounds
+     */
+    boolean isBetweenRounds() {
+        return deck != null && currentRound == null && finalScores == null;
+    }
+
+    /**
+     * Adds a listener to the events of this game.
+     * 
+     * @param added The listener
+     */
+    public void addEventListener(GameEventListener added) {
+        listeners.add(added);
+        updateListener();
+    }
+
+    /**
+     * Removes a listener from the events of this game.
+     * 
+     * @param removed The listener
+     */
+    public void removeEventListener(GameEventListener removed) {
+        listeners.remove(removed);
+        updateListener();
+    }
+
+    /**
+     * Points the game at the cheapest listener that reaches every added
+     * listener: none, the only one, or all of them. The round being played
+     * keeps the listener it started with.
+     */
+    private void updateListener() {
+        if (listeners.size() == 0) {
+            listener = NoOpListener.INSTANCE;
+        } else if (listeners.size() == 1) {
+            listener = listeners.single();
+        } else {
+            listener = listeners;
+        }
+    }
+
+    /**
+     * Checks whether anyone listens to this game's events.
+     * Events are only filled and published when this is true.
+     * 
+     * @return true if a listener was added
+     */
+    private boolean observed() {
+        return listener != NoOpListener.INSTANCE;
+    }
+
+    /**
+     * Attaches the journal that records this game's events.
+     * 
+     * @param journal The journal, or null to stop recording
+     */
+    void setJournal(GameJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Shares AI compute with other tables in the same JVM. Every AI
+     * decision holds one permit while it runs, so however many tables
+     * are hosted, at most as many AI searches run at once as there are
+     * permits. Human decisions hold none.
+     * 
+     * @param compute Permits shared by the tables, or null for no limit
+     */
+    public void setComputeGate(Semaphore compute) {
+        this.compute = compute;
+    }
+
+    /**
+     * Sets the executor that runs the extra search threads of AI
+     * decisions. Without one, multi-threaded strategies search on the
+     * deciding thread only.
+     * 
+     * @param searchExecutor The executor, or null
+     */
+    public void setSearchExecutor(Executor searchExecutor) {
+        this.searchExecutor = searchExecutor;
+    }
+
+    @Override
+    public Executor getSearchExecutor() {
+        return searchExecutor;
+    }
+
+    /**
+     * Gets the cards left on the table by the last round.
+     * 
+     * @return Leftover cards, dealt first in the next round
+     */
+    List<Card> getLeftovers() {
+        return previousRoundLeftovers;
+    }
+
+    /**
+     * Gets the random source of this game.
+     * 
+     * @return The random source
+     */
+    GameRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Gets the identifier of this game, unique within the JVM.
+     * Flight Recorder events of the game carry it.
+     * 
+     * @return Game identifier
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the number of rounds played so far.
+     * 
+     * @return Number of rounds started
+     */
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    /**
+     * Gives every AI strategy a view of this game.
+     */
+    private void attachStrategies() {
+        for (Player player : players) {
+            if (player.getStrategy() instanceof AIStrategy) {
+                ((AIStrategy) player.getStrategy()).setTable(this);
+            }
+        }
     }
 
     /**
      * Awards trophies to winners and adds trophy cards to their Jests.
+     * Winners are looked up in a {@link JestSummary} built once for all trophies.
      */
     public void awardTrophies() {
-        System.out.println("\n========================================");
-        System.out.println("         AWARDING TROPHIES");
-        System.out.println("========================================");
-        System.out.println("(Trophy cards are added to winners' Jests)\n");
+        long started = GameMetrics.start();
+        if (observed()) {
+            listener.onEvent(gameEvent.of(GameEvent.Type.TROPHIES_STARTED, roundNumber));
+        }
         
+        JestSummary summary = new JestSummary(players);
         for (Trophy trophy : trophies) {
-            Player winner = trophy.determineWinner(players);
-            if (winner != null) {
+            int winnerSeat = summary.winnerSeat(trophy.getType());
+            if (winnerSeat >= 0) {
+                Player winner = players.get(winnerSeat);
                 trophy.setWinner(winner);
                 Card trophyCard = trophy.getTrophyCard();
                 winner.getJest().addCard(trophyCard);
-                
-                System.out.println("Trophy: " + trophy.getCondition());
-                System.out.println("  Winner: " + winner.getName());
-                System.out.println("  Card added to Jest: " + trophyCard);
-                System.out.println();
+                summary.addCard(winnerSeat, trophyCard);
+                if (journal != null) {
+                    journal.trophy(trophyCard, winnerSeat);
+                }
+                recordTrophy(trophy, winnerSeat);
             } else {
-                System.out.println("Trophy: " + trophy.getCondition());
-                System.out.println("  No winner (condition not met)");
-                System.out.println();
+                if (journal != null) {
+                    journal.trophy(trophy.getTrophyCard(), -1);
+                }
+                recordTrophy(trophy, -1);
+            }
+        }
+        listener.flush();
+        GameMetrics.record(Phase.AWARD_TROPHIES, started);
+    }
+
+    /**
+     * Publishes a trophy award to the listeners, and to Flight Recorder if it is recording.
+     * 
+     * @param trophy The trophy
+     * @param winnerSeat Seat of the winner, or -1 if nobody won it
+     */
+    private void recordTrophy(Trophy trophy, int winnerSeat) {
+        if (observed()) {
+            listener.onEvent(gameEvent.of(GameEvent.Type.TROPHY_AWARDED, roundNumber).withTrophy(trophy)
+                .withCard(trophy.getTrophyCard()).withPlayer(trophy.getWinner(), winnerSeat));
+        }
+        if (TrophyEvent.enabled()) {
+            TrophyEvent event = new TrophyEvent();
+            if (event.shouldCommit()) {
+                event.set(id, roundNumber, winnerSeat, trophy.getCondition(), String.valueOf(trophy.getTrophyCard()));
+                event.commit();
             }
         }
     }
@@ -409,98 +772,94 @@ public class Game {
      * Computes and displays final scores using the appropriate visitor for the variant.
      */
     public void computeFinalScores() {
-        System.out.println("\n========================================");
-        System.out.println("         FINAL JESTS & SCORES");
-        System.out.println("========================================");
+        long started = GameMetrics.start();
+        if (observed()) {
+            listener.onEvent(gameEvent.of(GameEvent.Type.SCORING_STARTED, roundNumber));
+        }
         
-        if (gameConfig.getVariant() == GameVariant.NO_MERCY) {
-            System.out.println("NO MERCY Variant - Threshold: " + gameConfig.getNoMercyThreshold());
-            System.out.println("Jest values exceeding threshold will be reset to 0!\n");
-        } else if (gameConfig.getVariant() == GameVariant.GO_ALL_OUT) {
-            System.out.println("GO ALL OUT Variant - All cards add value, Joker multiplies by 1.5\n");
+        finalScores = new int[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (scoreVisitor == null) {
+                scoreVisitor = createScoreVisitor();
+            }
+            scoreVisitor.bind(player.getJest());
+            int score = player.calculateFinalScore(scoreVisitor);
+            finalScores[i] = score;
+            if (ScoringEvent.enabled()) {
+                ScoringEvent event = new ScoringEvent();
+                if (event.shouldCommit()) {
+                    event.set(id, roundNumber, i, score, player.getJest().size());
+                    event.commit();
+                }
+            }
+            if (observed()) {
+                listener.onEvent(gameEvent.of(GameEvent.Type.SCORE_COMPUTED, roundNumber)
+                    .withPlayer(player, i).withScore(score));
+            }
         }
+        listener.flush();
+        GameMetrics.record(Phase.FINAL_SCORES, started);
+    }
+    
+    /**
+     * Gets a player's final score.
+     * 
+     * @param seat Seat of the player
+     * @return The score, or 0 before the Jests are scored
+     */
+    public int getFinalScore(int seat) {
+        return (finalScores == null) ? 0 : finalScores[seat];
+    }
+    
+    /**
+     * Finds the seat of the winning player from the computed final scores.
+     * Ties go to the earliest seat.
+     * 
+     * @return Seat index of the winner, or -1 if scores were not computed
+     */
+    private int findWinnerSeat() {
+        int winnerSeat = -1;
+        int highestScore = Integer.MIN_VALUE;
         
-        for (Player player : players) {
-            System.out.println("\n" + player.getName() + "'s Jest:");
-            System.out.println("  Cards: " + player.getJest().getCards());
-            
-            ScoreVisitor visitor = createScoreVisitor(player.getJest());
-            int score = player.calculateFinalScore(visitor);
-            
-            if (gameConfig.getVariant() == GameVariant.NO_MERCY && 
-                gameConfig.exceedsNoMercyThreshold(score)) {
-                System.out.println("  Score EXCEEDED threshold! -> 0 points (NO MERCY!)");
+        for (int i = 0; i < finalScores.length; i++) {
+            if (finalScores[i] > highestScore) {
+                highestScore = finalScores[i];
+                winnerSeat = i;
             }
-            System.out.println("  Total Score: " + score + " points");
         }
+        return winnerSeat;
     }
     
     /**
      * Creates the appropriate score visitor based on the game variant.
+     * The visitor is not bound to a Jest; call {@link ScoreVisitor#bind(Jest)}
+     * before each use.
      * 
-     * @param jest The Jest to score
      * @return The appropriate ScoreVisitor for the current variant
      */
-    private ScoreVisitor createScoreVisitor(Jest jest) {
+    private ScoreVisitor createScoreVisitor() {
         switch (gameConfig.getVariant()) {
             case NO_MERCY:
-                return new NoMercyScoreVisitor(jest, gameConfig);
+                return new NoMercyScoreVisitor(gameConfig);
             case GO_ALL_OUT:
-                return new GoAllOutScoreVisitor(jest);
+                return new GoAllOutScoreVisitor();
             case NORMAL:
             default:
-                return new FinalScoreVisitor(jest);
+                return new FinalScoreVisitor();
         }
     }
 
     /**
      * Ends the game - awards trophies (if applicable), calculates scores, determines winner.
+     * The listeners print the results; the console input is closed afterwards.
      */
     public void endGame() {
-        System.out.println("\n========================================");
-        System.out.println("           GAME OVER");
-        System.out.println("========================================");
-        
-        System.out.println("\nJests before trophy awards:");
-        for (Player player : players) {
-            System.out.println("  " + player.getName() + ": " + player.getJest().getCards());
-        }
-        
-        // Award trophies only in NORMAL and NO_MERCY variants
-        if (gameConfig.getVariant() != GameVariant.GO_ALL_OUT) {
-            awardTrophies();
-        } else {
-            System.out.println("\n(No trophies awarded in GO ALL OUT variant)");
-        }
-        
-        computeFinalScores();
-        
-        System.out.println("\n========================================");
-        System.out.println("           FINAL RESULTS");
-        System.out.println("========================================");
-        
-        Player winner = null;
-        int highestScore = Integer.MIN_VALUE;
-        
-        for (Player player : players) {
-            ScoreVisitor visitor = createScoreVisitor(player.getJest());
-            int score = player.calculateFinalScore(visitor);
-            
-            System.out.println(player.getName() + ": " + score + " points");
-            
-            if (score > highestScore) {
-                highestScore = score;
-                winner = player;
-            }
-        }
-        
-        if (winner != null) {
-            System.out.println("\n*** " + winner.getName() + " WINS with " + highestScore + " points! ***");
-        }
-        
+        finish();
         InputHandler.close();
     }
 
+    @Override
     public List<Player> getPlayers() {
         return players;
     }
@@ -509,15 +868,68 @@ public class Game {
         return deck;
     }
 
+    @Override
     public List<Trophy> getTrophies() {
         return trophies;
     }
 
+    /**
+     * Gets the number of cards left in the deck.
+     * 
+     * @return Number of cards, or 0 before the deck is created
+     */
+    @Override
+    public int getDeckSize() {
+        return (deck == null) ? 0 : deck.size();
+    }
+
+    /**
+     * Gets the number of decks combined into the game's deck.
+     * 
+     * @return Number of decks, or the configured count before the deck is created
+     */
+    @Override
+    public int getDeckCount() {
+        return (deck == null) ? gameConfig.getDeckCount() : deck.getDeckCount();
+    }
+
+    /**
+     * Gets the offers of the round being played.
+     * 
+     * @return List of offers, empty between rounds
+     */
+    @Override
+    public List<Offer> getOffers() {
+        return (currentRound == null) ? Collections.emptyList() : currentRound.getOffers();
+    }
+
+    /**
+     * Checks whether a player has already taken a card in the round being played.
+     * 
+     * @param player The player
+     * @return true if the player took this round
+     */
+    @Override
+    public boolean hasTaken(Player player) {
+        return currentRound != null && currentRound.hasTaken(player);
+    }
+
+    /**
+     * Gets the player whose turn it is to take a card.
+     * 
+     * @return The taking player, or null outside the taking phase
+     */
+    @Override
+    public Player getCurrentPlayer() {
+        return (currentRound == null) ? null : currentRound.getCurrentPlayer();
+    }
+
     /**
      * Gets the game configuration.
      * 
      * @return The game configuration
      */
+    @Override
     public GameConfig getGameConfig() {
         return gameConfig;
     }
@@ -11,6 +11,9 @@ import java.util.Random;
  * @version 1.0
  */
 public class GameConfig {
+    /** Most decks a game can combine */
+    public static final int MAX_DECKS = 6;
+    
     /** Whether expansion cards (6, 7, 8, 9) are enabled */
     private boolean useExpansion;
     
@@ -20,6 +23,9 @@ public class GameConfig {
     /** Threshold for NO_MERCY variant (random between 7-10) */
     private int noMercyThreshold;
     
+    /** Smallest number of decks to combine; more are added when a table needs them */
+    private int deckCount = 1;
+    
     /** Random number generator for variant-specific values */
     private Random random;
 
@@ -30,7 +36,7 @@ public class GameConfig {
     public GameConfig() {
         this.useExpansion = false;
         this.variant = GameVariant.NORMAL;
-        this.random = new Random();
+        this.random = new GameRandom();
         this.noMercyThreshold = 0;
     }
 
@@ -41,9 +47,21 @@ public class GameConfig {
      * @param variant The game variant to use
      */
     public GameConfig(boolean useExpansion, GameVariant variant) {
+        this(useExpansion, variant, new GameRandom());
+    }
+
+    /**
+     * Creates a game configuration that draws variant-specific values from
+     * the given random source, so a seeded source gives a reproducible threshold.
+     * 
+     * @param useExpansion true to include expansion cards
+     * @param variant The game variant to use
+     * @param random Random source for variant-specific values
+     */
+    public GameConfig(boolean useExpansion, GameVariant variant, Random random) {
         this.useExpansion = useExpansion;
         this.variant = variant;
-        this.random = new Random();
+        this.random = random;
         
         // Initialize variant-specific parameters
         if (variant == GameVariant.NO_MERCY) {
@@ -51,6 +69,21 @@ public class GameConfig {
         }
     }
 
+    /**
+     * Creates a game configuration with a known No Mercy threshold,
+     * e.g. when a saved game is restored.
+     * 
+     * @param useExpansion true to include expansion cards
+     * @param variant The game variant to use
+     * @param noMercyThreshold Threshold for the NO_MERCY variant (ignored by other variants)
+     */
+    public GameConfig(boolean useExpansion, GameVariant variant, int noMercyThreshold) {
+        this.useExpansion = useExpansion;
+        this.variant = variant;
+        this.random = new GameRandom();
+        this.noMercyThreshold = noMercyThreshold;
+    }
+
     /**
      * Gets whether expansion cards are enabled.
      * 
@@ -69,6 +102,29 @@ public class GameConfig {
         this.useExpansion = useExpansion;
     }
 
+    /**
+     * Gets the smallest number of decks a game combines.
+     * 
+     * @return Number of decks (1 by default)
+     */
+    public int getDeckCount() {
+        return deckCount;
+    }
+
+    /**
+     * Sets the smallest number of decks a game combines.
+     * A game still adds decks when its table is too large for this many.
+     * 
+     * @param deckCount Number of decks (1 to {@link #MAX_DECKS})
+     * @throws IllegalArgumentException if the count is out of range
+     */
+    public void setDeckCount(int deckCount) {
+        if (deckCount < 1 || deckCount > MAX_DECKS) {
+            throw new IllegalArgumentException("Deck count must be 1 to " + MAX_DECKS + ", got " + deckCount);
+        }
+        this.deckCount = deckCount;
+    }
+
     /**
      * Gets the selected game variant.
      * 
@@ -125,6 +181,9 @@ public class GameConfig {
         StringBuilder sb = new StringBuilder();
         sb.append("Game Configuration:\n");
         sb.append("  Expansion Cards: ").append(useExpansion ? "ENABLED" : "DISABLED").append("\n");
+        if (deckCount > 1) {
+            sb.append("  Decks: ").append(deckCount).append("\n");
+        }
         sb.append("  Variant: ").append(variant.getDisplayName()).append("\n");
         sb.append("  Description: ").append(variant.getDescription());
         
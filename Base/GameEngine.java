@@ -0,0 +1,106 @@
+package base;
+
+import player.VirtualPlayer;
+import strategy.AIStrategy;
+import strategy.PlayStrategy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Headless entry point that plays complete games without console I/O.
+ * Seats one {@link VirtualPlayer} per strategy in the roster and runs the
+ * normal {@link Game} flow silently, so AI-only games can be run in bulk.
+ * 
+ * <p>An engine keeps no state between games. Strategies in the roster are
+ * used by exactly one game at a time and must not prompt for input.</p>
+ * 
+ * <p>All randomness of a game comes from one {@link GameRandom}: the game
+ * shuffles with it and every {@link AIStrategy} in the roster is given its
+ * own stream split from it. A game is therefore replayed exactly by playing
+ * the same roster with the same configuration and seed.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class GameEngine {
+    /** Smallest supported table */
+    public static final int MIN_PLAYERS = 3;
+    
+    /** Largest supported table; tables above 4 seats deal from combined decks */
+    public static final int MAX_PLAYERS = 16;
+    
+    /** Seat names, built once so games do not format strings */
+    private static final String[] SEAT_NAMES = new String[MAX_PLAYERS];
+    
+    static {
+        for (int i = 0; i < MAX_PLAYERS; i++) {
+            SEAT_NAMES[i] = "Player " + (i + 1);
+        }
+    }
+
+    /**
+     * Creates a game engine.
+     */
+    public GameEngine() {
+    }
+
+    /**
+     * Plays one complete game, drawing the No Mercy threshold from the seed as well.
+     * 
+     * @param roster One strategy per seat, in seat order (3 to {@link #MAX_PLAYERS})
+     * @param useExpansion true to include expansion cards
+     * @param variant The game variant
+     * @param seed Seed for all randomness in this game
+     * @return The structured result of the game
+     * @throws IllegalArgumentException if the roster size is not supported
+     */
+    public GameResult play(List<? extends PlayStrategy> roster, boolean useExpansion,
+                           GameVariant variant, long seed) {
+        GameRandom random = new GameRandom(seed);
+        GameConfig config = new GameConfig(useExpansion, variant, random.split());
+        return play(roster, config, random);
+    }
+
+    /**
+     * Plays one complete game.
+     * The seed fixes the deck order, every round shuffle and every AI decision.
+     * 
+     * @param roster One strategy per seat, in seat order (3 to {@link #MAX_PLAYERS})
+     * @param config Expansion and variant settings
+     * @param seed Seed for all shuffling and AI decisions in this game
+     * @return The structured result of the game
+     * @throws IllegalArgumentException if the roster size is not supported
+     */
+    public GameResult play(List<? extends PlayStrategy> roster, GameConfig config, long seed) {
+        return play(roster, config, new GameRandom(seed));
+    }
+
+    /**
+     * Plays one complete game with an existing random source.
+     * Every AI strategy in the roster is reseeded from a split of the source.
+     * 
+     * @param roster One strategy per seat, in seat order (3 to {@link #MAX_PLAYERS})
+     * @param config Expansion and variant settings
+     * @param random Random source for this game only
+     * @return The structured result of the game
+     * @throws IllegalArgumentException if the roster size is not supported
+     */
+    public GameResult play(List<? extends PlayStrategy> roster, GameConfig config, GameRandom random) {
+        if (roster.size() < MIN_PLAYERS || roster.size() > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Roster must have " + MIN_PLAYERS + " to " +
+                MAX_PLAYERS + " strategies, got " + roster.size());
+        }
+
+        List<Player> players = new ArrayList<>(roster.size());
+        for (int i = 0; i < roster.size(); i++) {
+            PlayStrategy strategy = roster.get(i);
+            if (strategy instanceof AIStrategy) {
+                ((AIStrategy) strategy).setRandom(random.split());
+            }
+            players.add(new VirtualPlayer(SEAT_NAMES[i], strategy));
+        }
+
+        Game game = new Game(players, config, random);
+        return game.play();
+    }
+}
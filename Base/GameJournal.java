@@ -0,0 +1,647 @@
+package base;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead journal of a game.
+ * 
+ * <p>The journal starts with a checkpoint (a complete save, see
+ * {@link GameSaveManager#save(Game, Path)}) and then records every event of
+ * the game as it happens: the deal of each round, each offer, each card
+ * taken, the cards left on the table (or collected into Jests at the end),
+ * each trophy awarded and the end of the game. Further checkpoints can be
+ * appended between rounds with {@link #checkpoint()}. An event costs a
+ * few bytes: a take is an 11-byte frame.</p>
+ * 
+ * <p>The file is a 6-byte header (int magic "JSTJ", short version) followed
+ * by frames. A frame is a short payload length, an int CRC-32 of the payload
+ * and the payload: one record, a type byte followed by its fields.</p>
+ * 
+ * <p>Every frame is written to the file as soon as its event happens, so a
+ * crash of the process loses no completed move. Forcing the file to disk is
+ * batched (group commit): the journal is synced once
+ * {@link #DEFAULT_SYNC_FRAMES} frames are pending or
+ * {@link #DEFAULT_SYNC_INTERVAL_MILLIS} have passed since the last sync,
+ * before the game waits for a human player, and always on a checkpoint
+ * and on {@link #close()}. A table idling on a player's move therefore
+ * never leaves its last batch unsynced.</p>
+ * 
+ * <p>{@link #recover(Path)} rebuilds the game: it restores the last
+ * checkpoint and replays the rounds completed after it, repeating the
+ * recorded decisions instead of asking the players. Decisions of an
+ * unfinished round stay queued and are replayed by the next
+ * {@link Game#playNextRound()}; the game then continues live and the
+ * journal keeps recording. A frame torn by the crash is cut off.
+ * The journal is not thread-safe; it belongs to the thread playing the game.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class GameJournal implements Closeable {
+    /** Default number of frames written between two syncs */
+    public static final int DEFAULT_SYNC_FRAMES = 64;
+    
+    /** Default longest time between two syncs while events are written */
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 50;
+    
+    /** First four bytes of a journal: "JSTJ" */
+    private static final int MAGIC = 0x4A53544A;
+    
+    /** Current journal version */
+    private static final short VERSION = 1;
+    
+    /** Size of the file header */
+    private static final int HEADER_SIZE = 6;
+    
+    /** Size of a frame header (length and checksum) */
+    private static final int FRAME_HEADER_SIZE = 6;
+    
+    /** Record: round number, seat count, both hand cards per seat */
+    private static final byte DEAL = 1;
+    
+    /** Record: seat, face-up card, face-down card */
+    private static final byte OFFER = 2;
+    
+    /** Record: taking seat, offer owner seat, face-up flag, card */
+    private static final byte TAKE = 3;
+    
+    /** Record: collected flag, count, then owner seat and card per leftover */
+    private static final byte LEFTOVERS = 4;
+    
+    /** Record: trophy card, winner seat (-1 for none) */
+    private static final byte TROPHY = 5;
+    
+    /** Record: the game was scored */
+    private static final byte END = 6;
+    
+    /** Record: a complete save of the game */
+    private static final byte CHECKPOINT = 7;
+    
+    /** The journaled game */
+    private final Game game;
+    
+    /** The journal file, positioned at its end */
+    private final FileChannel channel;
+    
+    /** Frames written between two syncs */
+    private final int syncFrames;
+    
+    /** Longest time between two syncs in nanoseconds */
+    private final long syncIntervalNanos;
+    
+    /** Reused frame buffer */
+    private final ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_SIZE + SaveFormat.MAX_SIZE + 1);
+    
+    /** Reused checksum */
+    private final CRC32 crc = new CRC32();
+    
+    /** Recorded records still to be replayed, oldest first */
+    private final ArrayDeque<ByteBuffer> pending = new ArrayDeque<>();
+    
+    /** Frames written since the last sync */
+    private int unsynced;
+    
+    /** Time of the last sync */
+    private long lastSync;
+
+    /**
+     * Attaches a journal to a game.
+     * 
+     * @param game The game
+     * @param channel The open journal file, positioned at its end
+     * @param syncFrames Frames written between two syncs
+     * @param syncIntervalMillis Longest time between two syncs
+     */
+    private GameJournal(Game game, FileChannel channel, int syncFrames, long syncIntervalMillis) {
+        this.game = game;
+        this.channel = channel;
+        this.syncFrames = Math.max(1, syncFrames);
+        this.syncIntervalNanos = Math.max(0, syncIntervalMillis) * 1_000_000L;
+        this.lastSync = System.nanoTime();
+    }
+
+    /**
+     * Starts a journal for a game with the default sync policy.
+     * 
+     * @param file The journal file (replaced if it exists)
+     * @param game The game, not started or between two rounds
+     * @return The journal, attached to the game
+     * @throws IOException if the file cannot be written
+     */
+    public static GameJournal create(Path file, Game game) throws IOException {
+        return create(file, game, DEFAULT_SYNC_FRAMES, DEFAULT_SYNC_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Starts a journal for a game. A game that has not started is dealt
+     * first, so the first checkpoint holds the deck and trophies.
+     * 
+     * @param file The journal file (replaced if it exists)
+     * @param game The game, not started or between two rounds
+     * @param syncFrames Frames written between two syncs
+     * @param syncIntervalMillis Longest time between two syncs while events are written
+     * @return The journal, attached to the game
+     * @throws IOException if the file cannot be written
+     */
+    public static GameJournal create(Path file, Game game, int syncFrames, long syncIntervalMillis)
+            throws IOException {
+        game.setUp();
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        GameJournal journal = new GameJournal(game, channel, syncFrames, syncIntervalMillis);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putShort(VERSION).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            journal.checkpoint();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        game.setJournal(journal);
+        return journal;
+    }
+
+    /**
+     * Rebuilds a game from its journal with the default sync policy.
+     * 
+     * @param file The journal file
+     * @return The journal, attached to the rebuilt game
+     * @throws IOException if the file cannot be read or does not match its checkpoint
+     * @see #recover(Path, int, long)
+     */
+    public static GameJournal recover(Path file) throws IOException {
+        return recover(file, DEFAULT_SYNC_FRAMES, DEFAULT_SYNC_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Rebuilds a game from its journal: restores the last checkpoint and
+     * replays every round completed after it. Decisions recorded for a
+     * round in progress, and the trophies and end of a finished game, are
+     * replayed by the next calls to {@link Game#playNextRound()} and
+     * {@link Game#finish()}. A torn frame at the end of the file is removed.
+     * 
+     * @param file The journal file
+     * @param syncFrames Frames written between two syncs
+     * @param syncIntervalMillis Longest time between two syncs while events are written
+     * @return The journal, attached to the rebuilt game
+     * @throws IOException if the file cannot be read or does not match its checkpoint
+     */
+    public static GameJournal recover(Path file, int syncFrames, long syncIntervalMillis)
+            throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Not a journal file: " + file.getFileName());
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Journal too large: " + file.getFileName());
+            }
+            // Read rather than map: a mapped file cannot be truncated on Windows
+            ByteBuffer data = ByteBuffer.allocate((int) size);
+            while (data.hasRemaining()) {
+                if (channel.read(data) < 0) {
+                    throw new IOException("Journal shrank while being read: " + file.getFileName());
+                }
+            }
+            data.flip();
+            if (data.getInt() != MAGIC) {
+                throw new IOException("Not a journal file: " + file.getFileName());
+            }
+            if (data.getShort() != VERSION) {
+                throw new IOException("Unsupported journal version");
+            }
+        
+            ArrayDeque<ByteBuffer> records = new ArrayDeque<>();
+            ByteBuffer checkpoint = null;
+            ByteBuffer record;
+            while ((record = nextRecord(data)) != null) {
+                if (record.get(0) == CHECKPOINT) {
+                    checkpoint = record;
+                    records.clear();
+                } else {
+                    records.add(record);
+                }
+            }
+            if (checkpoint == null) {
+                throw new IOException("Journal has no checkpoint");
+            }
+            long end = data.position();
+            channel.truncate(end);
+            channel.position(end);
+            
+            checkpoint.position(1);
+            Game game = SaveFormat.decode(checkpoint);
+            GameJournal journal = new GameJournal(game, channel, syncFrames, syncIntervalMillis);
+            journal.pending.addAll(records);
+            game.setJournal(journal);
+            try {
+                while (journal.hasCompletedRound()) {
+                    game.playNextRound();
+                }
+            } catch (IllegalStateException e) {
+                throw new IOException("Journal does not match its checkpoint", e);
+            }
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the next valid frame of a journal read into memory.
+     * 
+     * @param data The journal, positioned at a frame
+     * @return The frame's record, or null at the end or at a torn or corrupt frame
+     *         (the buffer is then left positioned at that frame)
+     */
+    private static ByteBuffer nextRecord(ByteBuffer data) {
+        int start = data.position();
+        if (data.remaining() < FRAME_HEADER_SIZE) {
+            return null;
+        }
+        int length = data.getShort() & 0xFFFF;
+        int checksum = data.getInt();
+        if (length == 0 || length > data.remaining()) {
+            data.position(start);
+            return null;
+        }
+        ByteBuffer record = data.slice();
+        record.limit(length);
+        CRC32 crc = new CRC32();
+        crc.update(record.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            data.position(start);
+            return null;
+        }
+        data.position(data.position() + length);
+        return record;
+    }
+
+    /**
+     * Gets the journaled game.
+     * 
+     * @return The game
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Appends a complete save of the game and syncs the journal.
+     * Recovery starts from the last checkpoint.
+     * 
+     * @throws IOException if the journal cannot be written
+     * @throws IllegalStateException if the game is not between two rounds
+     *         or recorded events are still to be replayed
+     */
+    public void checkpoint() throws IOException {
+        if (!pending.isEmpty()) {
+            throw new IllegalStateException("Journal is still replaying");
+        }
+        ByteBuffer save = SaveFormat.encode(game);
+        begin(CHECKPOINT).put(save);
+        commit();
+        sync();
+    }
+
+    /**
+     * Forces every written frame to disk.
+     * 
+     * @throws IOException if the journal cannot be synced
+     */
+    public void sync() throws IOException {
+        channel.force(false);
+        unsynced = 0;
+        lastSync = System.nanoTime();
+    }
+
+    /**
+     * Syncs the frames written since the last sync, if any. Called before
+     * the game waits for a human player.
+     * 
+     * @throws IllegalStateException if the journal cannot be synced
+     */
+    void syncPending() {
+        if (unsynced == 0) {
+            return;
+        }
+        try {
+            sync();
+        } catch (IOException e) {
+            throw new IllegalStateException("Journal write failed", e);
+        }
+    }
+
+    /**
+     * Syncs and closes the journal and detaches it from the game.
+     * 
+     * @throws IOException if the journal cannot be synced
+     */
+    @Override
+    public void close() throws IOException {
+        game.setJournal(null);
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Records the hands dealt for a round, or checks them against the
+     * recorded deal when replaying.
+     * 
+     * @param round The round number
+     * @param players The players, in seat order
+     * @throws IllegalStateException if the replayed deal differs from the recorded one
+     */
+    void deal(int round, List<Player> players) {
+        ByteBuffer record = replay(DEAL);
+        if (record != null) {
+            boolean same = (record.getShort() == round) && (record.get() == players.size());
+            for (Player player : players) {
+                for (Card card : player.getHand()) {
+                    same &= record.get() == card.getId();
+                }
+            }
+            if (!same) {
+                throw new IllegalStateException("Replayed deal of round " + round + " differs from the journal");
+            }
+            return;
+        }
+        ByteBuffer out = begin(DEAL);
+        out.putShort((short) round);
+        out.put((byte) players.size());
+        for (Player player : players) {
+            for (Card card : player.getHand()) {
+                out.put((byte) card.getId());
+            }
+        }
+        append();
+    }
+
+    /**
+     * Gets the recorded offer of a player when replaying.
+     * 
+     * @param player The offering player
+     * @param seat The player's seat
+     * @return The recorded offer, built from the player's hand, or null when playing live
+     * @throws IllegalStateException if the journal expects another event
+     */
+    Offer replayOffer(Player player, int seat) {
+        ByteBuffer record = replay(OFFER);
+        if (record == null) {
+            return null;
+        }
+        if (record.get() != seat) {
+            throw new IllegalStateException("Journal expects an offer from another seat");
+        }
+        Card faceUp = handCard(player, record.get());
+        Card faceDown = handCard(player, record.get());
+        return new Offer(faceUp, faceDown, player);
+    }
+
+    /**
+     * Records an offer made live.
+     * 
+     * @param seat The offering seat
+     * @param offer The offer
+     */
+    void offer(int seat, Offer offer) {
+        ByteBuffer out = begin(OFFER);
+        out.put((byte) seat);
+        out.put((byte) offer.getFaceUp().getId());
+        out.put((byte) offer.getFaceDown().getId());
+        append();
+    }
+
+    /**
+     * Gets the recorded take of a player when replaying.
+     * 
+     * @param seat The taking seat
+     * @return {@code ownerSeat << 1 | faceUp}, or -1 when playing live
+     * @throws IllegalStateException if the journal expects another event
+     */
+    int replayTake(int seat) {
+        ByteBuffer record = replay(TAKE);
+        if (record == null) {
+            return -1;
+        }
+        if (record.get() != seat) {
+            throw new IllegalStateException("Journal expects a take by another seat");
+        }
+        int owner = record.get();
+        return (owner << 1) | record.get();
+    }
+
+    /**
+     * Records a card taken live.
+     * 
+     * @param seat The taking seat
+     * @param ownerSeat Seat of the offer's owner
+     * @param faceUp Whether the face-up card was taken
+     * @param card The card taken
+     */
+    void take(int seat, int ownerSeat, boolean faceUp, Card card) {
+        ByteBuffer out = begin(TAKE);
+        out.put((byte) seat);
+        out.put((byte) ownerSeat);
+        out.put((byte) (faceUp ? 1 : 0));
+        out.put((byte) card.getId());
+        append();
+    }
+
+    /**
+     * Records the cards left in the offers at the end of a round, or checks
+     * them when replaying.
+     * 
+     * @param offers The round's offers
+     * @param players The players, in seat order
+     * @param collected true if the cards go to their owners' Jests (last round)
+     * @throws IllegalStateException if the replayed leftovers differ from the recorded ones
+     */
+    void leftovers(List<Offer> offers, List<Player> players, boolean collected) {
+        ByteBuffer record = replay(LEFTOVERS);
+        ByteBuffer out = (record != null) ? null : begin(LEFTOVERS);
+        int count = 0;
+        for (Offer offer : offers) {
+            if (offer.getRemainingCard() != null) {
+                count++;
+            }
+        }
+        boolean same = true;
+        if (record != null) {
+            same = (record.get() != 0) == collected && record.get() == count;
+        } else {
+            out.put((byte) (collected ? 1 : 0));
+            out.put((byte) count);
+        }
+        for (Offer offer : offers) {
+            Card remaining = offer.getRemainingCard();
+            if (remaining == null) {
+                continue;
+            }
+            int owner = players.indexOf(offer.getOwner());
+            if (record != null) {
+                same &= record.get() == owner && record.get() == remaining.getId();
+            } else {
+                out.put((byte) owner);
+                out.put((byte) remaining.getId());
+            }
+        }
+        if (!same) {
+            throw new IllegalStateException("Replayed leftovers differ from the journal");
+        }
+        if (record == null) {
+            append();
+        }
+    }
+
+    /**
+     * Records an awarded trophy, or checks it when replaying.
+     * 
+     * @param card The trophy card
+     * @param winnerSeat Seat of the winner, or -1 if nobody won it
+     * @throws IllegalStateException if the replayed winner differs from the recorded one
+     */
+    void trophy(Card card, int winnerSeat) {
+        ByteBuffer record = replay(TROPHY);
+        if (record != null) {
+            if (record.get() != card.getId() || record.get() != winnerSeat) {
+                throw new IllegalStateException("Replayed trophy differs from the journal");
+            }
+            return;
+        }
+        ByteBuffer out = begin(TROPHY);
+        out.put((byte) card.getId());
+        out.put((byte) winnerSeat);
+        append();
+    }
+
+    /**
+     * Records the end of the game and syncs the journal.
+     */
+    void end() {
+        if (replay(END) != null) {
+            return;
+        }
+        begin(END);
+        append();
+        try {
+            sync();
+        } catch (IOException e) {
+            throw new IllegalStateException("Journal write failed", e);
+        }
+    }
+
+    /**
+     * Checks whether the records to replay include the end of a round.
+     * 
+     * @return true if a complete round is still to be replayed
+     */
+    private boolean hasCompletedRound() {
+        for (ByteBuffer record : pending) {
+            if (record.get(0) == LEFTOVERS) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes the next record to replay.
+     * 
+     * @param type The type the game expects
+     * @return The record, positioned after its type, or null when playing live
+     * @throws IllegalStateException if the next record has another type
+     */
+    private ByteBuffer replay(byte type) {
+        ByteBuffer record = pending.poll();
+        if (record == null) {
+            return null;
+        }
+        if (record.get() != type) {
+            throw new IllegalStateException("Journal out of step: expected record " + type
+                + ", found " + record.get(0));
+        }
+        return record;
+    }
+
+    /**
+     * Finds a card in a player's hand.
+     * 
+     * @param player The player
+     * @param id Card id
+     * @return The card
+     * @throws IllegalStateException if the card is not in the hand
+     */
+    private static Card handCard(Player player, int id) {
+        for (Card card : player.getHand()) {
+            if (card.getId() == id) {
+                return card;
+            }
+        }
+        throw new IllegalStateException("Journal offers a card the player does not hold");
+    }
+
+    /**
+     * Starts a frame.
+     * 
+     * @param type Record type
+     * @return The frame buffer, positioned after the type
+     */
+    private ByteBuffer begin(byte type) {
+        frame.clear();
+        frame.position(FRAME_HEADER_SIZE);
+        frame.put(type);
+        return frame;
+    }
+
+    /**
+     * Writes the started frame and syncs if the batch is full or old enough.
+     * 
+     * @throws IllegalStateException if the journal cannot be written
+     *         (the game cannot go on without it)
+     */
+    private void append() {
+        try {
+            commit();
+            if (unsynced >= syncFrames || System.nanoTime() - lastSync >= syncIntervalNanos) {
+                sync();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Journal write failed", e);
+        }
+    }
+
+    /**
+     * Fills in the header of the started frame and writes it.
+     * 
+     * @throws IOException if the journal cannot be written
+     */
+    private void commit() throws IOException {
+        int length = frame.position() - FRAME_HEADER_SIZE;
+        crc.reset();
+        crc.update(frame.array(), FRAME_HEADER_SIZE, length);
+        frame.putShort(0, (short) length);
+        frame.putInt(2, (int) crc.getValue());
+        frame.flip();
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+        unsynced++;
+    }
+}
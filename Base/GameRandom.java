@@ -0,0 +1,214 @@
+package base;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded, splittable random source shared by everything random in a game.
+ * 
+ * <p>A game draws its deck order, round shuffles, No Mercy threshold and AI
+ * decisions from one {@code GameRandom} and streams {@link #split() split}
+ * from it, so a whole game can be replayed from its seed. Streams produced
+ * by {@link #split()} are statistically independent, which gives parallel
+ * simulations one private stream per worker instead of contention on a
+ * shared {@link Random}.</p>
+ * 
+ * <p>The class extends {@link Random} so it can be passed to
+ * {@link java.util.Collections#shuffle(java.util.List, Random)} and to any
+ * existing {@code Random} field. Values come from the SplitMix64 generator
+ * of {@link SplittableRandom}, not from the synchronized linear congruential
+ * generator of {@code Random}. The generator is written out here so that its
+ * state (two longs, see {@link #getState()} and {@link #getGamma()}) can be
+ * saved with a game; for a given seed it produces exactly the values of
+ * {@code new SplittableRandom(seed)}. An instance is not thread-safe; give
+ * each thread its own split.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class GameRandom extends Random {
+    private static final long serialVersionUID = 1L;
+    
+    /** Gamma of a seeded generator (odd, golden ratio) */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    
+    /** Current seed, advanced by the gamma before every value */
+    private long state;
+    
+    /** Odd step added to the seed; differs between splits */
+    private long gamma;
+
+    /**
+     * Creates a random source with an unpredictable seed.
+     */
+    public GameRandom() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates a random source from a seed.
+     * The same seed always produces the same values and splits.
+     * 
+     * @param seed The seed
+     */
+    public GameRandom(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    /**
+     * Creates a generator from its raw state.
+     * 
+     * @param state The seed
+     * @param gamma The step (odd)
+     */
+    private GameRandom(long state, long gamma) {
+        // Random(long) skips the static seed uniquifier and System.nanoTime() of Random()
+        super(0L);
+        this.state = state;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Recreates a random source from a state saved with
+     * {@link #getState()} and {@link #getGamma()}.
+     * The result continues exactly where the saved source stopped.
+     * 
+     * @param state The saved state
+     * @param gamma The saved gamma
+     * @return The restored random source
+     * @throws IllegalArgumentException if the gamma is even (never produced by this class)
+     */
+    public static GameRandom fromState(long state, long gamma) {
+        if ((gamma & 1L) == 0) {
+            throw new IllegalArgumentException("Gamma must be odd");
+        }
+        return new GameRandom(state, gamma);
+    }
+
+    /**
+     * Gets the current state of the generator.
+     * 
+     * @return The state, for {@link #fromState(long, long)}
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Gets the step of the generator.
+     * 
+     * @return The gamma, for {@link #fromState(long, long)}
+     */
+    public long getGamma() {
+        return gamma;
+    }
+
+    /**
+     * Creates an independent random source from this one.
+     * The split is deterministic: the same parent state yields the same child.
+     * 
+     * @return A new random source
+     */
+    public GameRandom split() {
+        return new GameRandom(nextLong(), mixGamma(nextSeed()));
+    }
+
+    /**
+     * Restarts this source from a seed.
+     * 
+     * @param seed The seed
+     */
+    @Override
+    public synchronized void setSeed(long seed) {
+        // Called by the Random constructor before this class is initialized
+        state = seed;
+        gamma = GOLDEN_GAMMA;
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        int r = nextInt();
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return r & m;
+        }
+        // Reject the over-represented top of the range
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = nextInt() >>> 1) {
+        }
+        return r;
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return nextInt() < 0;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Advances the seed by one step.
+     * 
+     * @return The new seed
+     */
+    private long nextSeed() {
+        return state += gamma;
+    }
+
+    /**
+     * Mixes a seed into a 64-bit value (Stafford variant 13).
+     * 
+     * @param z The seed
+     * @return The value
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Mixes a seed into a 32-bit value.
+     * 
+     * @param z The seed
+     * @return The value
+     */
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    /**
+     * Derives the gamma of a split from a seed.
+     * 
+     * @param z The seed
+     * @return An odd gamma with enough bit transitions
+     */
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
@@ -0,0 +1,127 @@
+package base;
+
+import trophy.Trophy;
+import java.util.List;
+
+/**
+ * Structured outcome of a completed game.
+ * Holds each player's Jest and final score in seat order, the trophies with
+ * their winners, and the winning seat.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class GameResult {
+    /** Players in seat order */
+    private final List<Player> players;
+    
+    /** Final score of each player, in seat order */
+    private final int[] scores;
+    
+    /** Trophies of the game (empty in GO_ALL_OUT) */
+    private final List<Trophy> trophies;
+    
+    /** Seat index of the winning player */
+    private final int winnerSeat;
+
+    /**
+     * Creates a game result.
+     * 
+     * @param players Players in seat order
+     * @param scores Final score of each player, in seat order
+     * @param trophies Trophies of the game with their winners set
+     * @param winnerSeat Seat index of the winning player
+     */
+    public GameResult(List<Player> players, int[] scores, List<Trophy> trophies, int winnerSeat) {
+        this.players = players;
+        this.scores = scores;
+        this.trophies = trophies;
+        this.winnerSeat = winnerSeat;
+    }
+
+    /**
+     * Gets the number of players in the game.
+     * 
+     * @return Number of seats
+     */
+    public int getPlayerCount() {
+        return players.size();
+    }
+
+    /**
+     * Gets the players in seat order.
+     * 
+     * @return List of players
+     */
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    /**
+     * Gets the final Jest of a seat, including any trophy cards won.
+     * 
+     * @param seat The seat index
+     * @return The seat's Jest
+     */
+    public Jest getJest(int seat) {
+        return players.get(seat).getJest();
+    }
+
+    /**
+     * Gets the final score of a seat.
+     * 
+     * @param seat The seat index
+     * @return The seat's score
+     */
+    public int getScore(int seat) {
+        return scores[seat];
+    }
+
+    /**
+     * Gets the trophies of the game.
+     * 
+     * @return List of trophies, each with its winner (or null)
+     */
+    public List<Trophy> getTrophies() {
+        return trophies;
+    }
+
+    /**
+     * Gets the seat that won a trophy.
+     * 
+     * @param trophyIndex Index into {@link #getTrophies()}
+     * @return Seat index of the trophy winner, or -1 if nobody won it
+     */
+    public int getTrophyWinnerSeat(int trophyIndex) {
+        Player winner = trophies.get(trophyIndex).getWinner();
+        return (winner == null) ? -1 : players.indexOf(winner);
+    }
+
+    /**
+     * Gets the seat of the winning player.
+     * Ties go to the earliest seat.
+     * 
+     * @return Seat index of the winner
+     */
+    public int getWinnerSeat() {
+        return winnerSeat;
+    }
+
+    /**
+     * Gets the winning player.
+     * 
+     * @return The winner
+     */
+    public Player getWinner() {
+        return players.get(winnerSeat);
+    }
+
+    /**
+     * Gets the winning score.
+     * 
+     * @return Score of the winner
+     */
+    public int getWinningScore() {
+        return scores[winnerSeat];
+    }
+}
@@ -1,15 +1,25 @@
 package base;
 
-import java.io.*;
+import java.io.IOException;
 import java.nio.file.*;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 /**
  * Manages saving and loading game state.
  * Provides functionality to save current game progress and resume later.
- * Uses serialization-based approach with file I/O.
+ * Games paused between two rounds are stored in a compact, versioned binary
+ * format with a checksum (see {@link #save(Game, Path)}), a few hundred
+ * bytes per game.
+ * 
+ * <p>Saves written with {@link #saveGame(Game)} are indexed in a catalog
+ * file in the save directory holding each save's variant, time, players,
+ * round and size, so listing, paging and display never scan the directory
+ * or parse file names. The catalog is rebuilt from the save files if it
+ * is missing or was left half-written.</p>
  * 
  * @author Hazri and Sophea
  * @version 1.0
@@ -24,6 +34,13 @@ public class GameSaveManager {
     /** Date format for save filenames */
     private static final DateTimeFormatter dateFormat = 
         DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    
+    /** Date format for save listings */
+    private static final DateTimeFormatter displayFormat = 
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    /** Index of the save directory, opened on first use */
+    private static SaveCatalog catalog;
 
     /**
      * Creates the save directory if it doesn't exist.
@@ -37,28 +54,29 @@ public class GameSaveManager {
     }
 
     /**
-     * Saves the current game state to a file.
+     * Saves a game to a new file in the save directory.
      * Filename format: JEST_VARIANT_TIMESTAMP.jest
      * 
-     * @param gameState A map of game data to save
-     * @param variant The current game variant
+     * @param game The game, paused between two rounds
      * @return true if save was successful
+     * @throws IllegalStateException if a round is in progress or the game is finished
      */
-    public static boolean saveGame(Map<String, Object> gameState, GameVariant variant) {
+    public static synchronized boolean saveGame(Game game) {
         try {
+            SaveCatalog index = catalog();
             String timestamp = LocalDateTime.now().format(dateFormat);
-            String filename = String.format("JEST_%s_%s%s", 
-                variant.name(), timestamp, SAVE_EXTENSION);
+            String prefix = String.format("JEST_%s_%s", 
+                game.getGameConfig().getVariant().name(), timestamp);
+            String filename = prefix + SAVE_EXTENSION;
+            // Several saves within one second get a counter
+            for (int n = 2; Files.exists(Paths.get(SAVE_DIRECTORY, filename)); n++) {
+                filename = prefix + "_" + n + SAVE_EXTENSION;
+            }
             Path filepath = Paths.get(SAVE_DIRECTORY, filename);
-            
-            // Serialize game state
-            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-            ObjectOutputStream oos = new ObjectOutputStream(bos);
-            oos.writeObject(gameState);
-            oos.close();
-            
-            // Write to file
-            Files.write(filepath, bos.toByteArray());
+            save(game, filepath);
+            index.add(new SaveInfo(filename, game.getGameConfig().getVariant(),
+                System.currentTimeMillis(), game.getPlayers().size(), game.getRoundNumber(),
+                (int) Files.size(filepath)));
             System.out.println("Game saved successfully: " + filename);
             return true;
             
@@ -69,33 +87,112 @@ public class GameSaveManager {
     }
 
     /**
-     * Lists all available saved games.
+     * Writes a game to a file. The file is replaced atomically: after a
+     * crash it holds either its previous content or the complete save.
+     * 
+     * @param game The game, paused between two rounds
+     * @param file The target file
+     * @throws IOException if the file cannot be written
+     * @throws IllegalStateException if a round is in progress or the game is finished
+     * @throws IllegalArgumentException if a player's strategy cannot be saved
+     */
+    public static void save(Game game, Path file) throws IOException {
+        SaveFormat.write(game, file);
+    }
+
+    /**
+     * Reads a game from a file through a memory mapping.
+     * The game is restored headless (see {@link Game#playNextRound()});
+     * its random sources continue where they stopped when it was saved.
+     * 
+     * @param file The save file
+     * @return The restored game
+     * @throws IOException if the file cannot be read, is corrupt or has an unknown version
+     */
+    public static Game load(Path file) throws IOException {
+        return SaveFormat.read(file);
+    }
+
+    /**
+     * Lists all available saved games, most recent first.
      * 
      * @return List of save file names
      */
-    public static List<String> listSavedGames() {
+    public static synchronized List<String> listSavedGames() {
         List<String> saves = new ArrayList<>();
+        for (SaveInfo info : listSaves(0, Integer.MAX_VALUE)) {
+            saves.add(info.getFilename());
+        }
+        return saves;
+    }
+
+    /**
+     * Lists a page of saved games from the catalog, most recent first.
+     * A page costs the same however many saves exist.
+     * 
+     * @param offset Number of saves to skip
+     * @param limit Largest number of saves to return
+     * @return Catalog entries of the page (empty if the catalog cannot be read)
+     */
+    public static synchronized List<SaveInfo> listSaves(int offset, int limit) {
         try {
-            DirectoryStream<Path> stream = Files.newDirectoryStream(
-                Paths.get(SAVE_DIRECTORY), "*" + SAVE_EXTENSION);
-            
-            for (Path file : stream) {
-                saves.add(file.getFileName().toString());
-            }
-            Collections.sort(saves, Collections.reverseOrder()); // Most recent first
+            return catalog().page(offset, limit);
         } catch (IOException e) {
             System.err.println("Error listing saved games: " + e.getMessage());
+            return new ArrayList<>();
         }
-        return saves;
+    }
+
+    /**
+     * Gets the number of saved games in the catalog.
+     * 
+     * @return Number of saves (0 if the catalog cannot be read)
+     */
+    public static synchronized int getSaveCount() {
+        try {
+            return catalog().size();
+        } catch (IOException e) {
+            System.err.println("Error reading save catalog: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Rebuilds the catalog from the save files, e.g. after saves were
+     * copied into or removed from the save directory by hand.
+     * 
+     * @return true if the catalog was rebuilt
+     */
+    public static synchronized boolean rebuildCatalog() {
+        try {
+            catalog().rebuild();
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error rebuilding save catalog: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Opens the catalog of the save directory on first use.
+     * 
+     * @return The catalog
+     * @throws IOException if the catalog can be neither read nor rebuilt
+     */
+    private static SaveCatalog catalog() throws IOException {
+        if (catalog == null) {
+            catalog = new SaveCatalog(Paths.get(SAVE_DIRECTORY), SAVE_EXTENSION);
+        }
+        return catalog;
     }
 
     /**
      * Loads a game from a save file.
      * 
      * @param filename The name of the save file to load
-     * @return Map of game data, or null if load fails
+     * @return The restored game, or null if load fails
      */
-    public static Map<String, Object> loadGame(String filename) {
+    public static Game loadGame(String filename) {
         try {
             Path filepath = Paths.get(SAVE_DIRECTORY, filename);
             
@@ -104,20 +201,11 @@ public class GameSaveManager {
                 return null;
             }
             
-            // Read from file
-            byte[] data = Files.readAllBytes(filepath);
-            
-            // Deserialize game state
-            ByteArrayInputStream bis = new ByteArrayInputStream(data);
-            ObjectInputStream ois = new ObjectInputStream(bis);
-            @SuppressWarnings("unchecked")
-            Map<String, Object> gameState = (Map<String, Object>) ois.readObject();
-            ois.close();
-            
+            Game game = load(filepath);
             System.out.println("Game loaded successfully: " + filename);
-            return gameState;
+            return game;
             
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException e) {
             System.err.println("Error loading game: " + e.getMessage());
             return null;
         }
@@ -129,10 +217,11 @@ public class GameSaveManager {
      * @param filename The save file to delete
      * @return true if deletion was successful
      */
-    public static boolean deleteSave(String filename) {
+    public static synchronized boolean deleteSave(String filename) {
         try {
             Path filepath = Paths.get(SAVE_DIRECTORY, filename);
             Files.delete(filepath);
+            catalog().remove(filename);
             System.out.println("Save deleted: " + filename);
             return true;
         } catch (IOException e) {
@@ -151,25 +240,27 @@ public class GameSaveManager {
     }
 
     /**
-     * Formats a save filename for display.
-     * Extracts variant and timestamp from filename.
+     * Formats a save for display from its catalog entry.
      * 
      * @param filename The save filename
-     * @return Formatted display string
+     * @return Formatted display string, or the filename if the save is not in the catalog
      */
-    public static String formatSaveInfo(String filename) {
-        // Remove extension
-        String base = filename.replace(SAVE_EXTENSION, "");
-        // Replace underscores and extract info
-        String[] parts = base.split("_");
-        if (parts.length >= 2) {
-            StringBuilder display = new StringBuilder();
-            display.append("Variant: ").append(parts[1]);
-            if (parts.length > 2) {
-                display.append(" | Time: ").append(parts[2]).append(" ").append(parts[3]);
-            }
-            return display.toString();
+    public static synchronized String formatSaveInfo(String filename) {
+        SaveInfo info;
+        try {
+            info = catalog().find(filename);
+        } catch (IOException e) {
+            info = null;
+        }
+        if (info == null) {
+            return filename;
         }
-        return filename;
+        String time = LocalDateTime.ofInstant(Instant.ofEpochMilli(info.getTimestamp()),
+            ZoneId.systemDefault()).format(displayFormat);
+        return "Variant: " + info.getVariant().getDisplayName()
+            + " | Time: " + time
+            + " | Players: " + info.getPlayers()
+            + " | Round: " + info.getRound()
+            + " | Size: " + info.getSize() + " bytes";
     }
 }
@@ -1,6 +1,9 @@
 package base;
 
 import visitor.ScoreVisitor;
+import visitor.TableScorer;
+import card.CardMask;
+import properties.Suit;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -8,12 +11,31 @@ import java.util.List;
  * Represents a player's Jest (collection of won cards).
  * The Jest accumulates cards throughout the game and is scored at the end.
  * 
+ * <p>Besides the card list, the Jest keeps a running bitboard of its cards.
+ * Every scoring aggregate (suit counts, lone Aces, black pairs, Hearts and
+ * the Joker) is a few bit operations on that mask, so
+ * {@link #currentScore(GameConfig)} and {@link #scoreDelta(Card, GameConfig)}
+ * answer in constant time without copying the Jest or running a visitor.</p>
+ * 
+ * <p>At tables dealt from combined decks a Jest can hold two copies of a
+ * card. The mask then counts each card once, so mask-based scores are
+ * estimates; the card list and the score visitors stay exact.</p>
+ * 
  * @author Hazri and Sophea
  * @version 1.0
  */
 public class Jest {
     /** The list of cards in this Jest */
     private List<Card> cards;
+    
+    /** Bitboard of the cards in this Jest (see {@link CardMask}) */
+    private long mask;
+    
+    /** Bitboard of the cards that were added before the Joker */
+    private long maskBeforeJoker;
+    
+    /** Whether a card was added while a copy of it was already in this Jest */
+    private boolean duplicates;
 
     /**
      * Creates an empty Jest.
@@ -29,6 +51,23 @@ public class Jest {
      */
     public void addCard(Card card) {
         cards.add(card);
+        if (card.getId() == CardMask.JOKER_ID) {
+            maskBeforeJoker = mask;
+        }
+        if (CardMask.contains(mask, card)) {
+            duplicates = true;
+        }
+        mask |= CardMask.bit(card);
+    }
+
+    /**
+     * Removes every card from this Jest, keeping its storage.
+     */
+    public void clear() {
+        cards.clear();
+        mask = 0;
+        maskBeforeJoker = 0;
+        duplicates = false;
     }
 
     /**
@@ -38,8 +77,8 @@ public class Jest {
      * @param visitor The score visitor to accept
      */
     public void accept(ScoreVisitor visitor) {
-        for (Card card : cards) {
-            card.accept(visitor);
+        for (int i = 0; i < cards.size(); i++) {
+            cards.get(i).accept(visitor);
         }
     }
 
@@ -52,6 +91,122 @@ public class Jest {
         return cards;
     }
 
+    /**
+     * Gets the bitboard of the cards in this Jest.
+     * 
+     * @return Card mask (see {@link CardMask})
+     */
+    public long getMask() {
+        return mask;
+    }
+
+    /**
+     * Gets the bitboard of the cards added before the Joker.
+     * The Go All Out Joker multiplies only what was scored before it,
+     * so table-driven scoring needs this split.
+     * 
+     * @return Card mask of the earlier cards, or 0 if there is no Joker
+     */
+    public long getMaskBeforeJoker() {
+        return maskBeforeJoker;
+    }
+
+    /**
+     * Checks whether this Jest contains a card.
+     * 
+     * @param card The card to look for
+     * @return true if the card is in the Jest
+     */
+    public boolean contains(Card card) {
+        return CardMask.contains(mask, card);
+    }
+
+    /**
+     * Checks whether this Jest holds more than one copy of a card.
+     * Only possible at tables dealt from combined decks.
+     * 
+     * @return true if the mask does not account for every card
+     */
+    public boolean hasDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Counts the cards of one suit in this Jest.
+     * 
+     * @param suit The suit to count
+     * @return Number of cards of that suit
+     */
+    public int countSuit(Suit suit) {
+        return CardMask.countSuit(mask, suit);
+    }
+
+    /**
+     * Checks whether this Jest contains the Joker.
+     * 
+     * @return true if the Joker is in the Jest
+     */
+    public boolean hasJoker() {
+        return CardMask.hasJoker(mask);
+    }
+
+    /**
+     * Checks whether a suit holds only its Ace in this Jest.
+     * A lone Ace is worth 5 instead of 1.
+     * 
+     * @param suit The suit to check
+     * @return true if the Ace is the only card of that suit
+     */
+    public boolean hasLoneAce(Suit suit) {
+        return CardMask.suitPattern(mask, suit) == CardMask.ACE_PATTERN;
+    }
+
+    /**
+     * Gets the current score of this Jest with the Normal rules.
+     * 
+     * @return The score {@link visitor.FinalScoreVisitor} would produce
+     */
+    public int currentScore() {
+        return TableScorer.scoreNormal(mask);
+    }
+
+    /**
+     * Gets the current score of this Jest with the rules of a game.
+     * 
+     * @param config Game configuration (variant and No Mercy threshold)
+     * @return The score the variant's visitor would produce
+     */
+    public int currentScore(GameConfig config) {
+        return TableScorer.score(mask, maskBeforeJoker, config.getVariant(),
+            config.getNoMercyThreshold());
+    }
+
+    /**
+     * Gets how much the Normal score would change if a card were added.
+     * The Jest is not modified.
+     * 
+     * @param card The candidate card
+     * @return Score after adding the card minus the current score
+     */
+    public int scoreDelta(Card card) {
+        return TableScorer.scoreNormal(mask | CardMask.bit(card)) - TableScorer.scoreNormal(mask);
+    }
+
+    /**
+     * Gets how much the score would change if a card were added.
+     * The Jest is not modified.
+     * 
+     * @param card The candidate card
+     * @param config Game configuration (variant and No Mercy threshold)
+     * @return Score after adding the card minus the current score
+     */
+    public int scoreDelta(Card card, GameConfig config) {
+        long before = (card.getId() == CardMask.JOKER_ID) ? mask : maskBeforeJoker;
+        int after = TableScorer.score(mask | CardMask.bit(card), before, config.getVariant(),
+            config.getNoMercyThreshold());
+        return after - currentScore(config);
+    }
+
     /**
      * Gets the number of cards in this Jest.
      * 
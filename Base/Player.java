@@ -2,6 +2,7 @@ package base;
 
 import strategy.PlayStrategy;
 import visitor.ScoreVisitor;
+import card.CardMask;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,6 +20,9 @@ public abstract class Player {
     /** The player's current hand of cards */
     protected List<Card> hand;
     
+    /** Bitboard of the player's current hand (see {@link CardMask}) */
+    protected long handMask;
+    
     /** The player's Jest (won cards collection) */
     protected Jest jest;
     
@@ -77,6 +81,7 @@ public abstract class Player {
      */
     public void addCardToHand(Card card) {
         hand.add(card);
+        handMask |= CardMask.bit(card);
     }
 
     /**
@@ -84,6 +89,7 @@ public abstract class Player {
      */
     public void clearHand() {
         hand.clear();
+        handMask = 0L;
     }
 
     /**
@@ -104,6 +110,15 @@ public abstract class Player {
         return hand;
     }
 
+    /**
+     * Gets the bitboard of the player's hand.
+     * 
+     * @return Card mask of the hand (see {@link CardMask})
+     */
+    public long getHandMask() {
+        return handMask;
+    }
+
     /**
      * Gets the player's Jest.
      * 
@@ -0,0 +1,149 @@
+package base;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Seat channel fed from another thread: answers are queued with
+ * {@link #submit(String)} and prompts are handed to an output sink.
+ * 
+ * <p>A table waiting on a human decision blocks in {@link #readLine()} on
+ * the queue, which parks its thread without holding any lock or compute
+ * permit, so a host can keep many idle tables waiting for their players.
+ * Closing the channel wakes a waiting read, which then fails with
+ * {@link IllegalStateException} and ends the table.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class QueueChannel implements SeatChannel {
+    /** Queued marker that wakes a reader when the channel closes */
+    private static final String CLOSED = new String("<closed>");
+    
+    /** Lines submitted by the player and not read yet */
+    private final LinkedBlockingQueue<String> input = new LinkedBlockingQueue<>();
+    
+    /** Where prompts are written */
+    private final Consumer<String> output;
+    
+    /** Whether the table is blocked reading this seat */
+    private volatile boolean waiting;
+    
+    /** Whether the channel is closed */
+    private volatile boolean closed;
+
+    /**
+     * Creates a channel that writes its prompts to a sink.
+     * The sink runs on the table's thread and should not block.
+     * 
+     * @param output Receives every piece of text written to the seat
+     */
+    public QueueChannel(Consumer<String> output) {
+        this.output = output;
+    }
+
+    /**
+     * Queues a line of input for the table.
+     * 
+     * @param line The line the player entered
+     * @throws IllegalStateException if the channel is closed
+     */
+    public void submit(String line) {
+        if (closed) {
+            throw new IllegalStateException("Seat channel closed");
+        }
+        input.add(line);
+    }
+
+    /**
+     * Checks whether the table is blocked waiting for this seat's input.
+     * 
+     * @return true while a read is waiting
+     */
+    public boolean isWaiting() {
+        return waiting;
+    }
+
+    /**
+     * Closes the channel, failing the current and every later read.
+     */
+    public void close() {
+        closed = true;
+        input.add(CLOSED);
+    }
+
+    /**
+     * Checks whether the channel is closed.
+     * 
+     * @return true once {@link #close()} was called
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Writes text to the output sink.
+     * 
+     * @param text The text
+     */
+    @Override
+    public void print(String text) {
+        output.accept(text);
+    }
+
+    /**
+     * Writes a line to the output sink.
+     * 
+     * @param text The line
+     */
+    @Override
+    public void println(String text) {
+        output.accept(text + System.lineSeparator());
+    }
+
+    /**
+     * Takes the next queued line, parking until one is submitted.
+     * 
+     * @return The line, trimmed
+     * @throws IllegalStateException if the channel is closed or the table's thread is interrupted
+     */
+    @Override
+    public String readLine() {
+        String line;
+        waiting = true;
+        try {
+            line = input.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for seat input", e);
+        } finally {
+            waiting = false;
+        }
+        if (line == CLOSED) {
+            input.add(CLOSED);
+            throw new IllegalStateException("Seat channel closed");
+        }
+        return line.trim();
+    }
+
+    /**
+     * Takes queued lines until one is an integer.
+     * 
+     * @return The integer entered
+     * @throws IllegalStateException if the channel is closed or the table's thread is interrupted
+     */
+    @Override
+    public int readInt() {
+        while (true) {
+            String line = readLine();
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                return Integer.parseInt(line);
+            } catch (NumberFormatException e) {
+                print("Invalid number. Please enter a number: ");
+            }
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package base;
 
-import card.SuitCard;
-import card.JokerCard;
+import card.CardMask;
+import player.HumanPlayer;
+import event.ConsoleListener;
+import event.GameEvent;
+import event.GameEventListener;
+import event.NoOpListener;
+import metrics.DecisionEvent;
+import metrics.GameMetrics;
+import metrics.GameMetrics.Phase;
 import properties.Suit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Semaphore;
 
 /**
  * Represents a single round in the JEST game.
@@ -12,6 +21,10 @@ import java.util.List;
  * At end of round, each player has taken exactly 1 card to their Jest.
  * Remaining offer cards stay on table until next round or final collection.
  * 
+ * <p>Seats that have taken are kept in a bitset, and the order in which
+ * seats are picked by face-up card is sorted once per round, so a turn
+ * costs time linear in the number of seats even at large tables.</p>
+ * 
  * @author Hazri and Sophea
  * @version 1.0
  */
@@ -25,20 +38,68 @@ public class Round {
     /** List of players in this round */
     private List<Player> players;
     
-    /** Players who have already taken a card this round */
-    private List<Player> playersWhoTook;
+    /** Seats that have already taken a card this round, one bit per seat */
+    private long taken;
+    
+    /** Number of seats that have already taken a card this round */
+    private int takenCount;
+    
+    /** Seats with a face-up card, highest face-up card first (see {@link #sortTurnOrder()}) */
+    private int[] turnOrder;
+    
+    /** Number of seats in {@link #turnOrder} */
+    private int turnOrderSize;
+    
+    /** Position in {@link #turnOrder} before which every seat has taken or lost its face-up card */
+    private int turnCursor;
+    
+    /** Offer of each seat this round, or null */
+    private Offer[] offerBySeat;
+    
+    /** Listener receiving the events of this round */
+    private GameEventListener listener;
+    
+    /** Event object refilled for every event of this round */
+    private GameEvent event;
+    
+    /** Player whose turn it is to take a card (null outside the taking phase) */
+    private Player currentPlayer;
+    
+    /** Journal recording (or replaying) the decisions of this round, or null */
+    private GameJournal journal;
+    
+    /** Permits shared by all tables for AI decisions, or null */
+    private Semaphore compute;
+    
+    /** Identifier of the game, for recorded events */
+    private long gameId;
+    
+    /** Number of this round in its game, for recorded events */
+    private int roundNumber;
 
     /**
-     * Creates a new round.
+     * Creates a new round that prints its progress to the console.
      * 
      * @param deck The deck to draw from
      * @param players The players participating
      */
     public Round(Deck deck, List<Player> players) {
+        this(deck, players, true);
+    }
+
+    /**
+     * Creates a new round.
+     * 
+     * @param deck The deck to draw from
+     * @param players The players participating
+     * @param verbose true to print card taking to the console
+     */
+    public Round(Deck deck, List<Player> players, boolean verbose) {
         this.deck = deck;
         this.players = players;
         this.offers = new ArrayList<>();
-        this.playersWhoTook = new ArrayList<>();
+        this.listener = verbose ? new ConsoleListener() : NoOpListener.INSTANCE;
+        this.event = new GameEvent(null);
     }
 
     /**
@@ -57,13 +118,38 @@ public class Round {
      * Has each player make their offer (1 face-up, 1 face-down).
      */
     public void makeOffers() {
+        long started = GameMetrics.start();
         offers.clear();
-        for (Player player : players) {
-            Offer offer = player.makeOffer();
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            Offer offer = (journal == null) ? null : journal.replayOffer(player, seat);
+            if (offer == null) {
+                beginDecision(player);
+                try {
+                    DecisionEvent recorded = beginEvent();
+                    long decided = GameMetrics.start();
+                    offer = player.makeOffer();
+                    GameMetrics.recordDecision(player.getStrategy(), decided);
+                    if (recorded != null && recorded.shouldCommit()) {
+                        commitDecision(recorded, seat, player, "OFFER",
+                            (offer == null) ? "none" : "face-down " + offer.getFaceDown());
+                    }
+                } finally {
+                    endDecision(player);
+                }
+                if (journal != null && offer != null) {
+                    journal.offer(seat, offer);
+                }
+            }
             if (offer != null) {
                 offers.add(offer);
+                if (observed()) {
+                    listener.onEvent(event.of(GameEvent.Type.OFFER_MADE, roundNumber)
+                        .withPlayer(player, seat).withOffer(offer));
+                }
             }
         }
+        GameMetrics.record(Phase.MAKE_OFFERS, started);
     }
 
     /**
@@ -75,177 +161,311 @@ public class Round {
      * 5. Final player can take from own offer if it's the only complete one
      */
     public void takeOffers() {
-        playersWhoTook.clear();
+        long started = GameMetrics.start();
+        taken = 0;
+        takenCount = 0;
+        if (observed()) {
+            listener.onEvent(event.of(GameEvent.Type.TAKING_STARTED, roundNumber).withOffers(offers));
+        }
         
-        // Find first player (highest face-up card)
-        Player currentPlayer = findPlayerWithHighestFaceUp(getPlayersWithCompleteOffers());
+        // Find first player (highest face-up card among complete offers)
+        sortTurnOrder();
+        int seat = findSeatWithHighestCompleteOffer();
         
-        while (playersWhoTook.size() < players.size()) {
-            if (currentPlayer == null) {
+        while (takenCount < players.size()) {
+            if (seat < 0) {
                 break;
             }
-            
-            System.out.println("\n" + currentPlayer.getName() + "'s turn to take a card.");
+            currentPlayer = players.get(seat);
             
             // Get available offers (complete offers from other players, or own if last)
-            List<Offer> availableOffers = getAvailableOffersFor(currentPlayer);
+            List<Offer> availableOffers = getAvailableOffersFor(seat);
+            if (observed()) {
+                listener.onEvent(event.of(GameEvent.Type.TURN_STARTED, roundNumber)
+                    .withPlayer(currentPlayer, seat).withOffers(availableOffers));
+            }
             
             if (availableOffers.isEmpty()) {
-                System.out.println(currentPlayer.getName() + " has no available offers to take from.");
-                playersWhoTook.add(currentPlayer);
-                currentPlayer = findNextPlayer(null);
+                markTaken(seat);
+                seat = findNextSeat(-1);
                 continue;
             }
             
-            // Select and take from an offer
+            // Select and take from an offer, repeating the journal's choice when replaying
+            int replayed = (journal == null) ? -1 : journal.replayTake(seat);
             Offer selectedOffer;
-            if (availableOffers.size() == 1) {
-                selectedOffer = availableOffers.get(0);
-                if (selectedOffer.getOwner() == currentPlayer) {
-                    System.out.println(currentPlayer.getName() + " must take from their own offer (only complete offer).");
-                }
+            boolean takeFaceUp;
+            if (replayed >= 0) {
+                selectedOffer = offerOf(replayed >> 1);
+                takeFaceUp = (replayed & 1) != 0;
             } else {
-                selectedOffer = currentPlayer.getStrategy().selectOffer(availableOffers);
+                beginDecision(currentPlayer);
+                try {
+                    if (availableOffers.size() == 1) {
+                        selectedOffer = availableOffers.get(0);
+                    } else {
+                        DecisionEvent recorded = beginEvent();
+                        long decided = GameMetrics.start();
+                        selectedOffer = currentPlayer.getStrategy().selectOffer(availableOffers);
+                        GameMetrics.recordDecision(currentPlayer.getStrategy(), decided);
+                        if (recorded != null && recorded.shouldCommit()) {
+                            commitDecision(recorded, seat, currentPlayer, "SELECT",
+                                "offer of seat " + seatOf(selectedOffer));
+                        }
+                    }
+                    DecisionEvent recorded = beginEvent();
+                    long decided = GameMetrics.start();
+                    takeFaceUp = currentPlayer.getStrategy().chooseCard(selectedOffer);
+                    GameMetrics.recordDecision(currentPlayer.getStrategy(), decided);
+                    if (recorded != null && recorded.shouldCommit()) {
+                        commitDecision(recorded, seat, currentPlayer, "TAKE", takeFaceUp ? "face-up" : "face-down");
+                    }
+                } finally {
+                    endDecision(currentPlayer);
+                }
             }
             
             // Take a card from the selected offer
-            boolean takeFaceUp = currentPlayer.getStrategy().chooseCard(selectedOffer);
             Card takenCard = selectedOffer.selectCard(takeFaceUp);
+            int ownerSeat = seatOf(selectedOffer);
             
             if (takenCard != null) {
                 currentPlayer.getJest().addCard(takenCard);
-                System.out.println(currentPlayer.getName() + " took " + takenCard + 
-                    " from " + selectedOffer.getOwner().getName() + "'s offer.");
+                if (journal != null && replayed < 0) {
+                    journal.take(seat, ownerSeat, takeFaceUp, takenCard);
+                }
+                if (observed()) {
+                    listener.onEvent(event.of(GameEvent.Type.CARD_TAKEN, roundNumber)
+                        .withPlayer(currentPlayer, seat).withCard(takenCard).withOffer(selectedOffer));
+                }
             }
             
-            playersWhoTook.add(currentPlayer);
+            markTaken(seat);
             
             // Determine next player
-            Player offerOwner = selectedOffer.getOwner();
-            currentPlayer = findNextPlayer(offerOwner);
+            seat = findNextSeat(ownerSeat);
+        }
+        currentPlayer = null;
+        listener.flush();
+        GameMetrics.record(Phase.TAKE_OFFERS, started);
+    }
+
+    /**
+     * Takes a compute permit before an AI player decides.
+     * Human decisions take none, so a table waiting for its human holds
+     * no permit while it waits; the journal is synced before the wait
+     * instead, so no recorded move stays unsynced while the table idles.
+     * 
+     * @param player The deciding player
+     */
+    private void beginDecision(Player player) {
+        if (player instanceof HumanPlayer) {
+            if (journal != null) {
+                journal.syncPending();
+            }
+        } else if (compute != null) {
+            compute.acquireUninterruptibly();
+        }
+    }
+
+    /**
+     * Returns the compute permit taken by {@link #beginDecision(Player)}.
+     * 
+     * @param player The player that decided
+     */
+    private void endDecision(Player player) {
+        if (compute != null && !(player instanceof HumanPlayer)) {
+            compute.release();
+        }
+    }
+
+    /**
+     * Begins a decision event, unless no recording collects decisions.
+     * 
+     * @return The begun event, or null
+     */
+    private static DecisionEvent beginEvent() {
+        if (!DecisionEvent.enabled()) {
+            return null;
+        }
+        DecisionEvent recorded = new DecisionEvent();
+        recorded.begin();
+        return recorded;
+    }
+
+    /**
+     * Ends and commits a decision event with this round's identity.
+     * Only called when the event will be recorded.
+     * 
+     * @param event The event, begun before the decision
+     * @param seat Seat of the deciding player
+     * @param player The deciding player
+     * @param decision Decision made: OFFER, SELECT or TAKE
+     * @param action Action chosen
+     */
+    private void commitDecision(DecisionEvent event, int seat, Player player, String decision, String action) {
+        event.end();
+        event.set(gameId, roundNumber, seat, player.getStrategy().getClass(), decision, action);
+        event.commit();
+    }
+
+    /**
+     * Finds the offer made by a seat.
+     * 
+     * @param seat The offering seat
+     * @return The seat's offer
+     * @throws IllegalStateException if the seat made no offer
+     */
+    private Offer offerOf(int seat) {
+        Offer offer = offerBySeat[seat];
+        if (offer == null) {
+            throw new IllegalStateException(players.get(seat).getName() + " made no offer");
         }
+        return offer;
     }
 
     /**
-     * Gets available offers for a player to take from.
+     * Gets the seat of an offer's owner.
+     * 
+     * @param offer An offer of this round
+     * @return The owner's seat
+     */
+    private int seatOf(Offer offer) {
+        for (int seat = 0; seat < offerBySeat.length; seat++) {
+            if (offerBySeat[seat] == offer) {
+                return seat;
+            }
+        }
+        return players.indexOf(offer.getOwner());
+    }
+
+    /**
+     * Records that a seat has taken (or was skipped) this round.
+     * 
+     * @param seat The seat
+     */
+    private void markTaken(int seat) {
+        taken |= 1L << seat;
+        takenCount++;
+    }
+
+    /**
+     * Checks whether a seat has taken this round.
+     * 
+     * @param seat The seat
+     * @return true if the seat's bit is set
+     */
+    private boolean isTaken(int seat) {
+        return (taken & (1L << seat)) != 0;
+    }
+
+    /**
+     * Gets available offers for a seat to take from.
      * - Must be complete (2 cards)
      * - Must be from another player, UNLESS this is the final player and own offer is only complete one
      * 
-     * @param player The player who wants to take
+     * @param seat The seat that wants to take
      * @return List of available offers
      */
-    private List<Offer> getAvailableOffersFor(Player player) {
+    private List<Offer> getAvailableOffersFor(int seat) {
         List<Offer> available = new ArrayList<>();
-        List<Offer> completeOffers = new ArrayList<>();
+        Offer own = offerBySeat[seat];
+        int completeCount = 0;
         
-        // Find all complete offers from players who haven't taken yet
+        // Add complete offers from other players
         for (Offer offer : offers) {
             if (offer.isComplete()) {
-                completeOffers.add(offer);
-            }
-        }
-        
-        // Check if this is the final player scenario
-        boolean isFinalPlayer = (playersWhoTook.size() == players.size() - 1);
-        boolean ownOfferIsOnlyComplete = false;
-        
-        if (isFinalPlayer && completeOffers.size() == 1 && 
-            completeOffers.get(0).getOwner() == player) {
-            ownOfferIsOnlyComplete = true;
-        }
-        
-        // Add offers from other players first
-        for (Offer offer : completeOffers) {
-            if (offer.getOwner() != player) {
-                available.add(offer);
+                completeCount++;
+                if (offer != own) {
+                    available.add(offer);
+                }
             }
         }
         
         // If final player and own offer is the only complete one, add it
-        if (ownOfferIsOnlyComplete) {
-            for (Offer offer : completeOffers) {
-                if (offer.getOwner() == player) {
-                    available.add(offer);
-                }
-            }
+        boolean isFinalPlayer = (takenCount == players.size() - 1);
+        if (isFinalPlayer && completeCount == 1 && available.isEmpty()) {
+            available.add(own);
         }
         
         return available;
     }
 
     /**
-     * Finds the next player to take a card.
-     * Priority: The player whose offer was taken from (if they haven't taken yet)
-     * Otherwise: Player with highest face-up card among remaining
+     * Finds the next seat to take a card.
+     * Priority: The seat whose offer was taken from (if it hasn't taken yet)
+     * Otherwise: Seat with highest face-up card among remaining
      * 
-     * @param offerOwner The player whose offer was just taken from
-     * @return The next player, or null if all have taken
+     * @param ownerSeat The seat whose offer was just taken from, or -1
+     * @return The next seat, or -1 if no remaining seat shows a face-up card
      */
-    private Player findNextPlayer(Player offerOwner) {
+    private int findNextSeat(int ownerSeat) {
         // If the offer owner hasn't taken yet, they go next
-        if (offerOwner != null && !playersWhoTook.contains(offerOwner)) {
-            return offerOwner;
+        if (ownerSeat >= 0 && !isTaken(ownerSeat)) {
+            return ownerSeat;
         }
         
-        // Otherwise, find player with highest face-up among those who haven't taken
-        List<Player> remaining = new ArrayList<>();
-        for (Player p : players) {
-            if (!playersWhoTook.contains(p)) {
-                remaining.add(p);
+        // Otherwise, the first seat in turn order that has not taken and still shows its card.
+        // Seats only ever take or lose their face-up card, so skipped seats never come back.
+        while (turnCursor < turnOrderSize) {
+            int seat = turnOrder[turnCursor];
+            if (!isTaken(seat) && offerBySeat[seat].getFaceUp() != null) {
+                return seat;
             }
+            turnCursor++;
         }
-        
-        if (remaining.isEmpty()) {
-            return null;
-        }
-        
-        return findPlayerWithHighestFaceUp(remaining);
+        return -1;
     }
 
     /**
-     * Finds players who still have complete offers.
+     * Finds the seat taking first: the highest face-up card among complete offers.
      * 
-     * @return List of players with complete offers
+     * @return The seat, or -1 if no offer is complete
      */
-    private List<Player> getPlayersWithCompleteOffers() {
-        List<Player> result = new ArrayList<>();
-        for (Offer offer : offers) {
-            if (offer.isComplete()) {
-                result.add(offer.getOwner());
+    private int findSeatWithHighestCompleteOffer() {
+        for (int i = 0; i < turnOrderSize; i++) {
+            int seat = turnOrder[i];
+            if (offerBySeat[seat].isComplete()) {
+                return seat;
             }
         }
-        return result;
+        return -1;
     }
 
     /**
-     * Finds the player with the highest face-up card value among candidates.
-     * Ties broken by suit strength (Spade > Club > Diamond > Heart).
-     * 
-     * @param candidatePlayers Players to consider
-     * @return The player with highest face-up card
+     * Indexes this round's offers by seat and sorts the seats showing a
+     * face-up card by that card: highest value first, ties broken by suit
+     * strength (Spade > Club > Diamond > Heart), then by the earlier seat.
+     * Face-up cards only leave offers during a round, so the order is
+     * computed once and walked with a cursor.
      */
-    private Player findPlayerWithHighestFaceUp(List<Player> candidatePlayers) {
-        Player highestPlayer = null;
-        int highestValue = Integer.MIN_VALUE;
-        Suit strongestSuit = null;
-        
+    private void sortTurnOrder() {
+        int seats = players.size();
+        offerBySeat = new Offer[seats];
         for (Offer offer : offers) {
-            if (!candidatePlayers.contains(offer.getOwner())) continue;
-            if (offer.getFaceUp() == null) continue;
-            
-            Card faceUp = offer.getFaceUp();
-            int value = getCardValue(faceUp);
-            Suit suit = getCardSuit(faceUp);
-            
-            if (value > highestValue || 
-                (value == highestValue && compareSuitStrength(suit, strongestSuit) > 0)) {
-                highestValue = value;
-                strongestSuit = suit;
-                highestPlayer = offer.getOwner();
+            int seat = players.indexOf(offer.getOwner());
+            if (seat >= 0) {
+                offerBySeat[seat] = offer;
             }
         }
         
-        return highestPlayer;
+        // Packed key: face-up rank, then the inverted seat so earlier seats sort higher
+        long[] keys = new long[seats];
+        turnOrderSize = 0;
+        for (int seat = 0; seat < seats; seat++) {
+            Offer offer = offerBySeat[seat];
+            if (offer == null || offer.getFaceUp() == null) continue;
+            Card faceUp = offer.getFaceUp();
+            long rank = getCardValue(faceUp) * 8L + getSuitStrength(getCardSuit(faceUp));
+            keys[turnOrderSize++] = (rank << 32) | (Integer.MAX_VALUE - seat);
+        }
+        Arrays.sort(keys, 0, turnOrderSize);
+        
+        turnOrder = new int[turnOrderSize];
+        for (int i = 0; i < turnOrderSize; i++) {
+            turnOrder[i] = Integer.MAX_VALUE - (int) keys[turnOrderSize - 1 - i];
+        }
+        turnCursor = 0;
     }
 
     /**
@@ -255,12 +475,7 @@ public class Round {
      * @return The card's value (0 for Joker)
      */
     private int getCardValue(Card card) {
-        if (card instanceof SuitCard) {
-            return ((SuitCard) card).getValue();
-        } else if (card instanceof JokerCard) {
-            return 0;
-        }
-        return 0;
+        return CardMask.valueOf(card.getId());
     }
 
     /**
@@ -270,24 +485,8 @@ public class Round {
      * @return The card's suit, or null for Joker
      */
     private Suit getCardSuit(Card card) {
-        if (card instanceof SuitCard) {
-            return ((SuitCard) card).getSuit();
-        }
-        return null;
-    }
-
-    /**
-     * Compares two suits by strength.
-     * 
-     * @param suit1 First suit
-     * @param suit2 Second suit
-     * @return Positive if suit1 is stronger
-     */
-    private int compareSuitStrength(Suit suit1, Suit suit2) {
-        if (suit1 == suit2) return 0;
-        if (suit2 == null) return 1;
-        if (suit1 == null) return -1;
-        return getSuitStrength(suit1) - getSuitStrength(suit2);
+        int id = card.getId();
+        return (id == CardMask.JOKER_ID) ? null : CardMask.suitOf(id);
     }
 
     /**
@@ -333,7 +532,10 @@ public class Round {
             Card remaining = offer.getRemainingCard();
             if (remaining != null && offer.getOwner() != null) {
                 offer.getOwner().getJest().addCard(remaining);
-                System.out.println(offer.getOwner().getName() + " added final card to Jest: " + remaining);
+                if (observed()) {
+                    listener.onEvent(event.of(GameEvent.Type.CARD_COLLECTED, roundNumber)
+                        .withPlayer(offer.getOwner(), players.indexOf(offer.getOwner())).withCard(remaining));
+                }
             }
         }
     }
@@ -357,6 +559,26 @@ public class Round {
         return offers;
     }
 
+    /**
+     * Checks whether a player has already taken a card this round.
+     * 
+     * @param player The player to check
+     * @return true if the player took (or was skipped) this round
+     */
+    public boolean hasTaken(Player player) {
+        int seat = players.indexOf(player);
+        return seat >= 0 && isTaken(seat);
+    }
+
+    /**
+     * Gets the player whose turn it is to take a card.
+     * 
+     * @return The taking player, or null outside the taking phase
+     */
+    public Player getCurrentPlayer() {
+        return currentPlayer;
+    }
+
     /**
      * Sets the list of offers.
      * 
@@ -365,4 +587,56 @@ public class Round {
     public void setOffers(List<Offer> offers) {
         this.offers = offers;
     }
+
+    /**
+     * Attaches the journal that records the offers and takes of this round.
+     * While the journal has recorded decisions to replay, they are used
+     * instead of asking the players.
+     * 
+     * @param journal The game's journal, or null
+     */
+    void setJournal(GameJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Shares AI compute with other tables: every AI decision of this round
+     * holds one permit of the semaphore while it runs.
+     * 
+     * @param compute Permits shared by the tables, or null for no limit
+     */
+    void setComputeGate(Semaphore compute) {
+        this.compute = compute;
+    }
+
+    /**
+     * Publishes the events of this round to its game's listener.
+     * 
+     * @param listener The game's listener
+     * @param event The game's reusable event
+     */
+    void setEvents(GameEventListener listener, GameEvent event) {
+        this.listener = listener;
+        this.event = event;
+    }
+
+    /**
+     * Checks whether anyone listens to this round's events.
+     * 
+     * @return true unless the listener is the no-op listener
+     */
+    private boolean observed() {
+        return listener != NoOpListener.INSTANCE;
+    }
+
+    /**
+     * Identifies the round in the events it records.
+     * 
+     * @param gameId Identifier of the game
+     * @param roundNumber Number of this round in its game
+     */
+    void setIdentity(long gameId, int roundNumber) {
+        this.gameId = gameId;
+        this.roundNumber = roundNumber;
+    }
 }
@@ -0,0 +1,323 @@
+package base;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistent index of the saves in a directory, so saves can be listed and
+ * paged without scanning the directory or opening save files.
+ * 
+ * <p>The index file is a 16-byte header (int magic "JSTC", short version,
+ * byte dirty flag, byte reserved, int entry count, int reserved) followed by
+ * fixed-size entries in the order the saves were written:</p>
+ * <pre>
+ * long timestamp, int size, short round, byte variant ordinal,
+ * byte players, byte name length, name (UTF-8, at most 79 bytes)
+ * </pre>
+ * <p>The file is memory-mapped, so reading entry {@code i} is a fixed
+ * offset computation and a page of the listing costs the same however many
+ * saves exist. Adding a save writes one entry at the end; deleting one
+ * moves the entries after it down. The dirty flag is set while the file is
+ * being changed; a catalog that is missing, unreadable or left dirty by a
+ * crash is rebuilt from the save files. Not thread-safe; callers
+ * synchronize.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+final class SaveCatalog {
+    /** Name of the index file in the save directory */
+    static final String FILENAME = "catalog.idx";
+    
+    /** First four bytes of the index: "JSTC" */
+    private static final int MAGIC = 0x4A535443;
+    
+    /** Current index version */
+    private static final short VERSION = 1;
+    
+    /** Size of the header */
+    private static final int HEADER_SIZE = 16;
+    
+    /** Offset of the dirty flag */
+    private static final int DIRTY_OFFSET = 6;
+    
+    /** Offset of the entry count */
+    private static final int COUNT_OFFSET = 8;
+    
+    /** Size of an entry */
+    private static final int ENTRY_SIZE = 96;
+    
+    /** Offset of the name within an entry */
+    private static final int NAME_OFFSET = 17;
+    
+    /** Longest file name an entry can hold, in UTF-8 bytes */
+    static final int MAX_NAME = ENTRY_SIZE - NAME_OFFSET;
+    
+    /** Entries the index file has room for when created */
+    private static final int INITIAL_CAPACITY = 64;
+    
+    /** The index file */
+    private final Path file;
+    
+    /** The save directory */
+    private final Path directory;
+    
+    /** Extension of save files */
+    private final String extension;
+    
+    /** The open index file */
+    private FileChannel channel;
+    
+    /** Mapping of the whole index file */
+    private MappedByteBuffer map;
+    
+    /** Number of entries */
+    private int count;
+    
+    /** Entry index of each file name */
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    /**
+     * Opens the catalog of a save directory, rebuilding it if needed.
+     * 
+     * @param directory The save directory
+     * @param extension Extension of save files, e.g. ".jest"
+     * @throws IOException if the index can be neither read nor rebuilt
+     */
+    SaveCatalog(Path directory, String extension) throws IOException {
+        this.directory = directory;
+        this.extension = extension;
+        this.file = directory.resolve(FILENAME);
+        if (!open()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Maps an existing index file and checks it.
+     * 
+     * @return true if the index is usable, false if it must be rebuilt
+     * @throws IOException if the file exists but cannot be opened
+     */
+    private boolean open() throws IOException {
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        long size = channel.size();
+        if (size < HEADER_SIZE || (size - HEADER_SIZE) % ENTRY_SIZE != 0) {
+            close();
+            return false;
+        }
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        count = map.getInt(COUNT_OFFSET);
+        if (map.getInt(0) != MAGIC || map.getShort(4) != VERSION || map.get(DIRTY_OFFSET) != 0
+            || count < 0 || HEADER_SIZE + (long) count * ENTRY_SIZE > size) {
+            close();
+            return false;
+        }
+        positions.clear();
+        for (int i = 0; i < count; i++) {
+            positions.put(nameAt(i), i);
+        }
+        return true;
+    }
+
+    /**
+     * Recreates the index from the save files in the directory, ordered
+     * by their modification time.
+     * 
+     * @throws IOException if the directory or the index cannot be written
+     */
+    void rebuild() throws IOException {
+        close();
+        List<SaveInfo> saves = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + extension)) {
+            for (Path save : stream) {
+                try {
+                    SaveInfo info = SaveFormat.readInfo(save);
+                    if (info.getFilename().getBytes(StandardCharsets.UTF_8).length <= MAX_NAME) {
+                        saves.add(info);
+                    }
+                } catch (IOException e) {
+                    System.err.println("Skipping unreadable save " + save.getFileName() + ": " + e.getMessage());
+                }
+            }
+        }
+        saves.sort(Comparator.comparingLong(SaveInfo::getTimestamp)
+            .thenComparing(SaveInfo::getFilename));
+        
+        Files.deleteIfExists(file);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(saves.size()) * 2);
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * ENTRY_SIZE);
+        map.putInt(0, MAGIC);
+        map.putShort(4, VERSION);
+        map.put(DIRTY_OFFSET, (byte) 1);
+        count = 0;
+        positions.clear();
+        for (SaveInfo info : saves) {
+            write(count, info);
+            positions.put(info.getFilename(), count);
+            count++;
+        }
+        map.putInt(COUNT_OFFSET, count);
+        map.put(DIRTY_OFFSET, (byte) 0);
+    }
+
+    /**
+     * Adds a save, replacing the entry of a file with the same name.
+     * 
+     * @param info The save
+     * @throws IOException if the index cannot be grown
+     * @throws IllegalArgumentException if the file name is too long for an entry
+     */
+    void add(SaveInfo info) throws IOException {
+        if (info.getFilename().getBytes(StandardCharsets.UTF_8).length > MAX_NAME) {
+            throw new IllegalArgumentException("Save file name too long for the catalog: " + info.getFilename());
+        }
+        remove(info.getFilename());
+        if (HEADER_SIZE + (long) (count + 1) * ENTRY_SIZE > map.capacity()) {
+            long entries = (map.capacity() - HEADER_SIZE) / ENTRY_SIZE;
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + entries * 2 * ENTRY_SIZE);
+        }
+        map.put(DIRTY_OFFSET, (byte) 1);
+        write(count, info);
+        positions.put(info.getFilename(), count);
+        count++;
+        map.putInt(COUNT_OFFSET, count);
+        map.put(DIRTY_OFFSET, (byte) 0);
+    }
+
+    /**
+     * Removes the entry of a save file.
+     * 
+     * @param filename Name of the save file
+     * @return true if the save was in the catalog
+     */
+    boolean remove(String filename) {
+        Integer index = positions.remove(filename);
+        if (index == null) {
+            return false;
+        }
+        map.put(DIRTY_OFFSET, (byte) 1);
+        int from = HEADER_SIZE + (index + 1) * ENTRY_SIZE;
+        byte[] tail = new byte[(count - index - 1) * ENTRY_SIZE];
+        map.get(from, tail);
+        map.put(from - ENTRY_SIZE, tail);
+        count--;
+        map.putInt(COUNT_OFFSET, count);
+        map.put(DIRTY_OFFSET, (byte) 0);
+        for (int i = index; i < count; i++) {
+            positions.put(nameAt(i), i);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of saves.
+     * 
+     * @return Number of entries
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Looks up a save by file name.
+     * 
+     * @param filename Name of the save file
+     * @return The entry, or null if the save is not in the catalog
+     */
+    SaveInfo find(String filename) {
+        Integer index = positions.get(filename);
+        return (index == null) ? null : read(index);
+    }
+
+    /**
+     * Lists a page of saves, most recent first.
+     * 
+     * @param offset Number of saves to skip
+     * @param limit Largest number of saves to return
+     * @return The saves of the page
+     */
+    List<SaveInfo> page(int offset, int limit) {
+        int first = Math.max(0, offset);
+        int last = (int) Math.min(count, (long) first + Math.max(0, limit));
+        List<SaveInfo> page = new ArrayList<>(Math.max(0, last - first));
+        for (int i = first; i < last; i++) {
+            page.add(read(count - 1 - i));
+        }
+        return page;
+    }
+
+    /**
+     * Unmaps and closes the index file.
+     * 
+     * @throws IOException if the file cannot be closed
+     */
+    void close() throws IOException {
+        map = null;
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Writes an entry.
+     * 
+     * @param index Entry index
+     * @param info The save
+     */
+    private void write(int index, SaveInfo info) {
+        int at = HEADER_SIZE + index * ENTRY_SIZE;
+        byte[] name = info.getFilename().getBytes(StandardCharsets.UTF_8);
+        map.putLong(at, info.getTimestamp());
+        map.putInt(at + 8, info.getSize());
+        map.putShort(at + 12, (short) info.getRound());
+        map.put(at + 14, (byte) info.getVariant().ordinal());
+        map.put(at + 15, (byte) info.getPlayers());
+        map.put(at + 16, (byte) name.length);
+        map.put(at + NAME_OFFSET, name);
+    }
+
+    /**
+     * Reads an entry.
+     * 
+     * @param index Entry index
+     * @return The save
+     */
+    private SaveInfo read(int index) {
+        int at = HEADER_SIZE + index * ENTRY_SIZE;
+        return new SaveInfo(nameAt(index), GameVariant.values()[map.get(at + 14)],
+            map.getLong(at), map.get(at + 15), map.getShort(at + 12), map.getInt(at + 8));
+    }
+
+    /**
+     * Reads the file name of an entry.
+     * 
+     * @param index Entry index
+     * @return The file name
+     */
+    private String nameAt(int index) {
+        int at = HEADER_SIZE + index * ENTRY_SIZE;
+        byte[] name = new byte[map.get(at + 16) & 0xFF];
+        map.get(at + NAME_OFFSET, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,489 @@
+package base;
+
+import card.CardMask;
+import card.CardRegistry;
+import player.HumanPlayer;
+import player.VirtualPlayer;
+import search.DeterminizedEvaluator;
+import search.InformationSetMcts;
+import strategy.AIStrategy;
+import strategy.PlayStrategy;
+import strategy.typestrategy.DefensiveStrategy;
+import strategy.typestrategy.ExpectimaxStrategy;
+import strategy.typestrategy.MonteCarloStrategy;
+import strategy.typestrategy.OffensiveStrategy;
+import trophy.Trophy;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+/**
+ * Binary save format of a game paused between two rounds.
+ * 
+ * <p>A save is a 16-byte header followed by the payload, big-endian:</p>
+ * <pre>
+ * header   int magic "JEST", short version, short reserved (0),
+ *          int payload length, int CRC-32 of the payload
+ * config   byte expansion (0/1), byte variant ordinal, byte No Mercy threshold,
+ *          byte number of decks combined
+ * progress short rounds played
+ * random   long state, long gamma of the game's {@link GameRandom}
+ * seats    byte count, then per seat:
+ *            byte name length, UTF-8 name,
+ *            byte strategy kind, strategy settings (see below),
+ *            byte 1 + long state + long gamma if the strategy draws from
+ *              a {@link GameRandom}, else byte 0,
+ *            card list of the Jest, in the order the cards were won
+ * trophies card list of the trophy cards
+ * deck     card list, bottom to top
+ * table    card list of the leftovers of the last round
+ * </pre>
+ * <p>A card list is an unsigned byte count followed by one byte per card id
+ * ({@link CardMask}). Strategy kinds: 0 human, 1 defensive, 2 offensive,
+ * 3 Monte Carlo (long time budget in ms, int iteration budget, byte threads),
+ * 4 expectimax (int samples, byte threads). A four-player game takes a
+ * little over 200 bytes. Version 1 saves, written before decks could be
+ * combined, have no deck byte and are read as single-deck games.</p>
+ * 
+ * <p>Files are written to a uniquely named temporary sibling, forced to disk
+ * and moved over the target, and the directory is then forced too, so a
+ * crash leaves either the old or the new save and concurrent saves never
+ * share a temporary file. They are
+ * read through a memory mapping and rejected if the magic, version, length
+ * or checksum does not match.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+final class SaveFormat {
+    /** First four bytes of every save: "JEST" */
+    static final int MAGIC = 0x4A455354;
+    
+    /** Current format version */
+    static final short VERSION = 2;
+    
+    /** Oldest format version that can still be read */
+    static final short SINGLE_DECK_VERSION = 1;
+    
+    /** Size of the header in bytes */
+    static final int HEADER_SIZE = 16;
+    
+    /** Largest accepted save (16 seats with 255-byte names fit easily) */
+    static final int MAX_SIZE = 8192;
+    
+    /** Strategy kind of a human seat */
+    private static final int HUMAN = 0;
+    
+    /** Strategy kind of a {@link DefensiveStrategy} */
+    private static final int DEFENSIVE = 1;
+    
+    /** Strategy kind of an {@link OffensiveStrategy} */
+    private static final int OFFENSIVE = 2;
+    
+    /** Strategy kind of a {@link MonteCarloStrategy} */
+    private static final int MONTE_CARLO = 3;
+    
+    /** Strategy kind of an {@link ExpectimaxStrategy} */
+    private static final int EXPECTIMAX = 4;
+    
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private SaveFormat() {
+    }
+
+    /**
+     * Writes a game to a file atomically.
+     * 
+     * @param game The game, between two rounds
+     * @param file The target file (replaced if it exists)
+     * @throws IOException if the file cannot be written
+     * @throws IllegalStateException if the game is not between two rounds
+     * @throws IllegalArgumentException if a seat cannot be saved
+     */
+    static void write(Game game, Path file) throws IOException {
+        ByteBuffer buffer = encode(game);
+        Path target = file.toAbsolutePath();
+        Path directory = target.getParent();
+        Path temp = Files.createTempFile(directory, target.getFileName() + ".", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        syncDirectory(directory);
+    }
+
+    /**
+     * Forces a directory to disk, so a file just moved into it survives a crash.
+     * 
+     * @param directory The directory
+     * @throws IOException if the directory cannot be synced
+     */
+    private static void syncDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            // Directories cannot be opened on some platforms (Windows); the move is final there
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Reads a game from a file.
+     * 
+     * @param file The save file
+     * @return The restored game, ready for {@link Game#playNextRound()}
+     * @throws IOException if the file cannot be read or is not a valid save
+     */
+    static Game read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > MAX_SIZE) {
+                throw new IOException("Not a save file: " + file.getFileName());
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return decode(buffer);
+        }
+    }
+
+    /**
+     * Encodes a game.
+     * 
+     * @param game The game, between two rounds
+     * @return Buffer holding the save, positioned at its start
+     * @throws IllegalStateException if the game is not between two rounds
+     * @throws IllegalArgumentException if a seat cannot be saved
+     */
+    static ByteBuffer encode(Game game) {
+        if (!game.isBetweenRounds()) {
+            throw new IllegalStateException("A game can only be saved between two rounds");
+        }
+        ByteBuffer out = ByteBuffer.allocate(MAX_SIZE);
+        out.position(HEADER_SIZE);
+        
+        GameConfig config = game.getGameConfig();
+        out.put((byte) (config.isExpansionEnabled() ? 1 : 0));
+        out.put((byte) config.getVariant().ordinal());
+        out.put((byte) config.getNoMercyThreshold());
+        out.put((byte) game.getDeck().getDeckCount());
+        out.putShort((short) game.getRoundNumber());
+        out.putLong(game.getRandom().getState());
+        out.putLong(game.getRandom().getGamma());
+        
+        List<Player> players = game.getPlayers();
+        out.put((byte) players.size());
+        for (Player player : players) {
+            byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+            if (name.length > 255) {
+                throw new IllegalArgumentException("Player name too long to save: " + player.getName());
+            }
+            out.put((byte) name.length);
+            out.put(name);
+            putStrategy(out, player);
+            putCards(out, player.getJest().getCards());
+        }
+        
+        List<Card> trophyCards = new ArrayList<>();
+        for (Trophy trophy : game.getTrophies()) {
+            trophyCards.add(trophy.getTrophyCard());
+        }
+        putCards(out, trophyCards);
+        putCards(out, game.getDeck().getCards());
+        putCards(out, game.getLeftovers());
+        
+        int length = out.position() - HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        crc.update(out.array(), HEADER_SIZE, length);
+        out.putInt(0, MAGIC);
+        out.putShort(4, VERSION);
+        out.putShort(6, (short) 0);
+        out.putInt(8, length);
+        out.putInt(12, (int) crc.getValue());
+        out.flip();
+        return out;
+    }
+
+    /**
+     * Decodes a game.
+     * 
+     * @param in Buffer holding a save from its position to its limit
+     * @return The restored game
+     * @throws IOException if the buffer is not a valid save
+     */
+    static Game decode(ByteBuffer in) throws IOException {
+        int version = checkHeader(in);
+        try {
+            return decodePayload(in, version);
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("Save file is malformed", e);
+        }
+    }
+
+    /**
+     * Reads the catalog entry of a save file: variant, players and rounds
+     * from the payload, time and size from the file system.
+     * 
+     * @param file The save file
+     * @return The entry
+     * @throws IOException if the file cannot be read or is not a valid save
+     */
+    static SaveInfo readInfo(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > MAX_SIZE) {
+                throw new IOException("Not a save file: " + file.getFileName());
+            }
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int version = checkHeader(in);
+            try {
+                in.get();
+                GameVariant variant = GameVariant.values()[in.get()];
+                in.get();
+                if (version != SINGLE_DECK_VERSION) {
+                    in.get();
+                }
+                int round = in.getShort();
+                in.position(in.position() + 2 * Long.BYTES);
+                int players = in.get();
+                long timestamp = Files.getLastModifiedTime(file).toMillis();
+                return new SaveInfo(file.getFileName().toString(), variant, timestamp, players, round, (int) size);
+            } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+                throw new IOException("Save file is malformed", e);
+            }
+        }
+    }
+
+    /**
+     * Checks the header of a save and its checksum.
+     * 
+     * @param in Buffer holding a save; left positioned at the payload
+     * @return The format version of the save
+     * @throws IOException if the header or checksum does not match
+     */
+    private static int checkHeader(ByteBuffer in) throws IOException {
+        if (in.remaining() < HEADER_SIZE || in.getInt() != MAGIC) {
+            throw new IOException("Not a save file");
+        }
+        int version = in.getShort();
+        if (version != VERSION && version != SINGLE_DECK_VERSION) {
+            throw new IOException("Unsupported save version " + version);
+        }
+        in.getShort();
+        int length = in.getInt();
+        int checksum = in.getInt();
+        if (length != in.remaining()) {
+            throw new IOException("Save file is truncated");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(in.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Save file is corrupt (checksum mismatch)");
+        }
+        return version;
+    }
+
+    /**
+     * Decodes the checked payload of a save.
+     * 
+     * @param in Buffer positioned at the payload
+     * @param version Format version of the save
+     * @return The restored game
+     * @throws IOException if a card id or count is invalid
+     */
+    private static Game decodePayload(ByteBuffer in, int version) throws IOException {
+        boolean expansion = in.get() != 0;
+        GameVariant variant = GameVariant.values()[in.get()];
+        int threshold = in.get();
+        int decks = (version == SINGLE_DECK_VERSION) ? 1 : in.get();
+        if (decks < 1 || decks > GameConfig.MAX_DECKS) {
+            throw new IOException("Invalid deck count " + decks);
+        }
+        int roundNumber = in.getShort();
+        GameRandom random = GameRandom.fromState(in.getLong(), in.getLong());
+        GameConfig config = new GameConfig(expansion, variant, threshold);
+        config.setDeckCount(decks);
+        
+        int seats = in.get();
+        List<Player> players = new ArrayList<>(seats);
+        for (int i = 0; i < seats; i++) {
+            byte[] name = new byte[in.get() & 0xFF];
+            in.get(name);
+            Player player = getPlayer(in, new String(name, StandardCharsets.UTF_8));
+            for (Card card : getCards(in)) {
+                player.getJest().addCard(card);
+            }
+            players.add(player);
+        }
+        
+        List<Card> trophyCards = getCards(in);
+        Deck deck = new Deck(expansion, decks, getCards(in));
+        List<Card> leftovers = getCards(in);
+        
+        Game game = new Game(players, config, random);
+        game.restore(deck, trophyCards, leftovers, roundNumber);
+        return game;
+    }
+
+    /**
+     * Writes the strategy of a seat and the state of its random source.
+     * 
+     * @param out Target buffer
+     * @param player The seated player
+     * @throws IllegalArgumentException if the strategy has no save kind
+     */
+    private static void putStrategy(ByteBuffer out, Player player) {
+        PlayStrategy strategy = player.getStrategy();
+        Class<?> type = strategy.getClass();
+        if (player instanceof HumanPlayer) {
+            out.put((byte) HUMAN);
+        } else if (type == DefensiveStrategy.class) {
+            out.put((byte) DEFENSIVE);
+        } else if (type == OffensiveStrategy.class) {
+            out.put((byte) OFFENSIVE);
+        } else if (type == MonteCarloStrategy.class) {
+            InformationSetMcts search = ((MonteCarloStrategy) strategy).getSearch();
+            out.put((byte) MONTE_CARLO);
+            out.putLong(search.getTimeBudgetMillis());
+            out.putInt(search.getIterationBudget());
+            out.put((byte) search.getThreads());
+        } else if (type == ExpectimaxStrategy.class) {
+            DeterminizedEvaluator evaluator = ((ExpectimaxStrategy) strategy).getEvaluator();
+            out.put((byte) EXPECTIMAX);
+            out.putInt(evaluator.getSamples());
+            out.put((byte) evaluator.getThreads());
+        } else {
+            throw new IllegalArgumentException("Strategy cannot be saved: " + type.getSimpleName());
+        }
+        
+        Random random = (strategy instanceof AIStrategy) ? ((AIStrategy) strategy).getRandom() : null;
+        if (random instanceof GameRandom) {
+            out.put((byte) 1);
+            out.putLong(((GameRandom) random).getState());
+            out.putLong(((GameRandom) random).getGamma());
+        } else {
+            out.put((byte) 0);
+        }
+    }
+
+    /**
+     * Reads a seat's strategy and creates its player.
+     * 
+     * @param in Source buffer
+     * @param name The player's name
+     * @return The player, with an empty Jest
+     * @throws IOException if the strategy kind is unknown
+     */
+    private static Player getPlayer(ByteBuffer in, String name) throws IOException {
+        int kind = in.get();
+        AIStrategy strategy;
+        switch (kind) {
+            case HUMAN:
+                strategy = null;
+                break;
+            case DEFENSIVE:
+                strategy = new DefensiveStrategy();
+                break;
+            case OFFENSIVE:
+                strategy = new OffensiveStrategy();
+                break;
+            case MONTE_CARLO:
+                long timeBudgetMillis = in.getLong();
+                int iterationBudget = in.getInt();
+                strategy = new MonteCarloStrategy(timeBudgetMillis, iterationBudget, in.get());
+                break;
+            case EXPECTIMAX:
+                int samples = in.getInt();
+                strategy = new ExpectimaxStrategy(samples, in.get());
+                break;
+            default:
+                throw new IOException("Unknown strategy kind " + kind);
+        }
+        
+        if (in.get() != 0) {
+            GameRandom random = GameRandom.fromState(in.getLong(), in.getLong());
+            if (strategy != null) {
+                strategy.setRandom(random);
+            }
+        }
+        return (strategy == null) ? new HumanPlayer(name) : new VirtualPlayer(name, strategy);
+    }
+
+    /**
+     * Writes a card list.
+     * 
+     * @param out Target buffer
+     * @param cards The cards
+     */
+    private static void putCards(ByteBuffer out, List<Card> cards) {
+        out.put((byte) cards.size());
+        for (Card card : cards) {
+            out.put((byte) card.getId());
+        }
+    }
+
+    /**
+     * Reads a card list.
+     * 
+     * @param in Source buffer
+     * @return The cards, in saved order
+     * @throws IOException if a card id is out of range
+     */
+    private static List<Card> getCards(ByteBuffer in) throws IOException {
+        int count = in.get() & 0xFF;
+        if (count > CardMask.CARD_COUNT * GameConfig.MAX_DECKS) {
+            throw new IOException("Invalid card count " + count);
+        }
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(cardOf(in.get()));
+        }
+        return cards;
+    }
+
+    /**
+     * Gets the card with the given id.
+     * 
+     * @param id Card id (see {@link CardMask})
+     * @return The shared card instance
+     * @throws IOException if the id is out of range
+     */
+    private static Card cardOf(int id) throws IOException {
+        if (id < 0 || id >= CardRegistry.size()) {
+            throw new IOException("Invalid card id " + id);
+        }
+        return CardRegistry.get(id);
+    }
+}
@@ -0,0 +1,101 @@
+package base;
+
+/**
+ * Catalog entry of a saved game: what is shown when saves are listed,
+ * without opening the save file.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class SaveInfo {
+    /** Name of the save file in the save directory */
+    private final String filename;
+    
+    /** Variant of the saved game */
+    private final GameVariant variant;
+    
+    /** Time the save was written, in milliseconds since the epoch */
+    private final long timestamp;
+    
+    /** Number of players */
+    private final int players;
+    
+    /** Number of rounds played when the game was saved */
+    private final int round;
+    
+    /** Size of the save file in bytes */
+    private final int size;
+
+    /**
+     * Creates a catalog entry.
+     * 
+     * @param filename Name of the save file
+     * @param variant Variant of the saved game
+     * @param timestamp Time the save was written (epoch milliseconds)
+     * @param players Number of players
+     * @param round Number of rounds played
+     * @param size Size of the save file in bytes
+     */
+    public SaveInfo(String filename, GameVariant variant, long timestamp, int players, int round, int size) {
+        this.filename = filename;
+        this.variant = variant;
+        this.timestamp = timestamp;
+        this.players = players;
+        this.round = round;
+        this.size = size;
+    }
+
+    /**
+     * Gets the name of the save file.
+     * 
+     * @return File name in the save directory
+     */
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * Gets the variant of the saved game.
+     * 
+     * @return The variant
+     */
+    public GameVariant getVariant() {
+        return variant;
+    }
+
+    /**
+     * Gets the time the save was written.
+     * 
+     * @return Milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the number of players.
+     * 
+     * @return Number of seats
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * Gets the number of rounds played when the game was saved.
+     * 
+     * @return Rounds played
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * Gets the size of the save file.
+     * 
+     * @return Size in bytes
+     */
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,45 @@
+package base;
+
+/**
+ * Input/output channel of one seat: where a human seat's prompts are
+ * written and its answers read.
+ * 
+ * <p>The local console game uses {@link ConsoleChannel}; tables hosted
+ * side by side in one JVM give every human seat its own
+ * {@link QueueChannel}, so no two tables share {@link InputHandler}.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public interface SeatChannel {
+    
+    /**
+     * Writes text to the seat.
+     * 
+     * @param text The text
+     */
+    void print(String text);
+    
+    /**
+     * Writes a line to the seat.
+     * 
+     * @param text The line, without its line separator
+     */
+    void println(String text);
+    
+    /**
+     * Reads the next line from the seat, blocking until one arrives.
+     * 
+     * @return The line, trimmed
+     * @throws IllegalStateException if the channel is closed
+     */
+    String readLine();
+    
+    /**
+     * Reads the next integer from the seat, blocking until a valid one arrives.
+     * 
+     * @return The integer entered
+     * @throws IllegalStateException if the channel is closed
+     */
+    int readInt();
+}
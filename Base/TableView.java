@@ -0,0 +1,88 @@
+package base;
+
+import trophy.Trophy;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Read-only view of a game in progress, for AI strategies that look ahead.
+ * 
+ * <p>{@link strategy.PlayStrategy} callbacks only receive the offers to choose from.
+ * Search-based strategies also need the Jests, the trophies, the deck size
+ * and the state of the current round; {@link Game} exposes them through this
+ * interface and hands it to every {@link strategy.AIStrategy} at game start.</p>
+ * 
+ * <p>The view returns live game objects. Callers must not modify them and
+ * must not look at other players' hands or face-down cards.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public interface TableView {
+    /**
+     * Gets the players in seat order.
+     * 
+     * @return List of players
+     */
+    List<Player> getPlayers();
+
+    /**
+     * Gets the game configuration.
+     * 
+     * @return Expansion and variant settings
+     */
+    GameConfig getGameConfig();
+
+    /**
+     * Gets the trophies of this game.
+     * 
+     * @return List of trophies (empty in Go All Out)
+     */
+    List<Trophy> getTrophies();
+
+    /**
+     * Gets the number of cards left in the deck.
+     * 
+     * @return Number of cards
+     */
+    int getDeckSize();
+
+    /**
+     * Gets the number of decks combined into the game's deck.
+     * 
+     * @return Number of decks (1 except at large tables)
+     */
+    int getDeckCount();
+
+    /**
+     * Gets the offers of the current round, in seat order.
+     * During the offer phase only the offers made so far are listed.
+     * 
+     * @return List of offers, empty between rounds
+     */
+    List<Offer> getOffers();
+
+    /**
+     * Checks whether a player has already taken a card this round.
+     * 
+     * @param player The player
+     * @return true if the player took (or was skipped) this round
+     */
+    boolean hasTaken(Player player);
+
+    /**
+     * Gets the player whose turn it is to take a card.
+     * 
+     * @return The taking player, or null outside the taking phase
+     */
+    Player getCurrentPlayer();
+
+    /**
+     * Gets the executor that runs the extra search threads of AI decisions.
+     * A hosted table's executor counts every thread it starts against the
+     * host's compute permits.
+     * 
+     * @return The executor, or null to search on the deciding thread only
+     */
+    Executor getSearchExecutor();
+}
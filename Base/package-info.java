@@ -10,6 +10,16 @@
  *   <li>{@link base.Jest} - Player's won cards collection</li>
  *   <li>{@link base.Offer} - Two-card offer during rounds</li>
  *   <li>{@link base.Round} - Single round logic</li>
+ *   <li>{@link base.GameEngine} - Headless game runner for AI-only games</li>
+ *   <li>{@link base.GameResult} - Structured outcome of a completed game</li>
+ *   <li>{@link base.GameRandom} - Seeded, splittable random source of a game</li>
+ *   <li>{@link base.TableView} - Read-only view of a game for look-ahead AIs</li>
+ *   <li>{@link base.GameSaveManager} - Binary save and load of games paused between rounds</li>
+ *   <li>{@link base.SaveInfo} - Catalog entry of a saved game</li>
+ *   <li>{@link base.GameJournal} - Write-ahead journal of game events for crash recovery</li>
+ *   <li>{@link base.SeatChannel} - Input/output channel of a human seat</li>
+ *   <li>{@link base.ConsoleChannel} - Seat channel of the local console</li>
+ *   <li>{@link base.QueueChannel} - Queue-fed seat channel for hosted tables</li>
  * </ul>
  * 
  * @author Hazri and Sophea
@@ -0,0 +1,70 @@
+package benchmark;
+
+import base.Deck;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for building and shuffling the deck.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeckBenchmark {
+    /** Deck size: false = base (17 cards), true = expansion (33 cards) */
+    @Param({"false", "true"})
+    public boolean expansion;
+    
+    /** Deck reshuffled by every call */
+    private Deck deck;
+    
+    /** Seeded generator for shuffling */
+    private Random random;
+
+    /**
+     * Builds the deck to shuffle.
+     */
+    @Setup
+    public void setup() {
+        deck = new Deck(expansion);
+        random = new Random(Fixtures.SEED);
+    }
+
+    /**
+     * Builds a fresh deck, as every game does.
+     * 
+     * @return The deck
+     */
+    @Benchmark
+    public Deck construct() {
+        return new Deck(expansion);
+    }
+
+    /**
+     * Shuffles the deck in place.
+     * 
+     * @return The deck
+     */
+    @Benchmark
+    public Deck shuffle() {
+        deck.shuffle(random);
+        return deck;
+    }
+}
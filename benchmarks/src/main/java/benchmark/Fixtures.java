@@ -0,0 +1,95 @@
+package benchmark;
+
+import base.Card;
+import base.Deck;
+import base.Jest;
+import base.Player;
+import player.VirtualPlayer;
+import strategy.typestrategy.DefensiveStrategy;
+import strategy.typestrategy.OffensiveStrategy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded test data shared by the benchmarks.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+final class Fixtures {
+    /** Seed used for every fixture so runs are comparable */
+    static final long SEED = 20240917L;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private Fixtures() {
+    }
+
+    /**
+     * Builds Jests of a fixed size, each dealt from its own shuffled deck.
+     * 
+     * @param count Number of Jests
+     * @param size Cards per Jest (clamped to the deck size)
+     * @param expansion true to deal from the expansion deck
+     * @param random Random number generator
+     * @return The Jests
+     */
+    static Jest[] jests(int count, int size, boolean expansion, Random random) {
+        Jest[] jests = new Jest[count];
+        for (int i = 0; i < count; i++) {
+            Deck deck = new Deck(expansion);
+            deck.shuffle(random);
+            Jest jest = new Jest();
+            int cards = Math.min(size, deck.size());
+            for (int c = 0; c < cards; c++) {
+                jest.addCard(deck.drawCard());
+            }
+            jests[i] = jest;
+        }
+        return jests;
+    }
+
+    /**
+     * Seats AI players, alternating Offensive and Defensive strategies.
+     * 
+     * @param count Number of players
+     * @return The players
+     */
+    static List<Player> aiPlayers(int count) {
+        List<Player> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (i % 2 == 0) {
+                players.add(new VirtualPlayer("AI " + i, new OffensiveStrategy()));
+            } else {
+                players.add(new VirtualPlayer("AI " + i, new DefensiveStrategy()));
+            }
+        }
+        return players;
+    }
+
+    /**
+     * Deals every card of a shuffled deck round-robin into the players' Jests,
+     * up to a fixed number per player.
+     * 
+     * @param players The players (their Jests are replaced)
+     * @param perPlayer Cards per Jest (clamped so the deck is not exhausted)
+     * @param expansion true to deal from the expansion deck
+     * @param random Random number generator
+     */
+    static void dealJests(List<Player> players, int perPlayer, boolean expansion, Random random) {
+        Deck deck = new Deck(expansion);
+        deck.shuffle(random);
+        int cards = Math.min(perPlayer, deck.size() / players.size());
+        for (Player player : players) {
+            player.setJest(new Jest());
+        }
+        for (int c = 0; c < cards; c++) {
+            for (Player player : players) {
+                Card card = deck.drawCard();
+                player.getJest().addCard(card);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package benchmark;
+
+import base.GameEngine;
+import base.GameResult;
+import base.GameVariant;
+import strategy.PlayStrategy;
+import strategy.typestrategy.DefensiveStrategy;
+import strategy.typestrategy.OffensiveStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for one complete headless AI-only game.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameEngineBenchmark {
+    /** The variant played */
+    @Param
+    public GameVariant variant;
+    
+    /** Deck size: false = base (17 cards), true = expansion (33 cards) */
+    @Param({"false", "true"})
+    public boolean expansion;
+    
+    /** The engine */
+    private GameEngine engine;
+    
+    /** Four AI seats */
+    private List<PlayStrategy> roster;
+    
+    /** Seed of the next game */
+    private long seed;
+
+    /**
+     * Creates the engine and roster.
+     */
+    @Setup
+    public void setup() {
+        engine = new GameEngine();
+        roster = List.of(new OffensiveStrategy(), new DefensiveStrategy(),
+            new OffensiveStrategy(), new DefensiveStrategy());
+        seed = Fixtures.SEED;
+    }
+
+    /**
+     * Plays one game.
+     * 
+     * @return The result
+     */
+    @Benchmark
+    public GameResult playGame() {
+        return engine.play(roster, expansion, variant, seed++);
+    }
+}
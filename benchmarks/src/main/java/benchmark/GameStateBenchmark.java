@@ -0,0 +1,140 @@
+package benchmark;
+
+import base.Game.TrophyType;
+import base.GameRandom;
+import base.GameVariant;
+import card.CardMask;
+import search.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the flat search model: single transitions, copies and
+ * random playouts of a whole game.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameStateBenchmark {
+    /** Deck size: false = base (17 cards), true = expansion (33 cards) */
+    @Param({"false", "true"})
+    public boolean expansion;
+    
+    /** Dealt game at its first decision */
+    private GameState start;
+    
+    /** Taking-phase position for the transition benchmark */
+    private GameState position;
+    
+    /** Legal moves at the position */
+    private int[] moves;
+    
+    /** Number of legal moves at the position */
+    private int count;
+    
+    /** Index of the next move to apply */
+    private int next;
+    
+    /** Reused playout state */
+    private GameState playout;
+    
+    /** Move buffer for playouts */
+    private int[] buffer;
+    
+    /** Seeded generator for deals and playout moves */
+    private GameRandom random;
+
+    /**
+     * Deals a four-player Normal game and plays it to its first taking decision.
+     */
+    @Setup
+    public void setup() {
+        random = new GameRandom(Fixtures.SEED);
+        start = new GameState(4, GameVariant.NORMAL, 0);
+        start.setRandom(random);
+        
+        long deck = CardMask.deckMask(expansion);
+        int[] ids = new int[Long.bitCount(deck)];
+        for (int i = 0; deck != 0; i++) {
+            ids[i] = Long.numberOfTrailingZeros(deck);
+            deck &= deck - 1;
+        }
+        for (int i = ids.length; i > 1; i--) {
+            int j = random.nextInt(i);
+            int swap = ids[i - 1];
+            ids[i - 1] = ids[j];
+            ids[j] = swap;
+        }
+        start.addTrophy(TrophyType.JOKER, ids[0]);
+        for (int i = 1; i < ids.length; i++) {
+            start.pushDeck(ids[i]);
+        }
+        start.start();
+        
+        buffer = new int[64];
+        moves = new int[64];
+        position = start.copy();
+        while (position.getPhase() != GameState.PHASE_TAKE) {
+            position.legalMoves(buffer);
+            position.apply(buffer[0]);
+        }
+        count = position.legalMoves(moves);
+        playout = start.copy();
+    }
+
+    /**
+     * Applies and undoes one taking move (two transitions).
+     * 
+     * @return Seat to move after the move
+     */
+    @Benchmark
+    public int applyUndo() {
+        int move = moves[next];
+        next = (next + 1 == count) ? 0 : next + 1;
+        position.apply(move);
+        int seat = position.getCurrent();
+        position.undo(move);
+        return seat;
+    }
+
+    /**
+     * Copies a state into a new one.
+     * 
+     * @return The copy
+     */
+    @Benchmark
+    public GameState copy() {
+        return position.copy();
+    }
+
+    /**
+     * Plays a whole game with uniformly random moves.
+     * 
+     * @return Winning seat
+     */
+    @Benchmark
+    public int randomPlayout() {
+        playout.copyFrom(start);
+        while (!playout.isOver()) {
+            int n = playout.legalMoves(buffer);
+            playout.apply(buffer[random.nextInt(n)]);
+        }
+        return playout.getWinner();
+    }
+}
@@ -0,0 +1,162 @@
+package benchmark;
+
+import base.Card;
+import base.Deck;
+import base.Jest;
+import base.Offer;
+import base.Player;
+import base.Round;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the offer and take phases of a round with AI players.
+ * 
+ * <p>Both phases take well under a microsecond, too little for per-invocation
+ * setup, so a pool of tables is dealt once per iteration and the benchmarks
+ * cycle through it. Making offers does not change the hands; taking empties
+ * the offers and fills the Jests, so {@link #takeOffers()} puts the dealt
+ * cards back and clears every player's Jest before taking, which costs a
+ * few field writes and allocates nothing.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoundBenchmark {
+    /** Number of dealt tables cycled through (a power of two) */
+    private static final int POOL = 256;
+    
+    /** Number of AI players at the table */
+    @Param({"3", "4"})
+    public int players;
+    
+    /** Seated AI players per table */
+    private List<Player>[] tables;
+    
+    /** Round per table whose offers are remade by the offer benchmark */
+    private Round[] offerRounds;
+    
+    /** Round per table with offers made, for the take benchmark */
+    private Round[] takeRounds;
+    
+    /** Face-up card of each offer of each take round, as dealt */
+    private Card[][] faceUps;
+    
+    /** Face-down card of each offer of each take round, as dealt */
+    private Card[][] faceDowns;
+    
+    /** Next table of the pool */
+    private int cursor;
+    
+    /** Seeded generator for shuffling */
+    private Random random;
+
+    /**
+     * Seats the AI players of every table.
+     */
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void seat() {
+        tables = new List[POOL];
+        for (int t = 0; t < POOL; t++) {
+            tables[t] = Fixtures.aiPlayers(players);
+        }
+        offerRounds = new Round[POOL];
+        takeRounds = new Round[POOL];
+        faceUps = new Card[POOL][];
+        faceDowns = new Card[POOL][];
+        random = new Random(Fixtures.SEED);
+    }
+
+    /**
+     * Deals fresh hands at every table and makes the offers of the take rounds.
+     */
+    @Setup(Level.Iteration)
+    public void deal() {
+        for (int t = 0; t < POOL; t++) {
+            Deck deck = new Deck(false);
+            deck.shuffle(random);
+            for (Player player : tables[t]) {
+                player.setJest(new Jest());
+                player.clearHand();
+                player.addCardToHand(deck.drawCard());
+                player.addCardToHand(deck.drawCard());
+            }
+            offerRounds[t] = new Round(deck, tables[t], false);
+            takeRounds[t] = new Round(deck, tables[t], false);
+            takeRounds[t].makeOffers();
+            
+            List<Offer> offers = takeRounds[t].getOffers();
+            faceUps[t] = new Card[offers.size()];
+            faceDowns[t] = new Card[offers.size()];
+            for (int o = 0; o < offers.size(); o++) {
+                faceUps[t][o] = offers.get(o).getFaceUp();
+                faceDowns[t][o] = offers.get(o).getFaceDown();
+            }
+        }
+        cursor = 0;
+    }
+
+    /**
+     * Every player turns their hand into an offer.
+     * 
+     * @return The offers
+     */
+    @Benchmark
+    public List<Offer> makeOffers() {
+        Round round = offerRounds[next()];
+        round.makeOffers();
+        return round.getOffers();
+    }
+
+    /**
+     * Every player takes one card, in Round turn order.
+     * 
+     * @return The cards left on the table
+     */
+    @Benchmark
+    public List<Card> takeOffers() {
+        int t = next();
+        Round round = takeRounds[t];
+        List<Offer> offers = round.getOffers();
+        for (int o = 0; o < offers.size(); o++) {
+            offers.get(o).setFaceUp(faceUps[t][o]);
+            offers.get(o).setFaceDown(faceDowns[t][o]);
+        }
+        for (Player player : tables[t]) {
+            player.getJest().clear();
+        }
+        round.takeOffers();
+        return round.getLeftoverCards();
+    }
+
+    /**
+     * Moves to the next table of the pool.
+     * 
+     * @return Index of the table
+     */
+    private int next() {
+        int t = cursor;
+        cursor = (cursor + 1) & (POOL - 1);
+        return t;
+    }
+}
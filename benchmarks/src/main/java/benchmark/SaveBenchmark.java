@@ -0,0 +1,115 @@
+package benchmark;
+
+import base.Game;
+import base.GameConfig;
+import base.GameRandom;
+import base.GameSaveManager;
+import base.GameVariant;
+import base.Player;
+import player.VirtualPlayer;
+import strategy.typestrategy.DefensiveStrategy;
+import strategy.typestrategy.OffensiveStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the binary save format: writing a paused four-player game
+ * to a file and loading it back.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SaveBenchmark {
+    /** Deck size: false = base (17 cards), true = expansion (33 cards) */
+    @Param({"false", "true"})
+    public boolean expansion;
+    
+    /** Directory holding the save files */
+    private Path directory;
+    
+    /** File loaded by {@link #load()} */
+    private Path saved;
+    
+    /** File written by {@link #save()} */
+    private Path target;
+    
+    /** Game paused after its first round */
+    private Game game;
+
+    /**
+     * Plays the first round of a seeded game and saves it.
+     * 
+     * @throws IOException if the save cannot be written
+     */
+    @Setup
+    public void setup() throws IOException {
+        GameRandom random = new GameRandom(Fixtures.SEED);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            players.add(new VirtualPlayer("AI " + i, (i % 2 == 0)
+                ? new OffensiveStrategy(random.split()) : new DefensiveStrategy(random.split())));
+        }
+        game = new Game(players, new GameConfig(expansion, GameVariant.NORMAL, random), random);
+        game.playNextRound();
+        
+        directory = Files.createTempDirectory("jest-saves");
+        saved = directory.resolve("saved.jest");
+        target = directory.resolve("target.jest");
+        GameSaveManager.save(game, saved);
+    }
+
+    /**
+     * Deletes the save files.
+     * 
+     * @throws IOException if a file cannot be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(saved);
+        Files.deleteIfExists(target);
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Saves the game atomically, including the fsync.
+     * 
+     * @throws IOException if the save cannot be written
+     */
+    @Benchmark
+    public void save() throws IOException {
+        GameSaveManager.save(game, target);
+    }
+
+    /**
+     * Loads the saved game.
+     * 
+     * @return The restored game
+     * @throws IOException if the save cannot be read
+     */
+    @Benchmark
+    public Game load() throws IOException {
+        return GameSaveManager.load(saved);
+    }
+}
@@ -0,0 +1,198 @@
+package benchmark;
+
+import base.GameConfig;
+import base.GameVariant;
+import base.Jest;
+import visitor.FinalScoreVisitor;
+import visitor.GoAllOutScoreVisitor;
+import visitor.NoMercyScoreVisitor;
+import visitor.ScoreVisitor;
+import visitor.TableScorer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for scoring one Jest with each score visitor, and with the
+ * table-driven scorer for comparison.
+ * Visitors are measured both freshly allocated per call and reused through
+ * {@link ScoreVisitor#bind(Jest)}. Calls cycle through a pool of different Jests of the same size.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoreVisitorBenchmark {
+    /** Number of Jests cycled through (power of two) */
+    private static final int POOL = 256;
+    
+    /** Cards per Jest (clamped to the deck size) */
+    @Param({"4", "8", "16"})
+    public int jestSize;
+    
+    /** Deck size: false = base (17 cards), true = expansion (33 cards) */
+    @Param({"false", "true"})
+    public boolean expansion;
+    
+    /** Jests to score */
+    private Jest[] jests;
+    
+    /** No Mercy configuration */
+    private GameConfig noMercyConfig;
+    
+    /** Go All Out configuration */
+    private GameConfig goAllOutConfig;
+    
+    /** Reused Normal visitor */
+    private ScoreVisitor reusedFinal;
+    
+    /** Reused No Mercy visitor */
+    private ScoreVisitor reusedNoMercy;
+    
+    /** Reused Go All Out visitor */
+    private ScoreVisitor reusedGoAllOut;
+    
+    /** Next Jest to score */
+    private int next;
+
+    /**
+     * Builds the Jest pool.
+     */
+    @Setup
+    public void setup() {
+        jests = Fixtures.jests(POOL, jestSize, expansion, new Random(Fixtures.SEED));
+        noMercyConfig = new GameConfig(expansion, GameVariant.NO_MERCY);
+        goAllOutConfig = new GameConfig(expansion, GameVariant.GO_ALL_OUT);
+        reusedFinal = new FinalScoreVisitor();
+        reusedNoMercy = new NoMercyScoreVisitor(noMercyConfig);
+        reusedGoAllOut = new GoAllOutScoreVisitor();
+    }
+
+    /**
+     * Gets the next Jest of the pool.
+     * 
+     * @return A Jest
+     */
+    private Jest nextJest() {
+        Jest jest = jests[next];
+        next = (next + 1) & (POOL - 1);
+        return jest;
+    }
+
+    /**
+     * Scores with the Normal visitor.
+     * 
+     * @return The score
+     */
+    @Benchmark
+    public int finalScoreVisitor() {
+        Jest jest = nextJest();
+        ScoreVisitor visitor = new FinalScoreVisitor(jest);
+        jest.accept(visitor);
+        return visitor.getTotalScore();
+    }
+
+    /**
+     * Scores with the No Mercy visitor.
+     * 
+     * @return The score
+     */
+    @Benchmark
+    public int noMercyScoreVisitor() {
+        Jest jest = nextJest();
+        ScoreVisitor visitor = new NoMercyScoreVisitor(jest, noMercyConfig);
+        jest.accept(visitor);
+        return visitor.getTotalScore();
+    }
+
+    /**
+     * Scores with the Go All Out visitor.
+     * 
+     * @return The score
+     */
+    @Benchmark
+    public int goAllOutScoreVisitor() {
+        Jest jest = nextJest();
+        ScoreVisitor visitor = new GoAllOutScoreVisitor(jest);
+        jest.accept(visitor);
+        return visitor.getTotalScore();
+    }
+
+    /**
+     * Scores with a reused Normal visitor.
+     * 
+     * @return The score
+     */
+    @Benchmark
+    public int finalScoreVisitorReused() {
+        return score(reusedFinal, nextJest());
+    }
+
+    /**
+     * Scores with a reused No Mercy visitor.
+     * 
+     * @return The score
+     */
+    @Benchmark
+    public int noMercyScoreVisitorReused() {
+        return score(reusedNoMercy, nextJest());
+    }
+
+    /**
+     * Scores with a reused Go All Out visitor.
+     * 
+     * @return The score
+     */
+    @Benchmark
+    public int goAllOutScoreVisitorReused() {
+        return score(reusedGoAllOut, nextJest());
+    }
+
+    /**
+     * Rebinds a visitor to a Jest and scores it.
+     * 
+     * @param visitor The reused visitor
+     * @param jest The Jest to score
+     * @return The score
+     */
+    private static int score(ScoreVisitor visitor, Jest jest) {
+        visitor.bind(jest);
+        jest.accept(visitor);
+        return visitor.getTotalScore();
+    }
+
+    /**
+     * Scores with the Normal rules of the table-driven scorer.
+     * 
+     * @return The score
+     */
+    @Benchmark
+    public int tableScorerNormal() {
+        return TableScorer.scoreNormal(nextJest().getMask());
+    }
+
+    /**
+     * Scores with the Go All Out rules of the table-driven scorer.
+     * 
+     * @return The score
+     */
+    @Benchmark
+    public int tableScorerGoAllOut() {
+        return TableScorer.score(nextJest(), goAllOutConfig);
+    }
+}
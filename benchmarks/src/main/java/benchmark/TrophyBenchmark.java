@@ -0,0 +1,83 @@
+package benchmark;
+
+import base.Game.TrophyType;
+import base.Player;
+import trophy.JestSummary;
+import trophy.Trophy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for resolving the winner of each trophy type at the end of a
+ * 4-player game, by rescanning every Jest and through a {@link JestSummary}.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrophyBenchmark {
+    /** The trophy condition to resolve */
+    @Param
+    public TrophyType type;
+    
+    /** Cards per player's Jest (clamped so the deck is not exhausted) */
+    @Param({"2", "4", "8"})
+    public int jestSize;
+    
+    /** Deck size: false = base (17 cards), true = expansion (33 cards) */
+    @Param({"false", "true"})
+    public boolean expansion;
+    
+    /** Players with dealt Jests */
+    private List<Player> players;
+    
+    /** Trophy of the benchmarked type */
+    private Trophy trophy;
+
+    /**
+     * Deals the players' Jests and creates the trophy.
+     */
+    @Setup
+    public void setup() {
+        players = Fixtures.aiPlayers(4);
+        Fixtures.dealJests(players, jestSize, expansion, new Random(Fixtures.SEED));
+        trophy = new Trophy(type.name(), type);
+    }
+
+    /**
+     * Finds the trophy winner.
+     * 
+     * @return The winning player
+     */
+    @Benchmark
+    public Player determineWinner() {
+        return trophy.determineWinner(players);
+    }
+
+    /**
+     * Builds a Jest summary and finds the trophy winner through it.
+     * 
+     * @return The winning seat
+     */
+    @Benchmark
+    public int jestSummary() {
+        return new JestSummary(players).winnerSeat(type);
+    }
+}
@@ -0,0 +1,182 @@
+package card;
+
+import base.Card;
+import properties.Numbers;
+import properties.Suit;
+
+/**
+ * Bitboard helpers for representing sets of cards as a single {@code long}.
+ * 
+ * <p>Every card of the expansion deck has a fixed id below 64:
+ * suit card ids are {@code suit.ordinal() * 8 + number.ordinal()} (0-31)
+ * and the Joker is {@link #JOKER_ID} (32). Bit {@code id} of a mask is set
+ * when the card is in the set, so adding, removing and membership are single
+ * bit operations and counting is a popcount. Each suit occupies one byte of
+ * the mask, with the Ace in the lowest bit of that byte.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public final class CardMask {
+    /** Number of bits reserved per suit (one per {@link Numbers} value) */
+    public static final int SUIT_BITS = 8;
+    
+    /** Id of the Joker */
+    public static final int JOKER_ID = Suit.values().length * SUIT_BITS;
+    
+    /** Number of distinct card ids */
+    public static final int CARD_COUNT = JOKER_ID + 1;
+    
+    /** Mask holding only the Joker */
+    public static final long JOKER = 1L << JOKER_ID;
+    
+    /** Bit pattern of one suit byte holding only the Ace */
+    public static final int ACE_PATTERN = 1;
+    
+    /** Bit pattern of one suit byte holding the base values (Ace to 4) */
+    public static final int BASE_PATTERN = 0x0F;
+    
+    /** Mask of the base deck: Ace to 4 in every suit plus the Joker */
+    public static final long BASE_DECK = 0x0F0F0F0FL | JOKER;
+    
+    /** Mask of the expansion deck: every suit card plus the Joker */
+    public static final long EXPANSION_DECK = 0xFFFFFFFFL | JOKER;
+    
+    /** Cached enum values */
+    private static final Suit[] SUITS = Suit.values();
+    
+    /** Cached enum values */
+    private static final Numbers[] NUMBERS = Numbers.values();
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private CardMask() {
+    }
+
+    /**
+     * Gets the id of a suit card.
+     * 
+     * @param suit The card's suit
+     * @param number The card's number
+     * @return The card id (0-31)
+     */
+    public static int idOf(Suit suit, Numbers number) {
+        return suit.ordinal() * SUIT_BITS + number.ordinal();
+    }
+
+    /**
+     * Gets the single-bit mask of a card.
+     * 
+     * @param card The card
+     * @return Mask with only that card's bit set
+     */
+    public static long bit(Card card) {
+        return 1L << card.getId();
+    }
+
+    /**
+     * Checks whether a set contains a card.
+     * 
+     * @param mask The card set
+     * @param card The card to look for
+     * @return true if the card's bit is set
+     */
+    public static boolean contains(long mask, Card card) {
+        return (mask & bit(card)) != 0;
+    }
+
+    /**
+     * Gets the mask of every card of a suit.
+     * 
+     * @param suit The suit
+     * @return Mask covering the suit's byte
+     */
+    public static long suitMask(Suit suit) {
+        return 0xFFL << (suit.ordinal() * SUIT_BITS);
+    }
+
+    /**
+     * Gets the bit pattern of one suit within a set.
+     * Bit {@code n} of the result is set when the card with number ordinal
+     * {@code n} of that suit is in the set.
+     * 
+     * @param mask The card set
+     * @param suit The suit
+     * @return Suit pattern (0-255)
+     */
+    public static int suitPattern(long mask, Suit suit) {
+        return (int) (mask >>> (suit.ordinal() * SUIT_BITS)) & 0xFF;
+    }
+
+    /**
+     * Counts the cards of one suit within a set.
+     * 
+     * @param mask The card set
+     * @param suit The suit
+     * @return Number of cards of that suit
+     */
+    public static int countSuit(long mask, Suit suit) {
+        return Long.bitCount(mask & suitMask(suit));
+    }
+
+    /**
+     * Counts the cards in a set.
+     * 
+     * @param mask The card set
+     * @return Number of cards
+     */
+    public static int count(long mask) {
+        return Long.bitCount(mask);
+    }
+
+    /**
+     * Checks whether a set contains the Joker.
+     * 
+     * @param mask The card set
+     * @return true if the Joker's bit is set
+     */
+    public static boolean hasJoker(long mask) {
+        return (mask & JOKER) != 0;
+    }
+
+    /**
+     * Gets the mask of the full deck for a deck size.
+     * 
+     * @param hasExpansion true for the expansion deck
+     * @return Mask of every card in that deck
+     */
+    public static long deckMask(boolean hasExpansion) {
+        return hasExpansion ? EXPANSION_DECK : BASE_DECK;
+    }
+
+    /**
+     * Gets the suit of a card id.
+     * 
+     * @param id A suit card id (0-31)
+     * @return The suit
+     */
+    public static Suit suitOf(int id) {
+        return SUITS[id / SUIT_BITS];
+    }
+
+    /**
+     * Gets the number of a card id.
+     * 
+     * @param id A suit card id (0-31)
+     * @return The number
+     */
+    public static Numbers numberOf(int id) {
+        return NUMBERS[id % SUIT_BITS];
+    }
+
+    /**
+     * Gets the face value of a card id.
+     * 
+     * @param id A card id
+     * @return The face value, or 0 for the Joker
+     */
+    public static int valueOf(int id) {
+        return id == JOKER_ID ? 0 : NUMBERS[id % SUIT_BITS].getValue();
+    }
+}
@@ -0,0 +1,97 @@
+package card;
+
+import base.Card;
+import properties.Numbers;
+import properties.Suit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the one immutable instance of every card.
+ * 
+ * <p>Each (Suit, Numbers) pair and the Joker exist exactly once, indexed by
+ * their card id (see {@link CardMask}), so decks, saves and searches share
+ * the same objects instead of allocating cards per game, cards can be
+ * compared with {@code ==}, and any per-card table can be a flat array of
+ * {@link #size()} entries indexed by {@link Card#getId()}.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public final class CardRegistry {
+    /** Every card, by id */
+    private static final Card[] CARDS = new Card[CardMask.CARD_COUNT];
+    
+    static {
+        for (Suit suit : Suit.values()) {
+            for (Numbers number : Numbers.values()) {
+                CARDS[CardMask.idOf(suit, number)] = new SuitCard(suit, number);
+            }
+        }
+        CARDS[CardMask.JOKER_ID] = new JokerCard();
+    }
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private CardRegistry() {
+    }
+
+    /**
+     * Gets the card with an id.
+     * 
+     * @param id Card id, 0 to {@link #size()} - 1
+     * @return The card
+     * @throws IllegalArgumentException if no card has this id
+     */
+    public static Card get(int id) {
+        if (id < 0 || id >= CARDS.length) {
+            throw new IllegalArgumentException("Invalid card id " + id);
+        }
+        return CARDS[id];
+    }
+
+    /**
+     * Gets a suit card.
+     * 
+     * @param suit The card's suit
+     * @param number The card's number
+     * @return The card
+     */
+    public static SuitCard of(Suit suit, Numbers number) {
+        return (SuitCard) CARDS[CardMask.idOf(suit, number)];
+    }
+
+    /**
+     * Gets the Joker.
+     * 
+     * @return The Joker
+     */
+    public static JokerCard joker() {
+        return (JokerCard) CARDS[CardMask.JOKER_ID];
+    }
+
+    /**
+     * Gets the number of card ids, the length of an array indexed by card id.
+     * 
+     * @return Number of cards
+     */
+    public static int size() {
+        return CARDS.length;
+    }
+
+    /**
+     * Lists the cards of a set, in id order.
+     * 
+     * @param mask The card set (see {@link CardMask})
+     * @return New list of the shared card instances
+     */
+    public static List<Card> cardsOf(long mask) {
+        List<Card> cards = new ArrayList<>(Long.bitCount(mask));
+        while (mask != 0) {
+            cards.add(CARDS[Long.numberOfTrailingZeros(mask)]);
+            mask &= mask - 1;
+        }
+        return cards;
+    }
+}
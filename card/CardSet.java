@@ -0,0 +1,212 @@
+package card;
+
+import java.util.Arrays;
+
+/**
+ * A set of card ids of a {@link CardUniverse}, stored as a multi-word bitset.
+ * 
+ * <p>This is the {@link CardMask} representation for universes larger than
+ * one {@code long}: bit {@code id % 64} of word {@code id / 64} is set when
+ * the card is in the set. Membership is one bit operation, counting is a
+ * popcount per word, and a suit's cards are read as one pattern with
+ * {@link #bits(int, int)}, so scoring a set costs time linear in its words
+ * rather than its cards.</p>
+ * 
+ * <p>Sets are mutable and not thread-safe.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public final class CardSet {
+    /** The bits, 64 card ids per word */
+    private final long[] words;
+    
+    /** Number of card ids the set can hold */
+    private final int capacity;
+    
+    /**
+     * Creates an empty set.
+     * 
+     * @param capacity Number of card ids the set can hold
+     */
+    public CardSet(int capacity) {
+        this.capacity = capacity;
+        this.words = new long[(capacity + 63) >>> 6];
+    }
+
+    /**
+     * Gets the number of card ids the set can hold.
+     * 
+     * @return Capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Adds a card.
+     * 
+     * @param id Card id
+     */
+    public void add(int id) {
+        words[id >>> 6] |= 1L << id;
+    }
+
+    /**
+     * Removes a card.
+     * 
+     * @param id Card id
+     */
+    public void remove(int id) {
+        words[id >>> 6] &= ~(1L << id);
+    }
+
+    /**
+     * Checks whether the set holds a card.
+     * 
+     * @param id Card id
+     * @return true if the card's bit is set
+     */
+    public boolean contains(int id) {
+        return (words[id >>> 6] & (1L << id)) != 0;
+    }
+
+    /**
+     * Counts the cards in the set.
+     * 
+     * @return Number of cards
+     */
+    public int count() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether the set is empty.
+     * 
+     * @return true if no bit is set
+     */
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes every card.
+     */
+    public void clear() {
+        Arrays.fill(words, 0);
+    }
+
+    /**
+     * Makes this set hold the same cards as another set of the same capacity.
+     * 
+     * @param other The set to copy
+     */
+    public void copyFrom(CardSet other) {
+        System.arraycopy(other.words, 0, words, 0, words.length);
+    }
+
+    /**
+     * Reads a run of up to 64 consecutive bits, such as one suit.
+     * Bit {@code i} of the result is card id {@code start + i}.
+     * 
+     * @param start First card id of the run
+     * @param length Number of ids (1 to 64)
+     * @return The bits of the run
+     */
+    public long bits(int start, int length) {
+        int word = start >>> 6;
+        int offset = start & 63;
+        long bits = words[word] >>> offset;
+        if (offset + length > 64) {
+            bits |= words[word + 1] << (64 - offset);
+        }
+        return (length == 64) ? bits : bits & ((1L << length) - 1);
+    }
+
+    /**
+     * Gets the lowest card id in the set at or above an id.
+     * 
+     * @param from First id to look at
+     * @return The id, or -1 if there is none
+     */
+    public int nextSetBit(int from) {
+        int word = from >>> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & (-1L << from);
+        while (bits == 0) {
+            if (++word == words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Gets the number of words of the set.
+     * 
+     * @return Number of 64-bit words
+     */
+    public int wordCount() {
+        return words.length;
+    }
+
+    /**
+     * Gets one word of the set.
+     * 
+     * @param index Word index
+     * @return Bits of card ids {@code 64 * index} to {@code 64 * index + 63}
+     */
+    public long getWord(int index) {
+        return words[index];
+    }
+
+    /**
+     * Checks whether another set holds the same cards.
+     * 
+     * @param other The object to compare
+     * @return true for a set with the same bits
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CardSet && Arrays.equals(words, ((CardSet) other).words);
+    }
+
+    /**
+     * Returns a hash of the cards in the set.
+     * 
+     * @return Hash code
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    /**
+     * Returns the ids in the set.
+     * 
+     * @return e.g. "{0, 5, 64}"
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int id = nextSetBit(0); id >= 0; id = nextSetBit(id + 1)) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(id);
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,622 @@
+package card;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * A card universe defined by data instead of the {@link properties.Suit}
+ * and {@link properties.Numbers} enums: any number of suits, any ascending
+ * run of face values and an optional Joker, with the scoring constants and
+ * the trophy printed on every card.
+ * 
+ * <p>Card ids are dense: {@code suit * valueCount + valueIndex}, the Joker
+ * last. Suits are listed strongest first. Sets of cards are
+ * {@link CardSet} bitsets over these ids.</p>
+ * 
+ * <p>A definition is a properties file:</p>
+ * <pre>
+ * name   = Six suits
+ * suits  = Spade:add, Club:add, Star:add, Diamond:subtract, Moon:subtract, Heart:heart
+ * values = 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12
+ * joker  = true
+ * score.lone-ace    = 5
+ * score.joker-alone = 4
+ * score.joker-hearts = 4
+ * score.pair        = 2
+ * trophy.Spade.1 = highest Diamond
+ * trophy.Club.2  = lowest Heart
+ * trophy.Star.3  = majority 4
+ * trophy.Joker   = joker
+ * </pre>
+ * <p>Suit roles follow the standard suits: {@code add} like Spades and
+ * Clubs, {@code subtract} like Diamonds, {@code heart} like Hearts. Only
+ * {@code suits} and {@code values} are required; the scores default to the
+ * standard game's and a card without a trophy line gives the Joker trophy,
+ * as the standard expansion cards do.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public final class CardUniverse {
+    /** Most face values a suit can have (one word of a suit pattern) */
+    public static final int MAX_VALUES = 64;
+    
+    /** Most cards a universe can have */
+    public static final int MAX_CARDS = 4096;
+    
+    /** Definition of the standard base deck */
+    private static final String BASE_DEFINITION =
+        "name = Standard\n" +
+        "suits = Spade:add, Club:add, Diamond:subtract, Heart:heart\n" +
+        "values = 1, 2, 3, 4\n" +
+        "trophy.Spade.1 = highest Diamond\n" +
+        "trophy.Spade.2 = majority 3\n" +
+        "trophy.Spade.3 = majority 2\n" +
+        "trophy.Spade.4 = lowest Club\n" +
+        "trophy.Club.1 = majority 4\n" +
+        "trophy.Club.2 = lowest Heart\n" +
+        "trophy.Club.3 = lowest Diamond\n" +
+        "trophy.Club.4 = lowest Spade\n" +
+        "trophy.Diamond.1 = majority 4\n" +
+        "trophy.Diamond.2 = highest Heart\n" +
+        "trophy.Diamond.3 = lowest Spade\n";
+    
+    /** The standard base deck */
+    private static final CardUniverse BASE = define(BASE_DEFINITION);
+    
+    /** The standard deck with the expansion cards */
+    private static final CardUniverse EXPANSION = define(BASE_DEFINITION
+        .replace("name = Standard", "name = Standard with expansion")
+        .replace("values = 1, 2, 3, 4", "values = 1, 2, 3, 4, 6, 7, 8, 9"));
+    
+    /**
+     * Role of a suit in scoring.
+     */
+    public enum Role {
+        /** Adds its values and pairs with the other adding suits, like Spades and Clubs */
+        ADD,
+        /** Subtracts its values, like Diamonds */
+        SUBTRACT,
+        /** Worth nothing but sets the Joker's value, like Hearts */
+        HEART
+    }
+
+    /**
+     * Condition of the trophy printed on a card.
+     */
+    public enum TrophyKind {
+        /** Highest card of a suit */
+        HIGHEST,
+        /** Lowest card of a suit */
+        LOWEST,
+        /** Most cards of a face value */
+        MAJORITY,
+        /** Holder of the Joker */
+        JOKER
+    }
+
+    /** Name of the universe */
+    private final String name;
+    
+    /** Suit names, strongest first */
+    private final String[] suitNames;
+    
+    /** Scoring role per suit */
+    private final Role[] roles;
+    
+    /** Face values, ascending */
+    private final int[] values;
+    
+    /** Whether the universe has a Joker */
+    private final boolean joker;
+    
+    /** Number of cards */
+    private final int size;
+    
+    /** Value of the lowest card when it is alone in its suit */
+    private final int loneAceValue;
+    
+    /** Value of the Joker without Hearts */
+    private final int jokerAloneValue;
+    
+    /** Number of Hearts with which the Joker adds their values */
+    private final int jokerHearts;
+    
+    /** Bonus per face value held in two adding suits */
+    private final int pairBonus;
+    
+    /** Trophy condition per card id */
+    private final TrophyKind[] trophyKinds;
+    
+    /** Suit or value index the trophy condition refers to, per card id */
+    private final int[] trophyArguments;
+    
+    /**
+     * Creates a universe from parsed definition fields.
+     * 
+     * @param name Name of the universe
+     * @param suitNames Suit names, strongest first
+     * @param roles Scoring role per suit
+     * @param values Face values, ascending
+     * @param joker Whether the universe has a Joker
+     * @param scores Lone Ace value, Joker value without Hearts, Hearts for the Joker, pair bonus
+     */
+    private CardUniverse(String name, String[] suitNames, Role[] roles, int[] values, boolean joker, int[] scores) {
+        this.name = name;
+        this.suitNames = suitNames;
+        this.roles = roles;
+        this.values = values;
+        this.joker = joker;
+        this.size = suitNames.length * values.length + (joker ? 1 : 0);
+        this.loneAceValue = scores[0];
+        this.jokerAloneValue = scores[1];
+        this.jokerHearts = scores[2];
+        this.pairBonus = scores[3];
+        this.trophyKinds = new TrophyKind[size];
+        this.trophyArguments = new int[size];
+        Arrays.fill(trophyKinds, TrophyKind.JOKER);
+    }
+
+    /**
+     * Gets a standard deck as a universe.
+     * Its cards are in the same order as the {@link CardMask} ids.
+     * 
+     * @param hasExpansion true to include expansion cards (6, 7, 8, 9)
+     * @return The standard universe
+     */
+    public static CardUniverse standard(boolean hasExpansion) {
+        return hasExpansion ? EXPANSION : BASE;
+    }
+
+    /**
+     * Loads a universe from a definition file (UTF-8).
+     * 
+     * @param file The definition file
+     * @return The universe
+     * @throws IOException if the file cannot be read or the definition is invalid
+     */
+    public static CardUniverse load(Path file) throws IOException {
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(in);
+        }
+    }
+
+    /**
+     * Parses a universe definition.
+     * 
+     * @param in Source of the definition
+     * @return The universe
+     * @throws IOException if the definition cannot be read or is invalid
+     */
+    public static CardUniverse parse(Reader in) throws IOException {
+        Properties definition = new Properties();
+        definition.load(in);
+        
+        String[] suitSpecs = list(definition, "suits");
+        String[] suitNames = new String[suitSpecs.length];
+        Role[] roles = new Role[suitSpecs.length];
+        for (int i = 0; i < suitSpecs.length; i++) {
+            String[] parts = suitSpecs[i].split(":");
+            if (parts.length != 2 || parts[0].trim().isEmpty()) {
+                throw invalid("suit must be name:role, got '" + suitSpecs[i] + "'");
+            }
+            suitNames[i] = parts[0].trim();
+            try {
+                roles[i] = Role.valueOf(parts[1].trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw invalid("unknown role '" + parts[1].trim() + "' of suit " + suitNames[i]);
+            }
+            for (int j = 0; j < i; j++) {
+                if (suitNames[j].equals(suitNames[i])) {
+                    throw invalid("suit " + suitNames[i] + " is listed twice");
+                }
+            }
+        }
+        
+        String[] valueSpecs = list(definition, "values");
+        if (valueSpecs.length > MAX_VALUES) {
+            throw invalid("at most " + MAX_VALUES + " values per suit, got " + valueSpecs.length);
+        }
+        int[] values = new int[valueSpecs.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = number(valueSpecs[i], "values");
+            if (values[i] < 1 || (i > 0 && values[i] <= values[i - 1])) {
+                throw invalid("values must be positive and ascending");
+            }
+        }
+        if (suitNames.length * values.length + 1 > MAX_CARDS) {
+            throw invalid("at most " + MAX_CARDS + " cards");
+        }
+        
+        int[] scores = {
+            number(definition.getProperty("score.lone-ace", "5"), "score.lone-ace"),
+            number(definition.getProperty("score.joker-alone", "4"), "score.joker-alone"),
+            number(definition.getProperty("score.joker-hearts", "4"), "score.joker-hearts"),
+            number(definition.getProperty("score.pair", "2"), "score.pair")
+        };
+        boolean joker = Boolean.parseBoolean(definition.getProperty("joker", "true").trim());
+        String name = definition.getProperty("name", "Custom").trim();
+        CardUniverse universe = new CardUniverse(name, suitNames, roles, values, joker, scores);
+        
+        for (String key : definition.stringPropertyNames()) {
+            if (key.startsWith("trophy.")) {
+                universe.setTrophy(key.substring("trophy.".length()), definition.getProperty(key).trim());
+            }
+        }
+        return universe;
+    }
+
+    /**
+     * Parses one of the built-in definitions.
+     * 
+     * @param definition The definition text
+     * @return The universe
+     */
+    private static CardUniverse define(String definition) {
+        try {
+            return parse(new StringReader(definition));
+        } catch (IOException e) {
+            throw new IllegalStateException("Invalid built-in deck definition", e);
+        }
+    }
+
+    /**
+     * Reads a required comma-separated list.
+     * 
+     * @param definition The definition
+     * @param key The key
+     * @return The non-empty items
+     * @throws IOException if the key is missing or empty
+     */
+    private static String[] list(Properties definition, String key) throws IOException {
+        String value = definition.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            throw invalid("'" + key + "' is required");
+        }
+        String[] items = value.split(",");
+        for (int i = 0; i < items.length; i++) {
+            items[i] = items[i].trim();
+        }
+        return items;
+    }
+
+    /**
+     * Parses an integer of a definition.
+     * 
+     * @param text The text
+     * @param key Key the text belongs to, for the error message
+     * @return The integer
+     * @throws IOException if the text is not an integer
+     */
+    private static int number(String text, String key) throws IOException {
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            throw invalid("'" + key + "' expects integers, got '" + text.trim() + "'");
+        }
+    }
+
+    /**
+     * Creates the exception for an invalid definition.
+     * 
+     * @param reason What is wrong
+     * @return The exception
+     */
+    private static IOException invalid(String reason) {
+        return new IOException("Invalid deck definition: " + reason);
+    }
+
+    /**
+     * Sets the trophy printed on a card from a definition line.
+     * 
+     * @param card The card: {@code Suit.value} or {@code Joker}
+     * @param condition The condition: {@code highest Suit}, {@code lowest Suit},
+     *        {@code majority value} or {@code joker}
+     * @throws IOException if the card or condition is unknown
+     */
+    private void setTrophy(String card, String condition) throws IOException {
+        int id;
+        if (card.equals("Joker") && joker) {
+            id = jokerId();
+        } else {
+            int dot = card.lastIndexOf('.');
+            int suit = (dot < 0) ? -1 : suitIndex(card.substring(0, dot));
+            int value = (dot < 0) ? -1 : valueIndex(number(card.substring(dot + 1), "trophy." + card));
+            if (suit < 0 || value < 0) {
+                throw invalid("trophy of unknown card '" + card + "'");
+            }
+            id = idOf(suit, value);
+        }
+        
+        String[] parts = condition.split("\\s+");
+        TrophyKind kind;
+        try {
+            kind = TrophyKind.valueOf(parts[0].toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw invalid("unknown trophy '" + condition + "' of card " + card);
+        }
+        int argument = 0;
+        if (kind != TrophyKind.JOKER) {
+            if (parts.length != 2) {
+                throw invalid("trophy '" + condition + "' of card " + card + " needs one argument");
+            }
+            argument = (kind == TrophyKind.MAJORITY)
+                ? valueIndex(number(parts[1], "trophy." + card)) : suitIndex(parts[1]);
+            if (argument < 0) {
+                throw invalid("trophy '" + condition + "' of card " + card + " names an unknown suit or value");
+            }
+        }
+        trophyKinds[id] = kind;
+        trophyArguments[id] = argument;
+    }
+
+    /**
+     * Gets the name of this universe.
+     * 
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of cards.
+     * 
+     * @return Number of card ids
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of suits.
+     * 
+     * @return Number of suits
+     */
+    public int getSuitCount() {
+        return suitNames.length;
+    }
+
+    /**
+     * Gets the number of face values per suit.
+     * 
+     * @return Number of values
+     */
+    public int getValueCount() {
+        return values.length;
+    }
+
+    /**
+     * Gets the name of a suit.
+     * 
+     * @param suit Suit index (0 is the strongest)
+     * @return The name
+     */
+    public String getSuitName(int suit) {
+        return suitNames[suit];
+    }
+
+    /**
+     * Gets the scoring role of a suit.
+     * 
+     * @param suit Suit index
+     * @return The role
+     */
+    public Role getRole(int suit) {
+        return roles[suit];
+    }
+
+    /**
+     * Gets the tie-breaking strength of a suit: the strongest suit has the
+     * highest strength and the Joker has 0.
+     * 
+     * @param suit Suit index
+     * @return Strength (1 to the number of suits)
+     */
+    public int getStrength(int suit) {
+        return suitNames.length - suit;
+    }
+
+    /**
+     * Gets a face value.
+     * 
+     * @param index Value index (0 is the lowest)
+     * @return The face value
+     */
+    public int getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Finds the index of a suit by name.
+     * 
+     * @param suitName The suit name
+     * @return Suit index, or -1 if no suit has that name
+     */
+    public int suitIndex(String suitName) {
+        for (int i = 0; i < suitNames.length; i++) {
+            if (suitNames[i].equals(suitName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the index of a face value.
+     * 
+     * @param value The face value
+     * @return Value index, or -1 if no card has that value
+     */
+    public int valueIndex(int value) {
+        int index = Arrays.binarySearch(values, value);
+        return (index < 0) ? -1 : index;
+    }
+
+    /**
+     * Checks whether this universe has a Joker.
+     * 
+     * @return true if the last id is the Joker
+     */
+    public boolean hasJoker() {
+        return joker;
+    }
+
+    /**
+     * Gets the id of the Joker.
+     * 
+     * @return The Joker's id, or -1 if there is none
+     */
+    public int jokerId() {
+        return joker ? suitNames.length * values.length : -1;
+    }
+
+    /**
+     * Gets the id of a suit card.
+     * 
+     * @param suit Suit index
+     * @param valueIndex Value index
+     * @return The card id
+     */
+    public int idOf(int suit, int valueIndex) {
+        return suit * values.length + valueIndex;
+    }
+
+    /**
+     * Gets the suit of a card id.
+     * 
+     * @param id A suit card id
+     * @return Suit index
+     */
+    public int suitOf(int id) {
+        return id / values.length;
+    }
+
+    /**
+     * Gets the value index of a card id.
+     * 
+     * @param id A suit card id
+     * @return Value index
+     */
+    public int valueIndexOf(int id) {
+        return id % values.length;
+    }
+
+    /**
+     * Gets the face value of a card id.
+     * 
+     * @param id A card id
+     * @return The face value, or 0 for the Joker
+     */
+    public int valueOf(int id) {
+        return (id == jokerId()) ? 0 : values[id % values.length];
+    }
+
+    /**
+     * Gets the face-up ordering key of a card id: value first, then suit strength.
+     * 
+     * @param id A card id
+     * @return Rank (0 for the Joker)
+     */
+    public int rankOf(int id) {
+        if (id == jokerId()) {
+            return 0;
+        }
+        return values[id % values.length] * (suitNames.length + 1) + getStrength(id / values.length);
+    }
+
+    /**
+     * Gets the trophy condition printed on a card.
+     * 
+     * @param id A card id
+     * @return The condition
+     */
+    public TrophyKind getTrophyKind(int id) {
+        return trophyKinds[id];
+    }
+
+    /**
+     * Gets what the trophy condition of a card refers to.
+     * 
+     * @param id A card id
+     * @return Suit index for HIGHEST and LOWEST, value index for MAJORITY, 0 for JOKER
+     */
+    public int getTrophyArgument(int id) {
+        return trophyArguments[id];
+    }
+
+    /**
+     * Gets the value of the lowest card when it is alone in its suit.
+     * 
+     * @return Lone Ace value (5 in the standard game)
+     */
+    public int getLoneAceValue() {
+        return loneAceValue;
+    }
+
+    /**
+     * Gets the value of the Joker in a Jest without Hearts.
+     * 
+     * @return Joker value (4 in the standard game)
+     */
+    public int getJokerAloneValue() {
+        return jokerAloneValue;
+    }
+
+    /**
+     * Gets the number of Hearts with which the Joker adds the Hearts' values.
+     * 
+     * @return Heart count (4 in the standard game)
+     */
+    public int getJokerHearts() {
+        return jokerHearts;
+    }
+
+    /**
+     * Gets the bonus per face value held in two adding suits.
+     * 
+     * @return Pair bonus (2 in the standard game)
+     */
+    public int getPairBonus() {
+        return pairBonus;
+    }
+
+    /**
+     * Creates an empty card set sized for this universe.
+     * 
+     * @return The set
+     */
+    public CardSet newSet() {
+        return new CardSet(size);
+    }
+
+    /**
+     * Gets the display name of a card.
+     * 
+     * @param id A card id
+     * @return e.g. "7 Spade", or "Joker"
+     */
+    public String cardName(int id) {
+        if (id == jokerId()) {
+            return "Joker";
+        }
+        return values[id % values.length] + " " + suitNames[id / values.length];
+    }
+
+    /**
+     * Returns a summary of this universe.
+     * 
+     * @return e.g. "Standard (17 cards: 4 suits x 4 values + Joker)"
+     */
+    @Override
+    public String toString() {
+        return name + " (" + size + " cards: " + suitNames.length + " suits x " + values.length
+            + " values" + (joker ? " + Joker)" : ")");
+    }
+}
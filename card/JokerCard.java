@@ -6,18 +6,19 @@ import visitor.ScoreVisitor;
 /**
  * Represents the Joker card in the JEST game.
  * The Joker has special scoring rules that depend on the number of Hearts in the Jest.
+ * Immutable; the only instance is {@link CardRegistry#joker()}.
  * 
  * @author Hazri and Sophea
  * @version 1.0
  */
 public class JokerCard extends Card {
     /** Base value of the Joker (0 for face-up comparison) */
-    private int baseValue;
+    private final int baseValue;
 
     /**
-     * Creates a new Joker card.
+     * Creates the Joker card. Only {@link CardRegistry} creates cards.
      */
-    public JokerCard() {
+    JokerCard() {
         this.baseValue = 0;
     }
 
@@ -30,15 +31,6 @@ public class JokerCard extends Card {
         return baseValue;
     }
 
-    /**
-     * Sets the base value.
-     * 
-     * @param baseValue The value to set
-     */
-    public void setBaseValue(int baseValue) {
-        this.baseValue = baseValue;
-    }
-
     /**
      * Gets the value for comparisons.
      * The Joker has value 0 for determining turn order.
@@ -50,6 +42,16 @@ public class JokerCard extends Card {
         return baseValue;
     }
 
+    /**
+     * Gets the fixed id of the Joker.
+     * 
+     * @return {@link CardMask#JOKER_ID}
+     */
+    @Override
+    public int getId() {
+        return CardMask.JOKER_ID;
+    }
+
     /**
      * Accepts a visitor for score calculation.
      * 
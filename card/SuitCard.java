@@ -8,26 +8,32 @@ import visitor.ScoreVisitor;
 /**
  * Represents a suit card in the JEST game.
  * Suit cards have a suit (Spade, Club, Diamond, Heart) and a number (Ace, 2, 3, 4).
+ * Immutable; the only instance of each card is {@link CardRegistry#of(Suit, Numbers)}.
  * 
  * @author Hazri and Sophea
  * @version 1.0
  */
 public class SuitCard extends Card {
     /** The suit of this card */
-    private Suit suit;
+    private final Suit suit;
     
     /** The number/value of this card */
-    private Numbers number;
+    private final Numbers number;
+    
+    /** The fixed id of this card */
+    private final int id;
 
     /**
      * Creates a suit card with specified suit and number.
+     * Only {@link CardRegistry} creates cards.
      * 
      * @param suit The card's suit
      * @param number The card's number
      */
-    public SuitCard(Suit suit, Numbers number) {
+    SuitCard(Suit suit, Numbers number) {
         this.suit = suit;
         this.number = number;
+        this.id = CardMask.idOf(suit, number);
     }
 
     /**
@@ -50,6 +56,16 @@ public class SuitCard extends Card {
         return number.getValue();
     }
 
+    /**
+     * Gets the fixed id of this card.
+     * 
+     * @return The card id (0-31)
+     */
+    @Override
+    public int getId() {
+        return id;
+    }
+
     /**
      * Gets the suit of this card.
      * 
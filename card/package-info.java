@@ -5,6 +5,10 @@
  * <ul>
  *   <li>{@link card.SuitCard} - Regular suit cards (Spade, Club, Diamond, Heart)</li>
  *   <li>{@link card.JokerCard} - The special Joker card</li>
+ *   <li>{@link card.CardMask} - Card ids and 64-bit card set helpers</li>
+ *   <li>{@link card.CardRegistry} - Shared immutable card instances indexed by id</li>
+ *   <li>{@link card.CardUniverse} - Deck definitions with any number of suits and values</li>
+ *   <li>{@link card.CardSet} - Multi-word card set for universes beyond 64 cards</li>
  * </ul>
  * 
  * @author Hazri and Sophea
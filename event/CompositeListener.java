@@ -0,0 +1,85 @@
+package event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Listener forwarding every event to several listeners, in the order they were added.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class CompositeListener implements GameEventListener {
+    /** The listeners */
+    private final List<GameEventListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a listener forwarding to the given listeners.
+     * 
+     * @param listeners The listeners, in call order
+     */
+    public CompositeListener(GameEventListener... listeners) {
+        for (GameEventListener listener : listeners) {
+            add(listener);
+        }
+    }
+
+    /**
+     * Adds a listener after the others.
+     * 
+     * @param listener The listener
+     */
+    public void add(GameEventListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     * 
+     * @param listener The listener
+     * @return true if it was listening
+     */
+    public boolean remove(GameEventListener listener) {
+        return listeners.remove(listener);
+    }
+
+    /**
+     * Gets the number of listeners.
+     * 
+     * @return Number of listeners
+     */
+    public int size() {
+        return listeners.size();
+    }
+
+    /**
+     * Gets the only listener left, if there is exactly one.
+     * 
+     * @return The listener, or null
+     */
+    public GameEventListener single() {
+        return (listeners.size() == 1) ? listeners.get(0) : null;
+    }
+
+    /**
+     * Forwards the event to every listener.
+     * 
+     * @param event The event
+     */
+    @Override
+    public void onEvent(GameEvent event) {
+        for (GameEventListener listener : listeners) {
+            listener.onEvent(event);
+        }
+    }
+
+    /**
+     * Flushes every listener.
+     */
+    @Override
+    public void flush() {
+        for (GameEventListener listener : listeners) {
+            listener.flush();
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package event;
+
+import base.Game;
+import base.GameConfig;
+import base.GameVariant;
+import base.Offer;
+import base.Player;
+import trophy.Trophy;
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Listener printing a game's progress as console text.
+ * 
+ * <p>Text is gathered in a buffer and written in one call when a player
+ * may be asked for input next, when the game flushes its listeners at
+ * the end of a phase, or when the buffer grows large, instead of taking
+ * the stream's lock for every line.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class ConsoleListener implements GameEventListener {
+    /** Buffered characters that force a write */
+    private static final int FLUSH_SIZE = 8192;
+    
+    /** Horizontal rule of section headers */
+    private static final String RULE = "========================================";
+    
+    /** Line separator of the platform */
+    private static final String NEWLINE = System.lineSeparator();
+    
+    /** Where the text goes */
+    private final PrintStream out;
+    
+    /** Text not yet written */
+    private final StringBuilder buffer = new StringBuilder(FLUSH_SIZE);
+
+    /**
+     * Creates a listener printing to standard output.
+     */
+    public ConsoleListener() {
+        this(System.out);
+    }
+
+    /**
+     * Creates a listener printing to a stream.
+     * 
+     * @param out The stream
+     */
+    public ConsoleListener(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Prints the text of an event.
+     * 
+     * @param event The event
+     */
+    @Override
+    public void onEvent(GameEvent event) {
+        switch (event.getType()) {
+            case DECK_READY:
+                line("Deck shuffled. " + event.getGame().getDeckSize() + " cards ready.");
+                if (event.getGame().getGameConfig().isExpansionEnabled()) {
+                    line("  (Expansion cards enabled: 6, 7, 8, 9)");
+                }
+                break;
+            case TROPHIES_DRAWN:
+                printTrophies(event.getGame());
+                break;
+            case ROUND_STARTED:
+                line(NEWLINE + RULE);
+                line("            ROUND " + event.getRound());
+                line(RULE);
+                break;
+            case CARDS_DEALT:
+                line("Cards dealt to all players.");
+                line("Remaining in deck: " + event.getGame().getDeckSize());
+                flush();
+                break;
+            case TAKING_STARTED:
+                line(NEWLINE + "--- Offers Made ---");
+                for (Offer offer : event.getOffers()) {
+                    line("  " + offer.getOwner().getName() + ": Face-up = " + offer.getFaceUp());
+                }
+                line(NEWLINE + "--- Taking Cards ---");
+                break;
+            case TURN_STARTED:
+                printTurn(event);
+                flush();
+                break;
+            case CARD_TAKEN:
+                line(event.getPlayer().getName() + " took " + event.getCard()
+                    + " from " + event.getOffer().getOwner().getName() + "'s offer.");
+                break;
+            case LEFTOVERS:
+                printLeftovers(event);
+                break;
+            case CARD_COLLECTED:
+                line(event.getPlayer().getName() + " added final card: " + event.getCard());
+                break;
+            case GAME_OVER:
+                printGameOver(event.getGame());
+                break;
+            case TROPHIES_STARTED:
+                line(NEWLINE + RULE);
+                line("         AWARDING TROPHIES");
+                line(RULE);
+                line("(Trophy cards are added to winners' Jests)" + NEWLINE);
+                break;
+            case TROPHY_AWARDED:
+                line("Trophy: " + event.getTrophy().getCondition());
+                if (event.getPlayer() != null) {
+                    line("  Winner: " + event.getPlayer().getName());
+                    line("  Card added to Jest: " + event.getCard());
+                } else {
+                    line("  No winner (condition not met)");
+                }
+                line("");
+                break;
+            case SCORING_STARTED:
+                printScoringHeader(event.getGame().getGameConfig());
+                break;
+            case SCORE_COMPUTED:
+                printScore(event);
+                break;
+            case GAME_WON:
+                printResults(event);
+                break;
+            default:
+                break;
+        }
+        if (buffer.length() >= FLUSH_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the buffered text.
+     */
+    @Override
+    public void flush() {
+        if (buffer.length() > 0) {
+            out.print(buffer);
+            out.flush();
+            buffer.setLength(0);
+        }
+    }
+
+    /**
+     * Prints the trophies drawn for a game and their conditions.
+     * 
+     * @param game The game
+     */
+    private void printTrophies(Game game) {
+        line(NEWLINE + RULE);
+        line("         TROPHIES FOR THIS GAME");
+        line(RULE);
+        for (Trophy trophy : game.getTrophies()) {
+            line("Trophy Card: " + trophy.getTrophyCard());
+            line("  Condition: " + trophy.getCondition());
+            line("  (This card will be added to the winner's Jest)");
+            line("");
+        }
+    }
+
+    /**
+     * Prints every Jest once the last round is over, before trophies.
+     * 
+     * @param game The game
+     */
+    private void printGameOver(Game game) {
+        line(NEWLINE + RULE);
+        line("           GAME OVER");
+        line(RULE);
+        line(NEWLINE + "Jests before trophy awards:");
+        for (Player player : game.getPlayers()) {
+            line("  " + player.getName() + ": " + player.getJest().getCards());
+        }
+        if (game.getGameConfig().getVariant() == GameVariant.GO_ALL_OUT) {
+            line(NEWLINE + "(No trophies awarded in GO ALL OUT variant)");
+        }
+    }
+
+    /**
+     * Prints every player's final score and the winner.
+     * 
+     * @param event A GAME_WON event
+     */
+    private void printResults(GameEvent event) {
+        Game game = event.getGame();
+        line(NEWLINE + RULE);
+        line("           FINAL RESULTS");
+        line(RULE);
+        List<Player> players = game.getPlayers();
+        for (int seat = 0; seat < players.size(); seat++) {
+            line(players.get(seat).getName() + ": " + game.getFinalScore(seat) + " points");
+        }
+        if (event.getPlayer() != null) {
+            line(NEWLINE + "*** " + event.getPlayer().getName() + " WINS with " +
+                event.getScore() + " points! ***");
+        }
+    }
+
+    /**
+     * Prints whose turn it is, and why they have no choice if so.
+     * 
+     * @param event A TURN_STARTED event
+     */
+    private void printTurn(GameEvent event) {
+        Player player = event.getPlayer();
+        line(NEWLINE + player.getName() + "'s turn to take a card.");
+        if (event.getOffers().isEmpty()) {
+            line(player.getName() + " has no available offers to take from.");
+        } else if (event.getOffers().size() == 1 && event.getOffers().get(0).getOwner() == player) {
+            line(player.getName() + " must take from their own offer (only complete offer).");
+        }
+    }
+
+    /**
+     * Prints every Jest and the cards left on the table after a round.
+     * 
+     * @param event A LEFTOVERS event
+     */
+    private void printLeftovers(GameEvent event) {
+        if (event.getGame() != null) {
+            line(NEWLINE + "--- Current Jests ---");
+            for (Player player : event.getGame().getPlayers()) {
+                line("  " + player.getName() + " (" + player.getJest().size() + " cards): "
+                    + player.getJest().getCards());
+            }
+        }
+        line(NEWLINE + "Cards remaining on table: " + event.getCards());
+        if (event.isLast()) {
+            line(NEWLINE + "=== DECK EMPTY - FINAL COLLECTION ===");
+        }
+    }
+
+    /**
+     * Prints the header of the final scores and the variant's scoring rule.
+     * 
+     * @param config Configuration of the game
+     */
+    private void printScoringHeader(GameConfig config) {
+        line(NEWLINE + RULE);
+        line("         FINAL JESTS & SCORES");
+        line(RULE);
+        if (config.getVariant() == GameVariant.NO_MERCY) {
+            line("NO MERCY Variant - Threshold: " + config.getNoMercyThreshold());
+            line("Jest values exceeding threshold will be reset to 0!" + NEWLINE);
+        } else if (config.getVariant() == GameVariant.GO_ALL_OUT) {
+            line("GO ALL OUT Variant - All cards add value, Joker multiplies by 1.5" + NEWLINE);
+        }
+    }
+
+    /**
+     * Prints a player's Jest and final score.
+     * 
+     * @param event A SCORE_COMPUTED event
+     */
+    private void printScore(GameEvent event) {
+        Player player = event.getPlayer();
+        GameConfig config = event.getGame().getGameConfig();
+        line(NEWLINE + player.getName() + "'s Jest:");
+        line("  Cards: " + player.getJest().getCards());
+        if (config.getVariant() == GameVariant.NO_MERCY && config.exceedsNoMercyThreshold(event.getScore())) {
+            line("  Score EXCEEDED threshold! -> 0 points (NO MERCY!)");
+        }
+        line("  Total Score: " + event.getScore() + " points");
+    }
+
+    /**
+     * Buffers a line of text.
+     * 
+     * @param text The line, without its line separator
+     */
+    private void line(String text) {
+        buffer.append(text).append(NEWLINE);
+    }
+}
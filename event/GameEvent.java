@@ -0,0 +1,326 @@
+package event;
+
+import base.Card;
+import base.Game;
+import base.Offer;
+import base.Player;
+import trophy.Trophy;
+import java.util.List;
+
+/**
+ * Something that happened in a game, passed to its {@link GameEventListener}s.
+ * 
+ * <p>One instance per game is refilled for every event, so publishing an
+ * event allocates nothing; the game does not fill it at all while nobody
+ * listens. Which fields are set depends on the {@link Type}; the others
+ * are null, or -1 for seats and 0 for scores.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class GameEvent {
+    
+    /**
+     * Kinds of game events, in the order they happen.
+     */
+    public enum Type {
+        /** The deck was built and shuffled */
+        DECK_READY,
+        /** The trophies of the game were drawn (none in Go All Out) */
+        TROPHIES_DRAWN,
+        /** A round began: round */
+        ROUND_STARTED,
+        /** Every player was dealt two cards: round */
+        CARDS_DEALT,
+        /** A player made their offer: player, seat, offer */
+        OFFER_MADE,
+        /** Every offer was made and taking begins: offers */
+        TAKING_STARTED,
+        /** A player's turn to take: player, seat, offers they may take from */
+        TURN_STARTED,
+        /** A player took a card: player, seat, card, offer taken from */
+        CARD_TAKEN,
+        /** Cards left on the table at the end of a round: cards, last if the deck is empty */
+        LEFTOVERS,
+        /** A leftover was added to its owner's Jest after the last round: player, seat, card */
+        CARD_COLLECTED,
+        /** Every round was played; the Jests are complete before trophies */
+        GAME_OVER,
+        /** Trophies are about to be awarded */
+        TROPHIES_STARTED,
+        /** A trophy was awarded: trophy, card, and player and seat, or null and -1 without winner */
+        TROPHY_AWARDED,
+        /** Final scoring begins */
+        SCORING_STARTED,
+        /** A player's Jest was scored: player, seat, score */
+        SCORE_COMPUTED,
+        /** Every Jest was scored: player, seat and score of the winner, or null and -1 without one */
+        GAME_WON
+    }
+    
+    /** Game the event belongs to, or null for a round played on its own */
+    private final Game game;
+    
+    /** Kind of event */
+    private Type type;
+    
+    /** Round number, from 1, or 0 before the first round */
+    private int round;
+    
+    /** Player concerned, or null */
+    private Player player;
+    
+    /** Seat of the player concerned, or -1 */
+    private int seat;
+    
+    /** Card concerned, or null */
+    private Card card;
+    
+    /** Offer concerned, or null */
+    private Offer offer;
+    
+    /** Offers concerned, or null */
+    private List<Offer> offers;
+    
+    /** Cards concerned, or null */
+    private List<Card> cards;
+    
+    /** Trophy concerned, or null */
+    private Trophy trophy;
+    
+    /** Score concerned */
+    private int score;
+    
+    /** Whether this is the last event of its kind in the game */
+    private boolean last;
+
+    /**
+     * Creates the event of a game.
+     * 
+     * @param game The game, or null for a round played on its own
+     */
+    public GameEvent(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Clears the event and starts filling it as a new event.
+     * 
+     * @param type Kind of event
+     * @param round Round number
+     * @return This event
+     */
+    public GameEvent of(Type type, int round) {
+        this.type = type;
+        this.round = round;
+        this.player = null;
+        this.seat = -1;
+        this.card = null;
+        this.offer = null;
+        this.offers = null;
+        this.cards = null;
+        this.trophy = null;
+        this.score = 0;
+        this.last = false;
+        return this;
+    }
+
+    /**
+     * Sets the player concerned.
+     * 
+     * @param player The player
+     * @param seat The player's seat
+     * @return This event
+     */
+    public GameEvent withPlayer(Player player, int seat) {
+        this.player = player;
+        this.seat = seat;
+        return this;
+    }
+
+    /**
+     * Sets the card concerned.
+     * 
+     * @param card The card
+     * @return This event
+     */
+    public GameEvent withCard(Card card) {
+        this.card = card;
+        return this;
+    }
+
+    /**
+     * Sets the offer concerned.
+     * 
+     * @param offer The offer
+     * @return This event
+     */
+    public GameEvent withOffer(Offer offer) {
+        this.offer = offer;
+        return this;
+    }
+
+    /**
+     * Sets the offers concerned.
+     * 
+     * @param offers The offers
+     * @return This event
+     */
+    public GameEvent withOffers(List<Offer> offers) {
+        this.offers = offers;
+        return this;
+    }
+
+    /**
+     * Sets the cards concerned.
+     * 
+     * @param cards The cards
+     * @return This event
+     */
+    public GameEvent withCards(List<Card> cards) {
+        this.cards = cards;
+        return this;
+    }
+
+    /**
+     * Sets the trophy concerned.
+     * 
+     * @param trophy The trophy
+     * @return This event
+     */
+    public GameEvent withTrophy(Trophy trophy) {
+        this.trophy = trophy;
+        return this;
+    }
+
+    /**
+     * Sets the score concerned.
+     * 
+     * @param score The score
+     * @return This event
+     */
+    public GameEvent withScore(int score) {
+        this.score = score;
+        return this;
+    }
+
+    /**
+     * Marks the event as the last of its kind in the game.
+     * 
+     * @param last true if no event of this kind follows
+     * @return This event
+     */
+    public GameEvent withLast(boolean last) {
+        this.last = last;
+        return this;
+    }
+
+    /**
+     * Gets the game the event belongs to.
+     * 
+     * @return The game, or null for a round played on its own
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Gets the kind of event.
+     * 
+     * @return Event type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the round number.
+     * 
+     * @return Round number, or 0 before the first round
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * Gets the player concerned.
+     * 
+     * @return The player, or null
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets the seat of the player concerned.
+     * 
+     * @return Seat index, or -1
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Gets the card concerned.
+     * 
+     * @return The card, or null
+     */
+    public Card getCard() {
+        return card;
+    }
+
+    /**
+     * Gets the offer concerned.
+     * 
+     * @return The offer, or null
+     */
+    public Offer getOffer() {
+        return offer;
+    }
+
+    /**
+     * Gets the offers concerned.
+     * 
+     * @return The offers, or null
+     */
+    public List<Offer> getOffers() {
+        return offers;
+    }
+
+    /**
+     * Gets the cards concerned.
+     * 
+     * @return The cards, or null
+     */
+    public List<Card> getCards() {
+        return cards;
+    }
+
+    /**
+     * Gets the trophy concerned.
+     * 
+     * @return The trophy, or null
+     */
+    public Trophy getTrophy() {
+        return trophy;
+    }
+
+    /**
+     * Gets the score concerned.
+     * 
+     * @return The score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Checks whether this is the last event of its kind in the game.
+     * For {@link Type#LEFTOVERS}, whether the deck is empty.
+     * 
+     * @return true if no event of this kind follows
+     */
+    public boolean isLast() {
+        return last;
+    }
+}
@@ -0,0 +1,29 @@
+package event;
+
+/**
+ * Receives the events of a game as it is played.
+ * 
+ * <p>Listeners are called on the thread playing the game, in the order the
+ * events happen. The {@link GameEvent} passed is reused for the next event
+ * of the same game, so a listener must copy what it needs before returning
+ * and must not keep the event.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public interface GameEventListener {
+    
+    /**
+     * Handles an event.
+     * 
+     * @param event The event; only valid until this method returns
+     */
+    void onEvent(GameEvent event);
+    
+    /**
+     * Writes out anything the listener has buffered. Called by the game
+     * when a phase ends and before control may leave it.
+     */
+    default void flush() {
+    }
+}
@@ -0,0 +1,28 @@
+package event;
+
+/**
+ * Listener that ignores every event; the listener of a game nobody watches.
+ * A game seeing this listener does not fill events at all.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public final class NoOpListener implements GameEventListener {
+    /** The no-op listener */
+    public static final NoOpListener INSTANCE = new NoOpListener();
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private NoOpListener() {
+    }
+
+    /**
+     * Ignores the event.
+     * 
+     * @param event The event
+     */
+    @Override
+    public void onEvent(GameEvent event) {
+    }
+}
@@ -0,0 +1,15 @@
+/**
+ * Typed events of a game in progress and the listeners that consume them.
+ * 
+ * <ul>
+ *   <li>{@link event.GameEvent} - Reusable event object and its types</li>
+ *   <li>{@link event.GameEventListener} - Receives the events of a game</li>
+ *   <li>{@link event.ConsoleListener} - Buffered console text of a game</li>
+ *   <li>{@link event.NoOpListener} - Listener of a game nobody watches</li>
+ *   <li>{@link event.CompositeListener} - Forwards events to several listeners</li>
+ * </ul>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+package event;
@@ -0,0 +1,75 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning one decision of a player's strategy.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+@Name("jest.Decision")
+@Label("Decision")
+@Category("JEST")
+@Description("One decision of a player's strategy and the action it chose")
+public class DecisionEvent extends jdk.jfr.Event {
+    /** Type of this event, whose settings tell whether it is recorded */
+    private static final EventType TYPE = EventType.getEventType(DecisionEvent.class);
+    
+    /** Identifier of the game */
+    @Label("Game Id")
+    private long gameId;
+    
+    /** Round number, from 1 */
+    @Label("Round")
+    private int round;
+    
+    /** Seat of the deciding player */
+    @Label("Seat")
+    private int seat;
+    
+    /** Class of the strategy that decided */
+    @Label("Strategy")
+    private Class<?> strategy;
+    
+    /** Decision made: OFFER, SELECT or TAKE */
+    @Label("Decision")
+    private String decision;
+    
+    /** Action chosen, e.g. the card placed face-down */
+    @Label("Action")
+    private String action;
+
+    /**
+     * Checks whether any recording collects this event, so callers can skip
+     * creating it when none does.
+     * 
+     * @return true if the event is enabled
+     */
+    public static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+
+    /**
+     * Fills the event before it is committed.
+     * 
+     * @param gameId Identifier of the game
+     * @param round Round number
+     * @param seat Seat of the deciding player
+     * @param strategy Class of the strategy that decided
+     * @param decision Decision made
+     * @param action Action chosen
+     */
+    public void set(long gameId, int round, int seat, Class<?> strategy, String decision, String action) {
+        this.gameId = gameId;
+        this.round = round;
+        this.seat = seat;
+        this.strategy = strategy;
+        this.decision = decision;
+        this.action = action;
+    }
+}
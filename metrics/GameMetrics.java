@@ -0,0 +1,217 @@
+package metrics;
+
+import strategy.PlayStrategy;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide timers and counters of the game phases, and decision
+ * latency histograms per strategy.
+ * 
+ * <p>Instrumented code brackets a phase with {@link #start()} and
+ * {@link #record(Phase, long)}. While instrumentation is off,
+ * {@code start()} returns 0 without reading the clock and {@code record}
+ * returns at once, so a disabled probe costs one field read and a branch.
+ * Counters are {@link LongAdder}s, so tables on many threads do not
+ * contend on them.</p>
+ * 
+ * <p>Instrumentation is off unless the {@code jest.metrics} system property
+ * is {@code true}, in which case the MBean is also registered at startup.
+ * Otherwise call {@link #register()} and turn it on through JMX or
+ * {@link #setEnabled(boolean)}.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public final class GameMetrics {
+    /** Name the MBean is registered under */
+    public static final String OBJECT_NAME = "jest:type=GameMetrics";
+    
+    /**
+     * Measured phases of a game.
+     */
+    public enum Phase {
+        PLAY_ROUND, MAKE_OFFERS, TAKE_OFFERS, DECISION, AWARD_TROPHIES, FINAL_SCORES
+    }
+    
+    /** Whether probes measure */
+    private static volatile boolean enabled = Boolean.getBoolean("jest.metrics");
+    
+    /** Runs of each phase, by ordinal */
+    private static final LongAdder[] COUNTS = new LongAdder[Phase.values().length];
+    
+    /** Total nanoseconds of each phase, by ordinal */
+    private static final LongAdder[] NANOS = new LongAdder[Phase.values().length];
+    
+    /** Decision latencies by strategy class name */
+    private static final Map<String, LatencyHistogram> DECISIONS = new ConcurrentHashMap<>();
+    
+    /** Decision histogram of each strategy class, looked up without hashing its name */
+    private static final ClassValue<LatencyHistogram> HISTOGRAMS = new ClassValue<LatencyHistogram>() {
+        @Override
+        protected LatencyHistogram computeValue(Class<?> type) {
+            String name = type.getSimpleName().isEmpty() ? type.getName() : type.getSimpleName();
+            return DECISIONS.computeIfAbsent(name, key -> new LatencyHistogram());
+        }
+    };
+    
+    /** Clock reading of the last reset */
+    private static volatile long resetAt = System.nanoTime();
+    
+    static {
+        for (int i = 0; i < COUNTS.length; i++) {
+            COUNTS[i] = new LongAdder();
+            NANOS[i] = new LongAdder();
+        }
+        if (enabled) {
+            register();
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private GameMetrics() {
+    }
+
+    /**
+     * Starts timing a phase.
+     * 
+     * @return Clock reading to pass to {@link #record}, or 0 if instrumentation is off
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records a phase started with {@link #start()}.
+     * 
+     * @param phase The phase
+     * @param start Value returned by {@link #start()}
+     */
+    public static void record(Phase phase, long start) {
+        if (start != 0) {
+            COUNTS[phase.ordinal()].increment();
+            NANOS[phase.ordinal()].add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records a strategy decision started with {@link #start()}, both as a
+     * {@link Phase#DECISION} and in the strategy's latency histogram.
+     * 
+     * @param strategy The strategy that decided
+     * @param start Value returned by {@link #start()}
+     */
+    public static void recordDecision(PlayStrategy strategy, long start) {
+        if (start != 0) {
+            long elapsed = System.nanoTime() - start;
+            COUNTS[Phase.DECISION.ordinal()].increment();
+            NANOS[Phase.DECISION.ordinal()].add(elapsed);
+            HISTOGRAMS.get(strategy.getClass()).record(elapsed);
+        }
+    }
+
+    /**
+     * Checks whether probes measure.
+     * 
+     * @return true if instrumentation is on
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns instrumentation on or off.
+     * 
+     * @param on true to measure games
+     */
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    /**
+     * Gets how many times a phase ran since the last reset.
+     * 
+     * @param phase The phase
+     * @return Number of runs
+     */
+    public static long getCount(Phase phase) {
+        return COUNTS[phase.ordinal()].sum();
+    }
+
+    /**
+     * Gets the total time spent in a phase since the last reset.
+     * 
+     * @param phase The phase
+     * @return Nanoseconds
+     */
+    public static long getNanos(Phase phase) {
+        return NANOS[phase.ordinal()].sum();
+    }
+
+    /**
+     * Gets the number of games scored since the last reset.
+     * 
+     * @return Completed games
+     */
+    public static long getGamesCompleted() {
+        return getCount(Phase.FINAL_SCORES);
+    }
+
+    /**
+     * Gets the rate of completed games since the last reset.
+     * 
+     * @return Games per second
+     */
+    public static double getGamesPerSecond() {
+        double seconds = (System.nanoTime() - resetAt) / 1e9;
+        return (seconds > 0) ? getGamesCompleted() / seconds : 0.0;
+    }
+
+    /**
+     * Gets the decision latency histograms.
+     * 
+     * @return Histogram per strategy class name, sorted by name
+     */
+    public static Map<String, LatencyHistogram> getDecisionHistograms() {
+        return new TreeMap<>(DECISIONS);
+    }
+
+    /**
+     * Clears every counter, timer and histogram.
+     */
+    public static void reset() {
+        for (int i = 0; i < COUNTS.length; i++) {
+            COUNTS[i].reset();
+            NANOS[i].reset();
+        }
+        for (LatencyHistogram histogram : DECISIONS.values()) {
+            histogram.reset();
+        }
+        resetAt = System.nanoTime();
+    }
+
+    /**
+     * Registers the MBean with the platform MBean server, if not done yet.
+     * 
+     * @throws IllegalStateException if registration fails
+     */
+    public static synchronized void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new GameMetricsBean(), name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * MBean publishing {@link GameMetrics} through JMX.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+class GameMetricsBean implements GameMetricsMXBean {
+
+    /**
+     * Checks whether games are being measured.
+     * 
+     * @return true if instrumentation is on
+     */
+    @Override
+    public boolean isEnabled() {
+        return GameMetrics.isEnabled();
+    }
+
+    /**
+     * Turns instrumentation on or off.
+     * 
+     * @param enabled true to measure games
+     */
+    @Override
+    public void setEnabled(boolean enabled) {
+        GameMetrics.setEnabled(enabled);
+    }
+
+    /**
+     * Gets the number of games scored since the last reset.
+     * 
+     * @return Completed games
+     */
+    @Override
+    public long getGamesCompleted() {
+        return GameMetrics.getGamesCompleted();
+    }
+
+    /**
+     * Gets the rate of completed games since the last reset.
+     * 
+     * @return Games per second
+     */
+    @Override
+    public double getGamesPerSecond() {
+        return GameMetrics.getGamesPerSecond();
+    }
+
+    /**
+     * Gets how many times each phase ran.
+     * 
+     * @return Count per phase
+     */
+    @Override
+    public Map<String, Long> getPhaseCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (GameMetrics.Phase phase : GameMetrics.Phase.values()) {
+            counts.put(phase.name(), GameMetrics.getCount(phase));
+        }
+        return counts;
+    }
+
+    /**
+     * Gets the mean duration of each phase.
+     * 
+     * @return Mean microseconds per phase
+     */
+    @Override
+    public Map<String, Double> getPhaseMeanMicros() {
+        Map<String, Double> means = new TreeMap<>();
+        for (GameMetrics.Phase phase : GameMetrics.Phase.values()) {
+            long count = GameMetrics.getCount(phase);
+            means.put(phase.name(), (count == 0) ? 0.0 : GameMetrics.getNanos(phase) / 1e3 / count);
+        }
+        return means;
+    }
+
+    /**
+     * Gets the number of decisions made by each strategy.
+     * 
+     * @return Count per strategy
+     */
+    @Override
+    public Map<String, Long> getDecisionCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : GameMetrics.getDecisionHistograms().entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().getCount());
+        }
+        return counts;
+    }
+
+    /**
+     * Gets the median decision latency of each strategy.
+     * 
+     * @return p50 in microseconds per strategy
+     */
+    @Override
+    public Map<String, Double> getDecisionP50Micros() {
+        return percentiles(50);
+    }
+
+    /**
+     * Gets the 99th percentile decision latency of each strategy.
+     * 
+     * @return p99 in microseconds per strategy
+     */
+    @Override
+    public Map<String, Double> getDecisionP99Micros() {
+        return percentiles(99);
+    }
+
+    /**
+     * Clears every counter, timer and histogram.
+     */
+    @Override
+    public void reset() {
+        GameMetrics.reset();
+    }
+
+    /**
+     * Gets a decision latency percentile of each strategy.
+     * 
+     * @param percentile Percentile between 0 and 100
+     * @return Microseconds per strategy
+     */
+    private static Map<String, Double> percentiles(double percentile) {
+        Map<String, Double> values = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : GameMetrics.getDecisionHistograms().entrySet()) {
+            values.put(entry.getKey(), entry.getValue().getPercentile(percentile) / 1e3);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,81 @@
+package metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link GameMetrics}, registered as {@value GameMetrics#OBJECT_NAME}.
+ * Phase and strategy maps are keyed by phase name and strategy class name.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public interface GameMetricsMXBean {
+    
+    /**
+     * Checks whether games are being measured.
+     * 
+     * @return true if instrumentation is on
+     */
+    boolean isEnabled();
+    
+    /**
+     * Turns instrumentation on or off.
+     * 
+     * @param enabled true to measure games
+     */
+    void setEnabled(boolean enabled);
+    
+    /**
+     * Gets the number of games scored since the last reset.
+     * 
+     * @return Completed games
+     */
+    long getGamesCompleted();
+    
+    /**
+     * Gets the rate of completed games since the last reset.
+     * 
+     * @return Games per second in this JVM
+     */
+    double getGamesPerSecond();
+    
+    /**
+     * Gets how many times each phase ran.
+     * 
+     * @return Count per phase
+     */
+    Map<String, Long> getPhaseCounts();
+    
+    /**
+     * Gets the mean duration of each phase.
+     * 
+     * @return Mean microseconds per phase
+     */
+    Map<String, Double> getPhaseMeanMicros();
+    
+    /**
+     * Gets the number of decisions made by each strategy.
+     * 
+     * @return Count per strategy
+     */
+    Map<String, Long> getDecisionCounts();
+    
+    /**
+     * Gets the median decision latency of each strategy.
+     * 
+     * @return p50 in microseconds per strategy
+     */
+    Map<String, Double> getDecisionP50Micros();
+    
+    /**
+     * Gets the 99th percentile decision latency of each strategy.
+     * 
+     * @return p99 in microseconds per strategy
+     */
+    Map<String, Double> getDecisionP99Micros();
+    
+    /**
+     * Clears every counter, timer and histogram.
+     */
+    void reset();
+}
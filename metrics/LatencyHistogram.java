@@ -0,0 +1,117 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations in nanoseconds with log-linear buckets.
+ * 
+ * <p>Every power of two is split into {@value #SUB_BUCKETS} equal buckets,
+ * so a percentile is reported within about 6% of the true value for any
+ * duration from 1 ns to hundreds of years, using a fixed array of counters.
+ * Recording is one array increment and needs no lock.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class LatencyHistogram {
+    /** log2 of the number of buckets per power of two */
+    private static final int SUB_BITS = 4;
+    
+    /** Number of buckets per power of two */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    
+    /** Number of buckets: exact values below SUB_BUCKETS, then SUB_BUCKETS per power of two */
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+    
+    /** Count of each bucket */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records a duration.
+     * 
+     * @param nanos Duration in nanoseconds; negative values count as 0
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(bucketOf(Math.max(0, nanos)));
+    }
+
+    /**
+     * Gets the number of recorded durations.
+     * 
+     * @return Total count
+     */
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Estimates a percentile of the recorded durations.
+     * 
+     * @param percentile Percentile between 0 and 100, e.g. 99
+     * @return Midpoint of the bucket holding the percentile, in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                long low = lowestOf(i);
+                return low + (lowestOf(i + 1) - 1 - low) / 2;
+            }
+        }
+        return lowestOf(BUCKETS - 1);
+    }
+
+    /**
+     * Clears every count.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    /**
+     * Finds the bucket of a duration.
+     * 
+     * @param value Non-negative duration
+     * @return Bucket index
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Gets the smallest duration falling in a bucket.
+     * 
+     * @param bucket Bucket index, up to BUCKETS
+     * @return Lower bound of the bucket
+     */
+    private static long lowestOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long bound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return (bound < 0) ? Long.MAX_VALUE : bound;
+    }
+}
@@ -0,0 +1,63 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning one round of a game, from the deal to
+ * the last card taken.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+@Name("jest.Round")
+@Label("Round")
+@Category("JEST")
+@Description("One round of a game, from the deal to the last card taken")
+public class RoundEvent extends jdk.jfr.Event {
+    /** Type of this event, whose settings tell whether it is recorded */
+    private static final EventType TYPE = EventType.getEventType(RoundEvent.class);
+    
+    /** Identifier of the game */
+    @Label("Game Id")
+    private long gameId;
+    
+    /** Round number, from 1 */
+    @Label("Round")
+    private int round;
+    
+    /** Seat of the event; -1 as the round concerns the whole table */
+    @Label("Seat")
+    private int seat;
+    
+    /** Cards left in the deck after the deal */
+    @Label("Deck Size")
+    private int deckSize;
+
+    /**
+     * Checks whether any recording collects this event, so callers can skip
+     * creating it when none does.
+     * 
+     * @return true if the event is enabled
+     */
+    public static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+
+    /**
+     * Fills the event before it is committed.
+     * 
+     * @param gameId Identifier of the game
+     * @param round Round number
+     * @param deckSize Cards left in the deck after the deal
+     */
+    public void set(long gameId, int round, int deckSize) {
+        this.gameId = gameId;
+        this.round = round;
+        this.seat = -1;
+        this.deckSize = deckSize;
+    }
+}
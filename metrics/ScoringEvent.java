@@ -0,0 +1,69 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of one player's Jest being scored at the end of a game.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+@Name("jest.Scoring")
+@Label("Final Scoring")
+@Category("JEST")
+@Description("Final score of one player's Jest")
+public class ScoringEvent extends jdk.jfr.Event {
+    /** Type of this event, whose settings tell whether it is recorded */
+    private static final EventType TYPE = EventType.getEventType(ScoringEvent.class);
+    
+    /** Identifier of the game */
+    @Label("Game Id")
+    private long gameId;
+    
+    /** Number of rounds played */
+    @Label("Round")
+    private int round;
+    
+    /** Seat of the scored player */
+    @Label("Seat")
+    private int seat;
+    
+    /** Final score of the Jest */
+    @Label("Score")
+    private int score;
+    
+    /** Number of cards in the Jest */
+    @Label("Jest Size")
+    private int jestSize;
+
+    /**
+     * Checks whether any recording collects this event, so callers can skip
+     * creating it when none does.
+     * 
+     * @return true if the event is enabled
+     */
+    public static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+
+    /**
+     * Fills the event before it is committed.
+     * 
+     * @param gameId Identifier of the game
+     * @param round Number of rounds played
+     * @param seat Seat of the scored player
+     * @param score Final score
+     * @param jestSize Number of cards in the Jest
+     */
+    public void set(long gameId, int round, int seat, int score, int jestSize) {
+        this.gameId = gameId;
+        this.round = round;
+        this.seat = seat;
+        this.score = score;
+        this.jestSize = jestSize;
+    }
+}
@@ -0,0 +1,69 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of a trophy being awarded at the end of a game.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+@Name("jest.Trophy")
+@Label("Trophy Award")
+@Category("JEST")
+@Description("A trophy awarded, or left without winner, at the end of a game")
+public class TrophyEvent extends jdk.jfr.Event {
+    /** Type of this event, whose settings tell whether it is recorded */
+    private static final EventType TYPE = EventType.getEventType(TrophyEvent.class);
+    
+    /** Identifier of the game */
+    @Label("Game Id")
+    private long gameId;
+    
+    /** Number of rounds played */
+    @Label("Round")
+    private int round;
+    
+    /** Seat of the winner, or -1 if nobody met the condition */
+    @Label("Seat")
+    private int seat;
+    
+    /** Condition of the trophy */
+    @Label("Trophy")
+    private String trophy;
+    
+    /** Trophy card added to the winner's Jest */
+    @Label("Card")
+    private String card;
+
+    /**
+     * Checks whether any recording collects this event, so callers can skip
+     * creating it when none does.
+     * 
+     * @return true if the event is enabled
+     */
+    public static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+
+    /**
+     * Fills the event before it is committed.
+     * 
+     * @param gameId Identifier of the game
+     * @param round Number of rounds played
+     * @param seat Seat of the winner, or -1
+     * @param trophy Condition of the trophy
+     * @param card Trophy card
+     */
+    public void set(long gameId, int round, int seat, String trophy, String card) {
+        this.gameId = gameId;
+        this.round = round;
+        this.seat = seat;
+        this.trophy = trophy;
+        this.card = card;
+    }
+}
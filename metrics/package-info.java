@@ -0,0 +1,18 @@
+/**
+ * Low-overhead instrumentation of running games, published through JMX
+ * and Java Flight Recorder.
+ * 
+ * <ul>
+ *   <li>{@link metrics.GameMetrics} - Phase timers, counters and per-strategy decision latency</li>
+ *   <li>{@link metrics.GameMetricsMXBean} - JMX view of the metrics</li>
+ *   <li>{@link metrics.LatencyHistogram} - Lock-free log-linear latency histogram</li>
+ *   <li>{@link metrics.RoundEvent} - Flight Recorder event spanning a round</li>
+ *   <li>{@link metrics.DecisionEvent} - Flight Recorder event spanning a strategy decision</li>
+ *   <li>{@link metrics.TrophyEvent} - Flight Recorder event of a trophy award</li>
+ *   <li>{@link metrics.ScoringEvent} - Flight Recorder event of a player's final score</li>
+ * </ul>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+package metrics;
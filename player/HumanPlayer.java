@@ -2,12 +2,13 @@ package player;
 
 import base.Offer;
 import base.Player;
+import base.SeatChannel;
 import strategy.PlayStrategy;
 import strategy.HumanStrategy;
 
 /**
  * Represents a human player in the JEST game.
- * Human players make decisions through console input.
+ * Human players make decisions through their seat's channel, the console by default.
  * 
  * @author Hazri and Sophea
  * @version 1.0
@@ -23,6 +24,16 @@ public class HumanPlayer extends Player {
         super(name, new HumanStrategy());
     }
 
+    /**
+     * Creates a human player prompted through a seat channel.
+     * 
+     * @param name The player's name
+     * @param channel The seat's input/output channel
+     */
+    public HumanPlayer(String name, SeatChannel channel) {
+        super(name, new HumanStrategy(channel));
+    }
+
     /**
      * Creates a human player with a custom strategy.
      * 
@@ -1,12 +1,12 @@
 package player;
 
+import base.GameRandom;
 import base.Offer;
 import base.Player;
 import strategy.PlayStrategy;
 import strategy.AIStrategy;
 import strategy.typestrategy.DefensiveStrategy;
 import strategy.typestrategy.OffensiveStrategy;
-import java.util.Random;
 
 /**
  * Represents an AI-controlled player in the JEST game.
@@ -16,8 +16,6 @@ import java.util.Random;
  * @version 1.0
  */
 public class VirtualPlayer extends Player {
-    /** Random generator for strategy selection */
-    private static Random random = new Random();
 
     /**
      * Creates a virtual player with a randomly chosen strategy.
@@ -25,7 +23,18 @@ public class VirtualPlayer extends Player {
      * @param name The player's name
      */
     public VirtualPlayer(String name) {
-        super(name, createRandomStrategy());
+        this(name, new GameRandom());
+    }
+
+    /**
+     * Creates a virtual player whose strategy is chosen from, and then
+     * draws its decisions from, the given random source.
+     * 
+     * @param name The player's name
+     * @param random Random source for this player
+     */
+    public VirtualPlayer(String name, GameRandom random) {
+        super(name, createRandomStrategy(random));
     }
 
     /**
@@ -41,13 +50,14 @@ public class VirtualPlayer extends Player {
     /**
      * Creates a random AI strategy (Offensive or Defensive).
      * 
+     * @param random Random source for the choice and the strategy
      * @return A randomly selected strategy
      */
-    private static PlayStrategy createRandomStrategy() {
+    private static PlayStrategy createRandomStrategy(GameRandom random) {
         if (random.nextBoolean()) {
-            return new OffensiveStrategy();
+            return new OffensiveStrategy(random.split());
         } else {
-            return new DefensiveStrategy();
+            return new DefensiveStrategy(random.split());
         }
     }
 
@@ -0,0 +1,265 @@
+package search;
+
+import base.GameRandom;
+import visitor.TableScorer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+/**
+ * Expected value of each move of a decision, estimated over sampled
+ * assignments of the hidden cards.
+ * 
+ * <p>Each sample deals the unknown cards into the hidden face-down cards,
+ * unseen hands and deck ({@link InformationSet#determinize(GameState, Random)}).
+ * Every candidate move is played in that sample, the rest of the round is
+ * played out with a greedy policy, and the result is scored as if the game
+ * ended there: trophies are awarded on the Jests and every Jest is scored
+ * with the variant's rules. A move's value is the deciding player's score
+ * minus the best other score, averaged over the samples.</p>
+ * 
+ * <p>Greedy policy: a taking player takes the card that adds the most to its
+ * own Jest score; an offering player shows the card that adds less, keeping
+ * the better one face-down. Every move is valued on the same samples.</p>
+ * 
+ * <p>The samples are split evenly over the threads; the extra shares run on
+ * the executor given by the caller (a hosted table's, which counts them
+ * against its compute permits) and the calling thread takes the first share.
+ * Without an executor the calling thread runs every share in turn. Each
+ * share has its own random stream, so with a seeded source the values are
+ * the same either way.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class DeterminizedEvaluator {
+    /** Longest possible move list */
+    private static final int MAX_MOVES = 64;
+    
+    /** Number of samples per decision */
+    private final int samples;
+    
+    /** Number of threads the samples are split over */
+    private final int threads;
+
+    /**
+     * Creates an evaluator.
+     * 
+     * @param samples Number of samples per decision (at least 1)
+     * @param threads Number of threads the samples are split over (at least 1)
+     */
+    public DeterminizedEvaluator(int samples, int threads) {
+        this.samples = Math.max(1, samples);
+        this.threads = Math.max(1, Math.min(threads, this.samples));
+    }
+
+    /**
+     * Gets the number of samples per decision.
+     * 
+     * @return Number of samples
+     */
+    public int getSamples() {
+        return samples;
+    }
+
+    /**
+     * Gets the number of threads the samples are split over.
+     * 
+     * @return Number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Lists the deciding player's moves. They are the same in every sample.
+     * 
+     * @param info What the deciding player knows
+     * @param moves Output buffer (at least 64 long)
+     * @param random Random source for the sample the moves are read from
+     * @return Number of moves written
+     */
+    public int legalMoves(InformationSet info, int[] moves, Random random) {
+        // Hidden face-down cards leave offers incomplete in the known state
+        GameState sample = info.getKnownState().copy();
+        info.determinize(sample, random);
+        return sample.legalMoves(moves);
+    }
+
+    /**
+     * Estimates the value of each move.
+     * 
+     * @param info What the deciding player knows
+     * @param moves Moves of the deciding player
+     * @param count Number of moves
+     * @param random Random source; split into one stream per thread
+     * @param executor Runs the extra shares, or null to run them on the calling thread
+     * @return Mean final lead per move, indexed like the moves
+     */
+    public double[] evaluate(InformationSet info, int[] moves, int count, Random random, Executor executor) {
+        Executor runner = (executor != null) ? executor : Runnable::run;
+        List<Future<double[]>> futures = new ArrayList<>(threads - 1);
+        int share = samples / threads;
+        for (int t = 1; t < threads; t++) {
+            Worker worker = new Worker(info, moves, count, split(random), share);
+            futures.add(CompletableFuture.supplyAsync(worker::run, runner));
+        }
+        double[] totals = new Worker(info, moves, count, split(random), samples - share * (threads - 1)).run();
+        for (Future<double[]> future : futures) {
+            try {
+                double[] part = future.get();
+                for (int i = 0; i < count; i++) {
+                    totals[i] += part[i];
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Sampling thread failed", e.getCause());
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            totals[i] /= samples;
+        }
+        return totals;
+    }
+
+    /**
+     * Derives an independent random stream.
+     * 
+     * @param random Parent source
+     * @return New stream
+     */
+    private static Random split(Random random) {
+        if (random instanceof GameRandom) {
+            return ((GameRandom) random).split();
+        }
+        return new GameRandom(random.nextLong());
+    }
+
+    /**
+     * One thread's share of the samples.
+     */
+    private static final class Worker {
+        /** What the deciding player knows */
+        private final InformationSet info;
+        
+        /** Moves to value */
+        private final int[] rootMoves;
+        
+        /** Number of moves */
+        private final int rootCount;
+        
+        /** Random stream of this worker */
+        private final Random random;
+        
+        /** Number of samples */
+        private final int samples;
+        
+        /** Reused sample */
+        private final GameState sample;
+        
+        /** Reused playout state */
+        private final GameState state;
+        
+        /** Reused move buffer */
+        private final int[] moves = new int[MAX_MOVES];
+        
+        Worker(InformationSet info, int[] rootMoves, int rootCount, Random random, int samples) {
+            this.info = info;
+            this.rootMoves = rootMoves;
+            this.rootCount = rootCount;
+            this.random = random;
+            this.samples = samples;
+            this.sample = info.getKnownState().copy();
+            this.state = info.getKnownState().copy();
+            this.state.setRandom(random);
+        }
+
+        /**
+         * Values every move on this worker's samples.
+         * 
+         * @return Total lead per move
+         */
+        double[] run() {
+            double[] totals = new double[rootCount];
+            int observer = info.getObserver();
+            for (int s = 0; s < samples; s++) {
+                info.determinize(sample, random);
+                for (int i = 0; i < rootCount; i++) {
+                    state.copyFrom(sample);
+                    state.apply(rootMoves[i]);
+                    playOutRound(sample.getRound());
+                    totals[i] += lead(observer);
+                }
+            }
+            return totals;
+        }
+
+        /**
+         * Plays greedy moves until the round is over, then ends the game.
+         * 
+         * @param round The round the decision was made in
+         */
+        private void playOutRound(int round) {
+            while (!state.isOver() && state.getRound() == round) {
+                int count = state.legalMoves(moves);
+                state.apply(greedyMove(count));
+            }
+            state.endNow();
+        }
+
+        /**
+         * Picks the greedy move of the player to move.
+         * 
+         * @param count Number of legal moves in the buffer
+         * @return The move
+         */
+        private int greedyMove(int count) {
+            int seat = state.getCurrent();
+            long jest = state.getJest(seat);
+            int base = score(jest);
+            boolean taking = state.getPhase() == GameState.PHASE_TAKE;
+            int best = moves[0];
+            int bestGain = taking ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                int gain = score(jest | (1L << state.cardOf(moves[i]))) - base;
+                if (taking ? gain > bestGain : gain < bestGain) {
+                    bestGain = gain;
+                    best = moves[i];
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Scores a Jest with the variant's rules.
+         * 
+         * @param jest Jest mask
+         * @return Score
+         */
+        private int score(long jest) {
+            return TableScorer.score(jest, jest, state.getVariant(), state.getNoMercyThreshold());
+        }
+
+        /**
+         * Gets a seat's lead over the best other score of a finished game.
+         * 
+         * @param seat The seat
+         * @return Score minus the best other score
+         */
+        private int lead(int seat) {
+            int other = Integer.MIN_VALUE;
+            for (int s = 0; s < state.getPlayers(); s++) {
+                if (s != seat) {
+                    other = Math.max(other, state.getScore(s));
+                }
+            }
+            return state.getScore(seat) - other;
+        }
+    }
+}
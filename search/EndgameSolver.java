@@ -0,0 +1,406 @@
+package search;
+
+import visitor.TableScorer;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Exact solver for the last round of a game.
+ * 
+ * <p>Once no cards will be dealt after the current round
+ * ({@link GameState#isLastRound()}), the rest of the game is decided by the
+ * offers and takes alone. For each assignment of the unknown cards to the
+ * hidden slots the solver runs an alpha-beta search over the take order of
+ * {@code Round.takeOffers} to the final scores, and plays the move with the
+ * best average value over the assignments. Opponents are assumed to play
+ * against the deciding player (paranoid search), which makes every
+ * assignment a two-sided game and keeps alpha-beta pruning exact.</p>
+ * 
+ * <p>The value of a finished game is twice the deciding player's lead over
+ * the best other score, plus one if it wins the tie-break. Positions are
+ * cached in a transposition table shared by all assignments, and moves are
+ * tried best-first: the cached move, then by the Jest score they add.</p>
+ * 
+ * <p>When there are more assignments than the configured limit, assignments
+ * are sampled at random instead, until either that many are solved or the
+ * node budget is spent; the node budget keeps the cost of one decision in
+ * the low milliseconds. A solver is not thread-safe.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class EndgameSolver {
+    /** Default largest unknown-card count the solver accepts */
+    public static final int DEFAULT_THRESHOLD = 10;
+    
+    /** Default largest number of assignments solved per decision */
+    public static final int DEFAULT_MAX_ASSIGNMENTS = 128;
+    
+    /** Default number of positions searched before sampling stops */
+    public static final long DEFAULT_NODE_BUDGET = 20_000;
+    
+    /** Transposition table size (power of two) */
+    private static final int TABLE_SIZE = 1 << 16;
+    
+    /** Table entry holds the exact value */
+    private static final byte EXACT = 1;
+    
+    /** Table entry holds a lower bound */
+    private static final byte LOWER = 2;
+    
+    /** Table entry holds an upper bound */
+    private static final byte UPPER = 3;
+    
+    /** Longest possible move list */
+    private static final int MAX_MOVES = 64;
+    
+    /** Largest unknown-card count accepted */
+    private final int threshold;
+    
+    /** Largest number of assignments solved per decision */
+    private final int maxAssignments;
+    
+    /** Positions searched before sampling stops */
+    private final long nodeBudget;
+    
+    /** Positions searched in the current decision */
+    private long nodes;
+    
+    /** Position keys (the table is allocated by the first search) */
+    private long[] keys = new long[0];
+    
+    /** Position values */
+    private int[] values = new int[0];
+    
+    /** Best move per position */
+    private int[] bestMoves = new int[0];
+    
+    /** Bound type per position, 0 for an empty slot */
+    private byte[] bounds = new byte[0];
+    
+    /** Position being searched, moved with apply and undo */
+    private GameState position;
+    
+    /** Move buffer per ply */
+    private int[][] moves = new int[0][];
+    
+    /** Move ordering scores per ply */
+    private int[][] order = new int[0][];
+    
+    /** Seat the search is for */
+    private int observer;
+
+    /**
+     * Creates a solver with the default threshold and limits.
+     */
+    public EndgameSolver() {
+        this(DEFAULT_THRESHOLD, DEFAULT_MAX_ASSIGNMENTS, DEFAULT_NODE_BUDGET);
+    }
+
+    /**
+     * Creates a solver.
+     * 
+     * @param threshold Largest unknown-card count the solver accepts
+     * @param maxAssignments Largest number of assignments solved per decision
+     * @param nodeBudget Positions searched before sampling stops (at least one sample is solved)
+     */
+    public EndgameSolver(int threshold, int maxAssignments, long nodeBudget) {
+        this.threshold = threshold;
+        this.maxAssignments = Math.max(1, maxAssignments);
+        this.nodeBudget = nodeBudget;
+    }
+
+    /**
+     * Checks whether a decision is in the last round and has few enough
+     * unknown cards to be solved.
+     * 
+     * @param info What the deciding player knows
+     * @return true if {@link #solve(InformationSet, Random)} applies
+     */
+    public boolean canSolve(InformationSet info) {
+        if (info.getUnknownCount() > threshold) {
+            return false;
+        }
+        // Unseen hands are empty in the known state, so check a dealt one
+        prepare(info.getKnownState());
+        info.deal(position, info.getUnknownCards());
+        return position.isLastRound();
+    }
+
+    /**
+     * Finds the move with the best average value over the assignments of
+     * the unknown cards.
+     * 
+     * @param info What the deciding player knows (in the last round)
+     * @param random Random source, used only when assignments are sampled
+     * @return The best move
+     */
+    public int solve(InformationSet info, Random random) {
+        GameState known = info.getKnownState();
+        prepare(known);
+        Arrays.fill(bounds, (byte) 0);
+        observer = info.getObserver();
+        
+        int[] cards = info.getUnknownCards();
+        int hidden = info.getHiddenCount();
+        info.deal(position, cards);
+        int[] rootMoves = new int[MAX_MOVES];
+        int rootCount = position.legalMoves(rootMoves);
+        if (rootCount == 1) {
+            return rootMoves[0];
+        }
+
+        long[] totals = new long[rootCount];
+        nodes = 0;
+        if (arrangements(cards.length, hidden) <= maxAssignments) {
+            enumerate(info, cards, 0, hidden, rootMoves, rootCount, totals);
+        } else {
+            for (int i = 0; i < maxAssignments && (i == 0 || nodes < nodeBudget); i++) {
+                for (int j = 0; j < hidden; j++) {
+                    int k = j + random.nextInt(cards.length - j);
+                    int swap = cards[j];
+                    cards[j] = cards[k];
+                    cards[k] = swap;
+                }
+                addValues(info, cards, rootMoves, rootCount, totals);
+            }
+        }
+
+        int best = 0;
+        for (int i = 1; i < rootCount; i++) {
+            if (totals[i] > totals[best]) {
+                best = i;
+            }
+        }
+        return rootMoves[best];
+    }
+
+    /**
+     * Solves one position exactly.
+     * 
+     * @param state A last-round position with every card known
+     * @param seat Seat the value is for
+     * @return Twice the seat's final lead over the best other score, plus one if it wins
+     */
+    public int value(GameState state, int seat) {
+        prepare(state);
+        Arrays.fill(bounds, (byte) 0);
+        observer = seat;
+        position.copyFrom(state);
+        return search(0, Integer.MIN_VALUE + 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Sizes the per-ply buffers for a game and allocates the
+     * transposition table on first use.
+     * 
+     * @param shape Any state of the game
+     */
+    private void prepare(GameState shape) {
+        if (keys.length == 0) {
+            keys = new long[TABLE_SIZE];
+            values = new int[TABLE_SIZE];
+            bestMoves = new int[TABLE_SIZE];
+            bounds = new byte[TABLE_SIZE];
+        }
+        // One offer and one take per seat at most, plus the final position
+        int depth = shape.getPlayers() * 2 + 1;
+        if (moves.length < depth) {
+            moves = new int[depth][MAX_MOVES];
+            order = new int[depth][MAX_MOVES];
+        }
+        if (position == null || position.getPlayers() != shape.getPlayers()
+            || position.getVariant() != shape.getVariant()
+            || position.getNoMercyThreshold() != shape.getNoMercyThreshold()) {
+            position = new GameState(shape.getPlayers(), shape.getVariant(), shape.getNoMercyThreshold());
+        }
+    }
+
+    /**
+     * Counts the ordered ways to fill the hidden slots.
+     * 
+     * @param unknown Number of unknown cards
+     * @param hidden Number of hidden slots
+     * @return Number of arrangements, capped at Long.MAX_VALUE
+     */
+    private static long arrangements(int unknown, int hidden) {
+        long count = 1;
+        for (int i = 0; i < hidden; i++) {
+            count *= unknown - i;
+            if (count > Integer.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Visits every arrangement of unknown cards in the hidden slots.
+     * 
+     * @param info The information set
+     * @param cards Unknown cards, permuted in place
+     * @param slot Next slot to fill
+     * @param hidden Number of hidden slots
+     * @param rootMoves Moves at the root
+     * @param rootCount Number of root moves
+     * @param totals Value totals per root move
+     */
+    private void enumerate(InformationSet info, int[] cards, int slot, int hidden,
+                           int[] rootMoves, int rootCount, long[] totals) {
+        if (slot == hidden) {
+            addValues(info, cards, rootMoves, rootCount, totals);
+            return;
+        }
+        for (int i = slot; i < cards.length; i++) {
+            int swap = cards[slot];
+            cards[slot] = cards[i];
+            cards[i] = swap;
+            enumerate(info, cards, slot + 1, hidden, rootMoves, rootCount, totals);
+            cards[i] = cards[slot];
+            cards[slot] = swap;
+        }
+    }
+
+    /**
+     * Solves one assignment and adds the value of each root move.
+     * 
+     * @param info The information set
+     * @param cards Unknown cards in dealing order
+     * @param rootMoves Moves at the root
+     * @param rootCount Number of root moves
+     * @param totals Value totals per root move
+     */
+    private void addValues(InformationSet info, int[] cards, int[] rootMoves, int rootCount, long[] totals) {
+        info.deal(position, cards);
+        for (int i = 0; i < rootCount; i++) {
+            position.apply(rootMoves[i]);
+            totals[i] += search(1, Integer.MIN_VALUE + 1, Integer.MAX_VALUE);
+            position.undo(rootMoves[i]);
+        }
+    }
+
+    /**
+     * Alpha-beta search of the position at a ply.
+     * 
+     * @param ply Number of moves from the decision
+     * @param alpha Lower bound
+     * @param beta Upper bound
+     * @return Value of the position for the observer
+     */
+    private int search(int ply, int alpha, int beta) {
+        GameState state = position;
+        nodes++;
+        if (state.isOver()) {
+            return terminalValue(state);
+        }
+
+        long key = state.key();
+        int slot = (int) key & (TABLE_SIZE - 1);
+        int cachedMove = GameState.NONE;
+        if (bounds[slot] != 0 && keys[slot] == key) {
+            int cached = values[slot];
+            if (bounds[slot] == EXACT
+                || (bounds[slot] == LOWER && cached >= beta)
+                || (bounds[slot] == UPPER && cached <= alpha)) {
+                return cached;
+            }
+            cachedMove = bestMoves[slot];
+        }
+
+        int[] list = moves[ply];
+        int count = state.legalMoves(list);
+        orderMoves(state, list, order[ply], count, cachedMove);
+        
+        boolean maximizing = state.getCurrent() == observer;
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int best = maximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        int bestMove = list[0];
+        for (int i = 0; i < count; i++) {
+            state.apply(list[i]);
+            int value = search(ply + 1, alpha, beta);
+            state.undo(list[i]);
+            if (maximizing ? value > best : value < best) {
+                best = value;
+                bestMove = list[i];
+            }
+            if (maximizing) {
+                alpha = Math.max(alpha, value);
+            } else {
+                beta = Math.min(beta, value);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        keys[slot] = key;
+        values[slot] = best;
+        bestMoves[slot] = bestMove;
+        if (best <= originalAlpha) {
+            bounds[slot] = UPPER;
+        } else if (best >= originalBeta) {
+            bounds[slot] = LOWER;
+        } else {
+            bounds[slot] = EXACT;
+        }
+        return best;
+    }
+
+    /**
+     * Values a finished game for the observer.
+     * 
+     * @param state A finished game
+     * @return Twice the observer's lead over the best other score, plus one if it won
+     */
+    private int terminalValue(GameState state) {
+        int other = Integer.MIN_VALUE;
+        for (int seat = 0; seat < state.getPlayers(); seat++) {
+            if (seat != observer) {
+                other = Math.max(other, state.getScore(seat));
+            }
+        }
+        int lead = state.getScore(observer) - other;
+        return lead * 2 + (state.getWinner() == observer ? 1 : 0);
+    }
+
+    /**
+     * Sorts moves best-first for the player to move: the cached move, then
+     * by how much the card adds to the mover's Jest score.
+     * 
+     * @param state Position
+     * @param list Moves, sorted in place
+     * @param scores Scratch for ordering scores
+     * @param count Number of moves
+     * @param cachedMove Best move from the table, or NONE
+     */
+    private static void orderMoves(GameState state, int[] list, int[] scores, int count, int cachedMove) {
+        int seat = state.getCurrent();
+        long jest = state.getJest(seat);
+        int base = TableScorer.score(jest, jest, state.getVariant(), state.getNoMercyThreshold());
+        for (int i = 0; i < count; i++) {
+            int move = list[i];
+            if (move == cachedMove) {
+                scores[i] = Integer.MAX_VALUE;
+            } else if (GameState.isTake(move)) {
+                long added = jest | (1L << state.cardOf(move));
+                scores[i] = TableScorer.score(added, jest, state.getVariant(), state.getNoMercyThreshold()) - base;
+            } else {
+                scores[i] = 0;
+            }
+        }
+        // Insertion sort: lists are a handful of moves long
+        for (int i = 1; i < count; i++) {
+            int move = list[i];
+            int score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                list[j + 1] = list[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            list[j + 1] = move;
+            scores[j + 1] = score;
+        }
+    }
+}
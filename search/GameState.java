@@ -0,0 +1,1102 @@
+package search;
+
+import base.Game.TrophyType;
+import base.GameRandom;
+import base.GameVariant;
+import card.CardMask;
+import properties.Suit;
+import visitor.TableScorer;
+import java.util.Random;
+
+/**
+ * Flat, mask-based model of a game for search and playouts.
+ * 
+ * <p>The state holds everything {@link base.Game} and {@link base.Round}
+ * keep in object form as primitive arrays indexed by seat: Jest and hand
+ * masks (see {@link CardMask}), offer card ids, the deck as an array of card
+ * ids (top card last), the leftovers carried into the next round, the taken
+ * seats as a bitset and the seat to move. {@link #apply(int)} follows the
+ * rules of {@code Round.takeOffers} and {@code Game.playRound} exactly,
+ * including the early end of a round when no remaining player has a face-up
+ * card, and plays through forced steps until the next decision.</p>
+ * 
+ * <p>Moves are ints. During the offer phase a move is the id of the hand
+ * card to show face-up. During the taking phase it is
+ * {@code TAKE | target << 1 | faceUp}, built with {@link #takeMove(int, boolean)}.</p>
+ * 
+ * <p>{@link #undo(int)} takes back the last applied move. Each move keeps a
+ * small record of the fields it changes (the mover's hand, Jest and offer,
+ * the target offer, the turn fields); a move that ends a round also keeps a
+ * copy of the whole state from just before the round ended. Undoing such a
+ * move does not rewind the random source, so applying it again may deal a
+ * different next round.</p>
+ * 
+ * <p>Dealing a new round shuffles with the state's {@link Random}; a state
+ * is not thread-safe.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class GameState {
+    /** Marker for an empty card slot or no seat */
+    public static final int NONE = -1;
+    
+    /** Players are choosing which card to show */
+    public static final int PHASE_OFFER = 0;
+    
+    /** Players are taking cards from offers */
+    public static final int PHASE_TAKE = 1;
+    
+    /** The game is over and scored */
+    public static final int PHASE_OVER = 2;
+    
+    /** Flag set on every taking move */
+    public static final int TAKE = 1 << 6;
+    
+    /** Face-up ordering key per card id: value first, then suit strength */
+    private static final int[] RANK = new int[CardMask.CARD_COUNT];
+    
+    /** Mask of every card of one number (Ace in bit 0 of each suit byte) */
+    private static final long NUMBER_MASK = 0x01010101L;
+    
+    /** Number of suits; suit strength is SUITS - ordinal (Spade 4 to Heart 1) */
+    private static final int SUITS = Suit.values().length;
+    
+    /** Ints per undo record */
+    private static final int UNDO_INTS = 12;
+    
+    /** Longs per undo record */
+    private static final int UNDO_LONGS = 3;
+    
+    static {
+        for (int id = 0; id < CardMask.JOKER_ID; id++) {
+            RANK[id] = CardMask.valueOf(id) * 8 + SUITS - id / CardMask.SUIT_BITS;
+        }
+        RANK[CardMask.JOKER_ID] = 0;
+    }
+
+    /** Number of seats */
+    private final int players;
+    
+    /** Game variant */
+    private final GameVariant variant;
+    
+    /** No Mercy threshold */
+    private final int threshold;
+    
+    /** Jest mask per seat */
+    private final long[] jests;
+    
+    /** Jest mask per seat when its Joker was added */
+    private final long[] jestsBeforeJoker;
+    
+    /** Hand mask per seat */
+    private final long[] hands;
+    
+    /** Face-up card id per seat's offer, or NONE */
+    private final int[] faceUp;
+    
+    /** Face-down card id per seat's offer, or NONE */
+    private final int[] faceDown;
+    
+    /** Whether each seat made an offer this round */
+    private int offered;
+    
+    /** Deck card ids; the top card is at deckSize - 1 */
+    private final int[] deck;
+    
+    /** Cards in the deck */
+    private int deckSize;
+    
+    /** Leftover card ids carried into the next round, in seat order */
+    private final int[] leftovers;
+    
+    /** Owner seat of each leftover */
+    private final int[] leftoverOwners;
+    
+    /** Number of leftovers */
+    private int leftoverCount;
+    
+    /** Bitset of seats that took (or were skipped) this round */
+    private int taken;
+    
+    /** Seat to move, or NONE */
+    private int current;
+    
+    /** Rounds dealt by this state */
+    private int round;
+    
+    /** Current phase */
+    private int phase;
+    
+    /** Trophy conditions in award order */
+    private final TrophyType[] trophyTypes;
+    
+    /** Trophy card ids in award order */
+    private final int[] trophyCards;
+    
+    /** Number of trophies */
+    private int trophyCount;
+    
+    /** Final score per seat (valid when over) */
+    private final int[] scores;
+    
+    /** Winning seat (valid when over) */
+    private int winner;
+    
+    /** Scratch buffer for the cards of a deal */
+    private final int[] roundCards;
+    
+    /** Scratch buffer for callers that sample card ids, allocated on first use */
+    private int[] scratch;
+    
+    /** Random source for dealing rounds */
+    private Random random;
+    
+    /** Undo records: move, mover, target, their offer cards and the turn fields */
+    private int[] undoInts;
+    
+    /** Undo records: the mover's hand, Jest and Jest before the Joker */
+    private long[] undoLongs;
+    
+    /** Whole-state copies for moves that ended a round, by record */
+    private GameState[] undoStates;
+    
+    /** Number of undo records */
+    private int undoDepth;
+    
+    /** Record of the move being applied, or NONE */
+    private int recording = NONE;
+
+    /**
+     * Creates an empty state: no cards anywhere, offer phase, seat 0 to move.
+     * 
+     * @param players Number of seats
+     * @param variant Game variant
+     * @param threshold No Mercy threshold (ignored by other variants)
+     */
+    public GameState(int players, GameVariant variant, int threshold) {
+        this.players = players;
+        this.variant = variant;
+        this.threshold = threshold;
+        this.jests = new long[players];
+        this.jestsBeforeJoker = new long[players];
+        this.hands = new long[players];
+        this.faceUp = new int[players];
+        this.faceDown = new int[players];
+        this.deck = new int[CardMask.CARD_COUNT];
+        this.leftovers = new int[players];
+        this.leftoverOwners = new int[players];
+        this.trophyTypes = new TrophyType[CardMask.CARD_COUNT];
+        this.trophyCards = new int[CardMask.CARD_COUNT];
+        this.scores = new int[players];
+        this.roundCards = new int[players * 2];
+        this.random = new GameRandom();
+        clearOffers();
+        this.winner = NONE;
+    }
+
+    /**
+     * Creates an independent copy of this state.
+     * The copy shares the random source; replace it with {@link #setRandom(Random)}
+     * before using the copy on another thread.
+     * 
+     * @return The copy
+     */
+    public GameState copy() {
+        GameState copy = new GameState(players, variant, threshold);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Overwrites this state with another of the same shape, without allocating.
+     * The random source is kept and the undo history is cleared.
+     * 
+     * @param other State with the same number of seats
+     */
+    public void copyFrom(GameState other) {
+        copyFields(other);
+        undoDepth = 0;
+    }
+
+    /**
+     * Copies every game field of another state.
+     * 
+     * @param other State with the same number of seats
+     */
+    private void copyFields(GameState other) {
+        copyRoundFields(other);
+        System.arraycopy(other.deck, 0, deck, 0, other.deckSize);
+        System.arraycopy(other.trophyTypes, 0, trophyTypes, 0, other.trophyCount);
+        System.arraycopy(other.trophyCards, 0, trophyCards, 0, other.trophyCount);
+        trophyCount = other.trophyCount;
+    }
+
+    /**
+     * Copies the fields that ending a round can change. The deck contents
+     * and the trophies are only read once the game has started.
+     * 
+     * @param other State with the same number of seats
+     */
+    private void copyRoundFields(GameState other) {
+        System.arraycopy(other.jests, 0, jests, 0, players);
+        System.arraycopy(other.jestsBeforeJoker, 0, jestsBeforeJoker, 0, players);
+        System.arraycopy(other.hands, 0, hands, 0, players);
+        System.arraycopy(other.faceUp, 0, faceUp, 0, players);
+        System.arraycopy(other.faceDown, 0, faceDown, 0, players);
+        System.arraycopy(other.leftovers, 0, leftovers, 0, other.leftoverCount);
+        System.arraycopy(other.leftoverOwners, 0, leftoverOwners, 0, other.leftoverCount);
+        System.arraycopy(other.scores, 0, scores, 0, players);
+        offered = other.offered;
+        deckSize = other.deckSize;
+        leftoverCount = other.leftoverCount;
+        taken = other.taken;
+        current = other.current;
+        round = other.round;
+        phase = other.phase;
+        winner = other.winner;
+    }
+
+    /**
+     * Sets the random source used to deal later rounds.
+     * 
+     * @param random Random source
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Gets a scratch buffer owned by this state, so samplers need not allocate.
+     * 
+     * @param size Minimum length
+     * @return The buffer (contents undefined)
+     */
+    int[] scratch(int size) {
+        if (scratch == null || scratch.length < size) {
+            scratch = new int[Math.max(size, CardMask.CARD_COUNT)];
+        }
+        return scratch;
+    }
+
+    /**
+     * Sets a seat's Jest.
+     * 
+     * @param seat The seat
+     * @param mask Cards of the Jest
+     * @param maskBeforeJoker Cards added before the Joker
+     */
+    public void setJest(int seat, long mask, long maskBeforeJoker) {
+        jests[seat] = mask;
+        jestsBeforeJoker[seat] = maskBeforeJoker;
+    }
+
+    /**
+     * Sets a seat's hand.
+     * 
+     * @param seat The seat
+     * @param mask Cards in the hand
+     */
+    public void setHand(int seat, long mask) {
+        hands[seat] = mask;
+    }
+
+    /**
+     * Sets a seat's offer.
+     * 
+     * @param seat The seat
+     * @param up Face-up card id, or NONE
+     * @param down Face-down card id, or NONE
+     */
+    public void setOffer(int seat, int up, int down) {
+        faceUp[seat] = up;
+        faceDown[seat] = down;
+        offered |= 1 << seat;
+    }
+
+    /**
+     * Marks a seat as having taken this round.
+     * 
+     * @param seat The seat
+     */
+    public void setTaken(int seat) {
+        taken |= 1 << seat;
+    }
+
+    /**
+     * Puts a card on top of the deck.
+     * 
+     * @param id Card id
+     */
+    public void pushDeck(int id) {
+        deck[deckSize++] = id;
+    }
+
+    /**
+     * Adds a leftover card carried into the next round.
+     * 
+     * @param id Card id
+     * @param owner Seat whose offer it stayed in
+     */
+    public void addLeftover(int id, int owner) {
+        leftovers[leftoverCount] = id;
+        leftoverOwners[leftoverCount] = owner;
+        leftoverCount++;
+    }
+
+    /**
+     * Adds a trophy, awarded after the already added ones.
+     * 
+     * @param type Trophy condition
+     * @param card Trophy card id
+     */
+    public void addTrophy(TrophyType type, int card) {
+        trophyTypes[trophyCount] = type;
+        trophyCards[trophyCount] = card;
+        trophyCount++;
+    }
+
+    /**
+     * Sets the phase and the seat to move.
+     * 
+     * @param phase PHASE_OFFER or PHASE_TAKE
+     * @param seat Seat to move
+     */
+    public void setTurn(int phase, int seat) {
+        this.phase = phase;
+        this.current = seat;
+    }
+
+    /**
+     * Starts the game from a dealt deck: deals the first round.
+     * Call after the deck, trophies and leftovers are set.
+     */
+    public void start() {
+        undoDepth = 0;
+        startNextRound();
+    }
+
+    /**
+     * Gets the number of seats.
+     * 
+     * @return Number of seats
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * Gets the current phase.
+     * 
+     * @return PHASE_OFFER, PHASE_TAKE or PHASE_OVER
+     */
+    public int getPhase() {
+        return phase;
+    }
+
+    /**
+     * Counts the rounds this state has dealt, so a playout can tell when
+     * the round it started in is over.
+     * 
+     * @return Number of rounds dealt
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * Checks whether the game is over.
+     * 
+     * @return true if every round is played and the state is scored
+     */
+    public boolean isOver() {
+        return phase == PHASE_OVER;
+    }
+
+    /**
+     * Gets the seat to move.
+     * 
+     * @return Seat, or NONE when the game is over
+     */
+    public int getCurrent() {
+        return current;
+    }
+
+    /**
+     * Gets a seat's Jest mask.
+     * 
+     * @param seat The seat
+     * @return Cards of the Jest
+     */
+    public long getJest(int seat) {
+        return jests[seat];
+    }
+
+    /**
+     * Gets a seat's hand mask.
+     * 
+     * @param seat The seat
+     * @return Cards in the hand
+     */
+    public long getHand(int seat) {
+        return hands[seat];
+    }
+
+    /**
+     * Gets a seat's face-up offer card.
+     * 
+     * @param seat The seat
+     * @return Card id, or NONE
+     */
+    public int getFaceUp(int seat) {
+        return faceUp[seat];
+    }
+
+    /**
+     * Gets a seat's face-down offer card.
+     * 
+     * @param seat The seat
+     * @return Card id, or NONE
+     */
+    public int getFaceDown(int seat) {
+        return faceDown[seat];
+    }
+
+    /**
+     * Gets the game variant.
+     * 
+     * @return Variant
+     */
+    public GameVariant getVariant() {
+        return variant;
+    }
+
+    /**
+     * Gets the No Mercy threshold.
+     * 
+     * @return Threshold (ignored by other variants)
+     */
+    public int getNoMercyThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Gets the number of cards in the deck.
+     * 
+     * @return Number of cards
+     */
+    public int getDeckSize() {
+        return deckSize;
+    }
+
+    /**
+     * Checks whether the round being played is the last one: no cards are
+     * dealt after it, so the rest of the game is decided by the moves alone.
+     * Every offer leaves exactly one leftover, so this is known from the
+     * start of the round.
+     * 
+     * @return true if the game ends with this round
+     */
+    public boolean isLastRound() {
+        if (phase == PHASE_OVER || deckSize == 0) {
+            return true;
+        }
+        int offerers = offered;
+        if (phase == PHASE_OFFER) {
+            for (int seat = 0; seat < players; seat++) {
+                if (Long.bitCount(hands[seat]) >= 2) {
+                    offerers |= 1 << seat;
+                }
+            }
+        }
+        return deckSize + Integer.bitCount(offerers) < players * 2;
+    }
+
+    /**
+     * Hashes the position within a round for transposition tables.
+     * Covers Jests, hands, offers, taken seats, phase and seat to move;
+     * the deck, leftovers and trophies do not change within a round and
+     * are left out.
+     * 
+     * @return 64-bit key
+     */
+    public long key() {
+        long h = phase * 31L + current;
+        h = h * 0x9E3779B97F4A7C15L + taken;
+        for (int seat = 0; seat < players; seat++) {
+            h = h * 0x9E3779B97F4A7C15L + jests[seat];
+            h = h * 0x9E3779B97F4A7C15L + jestsBeforeJoker[seat];
+            h = h * 0x9E3779B97F4A7C15L + hands[seat];
+            h = h * 0x9E3779B97F4A7C15L + ((faceUp[seat] + 1) << 8 | (faceDown[seat] + 1));
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Gets the card a move puts in play: the card shown by an offer move or
+     * the card taken by a taking move.
+     * 
+     * @param move A legal move
+     * @return Card id
+     */
+    public int cardOf(int move) {
+        if (!isTake(move)) {
+            return move;
+        }
+        int target = targetOf(move);
+        return isFaceUp(move) ? faceUp[target] : faceDown[target];
+    }
+
+    /**
+     * Gets a final score.
+     * 
+     * @param seat The seat
+     * @return Score of the seat (valid once the game is over)
+     */
+    public int getScore(int seat) {
+        return scores[seat];
+    }
+
+    /**
+     * Gets the winner: the first seat with the highest score.
+     * 
+     * @return Winning seat (valid once the game is over)
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Builds a taking move.
+     * 
+     * @param target Seat whose offer is taken from
+     * @param up true to take the face-up card
+     * @return The move
+     */
+    public static int takeMove(int target, boolean up) {
+        return TAKE | (target << 1) | (up ? 1 : 0);
+    }
+
+    /**
+     * Checks whether a move is a taking move.
+     * 
+     * @param move The move
+     * @return true for a taking move, false for an offer move
+     */
+    public static boolean isTake(int move) {
+        return (move & TAKE) != 0;
+    }
+
+    /**
+     * Gets the seat a taking move takes from.
+     * 
+     * @param move A taking move
+     * @return Target seat
+     */
+    public static int targetOf(int move) {
+        return (move & ~TAKE) >>> 1;
+    }
+
+    /**
+     * Checks whether a taking move takes the face-up card.
+     * 
+     * @param move A taking move
+     * @return true for the face-up card
+     */
+    public static boolean isFaceUp(int move) {
+        return (move & 1) != 0;
+    }
+
+    /**
+     * Ends the game where it stands: awards the trophies on the Jests as they
+     * are and scores them. Lets a search value a position before the last
+     * round as if no more cards were dealt.
+     */
+    public void endNow() {
+        if (phase != PHASE_OVER) {
+            finish();
+        }
+    }
+
+    /**
+     * Lists the legal moves of the seat to move.
+     * 
+     * @param moves Output buffer (at least {@code 2 * players} long)
+     * @return Number of moves written
+     */
+    public int legalMoves(int[] moves) {
+        int count = 0;
+        if (phase == PHASE_OFFER) {
+            long hand = hands[current];
+            while (hand != 0) {
+                moves[count++] = Long.numberOfTrailingZeros(hand);
+                hand &= hand - 1;
+            }
+        } else if (phase == PHASE_TAKE) {
+            int targets = availableTargets(current);
+            while (targets != 0) {
+                int target = Integer.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                moves[count++] = takeMove(target, true);
+                moves[count++] = takeMove(target, false);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Plays a move for the seat to move, then every forced step up to the
+     * next decision (skipped players, end of round, dealing, scoring).
+     * 
+     * @param move A legal move
+     */
+    public void apply(int move) {
+        record(move);
+        if (phase == PHASE_OFFER) {
+            int up = move;
+            long rest = hands[current] & ~(1L << up);
+            faceUp[current] = up;
+            faceDown[current] = Long.numberOfTrailingZeros(rest);
+            offered |= 1 << current;
+            hands[current] = 0;
+            current = nextOfferSeat(current + 1);
+            if (current == NONE) {
+                startTaking();
+            }
+        } else {
+            int target = targetOf(move);
+            int card;
+            if (isFaceUp(move)) {
+                card = faceUp[target];
+                faceUp[target] = NONE;
+            } else {
+                card = faceDown[target];
+                faceDown[target] = NONE;
+            }
+            addToJest(current, card);
+            taken |= 1 << current;
+            current = nextTaker(target);
+            settleTaking();
+        }
+        recording = NONE;
+    }
+
+    /**
+     * Takes back the last applied move.
+     * 
+     * @param move The move last passed to {@link #apply(int)}
+     * @throws IllegalStateException if it is not the last applied move
+     */
+    public void undo(int move) {
+        int frame = undoDepth - 1;
+        if (frame < 0 || undoInts[frame * UNDO_INTS] != move) {
+            throw new IllegalStateException("Move " + move + " is not the last applied move");
+        }
+        int i = frame * UNDO_INTS;
+        int l = frame * UNDO_LONGS;
+        if (undoInts[i + 11] != 0) {
+            copyRoundFields(undoStates[frame]);
+        }
+        int mover = undoInts[i + 1];
+        int target = undoInts[i + 2];
+        hands[mover] = undoLongs[l];
+        jests[mover] = undoLongs[l + 1];
+        jestsBeforeJoker[mover] = undoLongs[l + 2];
+        faceUp[mover] = undoInts[i + 3];
+        faceDown[mover] = undoInts[i + 4];
+        faceUp[target] = undoInts[i + 5];
+        faceDown[target] = undoInts[i + 6];
+        offered = undoInts[i + 7];
+        taken = undoInts[i + 8];
+        current = undoInts[i + 9];
+        phase = undoInts[i + 10];
+        undoDepth = frame;
+    }
+
+    /**
+     * Records what a move is about to change, for {@link #undo(int)}.
+     * 
+     * @param move The move
+     */
+    private void record(int move) {
+        if (undoInts == null) {
+            // Every round has at most one offer and one take per seat
+            int frames = CardMask.CARD_COUNT * 2 + players * 2;
+            undoInts = new int[frames * UNDO_INTS];
+            undoLongs = new long[frames * UNDO_LONGS];
+            undoStates = new GameState[frames];
+        }
+        int frame = undoDepth++;
+        int i = frame * UNDO_INTS;
+        int l = frame * UNDO_LONGS;
+        int mover = current;
+        int target = (phase == PHASE_TAKE) ? targetOf(move) : mover;
+        undoInts[i] = move;
+        undoInts[i + 1] = mover;
+        undoInts[i + 2] = target;
+        undoInts[i + 3] = faceUp[mover];
+        undoInts[i + 4] = faceDown[mover];
+        undoInts[i + 5] = faceUp[target];
+        undoInts[i + 6] = faceDown[target];
+        undoInts[i + 7] = offered;
+        undoInts[i + 8] = taken;
+        undoInts[i + 9] = current;
+        undoInts[i + 10] = phase;
+        undoInts[i + 11] = 0;
+        undoLongs[l] = hands[mover];
+        undoLongs[l + 1] = jests[mover];
+        undoLongs[l + 2] = jestsBeforeJoker[mover];
+        recording = frame;
+    }
+
+    /**
+     * Keeps a copy of the whole state before the move being applied ends
+     * the round, as the end of a round changes more than a record holds.
+     */
+    private void recordRoundEnd() {
+        int frame = recording;
+        if (frame == NONE || undoInts[frame * UNDO_INTS + 11] != 0) {
+            return;
+        }
+        if (undoStates[frame] == null) {
+            undoStates[frame] = new GameState(players, variant, threshold);
+        }
+        undoStates[frame].copyRoundFields(this);
+        undoInts[frame * UNDO_INTS + 11] = 1;
+    }
+
+    /**
+     * Finds the next seat, from a seat on, that can make an offer.
+     * 
+     * @param from First seat to check
+     * @return Seat, or NONE if every seat has offered
+     */
+    private int nextOfferSeat(int from) {
+        for (int seat = from; seat < players; seat++) {
+            if (Long.bitCount(hands[seat]) >= 2) {
+                return seat;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Starts the taking phase with the highest face-up card.
+     */
+    private void startTaking() {
+        phase = PHASE_TAKE;
+        taken = 0;
+        current = highestFaceUp(completeOffers());
+        settleTaking();
+    }
+
+    /**
+     * Skips players with nothing to take and ends the round when nobody is left.
+     */
+    private void settleTaking() {
+        int all = (1 << players) - 1;
+        while (true) {
+            if (taken == all || current == NONE) {
+                endRound();
+                return;
+            }
+            if (availableTargets(current) != 0) {
+                return;
+            }
+            taken |= 1 << current;
+            current = nextTaker(NONE);
+        }
+    }
+
+    /**
+     * Gets the seats whose offers a player may take from.
+     * Other players' complete offers, or the player's own when it is the
+     * last to take and its offer is the only complete one.
+     * 
+     * @param seat The taking seat
+     * @return Bitset of target seats
+     */
+    private int availableTargets(int seat) {
+        int complete = completeOffers();
+        int others = complete & ~(1 << seat);
+        if (others == 0 && complete != 0 && Integer.bitCount(taken) == players - 1) {
+            return complete;
+        }
+        return others;
+    }
+
+    /**
+     * Gets the seats whose offers still hold both cards.
+     * 
+     * @return Bitset of seats
+     */
+    private int completeOffers() {
+        int complete = 0;
+        for (int seat = 0; seat < players; seat++) {
+            if (faceUp[seat] != NONE && faceDown[seat] != NONE) {
+                complete |= 1 << seat;
+            }
+        }
+        return complete;
+    }
+
+    /**
+     * Finds the next player to take: the owner of the offer just taken from
+     * if it has not taken yet, otherwise the highest face-up card among the
+     * players that have not taken.
+     * 
+     * @param owner Seat whose offer was just taken from, or NONE
+     * @return Seat, or NONE
+     */
+    private int nextTaker(int owner) {
+        if (owner != NONE && (taken & (1 << owner)) == 0) {
+            return owner;
+        }
+        int remaining = ~taken & ((1 << players) - 1);
+        return (remaining == 0) ? NONE : highestFaceUp(remaining);
+    }
+
+    /**
+     * Finds the seat with the highest face-up card among candidates.
+     * 
+     * @param candidates Bitset of seats
+     * @return Seat, or NONE if no candidate shows a card
+     */
+    private int highestFaceUp(int candidates) {
+        int best = NONE;
+        int bestRank = -1;
+        for (int seat = 0; seat < players; seat++) {
+            if ((candidates & (1 << seat)) != 0 && faceUp[seat] != NONE
+                && RANK[faceUp[seat]] > bestRank) {
+                bestRank = RANK[faceUp[seat]];
+                best = seat;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Ends a round: keeps one card of each offer as a leftover, or puts it
+     * in its owner's Jest if the deck is empty, then deals the next round
+     * or ends the game.
+     */
+    private void endRound() {
+        recordRoundEnd();
+        leftoverCount = 0;
+        for (int seat = 0; seat < players; seat++) {
+            if ((offered & (1 << seat)) == 0) {
+                continue;
+            }
+            int remaining = (faceUp[seat] != NONE) ? faceUp[seat] : faceDown[seat];
+            if (remaining != NONE) {
+                addLeftover(remaining, seat);
+            }
+        }
+        clearOffers();
+        
+        if (deckSize == 0) {
+            for (int i = 0; i < leftoverCount; i++) {
+                addToJest(leftoverOwners[i], leftovers[i]);
+            }
+            leftoverCount = 0;
+        }
+        startNextRound();
+    }
+
+    /**
+     * Deals the next round if enough cards are left, otherwise ends the game.
+     * Leftovers and drawn cards are shuffled together and dealt two per seat.
+     */
+    private void startNextRound() {
+        if (deckSize + leftoverCount < players * 2) {
+            finish();
+            return;
+        }
+
+        int count = 0;
+        for (int i = 0; i < leftoverCount; i++) {
+            roundCards[count++] = leftovers[i];
+        }
+        int needed = players * 2 - leftoverCount;
+        for (int i = 0; i < needed && deckSize > 0; i++) {
+            roundCards[count++] = deck[--deckSize];
+        }
+        leftoverCount = 0;
+        
+        // Same swaps as Collections.shuffle on a small list
+        for (int i = count; i > 1; i--) {
+            int j = random.nextInt(i);
+            int swap = roundCards[i - 1];
+            roundCards[i - 1] = roundCards[j];
+            roundCards[j] = swap;
+        }
+
+        int next = 0;
+        for (int seat = 0; seat < players; seat++) {
+            hands[seat] = 0;
+            if (count - next >= 2) {
+                hands[seat] = (1L << roundCards[next]) | (1L << roundCards[next + 1]);
+                next += 2;
+            }
+        }
+
+        round++;
+        phase = PHASE_OFFER;
+        taken = 0;
+        current = nextOfferSeat(0);
+        if (current == NONE) {
+            startTaking();
+        }
+    }
+
+    /**
+     * Empties every offer.
+     */
+    private void clearOffers() {
+        for (int seat = 0; seat < players; seat++) {
+            faceUp[seat] = NONE;
+            faceDown[seat] = NONE;
+        }
+        offered = 0;
+    }
+
+    /**
+     * Adds a card to a seat's Jest, remembering the cards before the Joker.
+     * 
+     * @param seat The seat
+     * @param id Card id
+     */
+    private void addToJest(int seat, int id) {
+        if (id == CardMask.JOKER_ID) {
+            jestsBeforeJoker[seat] = jests[seat];
+        }
+        jests[seat] |= 1L << id;
+    }
+
+    /**
+     * Awards the trophies in order and scores every Jest.
+     */
+    private void finish() {
+        phase = PHASE_OVER;
+        current = NONE;
+        for (int i = 0; i < trophyCount; i++) {
+            int seat = trophyWinner(trophyTypes[i]);
+            if (seat != NONE) {
+                addToJest(seat, trophyCards[i]);
+            }
+        }
+
+        winner = NONE;
+        int best = Integer.MIN_VALUE;
+        for (int seat = 0; seat < players; seat++) {
+            scores[seat] = TableScorer.score(jests[seat], jestsBeforeJoker[seat], variant, threshold);
+            if (scores[seat] > best) {
+                best = scores[seat];
+                winner = seat;
+            }
+        }
+    }
+
+    /**
+     * Finds the winner of a trophy with the same rules as {@link trophy.Trophy}.
+     * 
+     * @param type Trophy condition
+     * @return Winning seat, or NONE
+     */
+    private int trophyWinner(TrophyType type) {
+        switch (type) {
+            case HIGHEST_SPADE:
+                return suitExtremeOwner(Suit.SPADE, true);
+            case HIGHEST_CLUB:
+                return suitExtremeOwner(Suit.CLUB, true);
+            case HIGHEST_DIAMOND:
+                return suitExtremeOwner(Suit.DIAMOND, true);
+            case HIGHEST_HEART:
+                return suitExtremeOwner(Suit.HEART, true);
+            case LOWEST_SPADE:
+                return suitExtremeOwner(Suit.SPADE, false);
+            case LOWEST_CLUB:
+                return suitExtremeOwner(Suit.CLUB, false);
+            case LOWEST_DIAMOND:
+                return suitExtremeOwner(Suit.DIAMOND, false);
+            case LOWEST_HEART:
+                return suitExtremeOwner(Suit.HEART, false);
+            case JOKER:
+                return ownerOf(CardMask.JOKER);
+            case MAJORITY_2:
+                return majorityOwner(1);
+            case MAJORITY_3:
+                return majorityOwner(2);
+            case MAJORITY_4:
+                return majorityOwner(3);
+            default:
+                return NONE;
+        }
+    }
+
+    /**
+     * Finds the owner of the highest or lowest card of a suit.
+     * 
+     * @param suit The suit
+     * @param highest true for the highest card, false for the lowest
+     * @return Seat, or NONE if nobody holds the suit
+     */
+    private int suitExtremeOwner(Suit suit, boolean highest) {
+        long all = 0;
+        for (int seat = 0; seat < players; seat++) {
+            all |= jests[seat];
+        }
+        all &= CardMask.suitMask(suit);
+        if (all == 0) {
+            return NONE;
+        }
+        long bit = highest ? Long.highestOneBit(all) : Long.lowestOneBit(all);
+        return ownerOf(bit);
+    }
+
+    /**
+     * Finds the seat whose Jest holds a card.
+     * 
+     * @param bit Single-card mask
+     * @return Seat, or NONE
+     */
+    private int ownerOf(long bit) {
+        for (int seat = 0; seat < players; seat++) {
+            if ((jests[seat] & bit) != 0) {
+                return seat;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Finds the seat with the most cards of a number; equal counts go to
+     * the strongest suit held, then to the earlier seat.
+     * 
+     * @param number Number ordinal
+     * @return Seat, or NONE if nobody holds that number
+     */
+    private int majorityOwner(int number) {
+        long numberMask = NUMBER_MASK << number;
+        int winnerSeat = NONE;
+        int highestCount = 0;
+        int strongest = 0;
+        for (int seat = 0; seat < players; seat++) {
+            long held = jests[seat] & numberMask;
+            int count = Long.bitCount(held);
+            // Lower suit ordinals are stronger suits
+            int strength = (held == 0) ? 0
+                : SUITS - Long.numberOfTrailingZeros(held) / CardMask.SUIT_BITS;
+            if (count > highestCount || (count == highestCount && count > 0 && strength > strongest)) {
+                highestCount = count;
+                strongest = strength;
+                winnerSeat = seat;
+            }
+        }
+        return winnerSeat;
+    }
+}
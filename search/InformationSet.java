@@ -0,0 +1,256 @@
+package search;
+
+import base.Card;
+import base.GameConfig;
+import base.Offer;
+import base.Player;
+import base.TableView;
+import card.CardMask;
+import trophy.Trophy;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * What one player knows about a game at a decision, and a way to sample
+ * complete game states that agree with it.
+ * 
+ * <p>Known to the observer: every Jest (they are shown after each round),
+ * the trophy cards, its own hand and offer, and every face-up card on the
+ * table. Unknown: the deck order and contents, the other players' face-down
+ * cards and, during the offer phase, the hands of players that have not
+ * offered yet. The unknown cards are every card of the deck that is not
+ * known; some of them may have left the game for good.</p>
+ * 
+ * <p>{@link #determinize(GameState, Random)} deals the unknown cards at
+ * random into the hidden slots. An information set is immutable once built
+ * and may be shared by search threads.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class InformationSet {
+    /** The known part of the game, with hidden slots left empty */
+    private final GameState known;
+    
+    /** Seat of the observing player */
+    private final int observer;
+    
+    /** Card ids that are not known to the observer */
+    private final int[] unknown;
+    
+    /** Number of unknown cards */
+    private final int unknownCount;
+    
+    /** Seats whose face-down card is hidden */
+    private final int[] hiddenFaceDowns;
+    
+    /** Number of hidden face-down cards */
+    private final int hiddenFaceDownCount;
+    
+    /** Seats whose hand is hidden, one entry per hidden card */
+    private final int[] hiddenHandCards;
+    
+    /** Number of hidden hand cards */
+    private final int hiddenHandCount;
+    
+    /** Number of cards in the deck */
+    private final int deckSize;
+
+    /**
+     * Captures what a player knows about the game at its decision.
+     * 
+     * @param table View of the game
+     * @param observer The deciding player
+     * @throws IllegalStateException if the view is not consistent with one deck,
+     *         or the game combines several decks
+     */
+    public InformationSet(TableView table, Player observer) {
+        if (table.getDeckCount() != 1) {
+            throw new IllegalStateException("Search needs a single deck, the game combines " +
+                table.getDeckCount());
+        }
+        List<Player> players = table.getPlayers();
+        GameConfig config = table.getGameConfig();
+        int n = players.size();
+        this.observer = players.indexOf(observer);
+        this.known = new GameState(n, config.getVariant(), config.getNoMercyThreshold());
+        this.hiddenFaceDowns = new int[n];
+        this.hiddenHandCards = new int[n * 2];
+        this.deckSize = table.getDeckSize();
+        
+        long knownMask = 0;
+        for (int seat = 0; seat < n; seat++) {
+            Player player = players.get(seat);
+            known.setJest(seat, player.getJest().getMask(), player.getJest().getMaskBeforeJoker());
+            knownMask |= player.getJest().getMask();
+        }
+        for (Trophy trophy : table.getTrophies()) {
+            known.addTrophy(trophy.getType(), trophy.getTrophyCard().getId());
+            knownMask |= CardMask.bit(trophy.getTrophyCard());
+        }
+
+        int faceDowns = 0;
+        int offeredSeats = 0;
+        for (Offer offer : table.getOffers()) {
+            int seat = players.indexOf(offer.getOwner());
+            int up = idOf(offer.getFaceUp());
+            int down = idOf(offer.getFaceDown());
+            offeredSeats |= 1 << seat;
+            if (up != GameState.NONE) {
+                knownMask |= 1L << up;
+            }
+            if (down != GameState.NONE) {
+                if (seat == this.observer) {
+                    knownMask |= 1L << down;
+                } else {
+                    // Left empty here and filled by each determinization
+                    hiddenFaceDowns[faceDowns++] = seat;
+                    down = GameState.NONE;
+                }
+            }
+            known.setOffer(seat, up, down);
+        }
+        this.hiddenFaceDownCount = faceDowns;
+        
+        int handCards = 0;
+        Player taking = table.getCurrentPlayer();
+        if (taking != null) {
+            for (int seat = 0; seat < n; seat++) {
+                if (table.hasTaken(players.get(seat))) {
+                    known.setTaken(seat);
+                }
+            }
+            known.setTurn(GameState.PHASE_TAKE, players.indexOf(taking));
+        } else {
+            for (int seat = 0; seat < n; seat++) {
+                if ((offeredSeats & (1 << seat)) != 0) {
+                    continue;
+                }
+                Player player = players.get(seat);
+                if (seat == this.observer) {
+                    known.setHand(seat, player.getHandMask());
+                    knownMask |= player.getHandMask();
+                } else {
+                    for (int i = 0; i < player.getHand().size(); i++) {
+                        hiddenHandCards[handCards++] = seat;
+                    }
+                }
+            }
+            known.setTurn(GameState.PHASE_OFFER, this.observer);
+        }
+        this.hiddenHandCount = handCards;
+        
+        long unknownMask = CardMask.deckMask(config.isExpansionEnabled()) & ~knownMask;
+        this.unknownCount = Long.bitCount(unknownMask);
+        this.unknown = new int[unknownCount];
+        for (int i = 0; unknownMask != 0; i++) {
+            unknown[i] = Long.numberOfTrailingZeros(unknownMask);
+            unknownMask &= unknownMask - 1;
+        }
+        if (unknownCount < deckSize + hiddenFaceDownCount + hiddenHandCount) {
+            throw new IllegalStateException("Fewer unknown cards than hidden slots");
+        }
+    }
+
+    /**
+     * Gets the card id of a possibly missing card.
+     * 
+     * @param card The card, or null
+     * @return Its id, or NONE
+     */
+    private static int idOf(Card card) {
+        return (card == null) ? GameState.NONE : card.getId();
+    }
+
+    /**
+     * Gets the seat of the observing player.
+     * 
+     * @return Seat
+     */
+    public int getObserver() {
+        return observer;
+    }
+
+    /**
+     * Gets the number of cards the observer cannot see.
+     * 
+     * @return Number of unknown cards
+     */
+    public int getUnknownCount() {
+        return unknownCount;
+    }
+
+    /**
+     * Gets the known part of the game.
+     * Hidden face-down cards, hidden hands and the deck are empty in it.
+     * 
+     * @return The known state (must not be modified)
+     */
+    public GameState getKnownState() {
+        return known;
+    }
+
+    /**
+     * Gets the number of hidden cards on the table: the other players'
+     * face-down cards and the hands that have not been offered yet.
+     * 
+     * @return Number of hidden cards, not counting the deck
+     */
+    public int getHiddenCount() {
+        return hiddenFaceDownCount + hiddenHandCount;
+    }
+
+    /**
+     * Gets the unknown card ids.
+     * 
+     * @return A new array of card ids
+     */
+    int[] getUnknownCards() {
+        return unknown.clone();
+    }
+
+    /**
+     * Samples a complete game state consistent with this information set.
+     * The unknown cards are shuffled and dealt to the hidden face-down
+     * cards, then the hidden hands, then the deck; the rest are out of play.
+     * 
+     * @param into State to overwrite (same number of seats)
+     * @param random Random source for the sample and for later deals
+     */
+    public void determinize(GameState into, Random random) {
+        int[] cards = into.scratch(unknownCount);
+        System.arraycopy(unknown, 0, cards, 0, unknownCount);
+        int needed = hiddenFaceDownCount + hiddenHandCount + deckSize;
+        for (int i = 0; i < needed; i++) {
+            int j = i + random.nextInt(unknownCount - i);
+            int swap = cards[i];
+            cards[i] = cards[j];
+            cards[j] = swap;
+        }
+        deal(into, cards);
+        into.setRandom(random);
+    }
+
+    /**
+     * Builds the game state in which the hidden slots hold the given cards:
+     * first the hidden face-down cards, then the hidden hands, then the deck.
+     * 
+     * @param into State to overwrite (same number of seats)
+     * @param cards Unknown card ids in dealing order
+     */
+    void deal(GameState into, int[] cards) {
+        into.copyFrom(known);
+        int next = 0;
+        for (int i = 0; i < hiddenFaceDownCount; i++) {
+            int seat = hiddenFaceDowns[i];
+            into.setOffer(seat, into.getFaceUp(seat), cards[next++]);
+        }
+        for (int i = 0; i < hiddenHandCount; i++) {
+            int seat = hiddenHandCards[i];
+            into.setHand(seat, into.getHand(seat) | (1L << cards[next++]));
+        }
+        for (int i = 0; i < deckSize; i++) {
+            into.pushDeck(cards[next++]);
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package search;
+
+import base.GameRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+/**
+ * Single-observer information-set Monte Carlo Tree Search.
+ * 
+ * <p>Each iteration samples one game state from the observer's
+ * {@link InformationSet}, walks the tree using only the moves that are
+ * legal in that sample, expands one new move, plays the game out at random
+ * and credits a win to every node whose move was made by the winner. Nodes
+ * are selected with UCB1 where the exploration term counts how often a node
+ * was available rather than how often its parent was visited, because
+ * hidden cards make moves appear and disappear between samples.</p>
+ * 
+ * <p>Root parallelization: with several threads, each grows its own tree
+ * from its own random stream and the visit counts of the root moves are
+ * summed. Extra trees run on the executor given by the caller (a hosted
+ * table's, which counts them against its compute permits); the calling
+ * thread grows the first one. Without an executor the calling thread grows
+ * every tree in turn. A search stops at whichever budget runs out first.
+ * With only an iteration budget and a seeded source the result is
+ * reproducible, however the trees were run.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class InformationSetMcts {
+    /** UCB1 exploration constant for win rates in [0, 1] */
+    private static final double EXPLORATION = 0.7;
+    
+    /** Iterations between clock reads */
+    private static final int CLOCK_INTERVAL = 16;
+    
+    /** Longest possible move list */
+    private static final int MAX_MOVES = 64;
+    
+    /** Time budget per decision in nanoseconds, or 0 for none */
+    private final long timeBudgetNanos;
+    
+    /** Iteration budget per decision over all threads, or 0 for none */
+    private final int iterationBudget;
+    
+    /** Number of independent trees */
+    private final int threads;
+
+    /**
+     * Creates a search with a time and/or iteration budget.
+     * 
+     * @param timeBudgetMillis Wall-clock budget per decision, or 0 for none
+     * @param iterationBudget Iterations per decision over all threads, or 0 for none
+     * @param threads Number of trees grown in parallel (at least 1)
+     * @throws IllegalArgumentException if neither budget is set
+     */
+    public InformationSetMcts(long timeBudgetMillis, int iterationBudget, int threads) {
+        if (timeBudgetMillis <= 0 && iterationBudget <= 0) {
+            throw new IllegalArgumentException("A time or iteration budget is required");
+        }
+        this.timeBudgetNanos = Math.max(0, timeBudgetMillis) * 1_000_000L;
+        this.iterationBudget = Math.max(0, iterationBudget);
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Gets the wall-clock budget per decision.
+     * 
+     * @return Budget in milliseconds, or 0 for none
+     */
+    public long getTimeBudgetMillis() {
+        return timeBudgetNanos / 1_000_000L;
+    }
+
+    /**
+     * Gets the iteration budget per decision.
+     * 
+     * @return Iterations over all threads, or 0 for none
+     */
+    public int getIterationBudget() {
+        return iterationBudget;
+    }
+
+    /**
+     * Gets the number of trees grown in parallel.
+     * 
+     * @return Number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Finds the best move for the observer of an information set.
+     * 
+     * @param info What the deciding player knows
+     * @param random Random source; split into one stream per tree
+     * @param executor Grows the extra trees, or null to grow them on the calling thread
+     * @return The move with the most visits over all trees
+     */
+    public int search(InformationSet info, Random random, Executor executor) {
+        // Hidden face-down cards leave offers incomplete in the known state;
+        // the observer's moves are the same in every sample
+        GameState sample = info.getKnownState().copy();
+        info.determinize(sample, random);
+        int[] rootMoves = new int[MAX_MOVES];
+        int rootCount = sample.legalMoves(rootMoves);
+        if (rootCount == 1) {
+            return rootMoves[0];
+        }
+
+        long deadline = (timeBudgetNanos > 0) ? System.nanoTime() + timeBudgetNanos : Long.MAX_VALUE;
+        int perTree = (iterationBudget > 0) ? (iterationBudget + threads - 1) / threads : Integer.MAX_VALUE;
+        
+        Executor runner = (executor != null) ? executor : Runnable::run;
+        List<Future<Node>> futures = new ArrayList<>(threads - 1);
+        for (int t = 1; t < threads; t++) {
+            Tree tree = new Tree(info, split(random), deadline, perTree);
+            futures.add(CompletableFuture.supplyAsync(tree::grow, runner));
+        }
+        Node root = new Tree(info, split(random), deadline, perTree).grow();
+        
+        int[] visits = new int[rootCount];
+        addVisits(root, rootMoves, rootCount, visits);
+        for (Future<Node> future : futures) {
+            try {
+                addVisits(future.get(), rootMoves, rootCount, visits);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search thread failed", e.getCause());
+            }
+        }
+
+        int best = 0;
+        for (int i = 1; i < rootCount; i++) {
+            if (visits[i] > visits[best]) {
+                best = i;
+            }
+        }
+        return rootMoves[best];
+    }
+
+    /**
+     * Adds the visit counts of a tree's root children to the totals.
+     * 
+     * @param root Root of a grown tree
+     * @param moves Root moves
+     * @param count Number of root moves
+     * @param visits Totals, indexed like the moves
+     */
+    private static void addVisits(Node root, int[] moves, int count, int[] visits) {
+        for (int c = 0; c < root.childCount; c++) {
+            Node child = root.children[c];
+            for (int i = 0; i < count; i++) {
+                if (moves[i] == child.move) {
+                    visits[i] += child.visits;
+                }
+            }
+        }
+    }
+
+    /**
+     * Derives an independent random stream.
+     * 
+     * @param random Parent source
+     * @return New stream
+     */
+    private static Random split(Random random) {
+        if (random instanceof GameRandom) {
+            return ((GameRandom) random).split();
+        }
+        return new GameRandom(random.nextLong());
+    }
+
+    /**
+     * One search tree and the state it is grown with.
+     */
+    private static final class Tree {
+        /** What the observer knows */
+        private final InformationSet info;
+        
+        /** Random stream of this tree */
+        private final Random random;
+        
+        /** Time limit (System.nanoTime) */
+        private final long deadline;
+        
+        /** Iteration limit */
+        private final int iterations;
+        
+        /** Reused sampled state */
+        private final GameState state;
+        
+        /** Reused legal move buffer */
+        private final int[] moves = new int[MAX_MOVES];
+        
+        /** Reused buffer of untried moves */
+        private final int[] untried = new int[MAX_MOVES];
+        
+        Tree(InformationSet info, Random random, long deadline, int iterations) {
+            this.info = info;
+            this.random = random;
+            this.deadline = deadline;
+            this.iterations = iterations;
+            this.state = info.getKnownState().copy();
+        }
+
+        /**
+         * Runs iterations until a budget is used up.
+         * 
+         * @return The root of the tree
+         */
+        Node grow() {
+            Node root = new Node(GameState.NONE, GameState.NONE, null);
+            for (int i = 0; i < iterations; i++) {
+                if (i % CLOCK_INTERVAL == 0 && System.nanoTime() >= deadline) {
+                    break;
+                }
+                iterate(root);
+            }
+            return root;
+        }
+
+        /**
+         * Runs one determinize-select-expand-playout-backpropagate iteration.
+         * 
+         * @param root Root of the tree
+         */
+        private void iterate(Node root) {
+            info.determinize(state, random);
+            Node node = root;
+            
+            while (!state.isOver()) {
+                int count = state.legalMoves(moves);
+                int untriedCount = 0;
+                for (int i = 0; i < count; i++) {
+                    if (node.find(moves[i]) == null) {
+                        untried[untriedCount++] = moves[i];
+                    }
+                }
+
+                if (untriedCount > 0) {
+                    int move = untried[random.nextInt(untriedCount)];
+                    node = node.add(move, state.getCurrent());
+                    state.apply(move);
+                    break;
+                }
+
+                Node best = null;
+                double bestValue = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < count; i++) {
+                    Node child = node.find(moves[i]);
+                    child.availability++;
+                    double value = child.reward / child.visits
+                        + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+                    if (value > bestValue) {
+                        bestValue = value;
+                        best = child;
+                    }
+                }
+                state.apply(best.move);
+                node = best;
+            }
+
+            while (!state.isOver()) {
+                int count = state.legalMoves(moves);
+                state.apply(moves[random.nextInt(count)]);
+            }
+
+            int winner = state.getWinner();
+            for (Node n = node; n != null; n = n.parent) {
+                n.visits++;
+                if (n.seat == winner) {
+                    n.reward += 1.0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Tree node: the move that led to it and its statistics.
+     */
+    private static final class Node {
+        /** No children yet */
+        private static final Node[] NO_CHILDREN = new Node[0];
+        
+        /** Move that led here */
+        final int move;
+        
+        /** Seat that made the move */
+        final int seat;
+        
+        /** Parent node, or null for the root */
+        final Node parent;
+        
+        /** Children, in creation order */
+        Node[] children = NO_CHILDREN;
+        
+        /** Number of children */
+        int childCount;
+        
+        /** Iterations through this node */
+        int visits;
+        
+        /** Iterations in which this node was selectable */
+        int availability;
+        
+        /** Wins of the moving seat through this node */
+        double reward;
+        
+        Node(int move, int seat, Node parent) {
+            this.move = move;
+            this.seat = seat;
+            this.parent = parent;
+            this.availability = 1;
+        }
+
+        /**
+         * Finds the child for a move.
+         * 
+         * @param move The move
+         * @return The child, or null if not expanded
+         */
+        Node find(int move) {
+            for (int i = 0; i < childCount; i++) {
+                if (children[i].move == move) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Adds a child for a move.
+         * 
+         * @param move The move
+         * @param seat Seat making the move
+         * @return The new child
+         */
+        Node add(int move, int seat) {
+            if (childCount == children.length) {
+                Node[] grown = new Node[Math.max(4, childCount * 2)];
+                System.arraycopy(children, 0, grown, 0, childCount);
+                children = grown;
+            }
+            Node child = new Node(move, seat, this);
+            children[childCount++] = child;
+            return child;
+        }
+    }
+}
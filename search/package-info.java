@@ -0,0 +1,16 @@
+/**
+ * Game-tree search for AI strategies.
+ * 
+ * <p>This package contains the search model and algorithms:</p>
+ * <ul>
+ *   <li>{@link search.GameState} - Flat, mask-based game model with fast moves</li>
+ *   <li>{@link search.InformationSet} - What one player knows, and sampling of hidden cards</li>
+ *   <li>{@link search.InformationSetMcts} - Information-set Monte Carlo Tree Search</li>
+ *   <li>{@link search.EndgameSolver} - Exact alpha-beta solver for the last round</li>
+ *   <li>{@link search.DeterminizedEvaluator} - Expected move values over sampled hidden cards</li>
+ * </ul>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+package search;
@@ -0,0 +1,305 @@
+package server;
+
+import base.Card;
+import base.Offer;
+import base.Player;
+import strategy.PlayStrategy;
+import strategy.typestrategy.DefensiveStrategy;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Strategy of a human playing from a remote client of a {@link SeatServer}.
+ * 
+ * <p>Each decision is sent to the client as an {@code ASK} message and the
+ * table's thread parks until the matching answer arrives, the decision
+ * times out, or the table is cancelled. A decision that times out, or that
+ * comes up while nobody is connected and stays unanswered, is made by the
+ * seat's fallback strategy. A client that reconnects with the seat's token
+ * gets the pending decision again with the time left. Only the connected
+ * client can answer, and only while a decision is pending; other answers
+ * are refused, so the queue of answers stays short.</p>
+ * 
+ * <p>Seat the strategy with {@code new HumanPlayer(name, seat)} so that a
+ * table waiting for the client holds no compute permit of its host.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class RemoteSeat implements PlayStrategy {
+    /** Most answers queued for one decision; later ones are refused until it reads them */
+    private static final int ANSWER_CAPACITY = 16;
+    
+    /** Token the client sends to claim the seat */
+    private final String token;
+    
+    /** Time the client has for each decision, in milliseconds */
+    private final long timeoutMillis;
+    
+    /** Makes the decisions the client does not */
+    private final PlayStrategy fallback;
+    
+    /** Answers received, packed as sequence number (high half) and choice (low half) */
+    private final LinkedBlockingQueue<Long> answers = new LinkedBlockingQueue<>(ANSWER_CAPACITY);
+    
+    /** Connection of the client, or null while disconnected */
+    private volatile SeatConnection connection;
+    
+    /** Sequence number of the last decision asked */
+    private int sequence;
+    
+    /** Decision waiting for an answer, without its sequence number and time left, or null */
+    private String prompt;
+    
+    /** Sequence number of the pending decision */
+    private int promptSequence;
+    
+    /** When the pending decision times out, in {@link System#nanoTime()} units */
+    private long deadline;
+    
+    /** Number of decisions made by the fallback strategy */
+    private volatile int timeouts;
+
+    /**
+     * Creates a remote seat.
+     * 
+     * @param token Token the client sends to claim the seat
+     * @param timeoutMillis Time the client has for each decision
+     * @param fallback Strategy deciding when the client does not, or null for {@link DefensiveStrategy}
+     */
+    RemoteSeat(String token, long timeoutMillis, PlayStrategy fallback) {
+        this.token = token;
+        this.timeoutMillis = timeoutMillis;
+        this.fallback = (fallback != null) ? fallback : new DefensiveStrategy();
+    }
+
+    /**
+     * Asks the client which hand card to place face-down.
+     * Message: {@code ASK <seq> OFFER <ms> <card id> <card id>}, answer 0 or 1.
+     * 
+     * @param player The player making the offer
+     * @return The created offer
+     */
+    @Override
+    public Offer chooseOffer(Player player) {
+        List<Card> hand = player.getHand();
+        if (hand.size() < 2) {
+            return null;
+        }
+        int choice = ask("OFFER " + hand.get(0).getId() + " " + hand.get(1).getId(), 2);
+        if (choice < 0) {
+            return fallback.chooseOffer(player);
+        }
+        Offer offer = new Offer();
+        offer.setFaceDown(hand.get(choice));
+        offer.setFaceUp(hand.get(1 - choice));
+        offer.setOwner(player);
+        return offer;
+    }
+
+    /**
+     * Asks the client which offer to take from.
+     * Message: {@code ASK <seq> SELECT <ms> <face-up id>...}, answer the offer's index.
+     * 
+     * @param offers List of available offers
+     * @return The selected offer
+     */
+    @Override
+    public Offer selectOffer(List<Offer> offers) {
+        StringBuilder message = new StringBuilder("SELECT");
+        for (Offer offer : offers) {
+            message.append(' ').append(offer.getFaceUp().getId());
+        }
+        int choice = ask(message.toString(), offers.size());
+        return (choice < 0) ? fallback.selectOffer(offers) : offers.get(choice);
+    }
+
+    /**
+     * Asks the client whether to take the face-up card.
+     * Message: {@code ASK <seq> TAKE <ms> <face-up id>}, answer 1 for face-up, 0 for face-down.
+     * 
+     * @param offer The offer to take from
+     * @return true to take the face-up card
+     */
+    @Override
+    public boolean chooseCard(Offer offer) {
+        int choice = ask("TAKE " + offer.getFaceUp().getId(), 2);
+        return (choice < 0) ? fallback.chooseCard(offer) : choice == 1;
+    }
+
+    /**
+     * Sends a decision to the client and waits for a valid answer.
+     * Answers to earlier decisions are ignored; answers out of range are
+     * refused with {@code INVALID <seq>} and the decision stays open.
+     * 
+     * @param decision Decision type and its cards
+     * @param options Number of valid answers, 0 to options - 1
+     * @return The answer, or -1 if the decision timed out
+     * @throws IllegalStateException if the table's thread is interrupted
+     */
+    private int ask(String decision, int options) {
+        int id;
+        long end;
+        synchronized (this) {
+            id = ++sequence;
+            end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            prompt = decision;
+            promptSequence = id;
+            deadline = end;
+            sendPrompt();
+        }
+        try {
+            while (true) {
+                long left = end - System.nanoTime();
+                if (left <= 0) {
+                    timeouts++;
+                    send("TIMEOUT " + id);
+                    return -1;
+                }
+                Long answer;
+                try {
+                    answer = answers.poll(left, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for remote seat", e);
+                }
+                if (answer == null || (int) (answer >>> 32) != id) {
+                    continue;
+                }
+                int choice = answer.intValue();
+                if (choice >= 0 && choice < options) {
+                    return choice;
+                }
+                send("INVALID " + id);
+            }
+        } finally {
+            synchronized (this) {
+                prompt = null;
+                answers.clear();
+            }
+        }
+    }
+
+    /**
+     * Sends the pending decision, if any, with the time it has left.
+     * Called with the seat's lock held.
+     */
+    private void sendPrompt() {
+        SeatConnection current = connection;
+        if (prompt != null && current != null) {
+            long left = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            int space = prompt.indexOf(' ');
+            String type = (space < 0) ? prompt : prompt.substring(0, space);
+            String cards = (space < 0) ? "" : prompt.substring(space);
+            current.send("ASK " + promptSequence + " " + type + " " + left + cards);
+        }
+    }
+
+    /**
+     * Sends a line to the client if one is connected.
+     * 
+     * @param line The line
+     */
+    private void send(String line) {
+        SeatConnection current = connection;
+        if (current != null) {
+            current.send(line);
+        }
+    }
+
+    /**
+     * Binds a client connection to the seat, dropping any earlier one,
+     * and repeats the pending decision to it.
+     * 
+     * @param client The connection that sent the seat's token
+     */
+    synchronized void attach(SeatConnection client) {
+        SeatConnection previous = connection;
+        connection = client;
+        client.setSeat(this);
+        if (previous != null && previous != client) {
+            previous.setSeat(null);
+            previous.sendAndClose("BYE replaced");
+        }
+        client.send("WELCOME");
+        sendPrompt();
+    }
+
+    /**
+     * Unbinds a closed connection. The seat waits for a reconnect until
+     * the pending decision times out.
+     * 
+     * @param client The closed connection
+     */
+    synchronized void detach(SeatConnection client) {
+        if (connection == client) {
+            connection = null;
+        }
+    }
+
+    /**
+     * Delivers an answer from a client. The answer is refused unless it
+     * comes from the connected client, answers the pending decision and
+     * finds room in the queue.
+     * 
+     * @param client The connection that sent the answer
+     * @param id Sequence number of the decision answered
+     * @param choice The answer
+     * @return true if the answer was queued
+     */
+    synchronized boolean answer(SeatConnection client, int id, int choice) {
+        if (client != connection || prompt == null || id != promptSequence) {
+            return false;
+        }
+        return answers.offer(((long) id << 32) | (choice & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Ends the seat: the client is told the game is over and disconnected.
+     */
+    synchronized void end() {
+        SeatConnection current = connection;
+        connection = null;
+        if (current != null) {
+            current.setSeat(null);
+            current.sendAndClose("END");
+        }
+    }
+
+    /**
+     * Gets the token a client sends to claim the seat.
+     * 
+     * @return The seat token
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Gets the time the client has for each decision.
+     * 
+     * @return Timeout in milliseconds
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Checks whether a client is connected to the seat.
+     * 
+     * @return true while connected
+     */
+    public boolean isConnected() {
+        return connection != null;
+    }
+
+    /**
+     * Gets the number of decisions the fallback strategy made.
+     * 
+     * @return Timed-out decisions
+     */
+    public int getTimeouts() {
+        return timeouts;
+    }
+}
@@ -0,0 +1,173 @@
+package server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * One client connection of a {@link SeatServer}: its socket, the bytes read
+ * but not yet split into lines, and the lines waiting to be written.
+ * Reads and writes happen only on the connection's selector thread;
+ * {@link #send(String)} may be called from any thread.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+final class SeatConnection {
+    /** Longest line accepted from a client, in bytes */
+    static final int MAX_LINE = 256;
+    
+    /** The client socket */
+    private final SocketChannel channel;
+    
+    /** Registration of the socket with its selector */
+    private final SelectionKey key;
+    
+    /** Selector thread serving the connection */
+    private final SelectorLoop loop;
+    
+    /** Bytes read and not yet part of a complete line */
+    private final ByteBuffer input = ByteBuffer.allocate(MAX_LINE);
+    
+    /** Encoded lines waiting to be written */
+    private final Queue<ByteBuffer> output = new ConcurrentLinkedQueue<>();
+    
+    /** Seat claimed by the client, or null before JOIN */
+    private volatile RemoteSeat seat;
+    
+    /** Whether to close the connection once the output is written */
+    private volatile boolean closing;
+
+    /**
+     * Creates a connection.
+     * 
+     * @param channel The client socket, registered with the loop's selector
+     * @param key Registration of the socket
+     * @param loop Selector thread serving the connection
+     */
+    SeatConnection(SocketChannel channel, SelectionKey key, SelectorLoop loop) {
+        this.channel = channel;
+        this.key = key;
+        this.loop = loop;
+    }
+
+    /**
+     * Queues a line for the client.
+     * 
+     * @param line The line, without its line separator
+     */
+    void send(String line) {
+        output.add(ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8)));
+        loop.requestWrite(this);
+    }
+
+    /**
+     * Queues a last line and closes the connection once it is written.
+     * 
+     * @param line The line, without its line separator
+     */
+    void sendAndClose(String line) {
+        closing = true;
+        send(line);
+    }
+
+    /**
+     * Reads what the client sent and handles every complete line.
+     * 
+     * @param server Server handling the lines
+     * @throws IOException if the client closed the connection, sent a line
+     *         longer than {@link #MAX_LINE} or the socket failed
+     */
+    void read(SeatServer server) throws IOException {
+        if (channel.read(input) < 0) {
+            throw new IOException("Connection closed by client");
+        }
+        input.flip();
+        int start = 0;
+        for (int i = 0; i < input.limit(); i++) {
+            if (input.get(i) == '\n') {
+                byte[] line = new byte[i - start];
+                input.get(start, line);
+                server.handle(this, new String(line, StandardCharsets.UTF_8).trim());
+                start = i + 1;
+            }
+        }
+        input.position(start);
+        input.compact();
+        if (!input.hasRemaining()) {
+            throw new IOException("Line too long");
+        }
+    }
+
+    /**
+     * Writes queued lines until the socket would block.
+     * Stops asking for write readiness once everything is written.
+     * 
+     * @throws IOException if the socket failed
+     */
+    void flush() throws IOException {
+        ByteBuffer next;
+        while ((next = output.peek()) != null) {
+            channel.write(next);
+            if (next.hasRemaining()) {
+                return;
+            }
+            output.poll();
+        }
+        if (closing) {
+            close();
+            return;
+        }
+        key.interestOps(SelectionKey.OP_READ);
+        if (!output.isEmpty()) {
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+
+    /**
+     * Asks the selector to watch for write readiness. Called on the selector thread.
+     */
+    void watchWrites() {
+        if (key.isValid()) {
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+
+    /**
+     * Closes the socket and releases the claimed seat for a reconnect.
+     */
+    void close() {
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Already unusable
+        }
+        RemoteSeat claimed = seat;
+        if (claimed != null) {
+            claimed.detach(this);
+        }
+    }
+
+    /**
+     * Gets the seat claimed by the client.
+     * 
+     * @return The seat, or null before JOIN
+     */
+    RemoteSeat getSeat() {
+        return seat;
+    }
+
+    /**
+     * Records the seat claimed by the client.
+     * 
+     * @param seat The seat
+     */
+    void setSeat(RemoteSeat seat) {
+        this.seat = seat;
+    }
+}
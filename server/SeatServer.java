@@ -0,0 +1,208 @@
+package server;
+
+import strategy.PlayStrategy;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Listener serving remote human seats over non-blocking sockets.
+ * 
+ * <p>A few selector threads serve every connection; no thread is tied to
+ * a client. Each table thread waiting on a remote decision parks in its
+ * {@link RemoteSeat} until the selector thread delivers the answer.</p>
+ * 
+ * <p>The protocol is UTF-8 text, one message per line. Cards are sent as
+ * their ids (see {@link card.CardMask}).</p>
+ * <pre>
+ * client: JOIN &lt;token&gt;               claim a seat, also to reconnect
+ * server: WELCOME                       seat claimed
+ * server: ASK &lt;seq&gt; OFFER &lt;ms&gt; &lt;id&gt; &lt;id&gt;   hand card to place face-down: 0 or 1
+ * server: ASK &lt;seq&gt; SELECT &lt;ms&gt; &lt;id&gt;...  offer to take from, by face-up card: its index
+ * server: ASK &lt;seq&gt; TAKE &lt;ms&gt; &lt;id&gt;      take the face-up card: 1, or face-down: 0
+ * client: &lt;seq&gt; &lt;answer&gt;               answer to a decision
+ * server: INVALID &lt;seq&gt;                 answer out of range, decision still open
+ * server: TIMEOUT &lt;seq&gt;                 no answer in &lt;ms&gt;, the seat's fallback decided
+ * server: REFUSED &lt;seq&gt;                 no such decision pending, or too many answers to it
+ * server: ERROR &lt;reason&gt;                malformed message or unknown token
+ * server: BYE replaced | END            disconnected: another client joined, or the game ended
+ * </pre>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class SeatServer implements Closeable {
+    /** Default time a client has for each decision */
+    public static final long DEFAULT_TIMEOUT_MILLIS = 60_000;
+    
+    /** Listening socket */
+    private final ServerSocketChannel listener;
+    
+    /** Selector threads; the first also accepts clients */
+    private final SelectorLoop[] loops;
+    
+    /** Seats by token */
+    private final Map<String, RemoteSeat> seats = new ConcurrentHashMap<>();
+    
+    /** Round-robin counter assigning accepted clients to loops */
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    
+    /** Source of seat tokens */
+    private final SecureRandom tokens = new SecureRandom();
+
+    /**
+     * Starts a server on a local port with one selector thread.
+     * 
+     * @param port Port on the loopback address, or 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public SeatServer(int port) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1);
+    }
+
+    /**
+     * Starts a server.
+     * 
+     * @param address Address to listen on
+     * @param threads Number of selector threads (at least 1)
+     * @throws IOException if the address cannot be bound
+     */
+    public SeatServer(InetSocketAddress address, int threads) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one selector thread is needed: " + threads);
+        }
+        listener = ServerSocketChannel.open();
+        listener.bind(address);
+        listener.configureBlocking(false);
+        loops = new SelectorLoop[threads];
+        for (int i = 0; i < threads; i++) {
+            loops[i] = new SelectorLoop(this);
+        }
+        loops[0].listen(listener);
+        for (int i = 0; i < threads; i++) {
+            Thread thread = new Thread(loops[i], "seat-selector-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Creates a seat with the default timeout and fallback.
+     * 
+     * @return The seat; give its token to the client
+     */
+    public RemoteSeat createSeat() {
+        return createSeat(DEFAULT_TIMEOUT_MILLIS, null);
+    }
+
+    /**
+     * Creates a seat.
+     * 
+     * @param timeoutMillis Time the client has for each decision
+     * @param fallback Strategy deciding when the client does not, or null for the defensive AI
+     * @return The seat; give its token to the client
+     */
+    public RemoteSeat createSeat(long timeoutMillis, PlayStrategy fallback) {
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeoutMillis);
+        }
+        byte[] bytes = new byte[16];
+        tokens.nextBytes(bytes);
+        StringBuilder token = new StringBuilder(32);
+        for (byte b : bytes) {
+            token.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        RemoteSeat seat = new RemoteSeat(token.toString(), timeoutMillis, fallback);
+        seats.put(seat.getToken(), seat);
+        return seat;
+    }
+
+    /**
+     * Removes a seat whose game is over and disconnects its client.
+     * 
+     * @param seat The seat
+     */
+    public void removeSeat(RemoteSeat seat) {
+        if (seats.remove(seat.getToken(), seat)) {
+            seat.end();
+        }
+    }
+
+    /**
+     * Gets the port the server listens on.
+     * 
+     * @return The local port
+     * @throws IOException if the socket is closed
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) listener.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Stops the selector threads and closes every connection.
+     * Seats still waiting for a decision fall back when it times out.
+     * 
+     * @throws IOException if the listening socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        for (SelectorLoop loop : loops) {
+            loop.stop();
+        }
+        listener.close();
+    }
+
+    /**
+     * Hands an accepted client to the next selector thread.
+     * 
+     * @param client The accepted socket
+     */
+    void assign(SocketChannel client) {
+        loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)].add(client);
+    }
+
+    /**
+     * Handles a line from a client. Called on the client's selector thread.
+     * 
+     * @param connection The client
+     * @param line The line, trimmed
+     */
+    void handle(SeatConnection connection, String line) {
+        if (line.startsWith("JOIN ")) {
+            RemoteSeat seat = seats.get(line.substring(5).trim());
+            RemoteSeat claimed = connection.getSeat();
+            if (claimed != null && claimed != seat) {
+                // A connection answers for one seat only
+                claimed.detach(connection);
+                connection.setSeat(null);
+            }
+            if (seat == null) {
+                connection.sendAndClose("ERROR unknown seat");
+            } else {
+                seat.attach(connection);
+            }
+            return;
+        }
+        RemoteSeat seat = connection.getSeat();
+        if (seat == null) {
+            connection.send("ERROR join first");
+            return;
+        }
+        int space = line.indexOf(' ');
+        try {
+            int id = Integer.parseInt(line.substring(0, Math.max(space, 0)));
+            if (!seat.answer(connection, id, Integer.parseInt(line.substring(space + 1)))) {
+                connection.send("REFUSED " + id);
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            connection.send("ERROR bad answer");
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package server;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * One selector thread of a {@link SeatServer}: accepts clients if it owns
+ * the listening socket, and reads and writes every connection assigned to
+ * it. Other threads hand it work through queues and wake its selector.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+final class SelectorLoop implements Runnable {
+    /** Server the connections belong to */
+    private final SeatServer server;
+    
+    /** Selector of this thread */
+    private final Selector selector;
+    
+    /** Accepted sockets waiting to be registered */
+    private final Queue<SocketChannel> joining = new ConcurrentLinkedQueue<>();
+    
+    /** Connections with lines waiting to be written */
+    private final Queue<SeatConnection> writing = new ConcurrentLinkedQueue<>();
+    
+    /** Cleared to stop the thread */
+    private volatile boolean running = true;
+
+    /**
+     * Creates a selector loop.
+     * 
+     * @param server Server the connections belong to
+     * @throws IOException if no selector can be opened
+     */
+    SelectorLoop(SeatServer server) throws IOException {
+        this.server = server;
+        this.selector = Selector.open();
+    }
+
+    /**
+     * Makes this loop accept the clients of a listening socket.
+     * Must be called before the loop is started.
+     * 
+     * @param listener The non-blocking listening socket
+     * @throws ClosedChannelException if the socket is closed
+     */
+    void listen(ServerSocketChannel listener) throws ClosedChannelException {
+        listener.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Hands an accepted client to this loop.
+     * 
+     * @param client The accepted socket
+     */
+    void add(SocketChannel client) {
+        joining.add(client);
+        selector.wakeup();
+    }
+
+    /**
+     * Asks this loop to write a connection's queued lines.
+     * 
+     * @param connection The connection
+     */
+    void requestWrite(SeatConnection connection) {
+        writing.add(connection);
+        selector.wakeup();
+    }
+
+    /**
+     * Stops the loop and closes its connections.
+     */
+    void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Serves the connections until stopped.
+     */
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                registerJoining();
+                SeatConnection pending;
+                while ((pending = writing.poll()) != null) {
+                    pending.watchWrites();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid() && key.isAcceptable()) {
+                        SocketChannel client = ((ServerSocketChannel) key.channel()).accept();
+                        if (client != null) {
+                            server.assign(client);
+                        }
+                        continue;
+                    }
+                    SeatConnection connection = (SeatConnection) key.attachment();
+                    try {
+                        if (key.isValid() && key.isReadable()) {
+                            connection.read(server);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.flush();
+                        }
+                    } catch (IOException e) {
+                        connection.close();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Seat server selector failed: " + e.getMessage());
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof SeatConnection) {
+                    ((SeatConnection) key.attachment()).close();
+                }
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // Nothing left to release
+            }
+        }
+    }
+
+    /**
+     * Registers the sockets handed to this loop since the last select.
+     */
+    private void registerJoining() {
+        SocketChannel client;
+        while ((client = joining.poll()) != null) {
+            try {
+                client.configureBlocking(false);
+                SelectionKey key = client.register(selector, SelectionKey.OP_READ);
+                key.attach(new SeatConnection(client, key, this));
+            } catch (IOException e) {
+                try {
+                    client.close();
+                } catch (IOException ignored) {
+                    // Already unusable
+                }
+            }
+        }
+    }
+}
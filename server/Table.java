@@ -0,0 +1,98 @@
+package server;
+
+import base.Game;
+import base.GameResult;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One game hosted by a {@link TableHost}, running on its own thread.
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class Table {
+    /** Number of the table within its host */
+    private final int id;
+    
+    /** The game played at the table */
+    private final Game game;
+    
+    /** Completed with the game's result, or exceptionally if the game is abandoned */
+    private final CompletableFuture<GameResult> result = new CompletableFuture<>();
+    
+    /** Thread running the game, set once started */
+    private volatile Thread thread;
+
+    /**
+     * Creates a table for a game.
+     * 
+     * @param id Number of the table within its host
+     * @param game The game to play
+     */
+    Table(int id, Game game) {
+        this.id = id;
+        this.game = game;
+    }
+
+    /**
+     * Plays the game to the end on the calling thread and completes the result.
+     */
+    void run() {
+        thread = Thread.currentThread();
+        try {
+            result.complete(game.play());
+        } catch (Throwable t) {
+            result.completeExceptionally(t);
+        } finally {
+            thread = null;
+        }
+    }
+
+    /**
+     * Gets the number of the table within its host.
+     * 
+     * @return Table number
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the game played at the table.
+     * 
+     * @return The game
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Gets the outcome of the table.
+     * 
+     * @return Future completed with the game's result when it ends
+     */
+    public CompletableFuture<GameResult> getResult() {
+        return result;
+    }
+
+    /**
+     * Checks whether the game has ended or was abandoned.
+     * 
+     * @return true once the result is complete
+     */
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    /**
+     * Abandons the game: a table waiting for a human seat wakes up and ends
+     * with an exception. A table in the middle of an AI decision ends at
+     * its next human decision.
+     */
+    public void cancel() {
+        Thread running = thread;
+        if (running != null) {
+            running.interrupt();
+        }
+    }
+}
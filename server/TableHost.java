@@ -0,0 +1,188 @@
+package server;
+
+import base.Game;
+import base.GameConfig;
+import base.GameRandom;
+import base.Player;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts many concurrent games in one JVM, each on its own thread.
+ * 
+ * <p>Human seats are given their own {@link base.QueueChannel} (see
+ * {@link player.HumanPlayer#HumanPlayer(String, base.SeatChannel)}), so a
+ * table waiting for a player parks its thread on that seat's queue and
+ * costs nothing else while it waits. AI decisions of every table share one
+ * pool of compute permits (see {@link Game#setComputeGate}), sized to the
+ * cores by default, so thousands of tables never run more searches at once
+ * than the machine can. Extra search threads of multi-threaded strategies
+ * (see {@link Game#setSearchExecutor}) take a permit each; when none is
+ * free the deciding thread runs that share itself.</p>
+ * 
+ * <p>Tables run on virtual threads when the runtime has them (Java 21 and
+ * later); on older runtimes they run on daemon platform threads with a
+ * small stack.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class TableHost implements AutoCloseable {
+    /** Stack size of platform table threads, when virtual threads are unavailable */
+    private static final long PLATFORM_STACK_SIZE = 256 * 1024;
+    
+    /** Creates the thread of each table */
+    private final ThreadFactory threads;
+    
+    /** Compute permits shared by the AI decisions of all tables */
+    private final Semaphore compute;
+    
+    /** Tables still playing, by number */
+    private final Map<Integer, Table> tables = new ConcurrentHashMap<>();
+    
+    /** Number given to the next table */
+    private final AtomicInteger nextId = new AtomicInteger();
+    
+    /** Whether the host has been closed */
+    private volatile boolean closed;
+
+    /**
+     * Creates a host running tables on virtual threads when available,
+     * with one compute permit per core.
+     */
+    public TableHost() {
+        this(tableThreadFactory(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a host.
+     * 
+     * @param threads Creates the thread of each table
+     * @param computePermits Number of AI decisions allowed to run at once
+     */
+    public TableHost(ThreadFactory threads, int computePermits) {
+        if (computePermits < 1) {
+            throw new IllegalArgumentException("At least one compute permit is needed: " + computePermits);
+        }
+        this.threads = threads;
+        this.compute = new Semaphore(computePermits);
+    }
+
+    /**
+     * Opens a table and starts its game.
+     * 
+     * @param players The seated players (3 to {@link base.GameEngine#MAX_PLAYERS})
+     * @param config Configuration of the game
+     * @param random Random source of the game
+     * @return The running table
+     * @throws IllegalStateException if the host is closed
+     */
+    public Table open(List<Player> players, GameConfig config, GameRandom random) {
+        if (closed) {
+            throw new IllegalStateException("Host is closed");
+        }
+        Game game = new Game(players, config, random);
+        game.setComputeGate(compute);
+        game.setSearchExecutor(this::search);
+        Table table = new Table(nextId.getAndIncrement(), game);
+        tables.put(table.getId(), table);
+        table.getResult().whenComplete((result, failure) -> tables.remove(table.getId()));
+        threads.newThread(table::run).start();
+        return table;
+    }
+
+    /**
+     * Runs an extra search thread of an AI decision. The thread holds a
+     * compute permit of its own; when none is free the task runs on the
+     * deciding thread, which already holds one, so a search never waits
+     * for a permit while holding another.
+     * 
+     * @param task Share of the search
+     */
+    private void search(Runnable task) {
+        if (!compute.tryAcquire()) {
+            task.run();
+            return;
+        }
+        try {
+            threads.newThread(() -> {
+                try {
+                    task.run();
+                } finally {
+                    compute.release();
+                }
+            }).start();
+        } catch (RuntimeException | Error e) {
+            compute.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets a table that is still playing.
+     * 
+     * @param id Table number
+     * @return The table, or null if it has ended or never existed
+     */
+    public Table getTable(int id) {
+        return tables.get(id);
+    }
+
+    /**
+     * Gets the tables still playing.
+     * 
+     * @return Snapshot of the open tables
+     */
+    public List<Table> getTables() {
+        return new ArrayList<>(tables.values());
+    }
+
+    /**
+     * Gets the number of tables still playing.
+     * 
+     * @return Open tables
+     */
+    public int getTableCount() {
+        return tables.size();
+    }
+
+    /**
+     * Stops accepting tables and abandons those still playing.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Table table : tables.values()) {
+            table.cancel();
+        }
+    }
+
+    /**
+     * Creates the default table thread factory: virtual threads on runtimes
+     * that have them, daemon platform threads with a small stack otherwise.
+     * The virtual thread builder is looked up reflectively so the host
+     * still compiles and runs on Java 17.
+     * 
+     * @return Factory of table threads
+     */
+    public static ThreadFactory tableThreadFactory() {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "table-", 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            AtomicInteger count = new AtomicInteger();
+            return task -> {
+                Thread thread = new Thread(null, task, "table-" + count.getAndIncrement(), PLATFORM_STACK_SIZE);
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+}
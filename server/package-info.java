@@ -0,0 +1,14 @@
+/**
+ * Hosting of many concurrent games in one JVM, and remote human seats.
+ * 
+ * <ul>
+ *   <li>{@link server.TableHost} - Runs each table on its own thread and shares AI compute</li>
+ *   <li>{@link server.Table} - A hosted game and its outcome</li>
+ *   <li>{@link server.SeatServer} - Non-blocking listener serving remote seats</li>
+ *   <li>{@link server.RemoteSeat} - Strategy of a human playing from a remote client</li>
+ * </ul>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+package server;
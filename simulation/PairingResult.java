@@ -0,0 +1,228 @@
+package simulation;
+
+/**
+ * Head-to-head record of two strategies in a rating ladder.
+ * 
+ * <p>Games are played in pairs on the same seed with the seats swapped,
+ * so the deal and seat order cancel out and each pair scores 0, 1/2 or 1
+ * for strategy A. Each pair is one sample of the {@link Sprt}. The mean,
+ * variance and Elo estimates include half a pair of each outcome as a
+ * prior, which keeps them finite after a one-sided start.</p>
+ * 
+ * <p>Instances are filled by a single worker thread and combined with
+ * {@link #merge(PairingResult)}, so no method is synchronized.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class PairingResult {
+    /** Two-sided 95% normal quantile */
+    private static final double Z_95 = 1.959964;
+    
+    /** Prior weight added to each pair outcome */
+    private static final double PRIOR = 0.5;
+    
+    /** Index of strategy A */
+    private final int strategyA;
+    
+    /** Index of strategy B */
+    private final int strategyB;
+    
+    /** Test deciding the pairing */
+    private final Sprt sprt;
+    
+    /** Number of pairs in which A won 0, 1 and 2 games */
+    private final long[] pairCounts;
+    
+    /**
+     * Creates an empty record.
+     * 
+     * @param strategyA Index of strategy A
+     * @param strategyB Index of strategy B
+     * @param sprt Test deciding the pairing
+     */
+    public PairingResult(int strategyA, int strategyB, Sprt sprt) {
+        this.strategyA = strategyA;
+        this.strategyB = strategyB;
+        this.sprt = sprt;
+        this.pairCounts = new long[3];
+    }
+
+    /**
+     * Records one pair of seat-swapped games.
+     * 
+     * @param winsA Games of the pair won by A (0 to 2)
+     */
+    void recordPair(int winsA) {
+        pairCounts[winsA]++;
+    }
+
+    /**
+     * Adds another partial record of the same pairing into this one.
+     * 
+     * @param other The record to merge
+     * @return This record
+     */
+    PairingResult merge(PairingResult other) {
+        for (int i = 0; i < pairCounts.length; i++) {
+            pairCounts[i] += other.pairCounts[i];
+        }
+        return this;
+    }
+
+    /**
+     * Gets the index of strategy A.
+     * 
+     * @return Strategy index
+     */
+    public int getStrategyA() {
+        return strategyA;
+    }
+
+    /**
+     * Gets the index of strategy B.
+     * 
+     * @return Strategy index
+     */
+    public int getStrategyB() {
+        return strategyB;
+    }
+
+    /**
+     * Gets the test deciding the pairing.
+     * 
+     * @return The test
+     */
+    public Sprt getSprt() {
+        return sprt;
+    }
+
+    /**
+     * Gets the number of game pairs played.
+     * 
+     * @return Number of pairs
+     */
+    public long getPairs() {
+        return pairCounts[0] + pairCounts[1] + pairCounts[2];
+    }
+
+    /**
+     * Gets the number of games played.
+     * 
+     * @return Number of games
+     */
+    public long getGames() {
+        return 2 * getPairs();
+    }
+
+    /**
+     * Gets the number of pairs in which A won a given number of games.
+     * 
+     * @param winsA Games won by A in the pair (0 to 2)
+     * @return Number of pairs
+     */
+    public long getPairCount(int winsA) {
+        return pairCounts[winsA];
+    }
+
+    /**
+     * Gets the number of games won by A.
+     * 
+     * @return Wins of A
+     */
+    public long getWinsA() {
+        return pairCounts[1] + 2 * pairCounts[2];
+    }
+
+    /**
+     * Gets the number of games won by B.
+     * 
+     * @return Wins of B
+     */
+    public long getWinsB() {
+        return getGames() - getWinsA();
+    }
+
+    /**
+     * Gets A's expected score per game, with the prior.
+     * 
+     * @return Score (0 to 1, exclusive)
+     */
+    public double getScore() {
+        return (pairCounts[1] * 0.5 + pairCounts[2] + PRIOR * 1.5) / samples();
+    }
+
+    /**
+     * Gets the variance of A's score per pair, with the prior.
+     * 
+     * @return Variance
+     */
+    public double getVariance() {
+        double mean = getScore();
+        double square = (pairCounts[1] * 0.25 + pairCounts[2] + PRIOR * 1.25) / samples();
+        return square - mean * mean;
+    }
+
+    /**
+     * Gets the estimated Elo difference of A over B.
+     * 
+     * @return Elo difference
+     */
+    public double getElo() {
+        return Sprt.scoreToElo(getScore());
+    }
+
+    /**
+     * Gets the lower end of the 95% confidence interval of the Elo difference.
+     * 
+     * @return Elo difference
+     */
+    public double getEloLow() {
+        return Sprt.scoreToElo(Math.max(0.0, getScore() - margin()));
+    }
+
+    /**
+     * Gets the upper end of the 95% confidence interval of the Elo difference.
+     * 
+     * @return Elo difference
+     */
+    public double getEloHigh() {
+        return Sprt.scoreToElo(Math.min(1.0, getScore() + margin()));
+    }
+
+    /**
+     * Gets the log-likelihood ratio of the test.
+     * 
+     * @return The log-likelihood ratio
+     */
+    public double getLlr() {
+        return sprt.llr(samples(), getScore(), getVariance());
+    }
+
+    /**
+     * Gets the decision of the test so far.
+     * 
+     * @return The decision
+     */
+    public Sprt.Decision getDecision() {
+        return sprt.decide(getLlr());
+    }
+
+    /**
+     * Gets the half-width of the 95% confidence interval of the score.
+     * 
+     * @return Margin on the score
+     */
+    private double margin() {
+        return Z_95 * Math.sqrt(getVariance() / samples());
+    }
+
+    /**
+     * Gets the number of samples including the prior.
+     * 
+     * @return Pairs plus prior weight
+     */
+    private double samples() {
+        return getPairs() + PRIOR * pairCounts.length;
+    }
+}
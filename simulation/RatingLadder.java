@@ -0,0 +1,296 @@
+package simulation;
+
+import base.GameEngine;
+import base.GameResult;
+import base.GameVariant;
+import strategy.PlayStrategy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Rates registered strategies head to head and stops each pairing as soon
+ * as a sequential probability ratio test is conclusive.
+ * 
+ * <p>Every two registered strategies form a pairing. A pairing is played
+ * as pairs of games on one seed: in the first game strategy A fills the
+ * even seats and B the odd seats, in the second the seats are swapped.
+ * The pairs are played in batches. All open pairings share one
+ * work-stealing {@link ForkJoinPool}, in the same way as
+ * {@link TournamentRunner}. After each batch every pairing's {@link Sprt}
+ * is checked, and decided pairings stop playing. A pairing that is still
+ * open after the maximum number of pairs stops undecided.</p>
+ * 
+ * <p>Pair {@code k} of a pairing is played with the variant and deck size
+ * at index {@code k % settings} of the variant/expansion grid. It is seeded
+ * from the ladder seed, the pairing and {@code k} only. The test is only
+ * checked between batches, so a ladder gives the same result for any
+ * parallelism.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class RatingLadder {
+    /** Number of game pairs a task plays itself instead of splitting further */
+    private static final int LEAF_PAIRS = 32;
+    
+    /** Names of the registered strategies */
+    private final List<String> names;
+    
+    /** Factories of the registered strategies */
+    private final List<Supplier<? extends PlayStrategy>> factories;
+    
+    /** Players seated at every table (3 to {@link GameEngine#MAX_PLAYERS}) */
+    private final int playersPerGame;
+    
+    /** Variants played, in grid order */
+    private GameVariant[] variants;
+    
+    /** Deck sizes played, in grid order (false = base, true = expansion) */
+    private boolean[] expansions;
+    
+    /** Worker pool size */
+    private int parallelism;
+    
+    /** Test deciding each pairing */
+    private Sprt sprt;
+    
+    /** Game pairs played per pairing between two tests */
+    private int batchPairs;
+    
+    /** Game pairs after which an open pairing stops undecided */
+    private long maxPairs;
+    
+    /**
+     * Creates a rating ladder for tables of the given size.
+     * By default every variant is played on both deck sizes using all cores.
+     * Pairings test 0 against 10 Elo at 5% error rates, in batches of 256
+     * pairs, up to 50,000 pairs.
+     * 
+     * @param playersPerGame Players seated at every table (3 to {@link GameEngine#MAX_PLAYERS})
+     */
+    public RatingLadder(int playersPerGame) {
+        if (playersPerGame < GameEngine.MIN_PLAYERS || playersPerGame > GameEngine.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Unsupported table size: " + playersPerGame);
+        }
+        this.playersPerGame = playersPerGame;
+        this.names = new ArrayList<>();
+        this.factories = new ArrayList<>();
+        this.variants = GameVariant.values();
+        this.expansions = new boolean[] {false, true};
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+        this.sprt = new Sprt(0, 10, 0.05, 0.05);
+        this.batchPairs = 256;
+        this.maxPairs = 50_000;
+    }
+
+    /**
+     * Registers a strategy.
+     * The factory is called once per seat by every worker, so each
+     * instance is only ever used by one thread.
+     * 
+     * @param name Display name of the strategy
+     * @param factory Creates new instances of the strategy
+     * @return This ladder
+     */
+    public RatingLadder register(String name, Supplier<? extends PlayStrategy> factory) {
+        names.add(name);
+        factories.add(factory);
+        return this;
+    }
+
+    /**
+     * Restricts the variants played.
+     * 
+     * @param variants Variants to play
+     * @return This ladder
+     */
+    public RatingLadder setVariants(GameVariant... variants) {
+        this.variants = variants.clone();
+        return this;
+    }
+
+    /**
+     * Restricts the deck sizes played.
+     * 
+     * @param expansions Deck sizes to play (false = base, true = expansion)
+     * @return This ladder
+     */
+    public RatingLadder setExpansions(boolean... expansions) {
+        this.expansions = expansions.clone();
+        return this;
+    }
+
+    /**
+     * Sets the number of worker threads.
+     * 
+     * @param parallelism Number of workers (at least 1)
+     * @return This ladder
+     */
+    public RatingLadder setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        return this;
+    }
+
+    /**
+     * Sets the test deciding each pairing.
+     * 
+     * @param sprt The test
+     * @return This ladder
+     */
+    public RatingLadder setSprt(Sprt sprt) {
+        this.sprt = sprt;
+        return this;
+    }
+
+    /**
+     * Sets how many game pairs each open pairing plays between two tests.
+     * Smaller batches stop closer to the boundary but parallelize less.
+     * 
+     * @param batchPairs Game pairs per batch (at least 1)
+     * @return This ladder
+     */
+    public RatingLadder setBatchPairs(int batchPairs) {
+        this.batchPairs = Math.max(1, batchPairs);
+        return this;
+    }
+
+    /**
+     * Sets the number of game pairs after which an open pairing stops undecided.
+     * 
+     * @param maxPairs Maximum game pairs per pairing (at least 1)
+     * @return This ladder
+     */
+    public RatingLadder setMaxPairs(long maxPairs) {
+        this.maxPairs = Math.max(1, maxPairs);
+        return this;
+    }
+
+    /**
+     * Plays every pairing until its test is conclusive or its game budget
+     * runs out, then fits the ratings.
+     * 
+     * @param seed Base seed of the ladder
+     * @return Ratings and pairings
+     */
+    public RatingResult run(long seed) {
+        if (names.size() < 2) {
+            throw new IllegalStateException("At least two strategies must be registered");
+        }
+        
+        List<String> strategyNames = Collections.unmodifiableList(new ArrayList<>(names));
+        List<PairingResult> pairings = new ArrayList<>();
+        for (int a = 0; a < names.size(); a++) {
+            for (int b = a + 1; b < names.size(); b++) {
+                pairings.add(new PairingResult(a, b, sprt));
+            }
+        }
+        
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long start = System.nanoTime();
+        try {
+            List<PairRange> batch = new ArrayList<>();
+            do {
+                batch.clear();
+                for (int p = 0; p < pairings.size(); p++) {
+                    PairingResult pairing = pairings.get(p);
+                    long played = pairing.getPairs();
+                    if (pairing.getDecision() == Sprt.Decision.CONTINUE && played < maxPairs) {
+                        long to = Math.min(maxPairs, played + batchPairs);
+                        PairRange range = new PairRange(pairing, played, to, TournamentRunner.gameSeed(seed, p));
+                        pool.execute(range);
+                        batch.add(range);
+                    }
+                }
+                for (PairRange range : batch) {
+                    range.pairing.merge(range.join());
+                }
+            } while (!batch.isEmpty());
+            return new RatingResult(strategyNames, pairings, System.nanoTime() - start);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Fork/join task over a range of game pairs of one pairing.
+     */
+    private class PairRange extends RecursiveTask<PairingResult> {
+        private static final long serialVersionUID = 1L;
+        
+        /** The pairing played */
+        private final PairingResult pairing;
+        
+        /** First pair number (inclusive) */
+        private final long from;
+        
+        /** Last pair number (exclusive) */
+        private final long to;
+        
+        /** Seed of the pairing */
+        private final long seed;
+        
+        PairRange(PairingResult pairing, long from, long to, long seed) {
+            this.pairing = pairing;
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+        }
+        
+        @Override
+        protected PairingResult compute() {
+            if (to - from <= LEAF_PAIRS) {
+                return playRange();
+            }
+            long mid = (from + to) >>> 1;
+            PairRange left = new PairRange(pairing, from, mid, seed);
+            PairRange right = new PairRange(pairing, mid, to, seed);
+            left.fork();
+            PairingResult result = right.compute();
+            return result.merge(left.join());
+        }
+        
+        /**
+         * Plays every game pair of the range on the current thread.
+         * 
+         * @return Result of the range
+         */
+        private PairingResult playRange() {
+            int settings = variants.length * expansions.length;
+            int[] strategies = {pairing.getStrategyA(), pairing.getStrategyB()};
+            PairingResult result = new PairingResult(strategies[0], strategies[1], pairing.getSprt());
+            GameEngine engine = new GameEngine();
+            PlayStrategy[][] instances = new PlayStrategy[2][playersPerGame];
+            List<PlayStrategy> roster = new ArrayList<>(Arrays.asList(new PlayStrategy[playersPerGame]));
+            
+            for (long k = from; k < to; k++) {
+                int setting = (int) (k % settings);
+                long gameSeed = TournamentRunner.gameSeed(seed, k);
+                int winsA = 0;
+                
+                for (int swap = 0; swap < 2; swap++) {
+                    for (int seat = 0; seat < playersPerGame; seat++) {
+                        int side = (seat + swap) % 2;
+                        if (instances[side][seat] == null) {
+                            instances[side][seat] = factories.get(strategies[side]).get();
+                        }
+                        roster.set(seat, instances[side][seat]);
+                    }
+                    
+                    GameResult game = engine.play(roster, expansions[setting % expansions.length],
+                        variants[setting / expansions.length], gameSeed);
+                    
+                    if ((game.getWinnerSeat() + swap) % 2 == 0) {
+                        winsA++;
+                    }
+                }
+                result.recordPair(winsA);
+            }
+            return result;
+        }
+    }
+}
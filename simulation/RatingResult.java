@@ -0,0 +1,219 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a rating ladder: every head-to-head pairing and one rating
+ * per strategy.
+ * 
+ * <p>Ratings are a Bradley-Terry fit of all games of all pairings, on the
+ * Elo scale and centered on 0, so strategies that never met directly are
+ * still placed on one ladder. Each pairing contributes half a win to both
+ * sides as a prior, which keeps the fit finite when a strategy won or lost
+ * every game. The 95% intervals come from the Fisher information of the
+ * fit and treat games as independent, so they are slightly wide for the
+ * seat-swapped pairs actually played.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class RatingResult {
+    /** Two-sided 95% normal quantile */
+    private static final double Z_95 = 1.959964;
+    
+    /** Elo points per natural-log unit of strength */
+    private static final double ELO_PER_NAT = 400.0 / Math.log(10.0);
+    
+    /** Iterations of the Bradley-Terry fit */
+    private static final int FIT_ITERATIONS = 500;
+    
+    /** Prior wins given to each side of a pairing */
+    private static final double PRIOR_WINS = 0.5;
+    
+    /** Names of the strategies, in registration order */
+    private final List<String> strategyNames;
+    
+    /** Every pairing, in the order played */
+    private final List<PairingResult> pairings;
+    
+    /** Rating per strategy */
+    private final double[] ratings;
+    
+    /** Half-width of the 95% interval per rating */
+    private final double[] errors;
+    
+    /** Wall-clock duration of the ladder in nanoseconds */
+    private final long elapsedNanos;
+    
+    /**
+     * Creates a result and fits the ratings.
+     * 
+     * @param strategyNames Names of the strategies, in registration order
+     * @param pairings Every pairing
+     * @param elapsedNanos Wall-clock duration in nanoseconds
+     */
+    RatingResult(List<String> strategyNames, List<PairingResult> pairings, long elapsedNanos) {
+        this.strategyNames = strategyNames;
+        this.pairings = Collections.unmodifiableList(new ArrayList<>(pairings));
+        this.elapsedNanos = elapsedNanos;
+        this.ratings = new double[strategyNames.size()];
+        this.errors = new double[strategyNames.size()];
+        fit();
+    }
+
+    /**
+     * Fits Bradley-Terry strengths with the minorization-maximization
+     * iteration, then derives ratings and intervals.
+     */
+    private void fit() {
+        int count = ratings.length;
+        double[][] games = new double[count][count];
+        double[] wins = new double[count];
+        for (PairingResult pairing : pairings) {
+            int a = pairing.getStrategyA();
+            int b = pairing.getStrategyB();
+            games[a][b] += pairing.getGames() + 2 * PRIOR_WINS;
+            games[b][a] += pairing.getGames() + 2 * PRIOR_WINS;
+            wins[a] += pairing.getWinsA() + PRIOR_WINS;
+            wins[b] += pairing.getWinsB() + PRIOR_WINS;
+        }
+        
+        double[] strength = new double[count];
+        Arrays.fill(strength, 1.0);
+        for (int iteration = 0; iteration < FIT_ITERATIONS; iteration++) {
+            double logSum = 0;
+            for (int i = 0; i < count; i++) {
+                double denominator = 0;
+                for (int j = 0; j < count; j++) {
+                    if (games[i][j] > 0) {
+                        denominator += games[i][j] / (strength[i] + strength[j]);
+                    }
+                }
+                if (denominator > 0) {
+                    strength[i] = wins[i] / denominator;
+                }
+                logSum += Math.log(strength[i]);
+            }
+            double scale = Math.exp(logSum / count);
+            for (int i = 0; i < count; i++) {
+                strength[i] /= scale;
+            }
+        }
+        
+        for (int i = 0; i < count; i++) {
+            double information = 0;
+            for (int j = 0; j < count; j++) {
+                double p = strength[i] / (strength[i] + strength[j]);
+                information += games[i][j] * p * (1 - p);
+            }
+            ratings[i] = ELO_PER_NAT * Math.log(strength[i]);
+            errors[i] = (information > 0) ? Z_95 * ELO_PER_NAT / Math.sqrt(information) : Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Gets the strategy names, in registration order.
+     * 
+     * @return List of names
+     */
+    public List<String> getStrategyNames() {
+        return strategyNames;
+    }
+
+    /**
+     * Gets every pairing, in the order played.
+     * 
+     * @return List of pairings
+     */
+    public List<PairingResult> getPairings() {
+        return pairings;
+    }
+
+    /**
+     * Gets the pairing of two strategies.
+     * 
+     * @param strategyA Index of one strategy
+     * @param strategyB Index of the other strategy
+     * @return The pairing, or null if they were not paired
+     */
+    public PairingResult getPairing(int strategyA, int strategyB) {
+        for (PairingResult pairing : pairings) {
+            if ((pairing.getStrategyA() == strategyA && pairing.getStrategyB() == strategyB)
+                || (pairing.getStrategyA() == strategyB && pairing.getStrategyB() == strategyA)) {
+                return pairing;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the rating of a strategy.
+     * 
+     * @param strategy Strategy index
+     * @return Elo rating, the ladder averaging 0
+     */
+    public double getRating(int strategy) {
+        return ratings[strategy];
+    }
+
+    /**
+     * Gets the half-width of the 95% confidence interval of a rating.
+     * 
+     * @param strategy Strategy index
+     * @return Elo margin
+     */
+    public double getRatingError(int strategy) {
+        return errors[strategy];
+    }
+
+    /**
+     * Gets the number of games played over all pairings.
+     * 
+     * @return Number of games
+     */
+    public long getGames() {
+        long games = 0;
+        for (PairingResult pairing : pairings) {
+            games += pairing.getGames();
+        }
+        return games;
+    }
+
+    /**
+     * Gets the wall-clock duration of the ladder.
+     * 
+     * @return Duration in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the ladder, strongest first, followed by every pairing.
+     * 
+     * @return Summary text
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%d games in %.2f s%n", getGames(), elapsedNanos / 1_000_000_000.0));
+        List<Integer> order = new ArrayList<>();
+        for (int s = 0; s < ratings.length; s++) {
+            order.add(s);
+        }
+        order.sort((a, b) -> Double.compare(ratings[b], ratings[a]));
+        for (int s : order) {
+            sb.append(String.format("  %-20s rating=%+.1f +/- %.1f%n", strategyNames.get(s), ratings[s], errors[s]));
+        }
+        for (PairingResult pairing : pairings) {
+            sb.append(String.format("  %s vs %s: games=%d wins=%d-%d elo=%+.1f [%+.1f, %+.1f] llr=%.2f %s%n",
+                strategyNames.get(pairing.getStrategyA()), strategyNames.get(pairing.getStrategyB()),
+                pairing.getGames(), pairing.getWinsA(), pairing.getWinsB(), pairing.getElo(),
+                pairing.getEloLow(), pairing.getEloHigh(), pairing.getLlr(), pairing.getDecision()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,190 @@
+package simulation;
+
+/**
+ * Sequential probability ratio test on the Elo difference between two strategies.
+ * 
+ * <p>The test weighs H0 "the difference is {@code elo0}" against H1 "the
+ * difference is {@code elo1}" after every batch of games and stops as soon
+ * as the log-likelihood ratio leaves the interval set by the error rates
+ * {@code alpha} (accepting H1 when H0 holds) and {@code beta} (accepting H0
+ * when H1 holds). The ratio uses the usual normal approximation of the
+ * generalized SPRT: it only needs the number of samples and their mean and
+ * variance, so it works for any bounded per-sample score.</p>
+ * 
+ * <p>Instances are immutable.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public final class Sprt {
+    /**
+     * Outcome of a test so far.
+     */
+    public enum Decision {
+        /** The difference is no larger than elo0 */
+        ACCEPT_H0,
+        /** The difference is at least elo1 */
+        ACCEPT_H1,
+        /** Not conclusive yet */
+        CONTINUE
+    }
+
+    /** Elo difference under H0 */
+    private final double elo0;
+    
+    /** Elo difference under H1 */
+    private final double elo1;
+    
+    /** Probability of accepting H1 when H0 holds */
+    private final double alpha;
+    
+    /** Probability of accepting H0 when H1 holds */
+    private final double beta;
+    
+    /** Log-likelihood ratio at or below which H0 is accepted */
+    private final double lowerBound;
+    
+    /** Log-likelihood ratio at or above which H1 is accepted */
+    private final double upperBound;
+    
+    /**
+     * Creates a test.
+     * 
+     * @param elo0 Elo difference under H0
+     * @param elo1 Elo difference under H1 (greater than elo0)
+     * @param alpha Probability of accepting H1 when H0 holds (0 to 1, exclusive)
+     * @param beta Probability of accepting H0 when H1 holds (0 to 1, exclusive)
+     * @throws IllegalArgumentException if the bounds or error rates are invalid
+     */
+    public Sprt(double elo0, double elo1, double alpha, double beta) {
+        if (!(elo1 > elo0)) {
+            throw new IllegalArgumentException("elo1 must be greater than elo0");
+        }
+        if (!(alpha > 0 && alpha < 1 && beta > 0 && beta < 1)) {
+            throw new IllegalArgumentException("Error rates must be between 0 and 1");
+        }
+        this.elo0 = elo0;
+        this.elo1 = elo1;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.lowerBound = Math.log(beta / (1 - alpha));
+        this.upperBound = Math.log((1 - beta) / alpha);
+    }
+
+    /**
+     * Computes the log-likelihood ratio of H1 against H0.
+     * 
+     * @param samples Number of samples
+     * @param mean Mean score per sample (0 to 1)
+     * @param variance Variance of the score per sample
+     * @return The log-likelihood ratio, or 0 without usable samples
+     */
+    public double llr(double samples, double mean, double variance) {
+        if (samples <= 0 || variance <= 0) {
+            return 0.0;
+        }
+        double score0 = eloToScore(elo0);
+        double score1 = eloToScore(elo1);
+        return samples * (score1 - score0) * (2 * mean - score0 - score1) / (2 * variance);
+    }
+
+    /**
+     * Decides the test from a log-likelihood ratio.
+     * 
+     * @param llr The log-likelihood ratio
+     * @return The decision
+     */
+    public Decision decide(double llr) {
+        if (llr >= upperBound) {
+            return Decision.ACCEPT_H1;
+        }
+        if (llr <= lowerBound) {
+            return Decision.ACCEPT_H0;
+        }
+        return Decision.CONTINUE;
+    }
+
+    /**
+     * Converts an Elo difference to the expected score of the stronger side.
+     * 
+     * @param elo Elo difference
+     * @return Expected score (0 to 1)
+     */
+    public static double eloToScore(double elo) {
+        return 1.0 / (1.0 + Math.pow(10.0, -elo / 400.0));
+    }
+
+    /**
+     * Converts an expected score to an Elo difference.
+     * 
+     * @param score Expected score (0 to 1)
+     * @return Elo difference, infinite for a score of 0 or 1
+     */
+    public static double scoreToElo(double score) {
+        return -400.0 * Math.log10(1.0 / score - 1.0);
+    }
+
+    /**
+     * Gets the Elo difference under H0.
+     * 
+     * @return elo0
+     */
+    public double getElo0() {
+        return elo0;
+    }
+
+    /**
+     * Gets the Elo difference under H1.
+     * 
+     * @return elo1
+     */
+    public double getElo1() {
+        return elo1;
+    }
+
+    /**
+     * Gets the probability of accepting H1 when H0 holds.
+     * 
+     * @return alpha
+     */
+    public double getAlpha() {
+        return alpha;
+    }
+
+    /**
+     * Gets the probability of accepting H0 when H1 holds.
+     * 
+     * @return beta
+     */
+    public double getBeta() {
+        return beta;
+    }
+
+    /**
+     * Gets the log-likelihood ratio at or below which H0 is accepted.
+     * 
+     * @return Lower bound
+     */
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Gets the log-likelihood ratio at or above which H1 is accepted.
+     * 
+     * @return Upper bound
+     */
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * Returns the parameters of the test.
+     * 
+     * @return e.g. "SPRT(elo0=0.0, elo1=10.0, alpha=0.05, beta=0.05)"
+     */
+    @Override
+    public String toString() {
+        return "SPRT(elo0=" + elo0 + ", elo1=" + elo1 + ", alpha=" + alpha + ", beta=" + beta + ")";
+    }
+}
@@ -0,0 +1,223 @@
+package simulation;
+
+import java.util.List;
+
+/**
+ * Aggregated outcome of a self-play tournament.
+ * Holds, for every registered strategy, how many seats it played, how many
+ * games it won, its score total and a histogram of its final scores.
+ * 
+ * <p>A strategy may fill several seats of the same game, so all rates are
+ * per seat: a strategy that is exactly as strong as its opponents at a
+ * 4-player table wins 25% of its seats.</p>
+ * 
+ * <p>Instances are filled by a single worker thread and combined with
+ * {@link #merge(TournamentResult)}, so no method is synchronized.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class TournamentResult {
+    /** Lowest score with its own histogram bucket; lower scores are clamped */
+    public static final int MIN_SCORE = -64;
+    
+    /** Highest score with its own histogram bucket; higher scores are clamped */
+    public static final int MAX_SCORE = 255;
+    
+    /** Names of the strategies, in registration order */
+    private final List<String> strategyNames;
+    
+    /** Seats played per strategy */
+    private final long[] seats;
+    
+    /** Games won per strategy */
+    private final long[] wins;
+    
+    /** Sum of final scores per strategy */
+    private final long[] scoreSums;
+    
+    /** Score histogram per strategy, indexed by score - MIN_SCORE */
+    private final long[][] histograms;
+    
+    /** Number of games played */
+    private long games;
+    
+    /** Wall-clock duration of the tournament in nanoseconds */
+    private long elapsedNanos;
+
+    /**
+     * Creates an empty result for the given strategies.
+     * 
+     * @param strategyNames Names of the strategies, in registration order
+     */
+    public TournamentResult(List<String> strategyNames) {
+        int count = strategyNames.size();
+        this.strategyNames = strategyNames;
+        this.seats = new long[count];
+        this.wins = new long[count];
+        this.scoreSums = new long[count];
+        this.histograms = new long[count][MAX_SCORE - MIN_SCORE + 1];
+    }
+
+    /**
+     * Records one seat of a finished game.
+     * 
+     * @param strategy Index of the strategy that played the seat
+     * @param score Final score of the seat
+     * @param won true if the seat won the game
+     */
+    void recordSeat(int strategy, int score, boolean won) {
+        seats[strategy]++;
+        scoreSums[strategy] += score;
+        if (won) {
+            wins[strategy]++;
+        }
+        int bucket = Math.max(MIN_SCORE, Math.min(MAX_SCORE, score)) - MIN_SCORE;
+        histograms[strategy][bucket]++;
+    }
+
+    /**
+     * Records that one more game was played.
+     */
+    void recordGame() {
+        games++;
+    }
+
+    /**
+     * Adds another partial result into this one.
+     * 
+     * @param other The result to merge (must cover the same strategies)
+     * @return This result
+     */
+    TournamentResult merge(TournamentResult other) {
+        for (int s = 0; s < seats.length; s++) {
+            seats[s] += other.seats[s];
+            wins[s] += other.wins[s];
+            scoreSums[s] += other.scoreSums[s];
+            long[] histogram = histograms[s];
+            long[] otherHistogram = other.histograms[s];
+            for (int b = 0; b < histogram.length; b++) {
+                histogram[b] += otherHistogram[b];
+            }
+        }
+        games += other.games;
+        return this;
+    }
+
+    /**
+     * Sets the wall-clock duration of the tournament.
+     * 
+     * @param elapsedNanos Duration in nanoseconds
+     */
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the strategy names, in registration order.
+     * 
+     * @return List of names
+     */
+    public List<String> getStrategyNames() {
+        return strategyNames;
+    }
+
+    /**
+     * Gets the number of games played.
+     * 
+     * @return Number of games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of seats a strategy played.
+     * 
+     * @param strategy Strategy index
+     * @return Number of seats
+     */
+    public long getSeats(int strategy) {
+        return seats[strategy];
+    }
+
+    /**
+     * Gets the number of games a strategy won.
+     * 
+     * @param strategy Strategy index
+     * @return Number of wins
+     */
+    public long getWins(int strategy) {
+        return wins[strategy];
+    }
+
+    /**
+     * Gets the win rate of a strategy per seat played.
+     * 
+     * @param strategy Strategy index
+     * @return Wins divided by seats, or 0 if it never played
+     */
+    public double getWinRate(int strategy) {
+        return seats[strategy] == 0 ? 0.0 : (double) wins[strategy] / seats[strategy];
+    }
+
+    /**
+     * Gets the mean final score of a strategy.
+     * 
+     * @param strategy Strategy index
+     * @return Mean score per seat, or 0 if it never played
+     */
+    public double getMeanScore(int strategy) {
+        return seats[strategy] == 0 ? 0.0 : (double) scoreSums[strategy] / seats[strategy];
+    }
+
+    /**
+     * Gets how often a strategy finished with a given score.
+     * Scores outside [MIN_SCORE, MAX_SCORE] are counted in the edge buckets.
+     * 
+     * @param strategy Strategy index
+     * @param score The final score
+     * @return Number of seats that finished with that score
+     */
+    public long getScoreCount(int strategy, int score) {
+        if (score < MIN_SCORE || score > MAX_SCORE) {
+            return 0;
+        }
+        return histograms[strategy][score - MIN_SCORE];
+    }
+
+    /**
+     * Gets the wall-clock duration of the tournament.
+     * 
+     * @return Duration in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the tournament throughput.
+     * 
+     * @return Games played per second of wall-clock time
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : games * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Returns a summary table of all strategies.
+     * 
+     * @return Summary text
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%d games in %.2f s (%.0f games/s)%n",
+            games, elapsedNanos / 1_000_000_000.0, getGamesPerSecond()));
+        for (int s = 0; s < seats.length; s++) {
+            sb.append(String.format("  %-20s seats=%d wins=%d winRate=%.4f meanScore=%.3f%n",
+                strategyNames.get(s), seats[s], wins[s], getWinRate(s), getMeanScore(s)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,239 @@
+package simulation;
+
+import base.GameEngine;
+import base.GameResult;
+import base.GameVariant;
+import strategy.PlayStrategy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Multi-core self-play tournament between registered strategies.
+ * 
+ * <p>Games are numbered and split into ranges on a work-stealing
+ * {@link ForkJoinPool}. Each leaf range gets its own {@link GameEngine},
+ * its own strategy instances and its own {@link TournamentResult}, so no
+ * state is shared and nothing is synchronized while games run. Partial
+ * results are merged as the tasks join.</p>
+ * 
+ * <p>Game {@code g} is played with the variant and deck size at index
+ * {@code g % settings} of the variant/expansion grid, and seat {@code s}
+ * is filled by strategy {@code (s + g / settings) % strategies}, so every
+ * strategy sees every setting and every seat equally often.</p>
+ * 
+ * <p>Each game is seeded from the tournament seed and its game number only,
+ * so a tournament gives the same result for any parallelism, and any single
+ * game can be replayed with {@link GameEngine}.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class TournamentRunner {
+    /** Number of games a task plays itself instead of splitting further */
+    private static final int LEAF_GAMES = 512;
+    
+    /** Names of the registered strategies */
+    private final List<String> names;
+    
+    /** Factories of the registered strategies */
+    private final List<Supplier<? extends PlayStrategy>> factories;
+    
+    /** Players seated at every table (3 to {@link GameEngine#MAX_PLAYERS}) */
+    private final int playersPerGame;
+    
+    /** Variants played, in grid order */
+    private GameVariant[] variants;
+    
+    /** Deck sizes played, in grid order (false = base, true = expansion) */
+    private boolean[] expansions;
+    
+    /** Worker pool size */
+    private int parallelism;
+
+    /**
+     * Creates a tournament runner for tables of the given size.
+     * By default every variant is played on both deck sizes using all cores.
+     * 
+     * @param playersPerGame Players seated at every table (3 to {@link GameEngine#MAX_PLAYERS})
+     */
+    public TournamentRunner(int playersPerGame) {
+        if (playersPerGame < GameEngine.MIN_PLAYERS || playersPerGame > GameEngine.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Unsupported table size: " + playersPerGame);
+        }
+        this.playersPerGame = playersPerGame;
+        this.names = new ArrayList<>();
+        this.factories = new ArrayList<>();
+        this.variants = GameVariant.values();
+        this.expansions = new boolean[] {false, true};
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Registers a strategy.
+     * The factory is called once per seat by every worker, so each
+     * instance is only ever used by one thread.
+     * 
+     * @param name Display name of the strategy
+     * @param factory Creates new instances of the strategy
+     * @return This runner
+     */
+    public TournamentRunner register(String name, Supplier<? extends PlayStrategy> factory) {
+        names.add(name);
+        factories.add(factory);
+        return this;
+    }
+
+    /**
+     * Restricts the variants played.
+     * 
+     * @param variants Variants to play
+     * @return This runner
+     */
+    public TournamentRunner setVariants(GameVariant... variants) {
+        this.variants = variants.clone();
+        return this;
+    }
+
+    /**
+     * Restricts the deck sizes played.
+     * 
+     * @param expansions Deck sizes to play (false = base, true = expansion)
+     * @return This runner
+     */
+    public TournamentRunner setExpansions(boolean... expansions) {
+        this.expansions = expansions.clone();
+        return this;
+    }
+
+    /**
+     * Sets the number of worker threads.
+     * 
+     * @param parallelism Number of workers (at least 1)
+     * @return This runner
+     */
+    public TournamentRunner setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        return this;
+    }
+
+    /**
+     * Plays a tournament and reduces all games into one result.
+     * 
+     * @param games Total number of games to play
+     * @param seed Base seed; game {@code g} is seeded from it and {@code g}
+     * @return Aggregated result
+     */
+    public TournamentResult run(long games, long seed) {
+        if (names.isEmpty()) {
+            throw new IllegalStateException("No strategies registered");
+        }
+
+        List<String> strategyNames = Collections.unmodifiableList(new ArrayList<>(names));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long start = System.nanoTime();
+        try {
+            TournamentResult result = pool.invoke(new GameRange(strategyNames, 0, games, seed));
+            result.setElapsedNanos(System.nanoTime() - start);
+            return result;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Derives the seed of one game from the tournament seed.
+     * 
+     * @param seed Tournament seed
+     * @param game Game number
+     * @return Seed of the game
+     */
+    static long gameSeed(long seed, long game) {
+        long z = seed + game * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Fork/join task over a range of game numbers.
+     */
+    private class GameRange extends RecursiveTask<TournamentResult> {
+        private static final long serialVersionUID = 1L;
+        
+        /** Names of the strategies */
+        private final List<String> strategyNames;
+        
+        /** First game number (inclusive) */
+        private final long from;
+        
+        /** Last game number (exclusive) */
+        private final long to;
+        
+        /** Tournament seed */
+        private final long seed;
+        
+        GameRange(List<String> strategyNames, long from, long to, long seed) {
+            this.strategyNames = strategyNames;
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+        }
+
+        @Override
+        protected TournamentResult compute() {
+            if (to - from <= LEAF_GAMES) {
+                return playRange();
+            }
+            long mid = (from + to) >>> 1;
+            GameRange left = new GameRange(strategyNames, from, mid, seed);
+            GameRange right = new GameRange(strategyNames, mid, to, seed);
+            left.fork();
+            TournamentResult result = right.compute();
+            return result.merge(left.join());
+        }
+
+        /**
+         * Plays every game of the range on the current thread.
+         * 
+         * @return Result of the range
+         */
+        private TournamentResult playRange() {
+            int strategyCount = factories.size();
+            int settings = variants.length * expansions.length;
+            TournamentResult result = new TournamentResult(strategyNames);
+            GameEngine engine = new GameEngine();
+            PlayStrategy[][] instances = new PlayStrategy[strategyCount][playersPerGame];
+            int[] seatStrategy = new int[playersPerGame];
+            List<PlayStrategy> roster = new ArrayList<>(Arrays.asList(new PlayStrategy[playersPerGame]));
+            
+            for (long g = from; g < to; g++) {
+                int setting = (int) (g % settings);
+                long rotation = g / settings;
+                
+                for (int seat = 0; seat < playersPerGame; seat++) {
+                    int s = (int) ((seat + rotation) % strategyCount);
+                    if (instances[s][seat] == null) {
+                        instances[s][seat] = factories.get(s).get();
+                    }
+                    seatStrategy[seat] = s;
+                    roster.set(seat, instances[s][seat]);
+                }
+
+                GameResult game = engine.play(roster, expansions[setting % expansions.length],
+                    variants[setting / expansions.length], gameSeed(seed, g));
+                
+                int winner = game.getWinnerSeat();
+                for (int seat = 0; seat < playersPerGame; seat++) {
+                    result.recordSeat(seatStrategy[seat], game.getScore(seat), seat == winner);
+                }
+                result.recordGame();
+            }
+            return result;
+        }
+    }
+}
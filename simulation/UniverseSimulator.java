@@ -0,0 +1,498 @@
+package simulation;
+
+import base.GameEngine;
+import base.GameRandom;
+import base.GameVariant;
+import card.CardSet;
+import card.CardUniverse;
+import trophy.UniverseTrophies;
+import visitor.UniverseScorer;
+import java.util.Arrays;
+
+/**
+ * Plays complete headless games in any {@link CardUniverse}.
+ * 
+ * <p>The game flow is the one of {@link base.Game} (trophies drawn from the
+ * deck, rounds of two cards per seat with the previous round's leftovers,
+ * the same taking order, leftovers collected when the deck runs out) and
+ * every seat plays one of the heuristics of
+ * {@link strategy.typestrategy.DefensiveStrategy} and
+ * {@link strategy.typestrategy.OffensiveStrategy}. Cards are plain ids and
+ * Jests are {@link CardSet}s scored by {@link UniverseScorer}, so a game of
+ * a 100-card universe costs about what a standard game costs per card.</p>
+ * 
+ * <p>Randomness is drawn exactly as {@link GameEngine#play(java.util.List,
+ * boolean, GameVariant, long)} draws it: in a standard universe a seed
+ * gives the same game as the engine with the same roster.</p>
+ * 
+ * <p>All state is reused between games; a simulator is not thread-safe,
+ * keep one per thread.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public final class UniverseSimulator {
+    /** Marks a missing card or seat */
+    private static final int NONE = -1;
+    
+    /**
+     * Play of a seat.
+     */
+    public enum Policy {
+        /** Shows the lower card and takes the lowest face-up card, like DefensiveStrategy */
+        DEFENSIVE,
+        /** Shows the higher card and takes the highest face-up card, like OffensiveStrategy */
+        OFFENSIVE
+    }
+
+    /** The universe played */
+    private final CardUniverse universe;
+    
+    /** Scorer of the universe */
+    private final UniverseScorer scorer;
+    
+    /** Trophy resolver of the universe */
+    private final UniverseTrophies trophyRules;
+    
+    /** Game variant */
+    private final GameVariant variant;
+    
+    /** Policy per seat */
+    private final Policy[] policies;
+    
+    /** Number of seats */
+    private final int players;
+    
+    /** Cards of the deck, the top card last */
+    private final int[] deck;
+    
+    /** Number of cards left in the deck */
+    private int deckSize;
+    
+    /** Cards of the round being dealt */
+    private final int[] roundCards;
+    
+    /** Cards left on the table by the last round, in seat order */
+    private final int[] leftovers;
+    
+    /** Number of leftovers */
+    private int leftoverCount;
+    
+    /** Trophy cards, in drawing order */
+    private final int[] trophyCards;
+    
+    /** Number of trophy cards */
+    private int trophyCount;
+    
+    /** Face-up card per seat, or NONE */
+    private final int[] faceUp;
+    
+    /** Face-down card per seat, or NONE */
+    private final int[] faceDown;
+    
+    /** Seats that made an offer this round, one bit per seat */
+    private long offered;
+    
+    /** Seats that took this round, one bit per seat */
+    private long taken;
+    
+    /** Number of seats that took this round */
+    private int takenCount;
+    
+    /** Seats showing a face-up card, highest first */
+    private final int[] turnOrder;
+    
+    /** Number of seats in the turn order */
+    private int turnOrderSize;
+    
+    /** Position before which every seat in the turn order has taken or lost its face-up card */
+    private int turnCursor;
+    
+    /** Sort keys of the turn order */
+    private final long[] turnKeys;
+    
+    /** Seats whose offers can be taken by the current seat */
+    private final int[] available;
+    
+    /** Jest per seat */
+    private final CardSet[] jests;
+    
+    /** Cards of each Jest added before its Joker */
+    private final CardSet[] beforeJoker;
+    
+    /** Final score per seat */
+    private final int[] scores;
+    
+    /** Random source of the current game */
+    private GameRandom random;
+    
+    /** Random source per seat of the current game */
+    private final GameRandom[] seatRandoms;
+    
+    /** No Mercy threshold of the current game */
+    private int threshold;
+    
+    /**
+     * Creates a simulator for a table.
+     * 
+     * @param universe The universe to play
+     * @param variant The game variant
+     * @param policies One policy per seat, in seat order
+     * @throws IllegalArgumentException if the table size is not supported or
+     *         the universe has too few cards for one round
+     */
+    public UniverseSimulator(CardUniverse universe, GameVariant variant, Policy... policies) {
+        this.players = policies.length;
+        if (players < GameEngine.MIN_PLAYERS || players > GameEngine.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Table must have " + GameEngine.MIN_PLAYERS + " to " +
+                GameEngine.MAX_PLAYERS + " seats, got " + players);
+        }
+        if (universe.size() < players * 2 + ((players == 3) ? 2 : 1)) {
+            throw new IllegalArgumentException(universe + " has too few cards for " + players + " seats");
+        }
+        this.universe = universe;
+        this.scorer = new UniverseScorer(universe);
+        this.trophyRules = new UniverseTrophies(universe);
+        this.variant = variant;
+        this.policies = policies.clone();
+        this.deck = new int[universe.size()];
+        this.roundCards = new int[players * 2];
+        this.leftovers = new int[players];
+        this.trophyCards = new int[2];
+        this.faceUp = new int[players];
+        this.faceDown = new int[players];
+        this.turnOrder = new int[players];
+        this.turnKeys = new long[players];
+        this.available = new int[players];
+        this.jests = new CardSet[players];
+        this.beforeJoker = new CardSet[players];
+        this.scores = new int[players];
+        this.seatRandoms = new GameRandom[players];
+        for (int seat = 0; seat < players; seat++) {
+            jests[seat] = universe.newSet();
+            beforeJoker[seat] = universe.newSet();
+        }
+    }
+
+    /**
+     * Plays one complete game.
+     * 
+     * @param seed Seed for the No Mercy threshold, every shuffle and every seat's random choices
+     * @return Seat of the winner (highest score, earliest seat on ties)
+     */
+    public int play(long seed) {
+        random = new GameRandom(seed);
+        GameRandom variantRandom = random.split();
+        threshold = (variant == GameVariant.NO_MERCY) ? 7 + variantRandom.nextInt(4) : 0;
+        for (int seat = 0; seat < players; seat++) {
+            seatRandoms[seat] = random.split();
+            jests[seat].clear();
+            beforeJoker[seat].clear();
+        }
+        
+        deckSize = universe.size();
+        for (int id = 0; id < deckSize; id++) {
+            deck[id] = id;
+        }
+        shuffle(deck, deckSize);
+        trophyCount = 0;
+        if (variant != GameVariant.GO_ALL_OUT) {
+            int count = (players == 3) ? 2 : 1;
+            for (int i = 0; i < count && deckSize > 0; i++) {
+                trophyCards[trophyCount++] = deck[--deckSize];
+            }
+        }
+        
+        leftoverCount = 0;
+        while (deckSize + leftoverCount >= players * 2) {
+            playRound();
+        }
+        
+        for (int i = 0; i < trophyCount; i++) {
+            int winner = trophyRules.winnerSeat(trophyCards[i], jests);
+            if (winner >= 0) {
+                addToJest(winner, trophyCards[i]);
+            }
+        }
+        
+        int winner = 0;
+        for (int seat = 0; seat < players; seat++) {
+            scores[seat] = scorer.score(jests[seat], beforeJoker[seat], variant, threshold);
+            if (scores[seat] > scores[winner]) {
+                winner = seat;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Plays one round: deals, makes the offers, takes the cards and keeps
+     * the leftovers, collecting them if the deck ran out.
+     */
+    private void playRound() {
+        int count = 0;
+        for (int i = 0; i < leftoverCount; i++) {
+            roundCards[count++] = leftovers[i];
+        }
+        leftoverCount = 0;
+        while (count < players * 2 && deckSize > 0) {
+            roundCards[count++] = deck[--deckSize];
+        }
+        shuffle(roundCards, count);
+        
+        offered = 0;
+        for (int seat = 0; seat < players; seat++) {
+            faceUp[seat] = NONE;
+            faceDown[seat] = NONE;
+            if (count >= seat * 2 + 2) {
+                makeOffer(seat, roundCards[seat * 2], roundCards[seat * 2 + 1]);
+            }
+        }
+        takeOffers();
+        
+        for (int seat = 0; seat < players; seat++) {
+            if ((offered & (1L << seat)) == 0) {
+                continue;
+            }
+            int remaining = (faceUp[seat] != NONE) ? faceUp[seat] : faceDown[seat];
+            if (remaining != NONE) {
+                leftovers[leftoverCount++] = remaining;
+            }
+        }
+        if (deckSize == 0) {
+            for (int seat = 0; seat < players; seat++) {
+                if ((offered & (1L << seat)) == 0) {
+                    continue;
+                }
+                int remaining = (faceUp[seat] != NONE) ? faceUp[seat] : faceDown[seat];
+                if (remaining != NONE) {
+                    addToJest(seat, remaining);
+                }
+            }
+            leftoverCount = 0;
+        }
+    }
+
+    /**
+     * Makes a seat's offer from its two cards.
+     * 
+     * @param seat The seat
+     * @param first First card dealt
+     * @param second Second card dealt
+     */
+    private void makeOffer(int seat, int first, int second) {
+        int firstValue = universe.valueOf(first);
+        int secondValue = universe.valueOf(second);
+        boolean showSecond = (policies[seat] == Policy.DEFENSIVE)
+            ? firstValue > secondValue
+            : firstValue < secondValue;
+        faceUp[seat] = showSecond ? second : first;
+        faceDown[seat] = showSecond ? first : second;
+        offered |= 1L << seat;
+    }
+
+    /**
+     * Takes one card per seat, in the taking order of {@link base.Round}.
+     */
+    private void takeOffers() {
+        taken = 0;
+        takenCount = 0;
+        sortTurnOrder();
+        int seat = NONE;
+        for (int i = 0; i < turnOrderSize; i++) {
+            if (isComplete(turnOrder[i])) {
+                seat = turnOrder[i];
+                break;
+            }
+        }
+        
+        while (takenCount < players && seat != NONE) {
+            int count = availableOffersFor(seat);
+            if (count == 0) {
+                markTaken(seat);
+                seat = findNextSeat(NONE);
+                continue;
+            }
+            int target = (count == 1) ? available[0] : selectOffer(seat, count);
+            
+            // Both heuristics take the face-up card
+            addToJest(seat, faceUp[target]);
+            faceUp[target] = NONE;
+            markTaken(seat);
+            seat = findNextSeat(target);
+        }
+    }
+
+    /**
+     * Chooses the offer a seat takes from.
+     * 
+     * @param seat The taking seat
+     * @param count Number of available offers
+     * @return Seat of the chosen offer
+     */
+    private int selectOffer(int seat, int count) {
+        boolean lowest = policies[seat] == Policy.DEFENSIVE;
+        int best = NONE;
+        int bestValue = lowest ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int value = universe.valueOf(faceUp[available[i]]);
+            if (lowest ? value < bestValue : value > bestValue) {
+                bestValue = value;
+                best = available[i];
+            }
+        }
+        return (best != NONE) ? best : available[seatRandoms[seat].nextInt(count)];
+    }
+
+    /**
+     * Lists the offers a seat may take from: other seats' complete offers,
+     * or its own when it is the last to take and its offer is the only complete one.
+     * 
+     * @param seat The taking seat
+     * @return Number of seats written to {@link #available}
+     */
+    private int availableOffersFor(int seat) {
+        int count = 0;
+        int complete = 0;
+        for (int other = 0; other < players; other++) {
+            if (isComplete(other)) {
+                complete++;
+                if (other != seat) {
+                    available[count++] = other;
+                }
+            }
+        }
+        if (count == 0 && complete == 1 && takenCount == players - 1) {
+            available[count++] = seat;
+        }
+        return count;
+    }
+
+    /**
+     * Finds the next seat to take: the owner of the offer just taken from if
+     * it has not taken yet, otherwise the highest face-up card among the rest.
+     * 
+     * @param owner Seat whose offer was just taken from, or NONE
+     * @return The seat, or NONE
+     */
+    private int findNextSeat(int owner) {
+        if (owner != NONE && (taken & (1L << owner)) == 0) {
+            return owner;
+        }
+        while (turnCursor < turnOrderSize) {
+            int seat = turnOrder[turnCursor];
+            if ((taken & (1L << seat)) == 0 && faceUp[seat] != NONE) {
+                return seat;
+            }
+            turnCursor++;
+        }
+        return NONE;
+    }
+
+    /**
+     * Sorts the seats showing a face-up card by that card, highest value
+     * first, then strongest suit, then earliest seat.
+     */
+    private void sortTurnOrder() {
+        turnOrderSize = 0;
+        for (int seat = 0; seat < players; seat++) {
+            if (faceUp[seat] != NONE) {
+                turnKeys[turnOrderSize++] = ((long) universe.rankOf(faceUp[seat]) << 32)
+                    | (Integer.MAX_VALUE - seat);
+            }
+        }
+        Arrays.sort(turnKeys, 0, turnOrderSize);
+        for (int i = 0; i < turnOrderSize; i++) {
+            turnOrder[i] = Integer.MAX_VALUE - (int) turnKeys[turnOrderSize - 1 - i];
+        }
+        turnCursor = 0;
+    }
+
+    /**
+     * Checks whether a seat's offer still holds both cards.
+     * 
+     * @param seat The seat
+     * @return true if the offer is complete
+     */
+    private boolean isComplete(int seat) {
+        return faceUp[seat] != NONE && faceDown[seat] != NONE;
+    }
+
+    /**
+     * Records that a seat took (or was skipped) this round.
+     * 
+     * @param seat The seat
+     */
+    private void markTaken(int seat) {
+        taken |= 1L << seat;
+        takenCount++;
+    }
+
+    /**
+     * Adds a card to a seat's Jest, remembering what came before the Joker.
+     * 
+     * @param seat The seat
+     * @param id The card
+     */
+    private void addToJest(int seat, int id) {
+        if (id == universe.jokerId()) {
+            beforeJoker[seat].copyFrom(jests[seat]);
+        }
+        jests[seat].add(id);
+    }
+
+    /**
+     * Shuffles the first cards of an array the way
+     * {@link java.util.Collections#shuffle(java.util.List, java.util.Random)} does.
+     * 
+     * @param cards The cards
+     * @param count Number of cards to shuffle
+     */
+    private void shuffle(int[] cards, int count) {
+        for (int i = count; i > 1; i--) {
+            int j = random.nextInt(i);
+            int swap = cards[i - 1];
+            cards[i - 1] = cards[j];
+            cards[j] = swap;
+        }
+    }
+
+    /**
+     * Gets the number of seats.
+     * 
+     * @return Number of seats
+     */
+    public int getPlayerCount() {
+        return players;
+    }
+
+    /**
+     * Gets a seat's final score in the last game played.
+     * 
+     * @param seat The seat
+     * @return The score
+     */
+    public int getScore(int seat) {
+        return scores[seat];
+    }
+
+    /**
+     * Gets a seat's Jest at the end of the last game played.
+     * The set is reused by the next game.
+     * 
+     * @param seat The seat
+     * @return The Jest
+     */
+    public CardSet getJest(int seat) {
+        return jests[seat];
+    }
+
+    /**
+     * Gets the universe played.
+     * 
+     * @return The universe
+     */
+    public CardUniverse getUniverse() {
+        return universe;
+    }
+}
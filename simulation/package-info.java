@@ -0,0 +1,18 @@
+/**
+ * Bulk simulation tools for evaluating AI strategies.
+ * 
+ * <p>This package runs many headless games on top of {@link base.GameEngine}:</p>
+ * <ul>
+ *   <li>{@link simulation.TournamentRunner} - Multi-core self-play tournament</li>
+ *   <li>{@link simulation.TournamentResult} - Per-strategy win rates, scores and histograms</li>
+ *   <li>{@link simulation.RatingLadder} - Head-to-head rating with early stopping</li>
+ *   <li>{@link simulation.RatingResult} - Ladder ratings with confidence intervals</li>
+ *   <li>{@link simulation.PairingResult} - Head-to-head record and test state of two strategies</li>
+ *   <li>{@link simulation.Sprt} - Sequential probability ratio test on Elo differences</li>
+ *   <li>{@link simulation.UniverseSimulator} - Headless games in custom card universes</li>
+ * </ul>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+package simulation;
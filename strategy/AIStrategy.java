@@ -1,7 +1,9 @@
 package strategy;
 
+import base.GameRandom;
 import base.Offer;
 import base.Player;
+import base.TableView;
 import java.util.List;
 import java.util.Random;
 
@@ -15,12 +17,53 @@ import java.util.Random;
 public abstract class AIStrategy implements PlayStrategy {
     /** Random number generator for decisions */
     protected Random random;
+    
+    /** View of the game being played, or null if not seated in a game */
+    protected TableView table;
 
     /**
-     * Creates an AI strategy with a random generator.
+     * Creates an AI strategy with an unseeded random generator.
      */
     public AIStrategy() {
-        this.random = new Random();
+        this(new GameRandom());
+    }
+
+    /**
+     * Creates an AI strategy that draws its decisions from the given source.
+     * 
+     * @param random Random source for decisions (one per thread)
+     */
+    public AIStrategy(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Replaces the random source, e.g. with a stream split from a game seed
+     * so the strategy's decisions can be replayed.
+     * 
+     * @param random Random source for decisions (one per thread)
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Gets the random source of this strategy.
+     * 
+     * @return Random source for decisions
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Gives the strategy a view of the game it is about to play.
+     * Called by {@link base.Game} when the game starts.
+     * 
+     * @param table View of the game
+     */
+    public void setTable(TableView table) {
+        this.table = table;
     }
 
     /**
@@ -2,23 +2,37 @@ package strategy;
 
 import base.Offer;
 import base.Player;
-import base.InputHandler;
+import base.ConsoleChannel;
+import base.SeatChannel;
 import java.util.List;
 
 /**
- * Strategy for human players using console input.
- * Prompts the user for decisions and reads their choices.
- * Uses shared InputHandler to avoid Scanner conflicts.
+ * Strategy for human players.
+ * Prompts the user for decisions and reads their choices through the
+ * seat's {@link SeatChannel}: the console by default, or a per-seat
+ * channel when many tables share one JVM.
  * 
  * @author Hazri and Sophea
  * @version 1.0
  */
 public class HumanStrategy implements PlayStrategy {
+    /** Where prompts are written and choices read */
+    private final SeatChannel channel;
 
     /**
-     * Creates a new human strategy.
+     * Creates a new human strategy playing at the console.
      */
     public HumanStrategy() {
+        this(ConsoleChannel.INSTANCE);
+    }
+
+    /**
+     * Creates a new human strategy playing through a seat channel.
+     * 
+     * @param channel The seat's input/output channel
+     */
+    public HumanStrategy(SeatChannel channel) {
+        this.channel = channel;
     }
 
     /**
@@ -30,20 +44,20 @@ public class HumanStrategy implements PlayStrategy {
      */
     @Override
     public Offer chooseOffer(Player player) {
-        System.out.println("\n========== " + player.getName().toUpperCase() + "'S TURN ==========");
-        System.out.println(player.getName() + "'s hand:");
+        channel.println("\n========== " + player.getName().toUpperCase() + "'S TURN ==========");
+        channel.println(player.getName() + "'s hand:");
         for (int i = 0; i < player.getHand().size(); i++) {
-            System.out.println("  " + i + ": " + player.getHand().get(i));
+            channel.println("  " + i + ": " + player.getHand().get(i));
         }
         
         // Get valid input (only 0 or 1)
         int choice = -1;
         while (choice != 0 && choice != 1) {
-            System.out.print("Choose which card to place FACE DOWN (0 or 1): ");
+            channel.print("Choose which card to place FACE DOWN (0 or 1): ");
             choice = getInput();
             
             if (choice != 0 && choice != 1) {
-                System.out.println("Invalid choice! Please enter 0 or 1.");
+                channel.println("Invalid choice! Please enter 0 or 1.");
             }
         }
         
@@ -57,7 +71,7 @@ public class HumanStrategy implements PlayStrategy {
                 offer.setFaceUp(player.getHand().get(0));
             }
             offer.setOwner(player);
-            System.out.println(player.getName() + " placed " + offer.getFaceUp() + " face-up.");
+            channel.println(player.getName() + " placed " + offer.getFaceUp() + " face-up.");
             return offer;
         }
         return null;
@@ -72,21 +86,21 @@ public class HumanStrategy implements PlayStrategy {
      */
     @Override
     public Offer selectOffer(List<Offer> offers) {
-        System.out.println("\nAvailable offers:");
+        channel.println("\nAvailable offers:");
         for (int i = 0; i < offers.size(); i++) {
             Offer o = offers.get(i);
-            System.out.println("  " + i + ": " + o.getOwner().getName() + "'s offer - Face-up: " + o.getFaceUp());
+            channel.println("  " + i + ": " + o.getOwner().getName() + "'s offer - Face-up: " + o.getFaceUp());
         }
         
         // Get valid input
         int choice = -1;
         int maxChoice = offers.size() - 1;
         while (choice < 0 || choice > maxChoice) {
-            System.out.print("Select an offer (0 to " + maxChoice + "): ");
+            channel.print("Select an offer (0 to " + maxChoice + "): ");
             choice = getInput();
             
             if (choice < 0 || choice > maxChoice) {
-                System.out.println("Invalid choice! Please enter a number between 0 and " + maxChoice + ".");
+                channel.println("Invalid choice! Please enter a number between 0 and " + maxChoice + ".");
             }
         }
         
@@ -102,18 +116,18 @@ public class HumanStrategy implements PlayStrategy {
      */
     @Override
     public boolean chooseCard(Offer offer) {
-        System.out.println("\nOffer from " + offer.getOwner().getName() + ":");
-        System.out.println("  Face-up: " + offer.getFaceUp());
-        System.out.println("  Face-down: [hidden]");
+        channel.println("\nOffer from " + offer.getOwner().getName() + ":");
+        channel.println("  Face-up: " + offer.getFaceUp());
+        channel.println("  Face-down: [hidden]");
         
         // Get valid input (only 0 or 1)
         int choice = -1;
         while (choice != 0 && choice != 1) {
-            System.out.print("Take face-up card? (1 = yes, 0 = no/take face-down): ");
+            channel.print("Take face-up card? (1 = yes, 0 = no/take face-down): ");
             choice = getInput();
             
             if (choice != 0 && choice != 1) {
-                System.out.println("Invalid choice! Please enter 0 or 1.");
+                channel.println("Invalid choice! Please enter 0 or 1.");
             }
         }
         
@@ -121,11 +135,20 @@ public class HumanStrategy implements PlayStrategy {
     }
 
     /**
-     * Gets integer input from the user using shared InputHandler.
+     * Gets integer input from the user through the seat's channel.
      * 
      * @return The input value
      */
     public int getInput() {
-        return InputHandler.getInt();
+        return channel.readInt();
+    }
+
+    /**
+     * Gets the seat's input/output channel.
+     * 
+     * @return The channel
+     */
+    public SeatChannel getChannel() {
+        return channel;
     }
 }
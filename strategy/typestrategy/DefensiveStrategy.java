@@ -6,6 +6,7 @@ import base.Card;
 import card.SuitCard;
 import strategy.AIStrategy;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Defensive AI strategy for virtual players.
@@ -23,6 +24,15 @@ public class DefensiveStrategy extends AIStrategy {
         super();
     }
 
+    /**
+     * Creates a defensive strategy that draws its decisions from the given source.
+     * 
+     * @param random Random source for decisions
+     */
+    public DefensiveStrategy(Random random) {
+        super(random);
+    }
+
     /**
      * Creates an offer by hiding the higher value card.
      * Shows the lower value card face-up to minimize opponent gains.
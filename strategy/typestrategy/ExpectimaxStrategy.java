@@ -0,0 +1,245 @@
+package strategy.typestrategy;
+
+import base.Card;
+import base.GameRandom;
+import base.Offer;
+import base.Player;
+import search.DeterminizedEvaluator;
+import search.GameState;
+import search.InformationSet;
+import strategy.AIStrategy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Sampling AI strategy for virtual players.
+ * Values each choice by its expected final lead over sampled assignments of
+ * the hidden cards ({@link DeterminizedEvaluator}) and picks the best.
+ * 
+ * <p>{@link #evaluateOffer(Offer)} computes the expected value of taking the
+ * face-up and the face-down card of an offer, using the scoring and trophy
+ * rules of the game. Offers are evaluated together, once per decision,
+ * since they are valued on the same samples; {@link #selectOffer(List)}
+ * takes the offer with the best card and {@link #chooseCard(Offer)} takes
+ * that card. Outside a game (no table attached) the strategy plays like a
+ * {@link DefensiveStrategy}.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class ExpectimaxStrategy extends AIStrategy {
+    /** Default number of samples per decision */
+    public static final int DEFAULT_SAMPLES = 64;
+    
+    /** Default number of sampling threads: the deciding thread only */
+    public static final int DEFAULT_THREADS = 1;
+    
+    /** The sampler */
+    private final DeterminizedEvaluator evaluator;
+    
+    /** Strategy used when no table is attached or the table cannot be searched */
+    private final DefensiveStrategy fallback;
+    
+    /** Offers valued by the last evaluation, by owner seat */
+    private Offer[] evaluated = new Offer[0];
+    
+    /** Expected value of each evaluated offer's face-up card, by owner seat */
+    private double[] upValues = new double[0];
+    
+    /** Expected value of each evaluated offer's face-down card, by owner seat */
+    private double[] downValues = new double[0];
+    
+    /** Reused move buffer */
+    private final int[] moves = new int[64];
+
+    /**
+     * Creates an expectimax strategy with the default sample and thread counts.
+     */
+    public ExpectimaxStrategy() {
+        this(DEFAULT_SAMPLES, DEFAULT_THREADS);
+    }
+
+    /**
+     * Creates an expectimax strategy.
+     * 
+     * @param samples Number of samples per decision
+     * @param threads Number of threads the samples are split over
+     */
+    public ExpectimaxStrategy(int samples, int threads) {
+        this(samples, threads, new GameRandom());
+    }
+
+    /**
+     * Creates an expectimax strategy that draws its decisions from the given source.
+     * 
+     * @param samples Number of samples per decision
+     * @param threads Number of threads the samples are split over (extra ones on the table's search executor)
+     * @param random Random source for decisions
+     */
+    public ExpectimaxStrategy(int samples, int threads, Random random) {
+        super(random);
+        this.evaluator = new DeterminizedEvaluator(samples, threads);
+        this.fallback = new DefensiveStrategy(random);
+    }
+
+    /**
+     * Replaces the random source of this strategy and of its fallback.
+     * 
+     * @param random Random source for decisions
+     */
+    @Override
+    public void setRandom(Random random) {
+        super.setRandom(random);
+        fallback.setRandom(random);
+    }
+
+    /**
+     * Gets the sampler of this strategy, which holds its sample count.
+     * 
+     * @return The sampler
+     */
+    public DeterminizedEvaluator getEvaluator() {
+        return evaluator;
+    }
+
+    /**
+     * Creates an offer by showing the card with the better expected value.
+     * 
+     * @param player The player making the offer
+     * @return The created offer
+     */
+    @Override
+    public Offer chooseOffer(Player player) {
+        if (!searchable() || player.getHand().size() != 2) {
+            return fallback.chooseOffer(player);
+        }
+        InformationSet info = new InformationSet(table, player);
+        int count = evaluator.legalMoves(info, moves, random);
+        double[] values = evaluator.evaluate(info, moves, count, random, table.getSearchExecutor());
+        int best = 0;
+        for (int i = 1; i < count; i++) {
+            if (values[i] > values[best]) {
+                best = i;
+            }
+        }
+        Card first = player.getHand().get(0);
+        Card second = player.getHand().get(1);
+        if (first.getId() == moves[best]) {
+            return new Offer(first, second, player);
+        }
+        return new Offer(second, first, player);
+    }
+
+    /**
+     * Selects the offer whose better card has the highest expected value.
+     * 
+     * @param offers List of available offers
+     * @return The selected offer
+     */
+    @Override
+    public Offer selectOffer(List<Offer> offers) {
+        Offer bestOffer = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (Offer offer : offers) {
+            evaluateOffer(offer);
+            int seat = seatOf(offer);
+            if (seat >= 0 && Math.max(upValues[seat], downValues[seat]) > bestValue) {
+                bestValue = Math.max(upValues[seat], downValues[seat]);
+                bestOffer = offer;
+            }
+        }
+        return (bestOffer != null) ? bestOffer : fallback.selectOffer(offers);
+    }
+
+    /**
+     * Takes the card of the offer with the higher expected value.
+     * 
+     * @param offer The offer to take from
+     * @return true for face-up, false for face-down
+     */
+    @Override
+    public boolean chooseCard(Offer offer) {
+        evaluateOffer(offer);
+        int seat = seatOf(offer);
+        boolean faceUp = (seat >= 0) ? upValues[seat] >= downValues[seat] : fallback.chooseCard(offer);
+        Arrays.fill(evaluated, null);
+        return faceUp;
+    }
+
+    /**
+     * Evaluates an offer: the expected final lead after taking its face-up
+     * card and after taking its face-down card. Every offer on the table is
+     * valued in the same pass; later calls for the same decision reuse it.
+     * Does nothing outside the taking phase.
+     * 
+     * @param offer The offer to evaluate
+     */
+    @Override
+    public void evaluateOffer(Offer offer) {
+        Player player = searchable() ? table.getCurrentPlayer() : null;
+        if (player == null || seatOf(offer) >= 0) {
+            return;
+        }
+        InformationSet info = new InformationSet(table, player);
+        if (info.getKnownState().getPhase() != GameState.PHASE_TAKE) {
+            return;
+        }
+        List<Player> players = table.getPlayers();
+        if (evaluated.length != players.size()) {
+            evaluated = new Offer[players.size()];
+            upValues = new double[players.size()];
+            downValues = new double[players.size()];
+        }
+        Arrays.fill(evaluated, null);
+        Arrays.fill(upValues, 0.0);
+        Arrays.fill(downValues, 0.0);
+        
+        int count = evaluator.legalMoves(info, moves, random);
+        double[] values = evaluator.evaluate(info, moves, count, random, table.getSearchExecutor());
+        for (int i = 0; i < count; i++) {
+            if (!GameState.isTake(moves[i])) {
+                continue;
+            }
+            int seat = GameState.targetOf(moves[i]);
+            if (GameState.isFaceUp(moves[i])) {
+                upValues[seat] = values[i];
+            } else {
+                downValues[seat] = values[i];
+            }
+        }
+        for (Offer candidate : table.getOffers()) {
+            int seat = players.indexOf(candidate.getOwner());
+            for (int i = 0; i < count; i++) {
+                if (GameState.isTake(moves[i]) && GameState.targetOf(moves[i]) == seat) {
+                    evaluated[seat] = candidate;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the seat under which an offer was evaluated.
+     * 
+     * @param offer The offer
+     * @return Owner seat, or -1 if the offer has no current evaluation
+     */
+    private int seatOf(Offer offer) {
+        for (int seat = 0; seat < evaluated.length; seat++) {
+            if (evaluated[seat] == offer) {
+                return seat;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether the attached table can be searched: search models a
+     * single deck, so games combining several decks use the fallback.
+     * 
+     * @return true if a table is attached and it deals from one deck
+     */
+    private boolean searchable() {
+        return table != null && table.getDeckCount() == 1;
+    }
+}
@@ -0,0 +1,208 @@
+package strategy.typestrategy;
+
+import base.Card;
+import base.GameRandom;
+import base.Offer;
+import base.Player;
+import search.EndgameSolver;
+import search.GameState;
+import search.InformationSet;
+import search.InformationSetMcts;
+import strategy.AIStrategy;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Search-based AI strategy for virtual players.
+ * Plays every decision with information-set Monte Carlo Tree Search
+ * ({@link InformationSetMcts}) from what the player can see of the table.
+ * 
+ * <p>Each decision is bounded by a wall-clock budget, an iteration budget,
+ * or both, and may grow several trees in parallel. The taking decision is
+ * searched once: {@link #selectOffer(List)} picks both the offer and the
+ * card, and {@link #chooseCard(Offer)} returns the card it picked. Outside
+ * a game (no table attached) the strategy plays like a
+ * {@link DefensiveStrategy}.</p>
+ * 
+ * <p>In the last round, once at most {@link EndgameSolver#DEFAULT_THRESHOLD}
+ * cards are unknown, decisions are solved by the alpha-beta
+ * {@link EndgameSolver} instead of being sampled by MCTS.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class MonteCarloStrategy extends AIStrategy {
+    /** Default wall-clock budget per decision in milliseconds */
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 50;
+    
+    /** The search */
+    private final InformationSetMcts search;
+    
+    /** Exact solver for the last round */
+    private final EndgameSolver endgame;
+    
+    /** Strategy used when no table is attached or the table cannot be searched */
+    private final DefensiveStrategy fallback;
+    
+    /** Offer picked by the last search of a taking decision */
+    private Offer plannedOffer;
+    
+    /** Card picked from the planned offer */
+    private boolean plannedFaceUp;
+
+    /**
+     * Creates a Monte Carlo strategy with the default time budget on one thread.
+     */
+    public MonteCarloStrategy() {
+        this(DEFAULT_TIME_BUDGET_MILLIS, 0, 1);
+    }
+
+    /**
+     * Creates a Monte Carlo strategy with the given budgets.
+     * 
+     * @param timeBudgetMillis Wall-clock budget per decision, or 0 for none
+     * @param iterationBudget Iterations per decision over all threads, or 0 for none
+     * @param threads Number of search trees grown in parallel
+     */
+    public MonteCarloStrategy(long timeBudgetMillis, int iterationBudget, int threads) {
+        this(timeBudgetMillis, iterationBudget, threads, new GameRandom());
+    }
+
+    /**
+     * Creates a Monte Carlo strategy that draws its decisions from the given source.
+     * With an iteration budget only, decisions are reproducible from the source's seed.
+     * 
+     * @param timeBudgetMillis Wall-clock budget per decision, or 0 for none
+     * @param iterationBudget Iterations per decision over all threads, or 0 for none
+     * @param threads Number of search trees grown in parallel (extra ones on the table's search executor)
+     * @param random Random source for decisions
+     */
+    public MonteCarloStrategy(long timeBudgetMillis, int iterationBudget, int threads, Random random) {
+        super(random);
+        this.search = new InformationSetMcts(timeBudgetMillis, iterationBudget, threads);
+        this.endgame = new EndgameSolver();
+        this.fallback = new DefensiveStrategy(random);
+    }
+
+    /**
+     * Replaces the random source of this strategy and of its fallback.
+     * 
+     * @param random Random source for decisions
+     */
+    @Override
+    public void setRandom(Random random) {
+        super.setRandom(random);
+        fallback.setRandom(random);
+    }
+
+    /**
+     * Gets the search of this strategy, which holds its budgets.
+     * 
+     * @return The search
+     */
+    public InformationSetMcts getSearch() {
+        return search;
+    }
+
+    /**
+     * Creates an offer by searching which hand card to show.
+     * 
+     * @param player The player making the offer
+     * @return The created offer
+     */
+    @Override
+    public Offer chooseOffer(Player player) {
+        if (!searchable() || player.getHand().size() != 2) {
+            return fallback.chooseOffer(player);
+        }
+        int up = decide(player);
+        Card first = player.getHand().get(0);
+        Card second = player.getHand().get(1);
+        if (first.getId() == up) {
+            return new Offer(first, second, player);
+        }
+        return new Offer(second, first, player);
+    }
+
+    /**
+     * Selects an offer by searching the whole taking decision.
+     * The card chosen with it is kept for {@link #chooseCard(Offer)}.
+     * 
+     * @param offers List of available offers
+     * @return The selected offer
+     */
+    @Override
+    public Offer selectOffer(List<Offer> offers) {
+        plannedOffer = null;
+        Player player = searchable() ? table.getCurrentPlayer() : null;
+        if (player == null) {
+            return fallback.selectOffer(offers);
+        }
+        int move = decide(player);
+        Player target = table.getPlayers().get(GameState.targetOf(move));
+        for (Offer offer : offers) {
+            if (offer.getOwner() == target) {
+                plannedOffer = offer;
+                plannedFaceUp = GameState.isFaceUp(move);
+                return offer;
+            }
+        }
+        return fallback.selectOffer(offers);
+    }
+
+    /**
+     * Takes the card picked by the last taking search, or searches again
+     * if the offer was not chosen by this strategy.
+     * 
+     * @param offer The offer to take from
+     * @return true for face-up, false for face-down
+     */
+    @Override
+    public boolean chooseCard(Offer offer) {
+        if (offer == plannedOffer) {
+            plannedOffer = null;
+            return plannedFaceUp;
+        }
+        Player player = searchable() ? table.getCurrentPlayer() : null;
+        if (player == null) {
+            return fallback.chooseCard(offer);
+        }
+        int owner = table.getPlayers().indexOf(offer.getOwner());
+        int move = decide(player);
+        return GameState.targetOf(move) != owner || GameState.isFaceUp(move);
+    }
+
+    /**
+     * Finds the best move for a player: solved exactly in a small enough
+     * endgame, searched otherwise.
+     * 
+     * @param player The deciding player
+     * @return The move, as defined by {@link GameState}
+     */
+    private int decide(Player player) {
+        InformationSet info = new InformationSet(table, player);
+        if (endgame.canSolve(info)) {
+            return endgame.solve(info, random);
+        }
+        return search.search(info, random, table.getSearchExecutor());
+    }
+
+    /**
+     * Evaluates an offer (no-op; offers are weighed by the search).
+     * 
+     * @param offer The offer to evaluate
+     */
+    @Override
+    public void evaluateOffer(Offer offer) {
+    }
+
+    /**
+     * Checks whether the attached table can be searched: search models a
+     * single deck, so games combining several decks use the fallback.
+     * 
+     * @return true if a table is attached and it deals from one deck
+     */
+    private boolean searchable() {
+        return table != null && table.getDeckCount() == 1;
+    }
+}
@@ -6,6 +6,7 @@ import base.Card;
 import card.SuitCard;
 import strategy.AIStrategy;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Offensive AI strategy for virtual players.
@@ -23,6 +24,15 @@ public class OffensiveStrategy extends AIStrategy {
         super();
     }
 
+    /**
+     * Creates an offensive strategy that draws its decisions from the given source.
+     * 
+     * @param random Random source for decisions
+     */
+    public OffensiveStrategy(Random random) {
+        super(random);
+    }
+
     /**
      * Creates an offer by hiding the lower value card.
      * Shows the higher value card face-up to attract opponents.
@@ -5,6 +5,8 @@
  * <ul>
  *   <li>{@link strategy.typestrategy.OffensiveStrategy} - Aggressive, high-risk strategy</li>
  *   <li>{@link strategy.typestrategy.DefensiveStrategy} - Cautious, low-risk strategy</li>
+ *   <li>{@link strategy.typestrategy.MonteCarloStrategy} - Information-set Monte Carlo Tree Search</li>
+ *   <li>{@link strategy.typestrategy.ExpectimaxStrategy} - Expected value over sampled hidden cards</li>
  * </ul>
  * 
  * @author Hazri and Sophea
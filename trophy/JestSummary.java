@@ -0,0 +1,264 @@
+package trophy;
+
+import base.Card;
+import base.Game.TrophyType;
+import base.Jest;
+import base.Player;
+import card.CardMask;
+import properties.Suit;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index over every player's Jest that answers trophy conditions in constant time.
+ * 
+ * <p>The index is built in one pass over the players' card masks and keeps:</p>
+ * <ul>
+ *   <li>the highest and lowest card of each suit, with its owner</li>
+ *   <li>per face value, how many cards each player holds and the strongest
+ *       suit among them, plus the current majority leader</li>
+ *   <li>the owner of the Joker</li>
+ * </ul>
+ * 
+ * <p>Trophies are awarded one after another and each trophy card joins its
+ * winner's Jest before the next trophy is resolved, so the index is kept
+ * current with {@link #addCard(int, Card)} instead of being rebuilt.
+ * Winners are identical to {@link Trophy#determineWinner(List)}.</p>
+ * 
+ * <p>At tables dealt from combined decks several seats can hold copies of
+ * the same card; the card then belongs to the earliest of those seats, as
+ * in the seat-order scan of {@link Trophy}.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public class JestSummary {
+    /** Highest face value of any card, used to size the per-value tables */
+    private static final int MAX_VALUE = 9;
+    
+    /** Number of suits */
+    private static final int SUITS = Suit.values().length;
+    
+    /** Earliest seat holding each card id, or -1 if no Jest holds it */
+    private final int[] owner;
+    
+    /** Id of the highest card per suit ordinal, or -1 */
+    private final int[] highestId;
+    
+    /** Id of the lowest card per suit ordinal, or -1 */
+    private final int[] lowestId;
+    
+    /** Cards held per face value and seat */
+    private final int[][] valueCounts;
+    
+    /** Strength of the strongest suit held per face value and seat (0 = none) */
+    private final int[][] bestStrength;
+    
+    /** Majority leader seat per face value, or -1 */
+    private final int[] majorityLeader;
+    
+    /** Seat holding the Joker, or -1 */
+    private int jokerOwner;
+
+    /**
+     * Builds the index from the players' current Jests.
+     * 
+     * @param players Players in seat order
+     */
+    public JestSummary(List<Player> players) {
+        int seats = players.size();
+        this.owner = new int[CardMask.CARD_COUNT];
+        this.highestId = new int[SUITS];
+        this.lowestId = new int[SUITS];
+        this.valueCounts = new int[MAX_VALUE + 1][seats];
+        this.bestStrength = new int[MAX_VALUE + 1][seats];
+        this.majorityLeader = new int[MAX_VALUE + 1];
+        this.jokerOwner = -1;
+        Arrays.fill(owner, -1);
+        Arrays.fill(highestId, -1);
+        Arrays.fill(lowestId, -1);
+        Arrays.fill(majorityLeader, -1);
+        
+        for (int seat = 0; seat < seats; seat++) {
+            Jest jest = players.get(seat).getJest();
+            if (jest.hasDuplicates()) {
+                // The mask holds each card once, so count every copy from the list
+                List<Card> cards = jest.getCards();
+                for (int i = 0; i < cards.size(); i++) {
+                    add(seat, cards.get(i).getId());
+                }
+                continue;
+            }
+            long mask = jest.getMask();
+            while (mask != 0) {
+                add(seat, Long.numberOfTrailingZeros(mask));
+                mask &= mask - 1;
+            }
+        }
+    }
+
+    /**
+     * Records that a card joined a player's Jest.
+     * 
+     * @param seat Seat of the player
+     * @param card The card added
+     */
+    public void addCard(int seat, Card card) {
+        add(seat, card.getId());
+    }
+
+    /**
+     * Records that a card id joined a seat's Jest and updates every aggregate.
+     * 
+     * @param seat Seat of the player
+     * @param id Card id
+     */
+    private void add(int seat, int id) {
+        if (owner[id] < 0 || seat < owner[id]) {
+            owner[id] = seat;
+        }
+        if (id == CardMask.JOKER_ID) {
+            jokerOwner = owner[id];
+            return;
+        }
+
+        // Number ordinals follow face values, so ids order cards within a suit
+        int suit = id / CardMask.SUIT_BITS;
+        if (highestId[suit] < 0 || id > highestId[suit]) {
+            highestId[suit] = id;
+        }
+        if (lowestId[suit] < 0 || id < lowestId[suit]) {
+            lowestId[suit] = id;
+        }
+
+        int value = CardMask.valueOf(id);
+        int strength = getSuitStrength(suit);
+        valueCounts[value][seat]++;
+        if (strength > bestStrength[value][seat]) {
+            bestStrength[value][seat] = strength;
+        }
+
+        int leader = majorityLeader[value];
+        if (leader < 0 || (leader != seat && beats(value, seat, leader))) {
+            majorityLeader[value] = seat;
+        }
+    }
+
+    /**
+     * Checks whether a seat leads another for a majority trophy.
+     * More cards wins; equal counts go to the stronger suit, and identical
+     * holdings (possible with combined decks) to the earlier seat.
+     * 
+     * @param value Face value
+     * @param seat Challenging seat
+     * @param other Current leader
+     * @return true if the challenger leads
+     */
+    private boolean beats(int value, int seat, int other) {
+        int count = valueCounts[value][seat];
+        int otherCount = valueCounts[value][other];
+        return count > otherCount ||
+            (count == otherCount && bestStrength[value][seat] > bestStrength[value][other]) ||
+            (count == otherCount && bestStrength[value][seat] == bestStrength[value][other] && seat < other);
+    }
+
+    /**
+     * Returns the suit strength for tie-breaking.
+     * Spade = 4, Club = 3, Diamond = 2, Heart = 1.
+     * 
+     * @param suit Suit ordinal
+     * @return Strength value
+     */
+    private static int getSuitStrength(int suit) {
+        return SUITS - suit;
+    }
+
+    /**
+     * Finds the seat that wins a trophy.
+     * 
+     * @param type Type of the trophy
+     * @return Winning seat, or -1 if no player meets the condition
+     */
+    public int winnerSeat(TrophyType type) {
+        switch (type) {
+            case HIGHEST_SPADE:
+                return getHighestOwner(Suit.SPADE);
+            case LOWEST_SPADE:
+                return getLowestOwner(Suit.SPADE);
+            case HIGHEST_CLUB:
+                return getHighestOwner(Suit.CLUB);
+            case LOWEST_CLUB:
+                return getLowestOwner(Suit.CLUB);
+            case HIGHEST_DIAMOND:
+                return getHighestOwner(Suit.DIAMOND);
+            case LOWEST_DIAMOND:
+                return getLowestOwner(Suit.DIAMOND);
+            case HIGHEST_HEART:
+                return getHighestOwner(Suit.HEART);
+            case LOWEST_HEART:
+                return getLowestOwner(Suit.HEART);
+            case JOKER:
+                return jokerOwner;
+            case MAJORITY_2:
+                return getMajorityLeader(2);
+            case MAJORITY_3:
+                return getMajorityLeader(3);
+            case MAJORITY_4:
+                return getMajorityLeader(4);
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Gets the seat holding the highest card of a suit.
+     * 
+     * @param suit The suit
+     * @return Seat, or -1 if nobody holds that suit
+     */
+    public int getHighestOwner(Suit suit) {
+        int id = highestId[suit.ordinal()];
+        return (id < 0) ? -1 : owner[id];
+    }
+
+    /**
+     * Gets the seat holding the lowest card of a suit.
+     * 
+     * @param suit The suit
+     * @return Seat, or -1 if nobody holds that suit
+     */
+    public int getLowestOwner(Suit suit) {
+        int id = lowestId[suit.ordinal()];
+        return (id < 0) ? -1 : owner[id];
+    }
+
+    /**
+     * Gets the seat with the most cards of a face value.
+     * 
+     * @param value Face value
+     * @return Seat, or -1 if nobody holds that value
+     */
+    public int getMajorityLeader(int value) {
+        return (value < 0 || value > MAX_VALUE) ? -1 : majorityLeader[value];
+    }
+
+    /**
+     * Gets how many cards of a face value a seat holds.
+     * 
+     * @param seat The seat
+     * @param value Face value
+     * @return Number of cards
+     */
+    public int getValueCount(int seat, int value) {
+        return (value < 0 || value > MAX_VALUE) ? 0 : valueCounts[value][seat];
+    }
+
+    /**
+     * Gets the seat holding the Joker.
+     * 
+     * @return Seat, or -1 if no Jest holds the Joker
+     */
+    public int getJokerOwner() {
+        return jokerOwner;
+    }
+}
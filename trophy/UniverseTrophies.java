@@ -0,0 +1,177 @@
+package trophy;
+
+import card.CardSet;
+import card.CardUniverse;
+import card.CardUniverse.TrophyKind;
+
+/**
+ * Resolves the trophies of a {@link CardUniverse} on card sets.
+ * 
+ * <p>The trophy printed on a card is read from the universe's definition
+ * and decided like {@link JestSummary} decides the standard trophies:
+ * highest or lowest card of a suit, most cards of a value (ties go to the
+ * stronger suit), or the Joker. Each condition reads one suit pattern or
+ * one bit per suit from every Jest, so a trophy costs time linear in the
+ * number of seats, not cards. Ties left after these rules go to the
+ * earliest seat.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public final class UniverseTrophies {
+    /** The universe whose trophies are resolved */
+    private final CardUniverse universe;
+    
+    /**
+     * Creates a resolver for a universe.
+     * 
+     * @param universe The universe
+     */
+    public UniverseTrophies(CardUniverse universe) {
+        this.universe = universe;
+    }
+
+    /**
+     * Finds the seat that wins the trophy printed on a card.
+     * 
+     * @param trophyCard Id of the trophy card
+     * @param jests Every seat's Jest, in seat order
+     * @return Winning seat, or -1 if no seat meets the condition
+     */
+    public int winnerSeat(int trophyCard, CardSet[] jests) {
+        int argument = universe.getTrophyArgument(trophyCard);
+        switch (universe.getTrophyKind(trophyCard)) {
+            case HIGHEST:
+                return getHighestOwner(argument, jests);
+            case LOWEST:
+                return getLowestOwner(argument, jests);
+            case MAJORITY:
+                return getMajorityLeader(argument, jests);
+            case JOKER:
+            default:
+                return getJokerOwner(jests);
+        }
+    }
+
+    /**
+     * Gets the seat holding the highest card of a suit.
+     * 
+     * @param suit Suit index
+     * @param jests Every seat's Jest
+     * @return Seat, or -1 if nobody holds that suit
+     */
+    public int getHighestOwner(int suit, CardSet[] jests) {
+        int winner = -1;
+        int highest = -1;
+        for (int seat = 0; seat < jests.length; seat++) {
+            long pattern = pattern(jests[seat], suit);
+            int top = 63 - Long.numberOfLeadingZeros(pattern);
+            if (pattern != 0 && top > highest) {
+                highest = top;
+                winner = seat;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Gets the seat holding the lowest card of a suit.
+     * 
+     * @param suit Suit index
+     * @param jests Every seat's Jest
+     * @return Seat, or -1 if nobody holds that suit
+     */
+    public int getLowestOwner(int suit, CardSet[] jests) {
+        int winner = -1;
+        int lowest = Integer.MAX_VALUE;
+        for (int seat = 0; seat < jests.length; seat++) {
+            long pattern = pattern(jests[seat], suit);
+            int bottom = Long.numberOfTrailingZeros(pattern);
+            if (pattern != 0 && bottom < lowest) {
+                lowest = bottom;
+                winner = seat;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Gets the seat with the most cards of a face value.
+     * Equal counts go to the seat holding the value in the stronger suit.
+     * 
+     * @param valueIndex Value index
+     * @param jests Every seat's Jest
+     * @return Seat, or -1 if nobody holds that value
+     */
+    public int getMajorityLeader(int valueIndex, CardSet[] jests) {
+        int winner = -1;
+        int highestCount = 0;
+        int bestStrength = 0;
+        for (int seat = 0; seat < jests.length; seat++) {
+            int count = 0;
+            int strength = 0;
+            for (int suit = 0; suit < universe.getSuitCount(); suit++) {
+                if (jests[seat].contains(universe.idOf(suit, valueIndex))) {
+                    count++;
+                    strength = Math.max(strength, universe.getStrength(suit));
+                }
+            }
+            if (count > highestCount || (count > 0 && count == highestCount && strength > bestStrength)) {
+                highestCount = count;
+                bestStrength = strength;
+                winner = seat;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Gets the seat holding the Joker.
+     * 
+     * @param jests Every seat's Jest
+     * @return Seat, or -1 if no Jest holds the Joker or the universe has none
+     */
+    public int getJokerOwner(CardSet[] jests) {
+        int joker = universe.jokerId();
+        for (int seat = 0; joker >= 0 && seat < jests.length; seat++) {
+            if (jests[seat].contains(joker)) {
+                return seat;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Describes the trophy printed on a card.
+     * 
+     * @param trophyCard Id of the trophy card
+     * @return e.g. "Highest Heart", "Majority 4s" or "Joker"
+     */
+    public String getCondition(int trophyCard) {
+        int argument = universe.getTrophyArgument(trophyCard);
+        TrophyKind kind = universe.getTrophyKind(trophyCard);
+        switch (kind) {
+            case HIGHEST:
+                return "Highest " + universe.getSuitName(argument);
+            case LOWEST:
+                return "Lowest " + universe.getSuitName(argument);
+            case MAJORITY:
+                return "Majority " + universe.getValue(argument) + "s";
+            case JOKER:
+            default:
+                return "Joker";
+        }
+    }
+
+    /**
+     * Reads one suit's pattern from a card set.
+     * 
+     * @param set The card set
+     * @param suit Suit index
+     * @return Suit pattern (bit i is value index i)
+     */
+    private long pattern(CardSet set, int suit) {
+        int values = universe.getValueCount();
+        return set.bits(suit * values, values);
+    }
+}
@@ -4,6 +4,8 @@
  * <p>This package contains trophy-related classes:</p>
  * <ul>
  *   <li>{@link trophy.Trophy} - Represents a trophy with a winning condition</li>
+ *   <li>{@link trophy.JestSummary} - One-pass index answering every trophy condition</li>
+ *   <li>{@link trophy.UniverseTrophies} - Trophy resolution for custom card universes</li>
  * </ul>
  * 
  * <p>Trophy conditions include:</p>
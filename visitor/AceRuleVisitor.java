@@ -3,8 +3,6 @@ package visitor;
 import card.SuitCard;
 import card.JokerCard;
 import properties.Suit;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Visitor for applying the Ace scoring rule.
@@ -23,11 +21,11 @@ public class AceRuleVisitor implements ScoreVisitor {
     /** Running total score */
     private int totalScore;
     
-    /** Count of cards per suit */
-    private Map<Suit, Integer> suitCounts;
+    /** Count of cards per suit, indexed by suit ordinal */
+    private int[] suitCounts;
     
-    /** Whether each suit has an Ace */
-    private Map<Suit, Boolean> hasAce;
+    /** Whether each suit has an Ace, indexed by suit ordinal */
+    private boolean[] hasAce;
 
     /**
      * Creates an Ace rule visitor.
@@ -36,12 +34,19 @@ public class AceRuleVisitor implements ScoreVisitor {
         this.aceValue = 5;
         this.normalAceValue = 1;
         this.totalScore = 0;
-        this.suitCounts = new HashMap<>();
-        this.hasAce = new HashMap<>();
-        
-        for (Suit suit : Suit.values()) {
-            suitCounts.put(suit, 0);
-            hasAce.put(suit, false);
+        this.suitCounts = new int[Suit.values().length];
+        this.hasAce = new boolean[Suit.values().length];
+    }
+
+    /**
+     * Clears all suit counts and Aces.
+     */
+    @Override
+    public void reset() {
+        totalScore = 0;
+        for (int i = 0; i < suitCounts.length; i++) {
+            suitCounts[i] = 0;
+            hasAce[i] = false;
         }
     }
 
@@ -52,11 +57,11 @@ public class AceRuleVisitor implements ScoreVisitor {
      */
     @Override
     public void visit(SuitCard suitCard) {
-        Suit suit = suitCard.getSuit();
-        suitCounts.put(suit, suitCounts.get(suit) + 1);
+        int suit = suitCard.getSuit().ordinal();
+        suitCounts[suit]++;
         
         if (suitCard.isAce()) {
-            hasAce.put(suit, true);
+            hasAce[suit] = true;
         }
     }
 
@@ -76,7 +81,7 @@ public class AceRuleVisitor implements ScoreVisitor {
      * @return true if Ace is the only card of that suit
      */
     public boolean aceAlone(Suit suit) {
-        return hasAce.get(suit) && suitCounts.get(suit) == 1;
+        return hasAce[suit.ordinal()] && suitCounts[suit.ordinal()] == 1;
     }
 
     /**
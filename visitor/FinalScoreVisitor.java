@@ -5,10 +5,7 @@ import base.Jest;
 import card.SuitCard;
 import card.JokerCard;
 import properties.Suit;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 
 /**
  * Visitor for calculating final Jest scores.
@@ -20,6 +17,9 @@ import java.util.Set;
  * - Black pairs (same value Spade + Club) add 2 bonus
  * - Joker value depends on number of Hearts
  * 
+ * <p>All state is kept in primitive fields, so a visitor can be rebound to
+ * any number of Jests with {@link #bind(Jest)} without allocating.</p>
+ * 
  * @author Hazri and Sophea
  * @version 1.0
  */
@@ -30,31 +30,30 @@ public class FinalScoreVisitor implements ScoreVisitor {
     /** Count of Heart cards */
     private int heartCount;
     
+    /** Sum of the face values of the Heart cards */
+    private int heartValueSum;
+    
     /** Whether the Jest contains the Joker */
     private boolean hasJoker;
     
-    /** Count of cards per suit */
-    private Map<Suit, Integer> suitCounts;
+    /** Count of cards per suit, indexed by suit ordinal */
+    private final int[] suitCounts;
     
-    /** Reference to the Jest being scored */
-    private Jest jest;
+    /** Face values held in Spades, one bit per value */
+    private int spadeValues;
     
-    /** Set of black pair values already counted */
-    private Set<Integer> countedBlackPairs;
+    /** Face values held in Clubs, one bit per value */
+    private int clubValues;
+    
+    /** Black pair values already counted, one bit per value */
+    private int countedBlackPairs;
 
     /**
      * Creates a score visitor without a Jest reference.
+     * Call {@link #bind(Jest)} before visiting a Jest's cards.
      */
     public FinalScoreVisitor() {
-        this.totalScore = 0;
-        this.heartCount = 0;
-        this.hasJoker = false;
-        this.suitCounts = new HashMap<>();
-        this.countedBlackPairs = new HashSet<>();
-        
-        for (Suit suit : Suit.values()) {
-            suitCounts.put(suit, 0);
-        }
+        this.suitCounts = new int[Suit.values().length];
     }
 
     /**
@@ -65,14 +64,55 @@ public class FinalScoreVisitor implements ScoreVisitor {
      */
     public FinalScoreVisitor(Jest jest) {
         this();
-        this.jest = jest;
+        bind(jest);
+    }
+
+    /**
+     * Clears all scoring state.
+     */
+    @Override
+    public void reset() {
+        totalScore = 0;
+        heartCount = 0;
+        heartValueSum = 0;
+        hasJoker = false;
+        spadeValues = 0;
+        clubValues = 0;
+        countedBlackPairs = 0;
+        for (int i = 0; i < suitCounts.length; i++) {
+            suitCounts[i] = 0;
+        }
+    }
+
+    /**
+     * Resets the visitor and pre-analyzes a Jest for Ace, black pair and Joker rules.
+     * 
+     * @param jest The Jest to score
+     */
+    @Override
+    public void bind(Jest jest) {
+        reset();
         
-        for (Card card : jest.getCards()) {
+        List<Card> cards = jest.getCards();
+        for (int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
             if (card instanceof SuitCard) {
                 SuitCard sc = (SuitCard) card;
-                suitCounts.put(sc.getSuit(), suitCounts.get(sc.getSuit()) + 1);
-                if (sc.getSuit() == Suit.HEART) {
-                    heartCount++;
+                Suit suit = sc.getSuit();
+                suitCounts[suit.ordinal()]++;
+                switch (suit) {
+                    case SPADE:
+                        spadeValues |= 1 << sc.getValue();
+                        break;
+                    case CLUB:
+                        clubValues |= 1 << sc.getValue();
+                        break;
+                    case HEART:
+                        heartCount++;
+                        heartValueSum += sc.getValue();
+                        break;
+                    default:
+                        break;
                 }
             } else if (card instanceof JokerCard) {
                 hasJoker = true;
@@ -89,7 +129,7 @@ public class FinalScoreVisitor implements ScoreVisitor {
     public void visit(SuitCard suitCard) {
         Suit suit = suitCard.getSuit();
         int value = suitCard.getValue();
-
+        
         if (suitCard.isAce()) {
             value = getAceValue(suit);
         }
@@ -115,7 +155,7 @@ public class FinalScoreVisitor implements ScoreVisitor {
      * @return 5 if alone, 1 otherwise
      */
     private int getAceValue(Suit suit) {
-        if (suitCounts.get(suit) == 1) {
+        if (suitCounts[suit.ordinal()] == 1) {
             return 5;
         }
         return 1;
@@ -123,28 +163,15 @@ public class FinalScoreVisitor implements ScoreVisitor {
 
     /**
      * Checks for black pair bonus (Spade + Club of same value).
+     * Each pair is counted once, when its first card is visited.
      * 
      * @param card The card to check for pairing
      */
     private void checkBlackPair(SuitCard card) {
-        if (card.getSuit() != Suit.SPADE && card.getSuit() != Suit.CLUB) {
-            return;
-        }
-        
-        if (jest == null) return;
-        if (countedBlackPairs.contains(card.getValue())) return;
-        
-        Suit otherSuit = (card.getSuit() == Suit.SPADE) ? Suit.CLUB : Suit.SPADE;
-        
-        for (Card c : jest.getCards()) {
-            if (c instanceof SuitCard && c != card) {
-                SuitCard sc = (SuitCard) c;
-                if (sc.getSuit() == otherSuit && sc.getValue() == card.getValue()) {
-                    totalScore += 2;
-                    countedBlackPairs.add(card.getValue());
-                    break;
-                }
-            }
+        int valueBit = 1 << card.getValue();
+        if ((spadeValues & clubValues & valueBit) != 0 && (countedBlackPairs & valueBit) == 0) {
+            totalScore += 2;
+            countedBlackPairs |= valueBit;
         }
     }
 
@@ -162,18 +189,8 @@ public class FinalScoreVisitor implements ScoreVisitor {
         
         if (heartCount == 0) {
             totalScore += 4;
-        } else if (heartCount >= 1 && heartCount <= 3) {
         } else if (heartCount == 4) {
-            if (jest != null) {
-                for (Card c : jest.getCards()) {
-                    if (c instanceof SuitCard) {
-                        SuitCard sc = (SuitCard) c;
-                        if (sc.getSuit() == Suit.HEART) {
-                            totalScore += sc.getValue();
-                        }
-                    }
-                }
-            }
+            totalScore += heartValueSum;
         }
     }
 
@@ -5,10 +5,7 @@ import base.Jest;
 import card.SuitCard;
 import card.JokerCard;
 import properties.Suit;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 
 /**
  * Score visitor for GO ALL OUT variant.
@@ -18,6 +15,9 @@ import java.util.Set;
  * - Joker multiplies Jest by 1.5 instead of complex Heart rules
  * - More aggressive, high-reward gameplay
  * 
+ * <p>All state is kept in primitive fields, so a visitor can be rebound to
+ * any number of Jests with {@link #bind(Jest)} without allocating.</p>
+ * 
  * @author Hazri and Sophea
  * @version 1.0
  */
@@ -31,14 +31,25 @@ public class GoAllOutScoreVisitor implements ScoreVisitor {
     /** Whether the Jest contains the Joker */
     private boolean hasJoker;
     
-    /** Count of cards per suit */
-    private Map<Suit, Integer> suitCounts;
+    /** Count of cards per suit, indexed by suit ordinal */
+    private final int[] suitCounts;
+    
+    /** Face values held in Spades, one bit per value */
+    private int spadeValues;
     
-    /** Reference to the Jest being scored */
-    private Jest jest;
+    /** Face values held in Clubs, one bit per value */
+    private int clubValues;
     
-    /** Set of black pair values already counted */
-    private Set<Integer> countedBlackPairs;
+    /** Black pair values already counted, one bit per value */
+    private int countedBlackPairs;
+
+    /**
+     * Creates a Go All Out score visitor without a Jest reference.
+     * Call {@link #bind(Jest)} before visiting a Jest's cards.
+     */
+    public GoAllOutScoreVisitor() {
+        this.suitCounts = new int[Suit.values().length];
+    }
 
     /**
      * Creates a Go All Out score visitor.
@@ -46,23 +57,47 @@ public class GoAllOutScoreVisitor implements ScoreVisitor {
      * @param jest The Jest to score
      */
     public GoAllOutScoreVisitor(Jest jest) {
-        this.totalScore = 0;
-        this.heartCount = 0;
-        this.hasJoker = false;
-        this.suitCounts = new HashMap<>();
-        this.countedBlackPairs = new HashSet<>();
-        this.jest = jest;
-        
-        for (Suit suit : Suit.values()) {
-            suitCounts.put(suit, 0);
+        this();
+        bind(jest);
+    }
+
+    /**
+     * Clears all scoring state.
+     */
+    @Override
+    public void reset() {
+        totalScore = 0;
+        heartCount = 0;
+        hasJoker = false;
+        spadeValues = 0;
+        clubValues = 0;
+        countedBlackPairs = 0;
+        for (int i = 0; i < suitCounts.length; i++) {
+            suitCounts[i] = 0;
         }
+    }
+
+    /**
+     * Resets the visitor and pre-analyzes a Jest for Ace and black pair rules.
+     * 
+     * @param jest The Jest to score
+     */
+    @Override
+    public void bind(Jest jest) {
+        reset();
         
-        // Pre-analyze Jest
-        for (Card card : jest.getCards()) {
+        List<Card> cards = jest.getCards();
+        for (int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
             if (card instanceof SuitCard) {
                 SuitCard sc = (SuitCard) card;
-                suitCounts.put(sc.getSuit(), suitCounts.get(sc.getSuit()) + 1);
-                if (sc.getSuit() == Suit.HEART) {
+                Suit suit = sc.getSuit();
+                suitCounts[suit.ordinal()]++;
+                if (suit == Suit.SPADE) {
+                    spadeValues |= 1 << sc.getValue();
+                } else if (suit == Suit.CLUB) {
+                    clubValues |= 1 << sc.getValue();
+                } else if (suit == Suit.HEART) {
                     heartCount++;
                 }
             } else if (card instanceof JokerCard) {
@@ -106,7 +141,7 @@ public class GoAllOutScoreVisitor implements ScoreVisitor {
      * @return 5 if alone, 1 otherwise
      */
     private int getAceValue(Suit suit) {
-        if (suitCounts.get(suit) == 1) {
+        if (suitCounts[suit.ordinal()] == 1) {
             return 5;
         }
         return 1;
@@ -114,28 +149,15 @@ public class GoAllOutScoreVisitor implements ScoreVisitor {
 
     /**
      * Checks for black pair bonus (Spade + Club of same value).
+     * Each pair is counted once, when its first card is visited.
      * 
      * @param card The card to check for pairing
      */
     private void checkBlackPair(SuitCard card) {
-        if (card.getSuit() != Suit.SPADE && card.getSuit() != Suit.CLUB) {
-            return;
-        }
-        
-        if (jest == null) return;
-        if (countedBlackPairs.contains(card.getValue())) return;
-        
-        Suit otherSuit = (card.getSuit() == Suit.SPADE) ? Suit.CLUB : Suit.SPADE;
-        
-        for (Card c : jest.getCards()) {
-            if (c instanceof SuitCard && c != card) {
-                SuitCard sc = (SuitCard) c;
-                if (sc.getSuit() == otherSuit && sc.getValue() == card.getValue()) {
-                    totalScore += 2;
-                    countedBlackPairs.add(card.getValue());
-                    break;
-                }
-            }
+        int valueBit = 1 << card.getValue();
+        if ((spadeValues & clubValues & valueBit) != 0 && (countedBlackPairs & valueBit) == 0) {
+            totalScore += 2;
+            countedBlackPairs |= valueBit;
         }
     }
 
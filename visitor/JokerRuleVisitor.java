@@ -37,6 +37,17 @@ public class JokerRuleVisitor implements ScoreVisitor {
         this.hasJoker = false;
     }
 
+    /**
+     * Clears the Heart count and Joker value.
+     */
+    @Override
+    public void reset() {
+        jokerValue = 0;
+        heartCount = 0;
+        totalScore = 0;
+        hasJoker = false;
+    }
+
     /**
      * Visits a suit card and counts Hearts.
      * 
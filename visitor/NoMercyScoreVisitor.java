@@ -1,45 +1,33 @@
 package visitor;
 
-import base.Card;
 import base.Jest;
 import base.GameConfig;
-import card.SuitCard;
-import card.JokerCard;
-import properties.Suit;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.HashSet;
-import java.util.Set;
 
 /**
  * Score visitor for NO MERCY variant.
  * Uses normal scoring rules but applies threshold penalty:
  * If final Jest score exceeds the threshold (7-10), Jest value becomes 0.
  * 
+ * <p>All Jest analysis is inherited from {@link FinalScoreVisitor}, so the
+ * visitor can be rebound with {@link #bind(Jest)} like its parent.</p>
+ * 
  * @author Hazri and Sophea
  * @version 1.0
  */
 public class NoMercyScoreVisitor extends FinalScoreVisitor {
     /** Game configuration with threshold */
     private GameConfig config;
-    
-    /** Running total score */
-    private int totalScore;
-    
-    /** Count of Heart cards */
-    private int heartCount;
-    
-    /** Whether the Jest contains the Joker */
-    private boolean hasJoker;
-    
-    /** Count of cards per suit */
-    private Map<Suit, Integer> suitCounts;
-    
-    /** Reference to the Jest being scored */
-    private Jest jest;
-    
-    /** Set of black pair values already counted */
-    private Set<Integer> countedBlackPairs;
+
+    /**
+     * Creates a No Mercy score visitor without a Jest reference.
+     * Call {@link #bind(Jest)} before visiting a Jest's cards.
+     * 
+     * @param config Game configuration with threshold
+     */
+    public NoMercyScoreVisitor(GameConfig config) {
+        super();
+        this.config = config;
+    }
 
     /**
      * Creates a No Mercy score visitor.
@@ -50,29 +38,6 @@ public class NoMercyScoreVisitor extends FinalScoreVisitor {
     public NoMercyScoreVisitor(Jest jest, GameConfig config) {
         super(jest);
         this.config = config;
-        this.jest = jest;
-        this.totalScore = 0;
-        this.heartCount = 0;
-        this.hasJoker = false;
-        this.suitCounts = new HashMap<>();
-        this.countedBlackPairs = new HashSet<>();
-        
-        for (Suit suit : Suit.values()) {
-            suitCounts.put(suit, 0);
-        }
-        
-        // Pre-analyze Jest
-        for (Card card : jest.getCards()) {
-            if (card instanceof SuitCard) {
-                SuitCard sc = (SuitCard) card;
-                suitCounts.put(sc.getSuit(), suitCounts.get(sc.getSuit()) + 1);
-                if (sc.getSuit() == Suit.HEART) {
-                    heartCount++;
-                }
-            } else if (card instanceof JokerCard) {
-                hasJoker = true;
-            }
-        }
     }
 
     /**
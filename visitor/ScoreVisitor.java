@@ -1,5 +1,6 @@
 package visitor;
 
+import base.Jest;
 import card.SuitCard;
 import card.JokerCard;
 
@@ -7,6 +8,11 @@ import card.JokerCard;
  * Visitor interface for calculating scores.
  * Implements the Visitor design pattern for card scoring.
  * 
+ * <p>Visitors are reusable: {@link #bind(Jest)} (or {@link #reset()} for
+ * visitors that need no pre-analysis) clears all state so one instance can
+ * score any number of Jests without allocating. A visitor is not
+ * thread-safe; keep one per thread.</p>
+ * 
  * @author Hazri and Sophea
  * @version 1.0
  */
@@ -32,4 +38,20 @@ public interface ScoreVisitor {
      * @return The total score
      */
     int getTotalScore();
+    
+    /**
+     * Clears all accumulated state so the visitor can be used again.
+     */
+    void reset();
+    
+    /**
+     * Prepares the visitor to score a Jest.
+     * Resets the visitor and runs any pre-analysis the scoring rules need;
+     * the caller then passes the same Jest's cards to the visitor.
+     * 
+     * @param jest The Jest about to be visited
+     */
+    default void bind(Jest jest) {
+        reset();
+    }
 }
@@ -0,0 +1,201 @@
+package visitor;
+
+import base.GameConfig;
+import base.GameVariant;
+import base.Jest;
+import card.CardMask;
+import properties.Numbers;
+import properties.Suit;
+
+/**
+ * Table-driven Jest scoring on card masks.
+ * 
+ * <p>The scoring rules split cleanly by suit, so a Jest's score is composed
+ * from small lookup tables indexed by the 8-bit pattern of each suit
+ * (see {@link CardMask#suitPattern(long, Suit)}):</p>
+ * <ul>
+ *   <li>Spade, Club and Diamond sums with the lone-Ace rule</li>
+ *   <li>Black pairs from the common bits of the Spade and Club patterns</li>
+ *   <li>The Joker's value from the Heart pattern</li>
+ * </ul>
+ * 
+ * <p>Scores are identical to {@link FinalScoreVisitor},
+ * {@link NoMercyScoreVisitor} and {@link GoAllOutScoreVisitor}. Tables are
+ * built once when the class is loaded and scoring never allocates.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public final class TableScorer {
+    /** Number of distinct suit patterns */
+    private static final int PATTERNS = 1 << CardMask.SUIT_BITS;
+    
+    /** Sum of face values of a suit pattern (Ace counts 1) */
+    private static final int[] VALUE_SUM = new int[PATTERNS];
+    
+    /** Sum of face values of a suit pattern, with a lone Ace worth 5 */
+    private static final int[] ACE_RULE_SUM = new int[PATTERNS];
+    
+    /** Black pair bonus of the common Spade/Club pattern */
+    private static final int[] PAIR_BONUS = new int[PATTERNS];
+    
+    /** Value of the Joker in Normal scoring, by Heart pattern */
+    private static final int[] JOKER_VALUE = new int[PATTERNS];
+    
+    /** Bit offsets of each suit's byte */
+    private static final int SPADE_SHIFT = Suit.SPADE.ordinal() * CardMask.SUIT_BITS;
+    private static final int CLUB_SHIFT = Suit.CLUB.ordinal() * CardMask.SUIT_BITS;
+    private static final int DIAMOND_SHIFT = Suit.DIAMOND.ordinal() * CardMask.SUIT_BITS;
+    private static final int HEART_SHIFT = Suit.HEART.ordinal() * CardMask.SUIT_BITS;
+    
+    static {
+        Numbers[] numbers = Numbers.values();
+        for (int pattern = 0; pattern < PATTERNS; pattern++) {
+            int sum = 0;
+            for (int n = 0; n < numbers.length; n++) {
+                if ((pattern & (1 << n)) != 0) {
+                    sum += numbers[n].getValue();
+                }
+            }
+            int count = Integer.bitCount(pattern);
+            
+            VALUE_SUM[pattern] = sum;
+            ACE_RULE_SUM[pattern] = (pattern == CardMask.ACE_PATTERN) ? 5 : sum;
+            PAIR_BONUS[pattern] = 2 * count;
+            
+            if (count == 0) {
+                JOKER_VALUE[pattern] = 4;
+            } else if (count == 4) {
+                JOKER_VALUE[pattern] = sum;
+            } else {
+                JOKER_VALUE[pattern] = 0;
+            }
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private TableScorer() {
+    }
+
+    /**
+     * Scores a Jest with the rules of the configured variant.
+     * 
+     * @param jest The Jest to score
+     * @param config Game configuration (variant and No Mercy threshold)
+     * @return The same score the variant's visitor produces
+     */
+    public static int score(Jest jest, GameConfig config) {
+        return score(jest.getMask(), jest.getMaskBeforeJoker(), config.getVariant(),
+            config.getNoMercyThreshold());
+    }
+
+    /**
+     * Scores a card set with the rules of a variant.
+     * 
+     * @param mask The cards of the Jest
+     * @param maskBeforeJoker The cards added before the Joker (Go All Out only)
+     * @param variant The game variant
+     * @param noMercyThreshold Threshold of the No Mercy variant
+     * @return The score
+     */
+    public static int score(long mask, long maskBeforeJoker, GameVariant variant, int noMercyThreshold) {
+        switch (variant) {
+            case NO_MERCY:
+                return scoreNoMercy(mask, noMercyThreshold);
+            case GO_ALL_OUT:
+                return scoreGoAllOut(mask, maskBeforeJoker);
+            case NORMAL:
+            default:
+                return scoreNormal(mask);
+        }
+    }
+
+    /**
+     * Scores a card set with the Normal rules.
+     * 
+     * @param mask The cards of the Jest
+     * @return The score
+     */
+    public static int scoreNormal(long mask) {
+        int spades = pattern(mask, SPADE_SHIFT);
+        int clubs = pattern(mask, CLUB_SHIFT);
+        int diamonds = pattern(mask, DIAMOND_SHIFT);
+        
+        int score = ACE_RULE_SUM[spades] + ACE_RULE_SUM[clubs] + PAIR_BONUS[spades & clubs]
+            - ACE_RULE_SUM[diamonds];
+        if (CardMask.hasJoker(mask)) {
+            score += JOKER_VALUE[pattern(mask, HEART_SHIFT)];
+        }
+        return score;
+    }
+
+    /**
+     * Scores a card set with the No Mercy rules.
+     * 
+     * @param mask The cards of the Jest
+     * @param threshold Scores above this become 0
+     * @return The score
+     */
+    public static int scoreNoMercy(long mask, int threshold) {
+        int score = scoreNormal(mask);
+        return (score > threshold) ? 0 : score;
+    }
+
+    /**
+     * Scores a card set with the Go All Out rules.
+     * The Joker multiplies by 1.5 only what was scored before it, including
+     * black pairs completed or started before it, so the cards added before
+     * the Joker are needed.
+     * 
+     * @param mask The cards of the Jest
+     * @param maskBeforeJoker The cards added before the Joker
+     * @return The score
+     */
+    public static int scoreGoAllOut(long mask, long maskBeforeJoker) {
+        int spades = pattern(mask, SPADE_SHIFT);
+        int clubs = pattern(mask, CLUB_SHIFT);
+        int diamonds = pattern(mask, DIAMOND_SHIFT);
+        int hearts = pattern(mask, HEART_SHIFT);
+        int pairs = spades & clubs;
+        
+        int total = ACE_RULE_SUM[spades] + ACE_RULE_SUM[clubs] + ACE_RULE_SUM[diamonds]
+            + ACE_RULE_SUM[hearts] + PAIR_BONUS[pairs];
+        if (!CardMask.hasJoker(mask)) {
+            return total;
+        }
+
+        int earlySpades = pattern(maskBeforeJoker, SPADE_SHIFT);
+        int earlyClubs = pattern(maskBeforeJoker, CLUB_SHIFT);
+        int early = splitSum(spades, earlySpades) + splitSum(clubs, earlyClubs)
+            + splitSum(diamonds, pattern(maskBeforeJoker, DIAMOND_SHIFT))
+            + splitSum(hearts, pattern(maskBeforeJoker, HEART_SHIFT))
+            + PAIR_BONUS[pairs & (earlySpades | earlyClubs)];
+        
+        return early * 3 / 2 + (total - early);
+    }
+
+    /**
+     * Gets the score of the part of a suit that was added before the Joker.
+     * A lone Ace is worth 5 wherever it sits.
+     * 
+     * @param whole The suit's full pattern
+     * @param early The suit's pattern before the Joker
+     * @return Value of the early part
+     */
+    private static int splitSum(int whole, int early) {
+        return (whole == CardMask.ACE_PATTERN) ? ACE_RULE_SUM[early] : VALUE_SUM[early];
+    }
+
+    /**
+     * Extracts one suit's pattern from a card set.
+     * 
+     * @param mask The card set
+     * @param shift Bit offset of the suit
+     * @return Suit pattern (0-255)
+     */
+    private static int pattern(long mask, int shift) {
+        return (int) (mask >>> shift) & 0xFF;
+    }
+}
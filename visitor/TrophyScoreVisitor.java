@@ -5,8 +5,6 @@ import card.SuitCard;
 import card.JokerCard;
 import trophy.Trophy;
 import properties.Suit;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Visitor for tracking card information relevant to trophy conditions.
@@ -22,11 +20,11 @@ public class TrophyScoreVisitor implements ScoreVisitor {
     /** Running total score */
     private int totalScore;
     
-    /** Highest value card per suit */
-    private Map<Suit, Integer> highestPerSuit;
+    /** Highest value card per suit, indexed by suit ordinal */
+    private int[] highestPerSuit;
     
-    /** Lowest value card per suit */
-    private Map<Suit, Integer> lowestPerSuit;
+    /** Lowest value card per suit, indexed by suit ordinal */
+    private int[] lowestPerSuit;
     
     /** Whether Jest has the Joker */
     private boolean hasJoker;
@@ -38,14 +36,21 @@ public class TrophyScoreVisitor implements ScoreVisitor {
      */
     public TrophyScoreVisitor(Trophy trophy) {
         this.trophy = trophy;
-        this.totalScore = 0;
-        this.highestPerSuit = new HashMap<>();
-        this.lowestPerSuit = new HashMap<>();
-        this.hasJoker = false;
-        
-        for (Suit suit : Suit.values()) {
-            highestPerSuit.put(suit, Integer.MIN_VALUE);
-            lowestPerSuit.put(suit, Integer.MAX_VALUE);
+        this.highestPerSuit = new int[Suit.values().length];
+        this.lowestPerSuit = new int[Suit.values().length];
+        reset();
+    }
+
+    /**
+     * Clears the tracked highest/lowest cards and Joker presence.
+     */
+    @Override
+    public void reset() {
+        totalScore = 0;
+        hasJoker = false;
+        for (int i = 0; i < highestPerSuit.length; i++) {
+            highestPerSuit[i] = Integer.MIN_VALUE;
+            lowestPerSuit[i] = Integer.MAX_VALUE;
         }
     }
 
@@ -56,14 +61,14 @@ public class TrophyScoreVisitor implements ScoreVisitor {
      */
     @Override
     public void visit(SuitCard suitCard) {
-        Suit suit = suitCard.getSuit();
+        int suit = suitCard.getSuit().ordinal();
         int value = suitCard.getValue();
         
-        if (value > highestPerSuit.get(suit)) {
-            highestPerSuit.put(suit, value);
+        if (value > highestPerSuit[suit]) {
+            highestPerSuit[suit] = value;
         }
-        if (value < lowestPerSuit.get(suit)) {
-            lowestPerSuit.put(suit, value);
+        if (value < lowestPerSuit[suit]) {
+            lowestPerSuit[suit] = value;
         }
     }
 
@@ -103,7 +108,7 @@ public class TrophyScoreVisitor implements ScoreVisitor {
      * @return The highest value
      */
     public int getHighestInSuit(Suit suit) {
-        return highestPerSuit.get(suit);
+        return highestPerSuit[suit.ordinal()];
     }
 
     /**
@@ -113,7 +118,7 @@ public class TrophyScoreVisitor implements ScoreVisitor {
      * @return The lowest value
      */
     public int getLowestInSuit(Suit suit) {
-        return lowestPerSuit.get(suit);
+        return lowestPerSuit[suit.ordinal()];
     }
 
     /**
@@ -0,0 +1,263 @@
+package visitor;
+
+import base.GameVariant;
+import card.CardSet;
+import card.CardUniverse;
+import card.CardUniverse.Role;
+
+/**
+ * Table-driven Jest scoring for any {@link CardUniverse}.
+ * 
+ * <p>The rules of {@link TableScorer}, generalized from four fixed suits to
+ * suit roles: adding suits score their values and pair with each other,
+ * subtracting suits take their values off, and Heart suits set the Joker's
+ * value. Each suit is read from the {@link CardSet} as one pattern and its
+ * value sum is looked up 8 values at a time, so a score costs a few table
+ * lookups per suit whatever the number of cards.</p>
+ * 
+ * <p>On the standard universes scores are identical to {@link TableScorer}.
+ * A scorer is immutable and can be shared between threads.</p>
+ * 
+ * @author Hazri and Sophea
+ * @version 1.0
+ */
+public final class UniverseScorer {
+    /** Number of distinct 8-value chunk patterns */
+    private static final int PATTERNS = 256;
+    
+    /** The universe scored */
+    private final CardUniverse universe;
+    
+    /** Values per suit */
+    private final int valueCount;
+    
+    /** Sum of face values per chunk of 8 values and chunk pattern */
+    private final int[][] valueSums;
+    
+    /** Adding suits */
+    private final int[] addSuits;
+    
+    /** Subtracting suits */
+    private final int[] subtractSuits;
+    
+    /** Heart suits */
+    private final int[] heartSuits;
+    
+    /** Id of the Joker, or -1 */
+    private final int jokerId;
+    
+    /**
+     * Creates a scorer and builds its tables.
+     * 
+     * @param universe The universe to score
+     */
+    public UniverseScorer(CardUniverse universe) {
+        this.universe = universe;
+        this.valueCount = universe.getValueCount();
+        this.jokerId = universe.jokerId();
+        
+        int chunks = (valueCount + 7) / 8;
+        this.valueSums = new int[chunks][PATTERNS];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            for (int pattern = 0; pattern < PATTERNS; pattern++) {
+                int sum = 0;
+                for (int bit = 0; bit < 8 && chunk * 8 + bit < valueCount; bit++) {
+                    if ((pattern & (1 << bit)) != 0) {
+                        sum += universe.getValue(chunk * 8 + bit);
+                    }
+                }
+                valueSums[chunk][pattern] = sum;
+            }
+        }
+        
+        this.addSuits = suitsOf(Role.ADD);
+        this.subtractSuits = suitsOf(Role.SUBTRACT);
+        this.heartSuits = suitsOf(Role.HEART);
+    }
+
+    /**
+     * Lists the suits with a role.
+     * 
+     * @param role The role
+     * @return Suit indexes, strongest first
+     */
+    private int[] suitsOf(Role role) {
+        int count = 0;
+        for (int suit = 0; suit < universe.getSuitCount(); suit++) {
+            if (universe.getRole(suit) == role) {
+                count++;
+            }
+        }
+        int[] suits = new int[count];
+        count = 0;
+        for (int suit = 0; suit < universe.getSuitCount(); suit++) {
+            if (universe.getRole(suit) == role) {
+                suits[count++] = suit;
+            }
+        }
+        return suits;
+    }
+
+    /**
+     * Gets the universe this scorer scores.
+     * 
+     * @return The universe
+     */
+    public CardUniverse getUniverse() {
+        return universe;
+    }
+
+    /**
+     * Scores a card set with the rules of a variant.
+     * 
+     * @param jest The cards of the Jest
+     * @param beforeJoker The cards added before the Joker (Go All Out only)
+     * @param variant The game variant
+     * @param noMercyThreshold Threshold of the No Mercy variant
+     * @return The score
+     */
+    public int score(CardSet jest, CardSet beforeJoker, GameVariant variant, int noMercyThreshold) {
+        switch (variant) {
+            case NO_MERCY:
+                return scoreNoMercy(jest, noMercyThreshold);
+            case GO_ALL_OUT:
+                return scoreGoAllOut(jest, beforeJoker);
+            case NORMAL:
+            default:
+                return scoreNormal(jest);
+        }
+    }
+
+    /**
+     * Scores a card set with the Normal rules.
+     * 
+     * @param jest The cards of the Jest
+     * @return The score
+     */
+    public int scoreNormal(CardSet jest) {
+        int score = 0;
+        long seen = 0;
+        long pairs = 0;
+        for (int suit : addSuits) {
+            long pattern = pattern(jest, suit);
+            score += aceRuleSum(pattern);
+            pairs |= seen & pattern;
+            seen |= pattern;
+        }
+        for (int suit : subtractSuits) {
+            score -= aceRuleSum(pattern(jest, suit));
+        }
+        score += universe.getPairBonus() * Long.bitCount(pairs);
+        if (jokerId >= 0 && jest.contains(jokerId)) {
+            score += jokerValue(jest);
+        }
+        return score;
+    }
+
+    /**
+     * Scores a card set with the No Mercy rules.
+     * 
+     * @param jest The cards of the Jest
+     * @param threshold Scores above this become 0
+     * @return The score
+     */
+    public int scoreNoMercy(CardSet jest, int threshold) {
+        int score = scoreNormal(jest);
+        return (score > threshold) ? 0 : score;
+    }
+
+    /**
+     * Scores a card set with the Go All Out rules: every suit adds, and the
+     * Joker multiplies by 1.5 only what was scored before it.
+     * 
+     * @param jest The cards of the Jest
+     * @param beforeJoker The cards added before the Joker
+     * @return The score
+     */
+    public int scoreGoAllOut(CardSet jest, CardSet beforeJoker) {
+        int total = 0;
+        for (int suit = 0; suit < universe.getSuitCount(); suit++) {
+            total += aceRuleSum(pattern(jest, suit));
+        }
+        long seen = 0;
+        long pairs = 0;
+        for (int suit : addSuits) {
+            long pattern = pattern(jest, suit);
+            pairs |= seen & pattern;
+            seen |= pattern;
+        }
+        total += universe.getPairBonus() * Long.bitCount(pairs);
+        if (jokerId < 0 || !jest.contains(jokerId)) {
+            return total;
+        }
+        
+        long earlyPairing = 0;
+        for (int suit : addSuits) {
+            earlyPairing |= pattern(beforeJoker, suit);
+        }
+        int early = universe.getPairBonus() * Long.bitCount(pairs & earlyPairing);
+        for (int suit = 0; suit < universe.getSuitCount(); suit++) {
+            long whole = pattern(jest, suit);
+            long part = pattern(beforeJoker, suit);
+            early += (whole == 1) ? aceRuleSum(part) : valueSum(part);
+        }
+        return early * 3 / 2 + (total - early);
+    }
+
+    /**
+     * Gets the Joker's value in Normal scoring from the Hearts of a Jest.
+     * 
+     * @param jest The cards of the Jest
+     * @return The Joker's value
+     */
+    private int jokerValue(CardSet jest) {
+        int hearts = 0;
+        int sum = 0;
+        for (int suit : heartSuits) {
+            long pattern = pattern(jest, suit);
+            hearts += Long.bitCount(pattern);
+            sum += valueSum(pattern);
+        }
+        if (hearts == 0) {
+            return universe.getJokerAloneValue();
+        }
+        return (hearts == universe.getJokerHearts()) ? sum : 0;
+    }
+
+    /**
+     * Gets the value sum of a suit pattern, with a lone lowest card worth
+     * the lone Ace value.
+     * 
+     * @param pattern Suit pattern
+     * @return The suit's value
+     */
+    private int aceRuleSum(long pattern) {
+        return (pattern == 1) ? universe.getLoneAceValue() : valueSum(pattern);
+    }
+
+    /**
+     * Gets the sum of the face values in a suit pattern.
+     * 
+     * @param pattern Suit pattern (bit i is value index i)
+     * @return Sum of the values
+     */
+    private int valueSum(long pattern) {
+        int sum = 0;
+        for (int chunk = 0; pattern != 0; chunk++) {
+            sum += valueSums[chunk][(int) pattern & 0xFF];
+            pattern >>>= 8;
+        }
+        return sum;
+    }
+
+    /**
+     * Reads one suit's pattern from a card set.
+     * 
+     * @param set The card set
+     * @param suit Suit index
+     * @return Suit pattern (bit i is value index i)
+     */
+    private long pattern(CardSet set, int suit) {
+        return set.bits(suit * valueCount, valueCount);
+    }
+}
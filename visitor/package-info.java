@@ -8,6 +8,8 @@
  *   <li>{@link visitor.AceRuleVisitor} - Ace scoring rule</li>
  *   <li>{@link visitor.JokerRuleVisitor} - Joker/Heart scoring rules</li>
  *   <li>{@link visitor.TrophyScoreVisitor} - Trophy-related card tracking</li>
+ *   <li>{@link visitor.TableScorer} - Allocation-free table-driven scoring on card masks</li>
+ *   <li>{@link visitor.UniverseScorer} - Table-driven scoring for custom card universes</li>
  * </ul>
  * 
  * @author Hazri and Sophea